@@ -5,6 +5,7 @@ import java.util.Properties
 plugins {
     id("java")
     id("com.gradleup.shadow") version "8.3.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 java {
@@ -91,6 +92,8 @@ dependencies {
     testAnnotationProcessor("org.projectlombok:lombok:1.18.38")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+
+    jmh("org.spigotmc:spigot:1.8.8-R0.1-SNAPSHOT")
 }
 
 tasks.compileJava {
@@ -122,3 +125,12 @@ tasks.build {
 tasks.test {
     useJUnitPlatform()
 }
+
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
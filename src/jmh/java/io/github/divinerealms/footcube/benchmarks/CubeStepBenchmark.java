@@ -0,0 +1,107 @@
+package io.github.divinerealms.footcube.benchmarks;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HIT_RADIUS;
+
+import io.github.divinerealms.footcube.physics.engine.CubeBody;
+import io.github.divinerealms.footcube.physics.engine.CubePhysicsEngine;
+import io.github.divinerealms.footcube.physics.engine.GroundProbe;
+import io.github.divinerealms.footcube.physics.engine.PlayerBody;
+import io.github.divinerealms.footcube.physics.utilities.PlayerSpatialGrid;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures one full physics tick (grid rebuild plus one engine step per cube) on a synthetic
+ * pitch, the same work {@code PhysicsTask} does per server tick minus the entity copy-in/out.
+ * <p>
+ * Players and cubes are scattered over a 64×40 pitch with a fixed seed, so runs are comparable.
+ * Cube velocities are reset before every tick to keep the workload stationary.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CubeStepBenchmark {
+
+  private static final double PITCH_LENGTH = 64;
+  private static final double PITCH_WIDTH = 40;
+  private static final double FLOOR_Y = 64;
+  private static final GroundProbe FLAT_FLOOR = (x, y, z) -> y < FLOOR_Y;
+
+  @Param({"1", "10", "100"})
+  public int cubes;
+
+  @Param({"10", "100", "500"})
+  public int players;
+
+  private final CubePhysicsEngine engine = new CubePhysicsEngine();
+  private final PlayerSpatialGrid grid = new PlayerSpatialGrid(HIT_RADIUS * 3);
+
+  private PlayerBody[] playerBodies;
+  private CubeBody[] cubeBodies;
+  private double[] initialVelocities;
+  private long tick;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+
+    playerBodies = new PlayerBody[players];
+    for (int i = 0; i < players; i++) {
+      PlayerBody player = new PlayerBody();
+      player.handle = i;
+      player.x = random.nextDouble(PITCH_LENGTH);
+      player.y = FLOOR_Y;
+      player.z = random.nextDouble(PITCH_WIDTH);
+      player.setYaw((float) random.nextDouble(360));
+      player.speed = 0.1 + random.nextDouble(0.4);
+      playerBodies[i] = player;
+    }
+
+    cubeBodies = new CubeBody[cubes];
+    initialVelocities = new double[cubes * 3];
+    for (int i = 0; i < cubes; i++) {
+      CubeBody cube = new CubeBody();
+      double velX = random.nextDouble(-0.5, 0.5);
+      double velY = random.nextDouble(-0.1, 0.1);
+      double velZ = random.nextDouble(-0.5, 0.5);
+      cube.set(random.nextDouble(PITCH_LENGTH), FLOOR_Y + 0.05, random.nextDouble(PITCH_WIDTH),
+          velX, velY, velZ, true);
+      cube.setPreviousVelocity(velX, velY, velZ);
+      initialVelocities[i * 3] = velX;
+      initialVelocities[i * 3 + 1] = velY;
+      initialVelocities[i * 3 + 2] = velZ;
+      cubeBodies[i] = cube;
+    }
+  }
+
+  @Benchmark
+  public void tick(Blackhole blackhole) {
+    grid.clear();
+    for (PlayerBody player : playerBodies) {
+      grid.insert(0, player.x, player.z, player.handle);
+    }
+
+    tick++;
+    for (int i = 0; i < cubeBodies.length; i++) {
+      CubeBody cube = cubeBodies[i];
+      cube.velX = initialVelocities[i * 3];
+      cube.velY = initialVelocities[i * 3 + 1];
+      cube.velZ = initialVelocities[i * 3 + 2];
+
+      engine.step(cube, grid, 0, playerBodies, tick, FLAT_FLOOR);
+      blackhole.consume(cube.velX + cube.velY + cube.velZ);
+      blackhole.consume(engine.getTouchedCount());
+    }
+  }
+}
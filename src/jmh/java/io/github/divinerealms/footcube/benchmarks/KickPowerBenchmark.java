@@ -0,0 +1,73 @@
+package io.github.divinerealms.footcube.benchmarks;
+
+import io.github.divinerealms.footcube.physics.PhysicsData;
+import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
+import io.github.divinerealms.footcube.physics.utilities.PlayerKickResult;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import io.github.divinerealms.footcube.utils.TimingWheel;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link PhysicsSystem#calculateKickPower(PlayerSession, boolean)} for a session with
+ * tracked speed and charge. The system is built without a logger, scheduler or plugin since kick
+ * power only reads the session, and with a disabled profiler.
+ * <p>
+ * Sessions are opened for stand-in players that only answer {@link Player#getUniqueId()}, which is
+ * all the registry asks of them.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KickPowerBenchmark {
+
+  @Param({"false", "true"})
+  public boolean charged;
+
+  private PhysicsSystem system;
+  private PlayerSession session;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    PlayerSessionRegistry sessions = new PlayerSessionRegistry();
+    session = sessions.open(player(UUID.randomUUID()));
+    session.setSpeed(0.28);
+    session.startCharging();
+    session.setCharge(0.6);
+
+    // Other online players, so the registry is not trivially a single entry.
+    for (int i = 0; i < 100; i++) {
+      PlayerSession other = sessions.open(player(UUID.randomUUID()));
+      other.setSpeed(0.2);
+      other.setCharge(0.1);
+    }
+
+    system = new PhysicsSystem(new PhysicsData(), null, null, null, new Profiler(),
+        new TimingWheel(), sessions);
+  }
+
+  @Benchmark
+  public PlayerKickResult calculateKickPower() {
+    return system.calculateKickPower(session, charged);
+  }
+
+  private static Player player(UUID uniqueId) {
+    return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(),
+        new Class<?>[]{Player.class},
+        (proxy, method, args) -> "getUniqueId".equals(method.getName()) ? uniqueId : null);
+  }
+}
@@ -0,0 +1,56 @@
+package io.github.divinerealms.footcube.benchmarks;
+
+import io.github.divinerealms.footcube.physics.utilities.PhysicsFormulae;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Micro-benchmarks for the distance helpers in {@link PhysicsFormulae}.
+ * <p>
+ * The {@code Player} overload of {@code getPerpendicularDistance} needs a live server, so the
+ * primitive overload it delegates to is measured instead.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PhysicsFormulaeBenchmark {
+
+  private PhysicsFormulae formulae;
+  private Location player;
+  private Location cube;
+  private Vector velocity;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    formulae = new PhysicsFormulae();
+    player = new Location(null, 10.3, 65, 20.7);
+    cube = new Location(null, 11.1, 64.2, 21.4);
+    velocity = new Vector(0.42, 0.05, -0.17);
+  }
+
+  @Benchmark
+  public double getDistance() {
+    return formulae.getDistance(cube, player);
+  }
+
+  @Benchmark
+  public double getDistanceSquared() {
+    return formulae.getDistanceSquared(player, cube);
+  }
+
+  @Benchmark
+  public double getPerpendicularDistance() {
+    return formulae.getPerpendicularDistance(velocity.getX(), velocity.getZ(), cube.getX(),
+        cube.getZ(), player.getX(), player.getZ());
+  }
+}
@@ -30,6 +30,7 @@ import co.aikar.commands.annotation.Syntax;
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.managers.ConfigManager;
 import io.github.divinerealms.footcube.matchmaking.arena.ArenaManager;
+import io.github.divinerealms.footcube.physics.utilities.CollisionVoxelCache;
 import io.github.divinerealms.footcube.utils.Logger;
 import java.util.Set;
 import org.bukkit.DyeColor;
@@ -50,6 +51,7 @@ public class FCAdminArenaCommands extends BaseCommand {
   private final ConfigManager configManager;
   private final FileConfiguration config;
   private final FileConfiguration practice;
+  private final CollisionVoxelCache collisionCache;
 
   public FCAdminArenaCommands(FCManager fcManager) {
     this.logger = fcManager.getLogger();
@@ -57,6 +59,7 @@ public class FCAdminArenaCommands extends BaseCommand {
     this.configManager = fcManager.getConfigManager();
     this.config = configManager.getConfig("config.yml");
     this.practice = configManager.getConfig("practice.yml");
+    this.collisionCache = fcManager.getCollisionCache();
   }
 
   @Subcommand("setuparena")
@@ -100,6 +103,7 @@ public class FCAdminArenaCommands extends BaseCommand {
       logger.send(player, SETUP_ARENA_FIRST_SET);
     } else {
       arenaManager.createArena(setup.getType(), setup.getBlueSpawn(), player.getLocation());
+      collisionCache.rebuild();
       arenaManager.getSetupWizards().remove(player);
       logger.send(player, SETUP_ARENA_SUCCESS);
     }
@@ -121,6 +125,7 @@ public class FCAdminArenaCommands extends BaseCommand {
   @Description("Clear all arenas")
   public void onClearArenas(Player player) {
     arenaManager.clearArenas();
+    collisionCache.rebuild();
     logger.send(player, CLEAR_ARENAS_SUCCESS);
   }
 
@@ -129,6 +134,7 @@ public class FCAdminArenaCommands extends BaseCommand {
   @Description("Clear all 2v2 arenas")
   public void onClearArenas2v2(Player player) {
     arenaManager.clearArenaType(2);
+    collisionCache.rebuild();
     logger.send(player, CLEAR_ARENAS_TYPE_SUCCESS, "2v2");
   }
 
@@ -137,6 +143,7 @@ public class FCAdminArenaCommands extends BaseCommand {
   @Description("Clear all 3v3 arenas")
   public void onClearArenas3v3(Player player) {
     arenaManager.clearArenaType(3);
+    collisionCache.rebuild();
     logger.send(player, CLEAR_ARENAS_TYPE_SUCCESS, "3v3");
   }
 
@@ -145,6 +152,7 @@ public class FCAdminArenaCommands extends BaseCommand {
   @Description("Clear all 4v4 arenas")
   public void onClearArenas4v4(Player player) {
     arenaManager.clearArenaType(4);
+    collisionCache.rebuild();
     logger.send(player, CLEAR_ARENAS_TYPE_SUCCESS, "4v4");
   }
 
@@ -168,6 +176,7 @@ public class FCAdminArenaCommands extends BaseCommand {
   public void onSetPracticeArea(Player player, String name) {
     practice.set("practice-areas." + name, player.getLocation());
     configManager.saveConfig("practice.yml");
+    collisionCache.rebuild();
     logger.send(player, PRACTICE_AREA_SET, name,
         String.valueOf(player.getLocation().getX()),
         String.valueOf(player.getLocation().getY()),
@@ -3,12 +3,32 @@ package io.github.divinerealms.footcube.commands;
 import static io.github.divinerealms.footcube.configs.Lang.FC_TOGGLE;
 import static io.github.divinerealms.footcube.configs.Lang.OFF;
 import static io.github.divinerealms.footcube.configs.Lang.ON;
+import static io.github.divinerealms.footcube.configs.Lang.PROFILE_REPORT_EMPTY;
+import static io.github.divinerealms.footcube.configs.Lang.PROFILE_REPORT_ENTRY;
+import static io.github.divinerealms.footcube.configs.Lang.PROFILE_REPORT_FOOTER;
+import static io.github.divinerealms.footcube.configs.Lang.PROFILE_REPORT_HEADER;
+import static io.github.divinerealms.footcube.configs.Lang.PROFILE_RESET;
+import static io.github.divinerealms.footcube.configs.Lang.PROFILE_SAMPLE_INTERVAL;
+import static io.github.divinerealms.footcube.configs.Lang.PROFILE_TOGGLE;
+import static io.github.divinerealms.footcube.configs.Lang.RECORDER_DUMPED;
+import static io.github.divinerealms.footcube.configs.Lang.RECORDER_EMPTY;
 import static io.github.divinerealms.footcube.configs.Lang.RELOAD;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_CUBE_POOL;
 import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_ENTRY;
 import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_FOOTER;
 import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_HEADER;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_LATENCY_LIFETIME;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_LATENCY_RECENT;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_PARTICLES;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_SCHEDULER;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_SOUNDS;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_STAGE;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_TIMERS;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_VELOCITY;
+import static io.github.divinerealms.footcube.configs.Lang.TASKS_REPORT_VIRTUAL_CUBES;
 import static io.github.divinerealms.footcube.configs.Lang.TASKS_RESET_STATS;
 import static io.github.divinerealms.footcube.configs.Lang.TASKS_RESTART;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_LATENCY_WINDOW_SECONDS;
 import static io.github.divinerealms.footcube.utils.Permissions.PERM_ADMIN;
 import static io.github.divinerealms.footcube.utils.Permissions.PERM_TOGGLE;
 
@@ -17,13 +37,30 @@ import co.aikar.commands.annotation.CommandAlias;
 import co.aikar.commands.annotation.CommandPermission;
 import co.aikar.commands.annotation.Description;
 import co.aikar.commands.annotation.Subcommand;
+import co.aikar.commands.annotation.Syntax;
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.managers.TaskManager;
 import io.github.divinerealms.footcube.matchmaking.MatchManager;
 import io.github.divinerealms.footcube.matchmaking.arena.ArenaManager;
-import io.github.divinerealms.footcube.tasks.BaseTask;
+import io.github.divinerealms.footcube.physics.actions.SoundMixer;
+import io.github.divinerealms.footcube.physics.utilities.CubePool;
+import io.github.divinerealms.footcube.physics.virtual.VirtualCubes;
+import io.github.divinerealms.footcube.tasks.FootCubeTick;
+import io.github.divinerealms.footcube.tasks.PhysicsTask;
+import io.github.divinerealms.footcube.tasks.TaskScheduler;
+import io.github.divinerealms.footcube.tasks.TickStage;
 import io.github.divinerealms.footcube.utils.Logger;
+import io.github.divinerealms.footcube.utils.ParticleLodController;
 import io.github.divinerealms.footcube.utils.TaskStats;
+import io.github.divinerealms.footcube.utils.TimingWheel;
+import io.github.divinerealms.footcube.utils.profiler.FlightRecorder;
+import io.github.divinerealms.footcube.utils.profiler.LatencyHistogram;
+import io.github.divinerealms.footcube.utils.profiler.LatencySnapshot;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
+import io.github.divinerealms.footcube.utils.profiler.RollingLatencyHistogram;
+import io.github.divinerealms.footcube.utils.profiler.StallWatchdog;
+import java.io.File;
 import org.bukkit.command.CommandSender;
 
 @CommandAlias("fca|fcadmin|footcubeadmin")
@@ -45,7 +82,13 @@ public class FCAdminSystemCommands extends BaseCommand {
   @CommandPermission(PERM_ADMIN)
   @Description("Reload all configuration files")
   public void onReloadConfigs(CommandSender sender) {
-    fcManager.getConfigManager().reloadAllConfigs();
+    StallWatchdog stallWatchdog = fcManager.getStallWatchdog();
+    stallWatchdog.enter("reload/configs");
+    try {
+      fcManager.getConfigManager().reloadAllConfigs();
+    } finally {
+      stallWatchdog.exit();
+    }
     logger.send(sender, RELOAD, getExecSubcommand().substring("reload ".length()).toUpperCase());
   }
 
@@ -53,7 +96,13 @@ public class FCAdminSystemCommands extends BaseCommand {
   @CommandPermission(PERM_ADMIN)
   @Description("Reload everything (configs, arenas, etc)")
   public void onReloadAll(CommandSender sender) {
-    fcManager.reload();
+    StallWatchdog stallWatchdog = fcManager.getStallWatchdog();
+    stallWatchdog.enter("reload/all");
+    try {
+      fcManager.reload();
+    } finally {
+      stallWatchdog.exit();
+    }
     logger.send(sender, RELOAD, getExecSubcommand().substring("reload ".length()).toUpperCase());
   }
 
@@ -61,7 +110,14 @@ public class FCAdminSystemCommands extends BaseCommand {
   @CommandPermission(PERM_ADMIN)
   @Description("Reload arena configurations")
   public void onReloadArenas(CommandSender sender) {
-    arenaManager.reloadArenas();
+    StallWatchdog stallWatchdog = fcManager.getStallWatchdog();
+    stallWatchdog.enter("reload/arenas");
+    try {
+      arenaManager.reloadArenas();
+      fcManager.getCollisionCache().rebuild();
+    } finally {
+      stallWatchdog.exit();
+    }
     logger.send(sender, RELOAD, getExecSubcommand().substring("reload ".length()).toUpperCase());
   }
 
@@ -76,22 +132,113 @@ public class FCAdminSystemCommands extends BaseCommand {
         String.valueOf(taskManager.getTaskCount())
     );
 
-    for (BaseTask task : taskManager.getTasks()) {
-      double average = task.getAverageExecutionTime();
+    TaskStats stats = taskManager.getStats();
+    for (TaskStats.Entry task : stats.getTasks()) {
+      LatencySnapshot recent = task.getRecent();
+      double average = recent.getMeanNanos() / 1_000_000.0;
       String status = task.isRunning() ? "&a✔" : "&c✘";
       String timeColor = getColorForTime(average);
 
       logger.send(sender, TASKS_REPORT_ENTRY,
-          status, task.getTaskName(),
+          status, task.getName(),
           timeColor + String.format("%.3f", average),
-          String.valueOf(task.getTotalExecutions())
+          String.valueOf(task.getExecutions()),
+          String.valueOf(task.getDeferrals())
       );
+
+      if (recent.getCount() > 0) {
+        logger.send(sender, TASKS_REPORT_LATENCY_RECENT,
+            String.valueOf(TASK_LATENCY_WINDOW_SECONDS),
+            formatMillis(recent.getP50Nanos()),
+            formatMillis(recent.getP90Nanos()),
+            formatMillis(recent.getP99Nanos()),
+            formatMillis(recent.getP999Nanos()),
+            formatMillis(recent.getMaxNanos())
+        );
+      }
+
+      LatencySnapshot lifetime = task.getLifetime();
+      if (lifetime.getCount() > 0) {
+        logger.send(sender, TASKS_REPORT_LATENCY_LIFETIME,
+            formatMillis(lifetime.getP50Nanos()),
+            formatMillis(lifetime.getP90Nanos()),
+            formatMillis(lifetime.getP99Nanos()),
+            formatMillis(lifetime.getP999Nanos()),
+            formatMillis(lifetime.getMaxNanos())
+        );
+      }
     }
 
-    TaskStats stats = taskManager.getStats();
+    FootCubeTick footCubeTick = taskManager.getFootCubeTick();
+    for (TickStage stage : TickStage.values()) {
+      RollingLatencyHistogram latency = footCubeTick.getStageLatency(stage);
+      logger.send(sender, TASKS_REPORT_STAGE,
+          stage.getDisplayName(),
+          formatMillis((long) latency.getMeanNanos()),
+          formatMillis(latency.percentile(0.99)),
+          formatMillis(latency.getMaxNanos())
+      );
+    }
+
+    PhysicsTask physicsTask = taskManager.getPhysicsTask();
+    long sent = physicsTask.getVelocityUpdatesSent();
+    long suppressed = physicsTask.getVelocityUpdatesSuppressed();
+    long writes = sent + suppressed;
+    logger.send(sender, TASKS_REPORT_VELOCITY,
+        String.valueOf(sent),
+        String.valueOf(suppressed),
+        String.format("%.1f", writes == 0 ? 0.0 : suppressed * 100.0 / writes)
+    );
+
+    SoundMixer soundMixer = fcManager.getPhysicsSystem().getSoundMixer();
+    logger.send(sender, TASKS_REPORT_SOUNDS,
+        String.valueOf(soundMixer.getQueued()),
+        String.valueOf(soundMixer.getMerged()),
+        String.valueOf(soundMixer.getSent())
+    );
+
+    CubePool cubePool = fcManager.getPhysicsSystem().getCubePool();
+    logger.send(sender, TASKS_REPORT_CUBE_POOL,
+        String.valueOf(cubePool.getHits()),
+        String.valueOf(cubePool.getMisses()),
+        String.valueOf(cubePool.getParkedCount())
+    );
+
+    VirtualCubes virtualCubes = fcManager.getPhysicsSystem().getVirtualCubes();
+    logger.send(sender, TASKS_REPORT_VIRTUAL_CUBES,
+        virtualCubes.isEnabled() ? ON.toString() : OFF.toString(),
+        String.valueOf(virtualCubes.getCount()),
+        String.valueOf(virtualCubes.getPacketsSent())
+    );
+
+    ParticleLodController lodController = taskManager.getParticleTrailTask().getLodController();
+    logger.send(sender, TASKS_REPORT_PARTICLES,
+        lodController.getTier().name(),
+        String.format("%.1f", lodController.getTickMillis()),
+        String.valueOf(lodController.getPeakPacketsPerViewer())
+    );
+
+    TimingWheel timingWheel = fcManager.getTimingWheel();
+    logger.send(sender, TASKS_REPORT_TIMERS,
+        String.valueOf(timingWheel.getPendingCount()),
+        String.valueOf(timingWheel.getCurrentTick())
+    );
+
+    TaskScheduler scheduler = taskManager.getScheduler();
+    logger.send(sender, TASKS_REPORT_SCHEDULER,
+        formatMillis(scheduler.getBudgetNanos()),
+        String.valueOf(scheduler.getOverruns()),
+        String.valueOf(scheduler.getTicks()),
+        String.valueOf(scheduler.getDeferrals()),
+        String.valueOf(scheduler.getForcedRuns()),
+        formatMillis(scheduler.getWorstOverrunNanos())
+    );
+
     double totalAverage = stats.getAveragePerTask();
+    double worstP99 = stats.getWorstP99Ms();
     logger.send(sender, TASKS_REPORT_FOOTER,
-        getColorForTime(totalAverage) + String.format("%.3f", totalAverage)
+        getColorForTime(totalAverage) + String.format("%.3f", totalAverage),
+        getColorForTime(worstP99) + String.format("%.3f", worstP99)
     );
   }
 
@@ -111,6 +258,86 @@ public class FCAdminSystemCommands extends BaseCommand {
     logger.send(sender, TASKS_RESET_STATS);
   }
 
+  @Subcommand("profile")
+  @CommandPermission(PERM_ADMIN)
+  @Description("Show section profiler report")
+  public void onProfile(CommandSender sender) {
+    Profiler profiler = fcManager.getProfiler();
+
+    logger.send(sender, PROFILE_REPORT_HEADER,
+        profiler.isEnabled() ? ON.toString() : OFF.toString(),
+        String.valueOf(profiler.getSampleInterval())
+    );
+
+    boolean any = false;
+    for (ProfilerSection section : ProfilerSection.values()) {
+      long calls = profiler.getCalls(section);
+      if (calls == 0) {
+        continue;
+      }
+      any = true;
+
+      LatencyHistogram histogram = profiler.getHistogram(section);
+      logger.send(sender, PROFILE_REPORT_ENTRY,
+          section.getDisplayName(),
+          String.valueOf(calls),
+          String.format("%.1f", histogram.getMeanNanos() / 1_000.0),
+          String.format("%.1f", histogram.percentile(0.50) / 1_000.0),
+          String.format("%.1f", histogram.percentile(0.99) / 1_000.0),
+          String.format("%.1f", histogram.getMaxNanos() / 1_000.0)
+      );
+    }
+
+    if (!any) {
+      logger.send(sender, PROFILE_REPORT_EMPTY);
+    }
+    logger.send(sender, PROFILE_REPORT_FOOTER);
+  }
+
+  @Subcommand("profile toggle")
+  @CommandPermission(PERM_ADMIN)
+  @Description("Turn the section profiler on/off")
+  public void onProfileToggle(CommandSender sender) {
+    Profiler profiler = fcManager.getProfiler();
+    boolean state = profiler.isEnabled();
+    profiler.setEnabled(!state);
+    logger.send(sender, PROFILE_TOGGLE, state ? OFF.toString() : ON.toString());
+  }
+
+  @Subcommand("profile sample")
+  @CommandPermission(PERM_ADMIN)
+  @Syntax("<interval>")
+  @Description("Time one out of every <interval> calls per section")
+  public void onProfileSample(CommandSender sender, int interval) {
+    Profiler profiler = fcManager.getProfiler();
+    profiler.setSampleInterval(interval);
+    logger.send(sender, PROFILE_SAMPLE_INTERVAL, String.valueOf(profiler.getSampleInterval()));
+  }
+
+  @Subcommand("profile reset")
+  @CommandPermission(PERM_ADMIN)
+  @Description("Reset section profiler statistics")
+  public void onProfileReset(CommandSender sender) {
+    fcManager.getProfiler().reset();
+    logger.send(sender, PROFILE_RESET);
+  }
+
+  @Subcommand("recorder dump")
+  @CommandPermission(PERM_ADMIN)
+  @Description("Write the flight recorder's recent ticks to a file")
+  public void onRecorderDump(CommandSender sender) {
+    FlightRecorder flightRecorder = fcManager.getTaskManager().getFootCubeTick()
+        .getFlightRecorder();
+    File file = flightRecorder.dump("requested by " + sender.getName());
+    if (file == null) {
+      logger.send(sender, RECORDER_EMPTY);
+      return;
+    }
+    logger.send(sender, RECORDER_DUMPED,
+        String.valueOf(Math.min(flightRecorder.getRecorded(), flightRecorder.getCapacity())),
+        file.getName());
+  }
+
   @Subcommand("toggle")
   @CommandPermission(PERM_TOGGLE)
   @Description("Toggle matchmaking system on/off")
@@ -125,6 +352,10 @@ public class FCAdminSystemCommands extends BaseCommand {
     logger.send(sender, FC_TOGGLE, state ? OFF.toString() : ON.toString());
   }
 
+  private String formatMillis(long nanos) {
+    return String.format("%.3f", nanos / 1_000_000.0);
+  }
+
   private String getColorForTime(double ms) {
     if (ms < 0.05) {
       return "&a";
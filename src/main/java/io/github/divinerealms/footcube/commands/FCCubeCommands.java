@@ -96,7 +96,7 @@ public class FCCubeCommands extends BaseCommand {
     }
 
     if (closest != null) {
-      closest.setHealth(0);
+      system.removeCube(closest);
       logger.send(player, CUBE_CLEAR);
     } else {
       logger.send(player, CUBE_NO_CUBES);
@@ -115,7 +115,7 @@ public class FCCubeCommands extends BaseCommand {
 
     int count = 0;
     for (Slime cube : physicsData.getCubes()) {
-      cube.setHealth(0);
+      system.removeCube(cube);
       count++;
     }
 
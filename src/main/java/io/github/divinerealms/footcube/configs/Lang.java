@@ -357,16 +357,64 @@ public enum Lang {
       "&r &r",
       "&7  Running: &e{0} &8/ &7{1}",
       "&r &r")),
-  TASKS_REPORT_ENTRY("plugin-stats.report.tasks.entry", "  {0} &d{1}&f: &a{2}ms &87({3} runs)"),
+  TASKS_REPORT_ENTRY("plugin-stats.report.tasks.entry", "  {0} &d{1}&f: &a{2}ms &87({3} runs, {4} deferred)"),
+  TASKS_REPORT_LATENCY_RECENT("plugin-stats.report.tasks.latency-recent",
+      "      &8last {0}s: &7p50 &a{1} &8| &7p90 &a{2} &8| &7p99 &e{3} &8| &7p99.9 &e{4} &8| &7max &c{5}ms"),
+  TASKS_REPORT_LATENCY_LIFETIME("plugin-stats.report.tasks.latency-lifetime",
+      "      &8lifetime: &7p50 &a{0} &8| &7p90 &a{1} &8| &7p99 &e{2} &8| &7p99.9 &e{3} &8| &7max &c{4}ms"),
+  TASKS_REPORT_STAGE("plugin-stats.report.tasks.stage",
+      "  &8» &dtick/{0}&f: &a{1}ms &8| &7p99 &e{2}ms &8| &7max &c{3}ms"),
+  TASKS_REPORT_VELOCITY("plugin-stats.report.tasks.velocity", String.join(System.lineSeparator(),
+      "&r &r",
+      "&7  Velocity Updates: &a{0} sent &8| &e{1} suppressed &7({2}%)")),
+  TASKS_REPORT_SOUNDS("plugin-stats.report.tasks.sounds",
+      "&7  Sounds: &e{0} queued &8| &e{1} merged &8| &a{2} sent"),
+  TASKS_REPORT_CUBE_POOL("plugin-stats.report.tasks.cube-pool",
+      "&7  Cube Pool: &a{0} reused &8| &e{1} spawned &8| &e{2} parked"),
+  TASKS_REPORT_VIRTUAL_CUBES("plugin-stats.report.tasks.virtual-cubes",
+      "&7  Virtual Cubes: {0} &8| &e{1} active &8| &a{2} packets sent"),
+  TASKS_REPORT_PARTICLES("plugin-stats.report.tasks.particles",
+      "&7  Particle LOD: &e{0} &7(pipeline &e{1}ms&7/tick &8| &e{2} &7peak packets/viewer)"),
+  TASKS_REPORT_TIMERS("plugin-stats.report.tasks.timers",
+      "&7  Pending Timers: &e{0} &7(wheel tick &e{1}&7)"),
+  TASKS_REPORT_SCHEDULER("plugin-stats.report.tasks.scheduler",
+      "&7  Tick Budget: &e{0}ms &8| &e{1} &7of &e{2} &7ticks over &8| &e{3} &7deferred &8| &e{4} &7forced &8| &7worst overrun &c{5}ms"),
   TASKS_REPORT_FOOTER("plugin-stats.report.tasks.footer", String.join(System.lineSeparator(),
       "&r &r",
       "&7 &lOverall Average Tick Time: &a{0}ms",
+      "&7 &lWorst Task p99: {1}ms",
       "&e---------------------------------------------")),
   TASKS_RESTART("plugin-stats.report.tasks.restart",
       "{prefix-admin}&aAll tasks have been restarted."),
   TASKS_RESET_STATS("plugin-stats.report.tasks.reset-stats",
       "{prefix-admin}&aAll task statistics have been reset."),
 
+  PROFILE_REPORT_HEADER("plugin-stats.report.profile.header", String.join(System.lineSeparator(),
+      "&e-------------[ &6&lProfiler &e]-------------------",
+      "&r &r",
+      "&7  Status: {0} &8| &7Sampling: &e1&7/&e{1} &7calls",
+      "&r &r")),
+  PROFILE_REPORT_ENTRY("plugin-stats.report.profile.entry",
+      "  &d{0}&f: &e{1} &7calls &8| &7avg &a{2}µs &8| &7p50 &a{3}µs &8| &7p99 &e{4}µs &8| &7max &c{5}µs"),
+  PROFILE_REPORT_EMPTY("plugin-stats.report.profile.empty", "&7  No sections recorded yet."),
+  PROFILE_REPORT_FOOTER("plugin-stats.report.profile.footer", String.join(System.lineSeparator(),
+      "&r &r",
+      "&e---------------------------------------------")),
+  PROFILE_TOGGLE("plugin-stats.report.profile.toggle", "{prefix-admin}&fProfiler is now {0}&f."),
+  PROFILE_SAMPLE_INTERVAL("plugin-stats.report.profile.sample-interval",
+      "{prefix-admin}&fProfiler now times &e1 &fout of every &e{0} &fcalls."),
+  PROFILE_RESET("plugin-stats.report.profile.reset",
+      "{prefix-admin}&aProfiler statistics have been reset."),
+
+  RECORDER_SPIKE("plugin-stats.recorder.spike",
+      "{prefix-admin}&cLag spike: a tick took &e{0}ms&c, flight recorder dumped to &e{1}&c."),
+  RECORDER_DUMPED("plugin-stats.recorder.dumped",
+      "{prefix-admin}&aFlight recorder dumped &e{0} &aticks to &e{1}&a."),
+  RECORDER_EMPTY("plugin-stats.recorder.empty",
+      "{prefix-admin}&cFlight recorder has no ticks recorded yet."),
+  WATCHDOG_STALL("plugin-stats.watchdog.stall",
+      "{prefix-admin}&cMain thread stalled in &e{0} &cfor ~&e{1}ms&c, &e{2} &cstack samples written to &e{3}&c."),
+
   PLAYER_BANNED("bans.success", "{prefix-admin}{0} &cje banovan iz FC na &e{1}&c."),
   PLAYER_UNBANNED("bans.unbanned", "{prefix-admin}{0} &aje unbanovan."),
   BAN_REMAINING("bans.remaining", "{prefix-admin}{0} &cje banovan još &e{1}&c."),
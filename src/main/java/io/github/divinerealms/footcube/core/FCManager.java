@@ -47,19 +47,24 @@ import io.github.divinerealms.footcube.matchmaking.logic.MatchSystem;
 import io.github.divinerealms.footcube.matchmaking.scoreboard.ScoreManager;
 import io.github.divinerealms.footcube.matchmaking.team.TeamManager;
 import io.github.divinerealms.footcube.physics.PhysicsData;
+import io.github.divinerealms.footcube.physics.snapshot.WorldSnapshotBus;
+import io.github.divinerealms.footcube.physics.utilities.CollisionVoxelCache;
 import io.github.divinerealms.footcube.physics.utilities.PhysicsFormulae;
 import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
 import io.github.divinerealms.footcube.utils.CubeCleaner;
 import io.github.divinerealms.footcube.utils.DisableCommands;
 import io.github.divinerealms.footcube.utils.FCPlaceholders;
 import io.github.divinerealms.footcube.utils.Logger;
 import io.github.divinerealms.footcube.utils.PlayerSettings;
+import io.github.divinerealms.footcube.utils.TimingWheel;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.StallWatchdog;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.StringJoiner;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -90,6 +95,7 @@ public class FCManager {
   private final FootCube plugin;
   private final Logger logger;
   private final Utilities utilities;
+  private final TimingWheel timingWheel;
   private final ConfigManager configManager;
   private final PlayerDataManager dataManager;
   private final ArenaManager arenaManager;
@@ -102,14 +108,17 @@ public class FCManager {
   private final MatchManager matchManager;
   private final DisableCommands disableCommands;
   private final BukkitScheduler scheduler;
+  private final Profiler profiler;
+  private final StallWatchdog stallWatchdog;
   private final PhysicsData physicsData;
   private final PhysicsSystem physicsSystem;
   private final PhysicsFormulae physicsFormulae;
+  private final CollisionVoxelCache collisionCache;
+  private final WorldSnapshotBus worldSnapshots;
   private final CubeCleaner cubeCleaner;
   private final ListenerManager listenerManager;
   private final TaskManager taskManager;
-  private final Set<Player> cachedPlayers = ConcurrentHashMap.newKeySet();
-  private final Map<UUID, PlayerSettings> playerSettings = new ConcurrentHashMap<>();
+  private final PlayerSessionRegistry sessionRegistry = new PlayerSessionRegistry();
   private final Map<UUID, String> cachedPrefixedNames = new ConcurrentHashMap<>();
 
   private PaperCommandManager commandManager;
@@ -136,6 +145,7 @@ public class FCManager {
     this.setupDependencies();
 
     this.utilities = new Utilities(this);
+    this.timingWheel = new TimingWheel();
 
     this.arenaManager = new ArenaManager(this);
     this.scoreboardManager = new ScoreManager(this);
@@ -149,9 +159,14 @@ public class FCManager {
     this.disableCommands = new DisableCommands(this);
     this.scheduler = plugin.getServer().getScheduler();
 
+    this.profiler = new Profiler();
+    this.stallWatchdog = new StallWatchdog(plugin, logger);
     this.physicsData = new PhysicsData();
-    this.physicsSystem = new PhysicsSystem(physicsData, logger, scheduler, plugin);
-    this.physicsFormulae = new PhysicsFormulae(logger);
+    this.physicsSystem = new PhysicsSystem(physicsData, logger, scheduler, plugin, profiler,
+        timingWheel, sessionRegistry);
+    this.physicsFormulae = new PhysicsFormulae();
+    this.collisionCache = new CollisionVoxelCache(this);
+    this.worldSnapshots = new WorldSnapshotBus(physicsData, sessionRegistry, matchManager);
 
     this.cubeCleaner = new CubeCleaner(this);
     this.listenerManager = new ListenerManager(this);
@@ -162,12 +177,13 @@ public class FCManager {
   }
 
   public void reload() {
-    initializeCachedPlayers();
+    openOnlineSessions();
     if (!enabling) {
       configManager.reloadAllConfigs();
     }
 
     arenaManager.reloadArenas();
+    collisionCache.rebuild();
     setupConfig();
     setupMessages();
     registerCommands();
@@ -175,13 +191,12 @@ public class FCManager {
 
     taskManager.restart();
 
-    List<UUID> onlinePlayers = new ArrayList<>(cachedPlayers.size());
-    for (Player p : cachedPlayers) {
-      if (p == null) {
-        continue;
+    List<UUID> onlinePlayers = new ArrayList<>(sessionRegistry.getOnlineCount());
+    for (int id = 0; id < sessionRegistry.getHighWaterMark(); id++) {
+      PlayerSession session = sessionRegistry.get(id);
+      if (session != null) {
+        onlinePlayers.add(session.getUniqueId());
       }
-
-      onlinePlayers.add(p.getUniqueId());
     }
 
     scheduler.runTaskAsynchronously(plugin, () -> onlinePlayers.forEach(uuid -> {
@@ -197,10 +212,10 @@ public class FCManager {
     }));
   }
 
-  private void initializeCachedPlayers() {
-    Collection<? extends Player> onlinePlayers = Bukkit.getOnlinePlayers();
-    cachedPlayers.clear();
-    cachedPlayers.addAll(onlinePlayers);
+  private void openOnlineSessions() {
+    for (Player player : Bukkit.getOnlinePlayers()) {
+      sessionRegistry.open(player);
+    }
   }
 
   public void registerCommands() {
@@ -356,15 +371,19 @@ public class FCManager {
     }
   }
 
+  public PlayerSession getSession(Player player) {
+    return sessionRegistry.get(player);
+  }
+
   public PlayerSettings getPlayerSettings(Player player) {
-    return playerSettings.get(player.getUniqueId());
+    PlayerSession session = sessionRegistry.get(player);
+    return session == null ? null : session.getSettings();
   }
 
   public void preloadSettings(Player player, PlayerData playerData) {
     PlayerSettings settings = getPlayerSettings(player);
     if (settings == null) {
-      settings = new PlayerSettings();
-      playerSettings.put(player.getUniqueId(), settings);
+      return;
     }
 
     if (playerData.has(CONFIG_PARTICLES_BASE + ".effect")) {
@@ -404,8 +423,7 @@ public class FCManager {
       settings.setParticlesEnabled((Boolean) playerData.get(CONFIG_PARTICLES_BASE + ".enabled"));
     }
     if (playerData.has("ban")) {
-      matchManager.getBanManager().getBannedPlayers()
-          .put(player.getUniqueId(), (Long) playerData.get("ban"));
+      matchManager.getBanManager().restoreBan(player.getUniqueId(), (Long) playerData.get("ban"));
     }
 
     String goalCelebration = "default";
@@ -473,9 +491,22 @@ public class FCManager {
       if (physicsData != null) {
         physicsData.cleanup();
       }
-      playerSettings.clear();
+      if (physicsSystem != null) {
+        physicsSystem.getSoundMixer().clear();
+        physicsSystem.getCubePool().clear();
+        physicsSystem.getVirtualCubes().clear();
+      }
+      if (timingWheel != null) {
+        timingWheel.clear();
+      }
+      if (worldSnapshots != null) {
+        worldSnapshots.clear();
+      }
+      if (stallWatchdog != null) {
+        stallWatchdog.stop();
+      }
+      sessionRegistry.clear();
       cachedPrefixedNames.clear();
-      cachedPlayers.clear();
       instance = null;
     } catch (Exception exception) {
       Bukkit.getLogger()
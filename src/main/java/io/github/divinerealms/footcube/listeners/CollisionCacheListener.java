@@ -0,0 +1,97 @@
+package io.github.divinerealms.footcube.listeners;
+
+import io.github.divinerealms.footcube.core.FCManager;
+import io.github.divinerealms.footcube.physics.utilities.CollisionVoxelCache;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+/**
+ * Keeps the {@link CollisionVoxelCache} in sync with the world. Block changes are forwarded once
+ * they are known to go through, and chunk loads and unloads fill or forget cached columns.
+ */
+public class CollisionCacheListener implements Listener {
+
+  private final CollisionVoxelCache cache;
+
+  public CollisionCacheListener(FCManager fcManager) {
+    this.cache = fcManager.getCollisionCache();
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockPlace(BlockPlaceEvent event) {
+    cache.invalidate(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockBreak(BlockBreakEvent event) {
+    cache.invalidate(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockBurn(BlockBurnEvent event) {
+    cache.invalidate(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockFade(BlockFadeEvent event) {
+    cache.invalidate(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockForm(BlockFormEvent event) {
+    cache.invalidate(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+    cache.invalidate(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onEntityExplode(EntityExplodeEvent event) {
+    for (Block block : event.blockList()) {
+      cache.invalidate(block);
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onPistonExtend(BlockPistonExtendEvent event) {
+    cache.invalidate(event.getBlock().getRelative(event.getDirection()));
+    for (Block block : event.getBlocks()) {
+      cache.invalidate(block);
+      cache.invalidate(block.getRelative(event.getDirection()));
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onPistonRetract(BlockPistonRetractEvent event) {
+    cache.invalidate(event.getBlock().getRelative(event.getDirection().getOppositeFace()));
+    for (Block block : event.getBlocks()) {
+      cache.invalidate(block);
+      cache.invalidate(block.getRelative(event.getDirection()));
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onChunkLoad(ChunkLoadEvent event) {
+    cache.onChunkLoad(event.getChunk());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onChunkUnload(ChunkUnloadEvent event) {
+    cache.onChunkUnload(event.getChunk());
+  }
+}
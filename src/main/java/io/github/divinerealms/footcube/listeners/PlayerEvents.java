@@ -31,11 +31,13 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.FoodLevelChangeEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerPickupItemEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.plugin.Plugin;
 
 public class PlayerEvents implements Listener {
@@ -98,7 +100,11 @@ public class PlayerEvents implements Listener {
 
     player.setExp(0);
     player.setLevel(0);
+    fcManager.getSessionRegistry().open(player);
     system.recordPlayerAction(player);
+    if (system.getVirtualCubes().isEnabled()) {
+      system.getVirtualCubes().getInput().inject(player);
+    }
 
     plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
       Player asyncPlayer = plugin.getServer().getPlayer(playerUuid);
@@ -109,7 +115,6 @@ public class PlayerEvents implements Listener {
       PlayerData playerData = dataManager.get(asyncPlayer);
       dataManager.addDefaults(playerData);
       fcManager.preloadSettings(asyncPlayer, playerData);
-      fcManager.getCachedPlayers().add(asyncPlayer);
       fcManager.cachePrefixedName(asyncPlayer);
     });
   }
@@ -123,8 +128,6 @@ public class PlayerEvents implements Listener {
 
     dataManager.unload(player);
     system.removePlayer(player);
-    fcManager.getCachedPlayers().remove(player);
-    fcManager.getPlayerSettings().remove(player.getUniqueId());
     fcManager.getCachedPrefixedNames().remove(player.getUniqueId());
 
     Collection<Queue<Player>> playerQueues = fcManager.getMatchData().getPlayerQueues().values();
@@ -143,6 +146,7 @@ public class PlayerEvents implements Listener {
             players.removeIf(mp -> mp == null
                 || mp.getPlayer() == null
                 || mp.getPlayer().equals(player));
+            fcManager.getMatchData().rosterChanged();
           }
         }
         fcManager.getScoreboardManager().updateScoreboard(match);
@@ -191,6 +195,19 @@ public class PlayerEvents implements Listener {
       }
       matchManager.leaveMatch(player);
     }
+
+    // Close last, once matchmaking is done with the player's team and match pointers.
+    fcManager.getSessionRegistry().close(player.getUniqueId());
+  }
+
+  @EventHandler
+  public void onRespawn(PlayerRespawnEvent event) {
+    system.getVirtualCubes().forgetViewer(event.getPlayer());
+  }
+
+  @EventHandler
+  public void onWorldChange(PlayerChangedWorldEvent event) {
+    system.getVirtualCubes().forgetViewer(event.getPlayer());
   }
 
   @EventHandler
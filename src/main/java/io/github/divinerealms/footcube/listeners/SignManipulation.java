@@ -171,10 +171,10 @@ public class SignManipulation implements Listener {
           Collection<Entity> nearbyEntities = playerLocation.getWorld()
               .getNearbyEntities(playerLocation, 100, 100,
                   100);
-          int slimeCount = 0;
+          int slimeCount = system.getVirtualCubes().countNear(playerLocation, 100);
           if (nearbyEntities != null) {
             for (Entity entity : nearbyEntities) {
-              if (entity instanceof Slime) {
+              if (entity instanceof Slime && !system.getCubePool().isParked((Slime) entity)) {
                 slimeCount++;
               }
             }
@@ -198,7 +198,7 @@ public class SignManipulation implements Listener {
             }
 
             if (cube.getLocation().distance(playerLocation) <= closestDistance) {
-              cube.setHealth(0);
+              system.removeCube(cube);
               removed++;
             }
           }
@@ -283,11 +283,11 @@ public class SignManipulation implements Listener {
           Location location = player.getLocation();
           Collection<Entity> nearbyEntities = location.getWorld()
               .getNearbyEntities(location, 100, 100, 100);
-          int slimeCount = 0;
+          int slimeCount = system.getVirtualCubes().countNear(location, 100);
 
           if (nearbyEntities != null) {
             for (Entity entity : nearbyEntities) {
-              if (entity instanceof Slime) {
+              if (entity instanceof Slime && !system.getCubePool().isParked((Slime) entity)) {
                 slimeCount++;
               }
             }
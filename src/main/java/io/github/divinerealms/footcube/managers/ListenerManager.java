@@ -3,6 +3,7 @@ package io.github.divinerealms.footcube.managers;
 import io.github.divinerealms.footcube.FootCube;
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.listeners.ChunkCheckers;
+import io.github.divinerealms.footcube.listeners.CollisionCacheListener;
 import io.github.divinerealms.footcube.listeners.PlayerEvents;
 import io.github.divinerealms.footcube.listeners.SignManipulation;
 import io.github.divinerealms.footcube.physics.listeners.CubeDamageListener;
@@ -29,6 +30,7 @@ public class ListenerManager {
     unregisterAll();
 
     pluginManager.registerEvents(new ChunkCheckers(), plugin);
+    pluginManager.registerEvents(new CollisionCacheListener(fcManager), plugin);
     pluginManager.registerEvents(new PlayerEvents(fcManager), plugin);
     pluginManager.registerEvents(new SignManipulation(fcManager), plugin);
 
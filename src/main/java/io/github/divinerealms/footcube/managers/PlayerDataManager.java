@@ -10,6 +10,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
@@ -29,6 +30,7 @@ public class PlayerDataManager {
   private final Set<String> dataQueueSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
   private volatile boolean uuidsChanged = false;
   private volatile boolean saveScheduled = false;
+  private final AtomicInteger savesInFlight = new AtomicInteger();
 
   public PlayerDataManager(FCManager fcManager) {
     this.fcManager = fcManager;
@@ -150,45 +152,61 @@ public class PlayerDataManager {
       return;
     }
 
+    savesInFlight.incrementAndGet();
     plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-      int chunkSize = 20;
-      int processed = 0;
-      int totalSaved = 0;
-
-      while (processed < chunkSize) {
-        String playerName = dataQueue.poll();
-        if (playerName == null) {
-          break;
-        }
-
-        try {
-          savePlayerData(playerName);
-          totalSaved++;
-        } catch (Exception exception) {
-          plugin.getLogger()
-              .log(Level.SEVERE, "Failed to save player data for " + playerName, exception);
-        }
-        processed++;
+      try {
+        saveBatch();
+      } finally {
+        savesInFlight.decrementAndGet();
       }
+    });
+  }
 
-      logger.info("Auto saved " + totalSaved + " player data file(s) this batch.");
+  /**
+   * Number of asynchronous save batches that have been scheduled but not finished yet.
+   */
+  public int getSavesInFlight() {
+    return savesInFlight.get();
+  }
 
-      if (uuidsChanged) {
-        uuidsChanged = false;
-        try {
-          configManager.saveConfig("player_uuids.yml");
-          logger.info("Saved updated player UUIDs.");
-        } catch (Exception exception) {
-          plugin.getLogger().log(Level.SEVERE, "Failed to save UUID config", exception);
-        }
+  private void saveBatch() {
+    int chunkSize = 20;
+    int processed = 0;
+    int totalSaved = 0;
+
+    while (processed < chunkSize) {
+      String playerName = dataQueue.poll();
+      if (playerName == null) {
+        break;
       }
 
-      if (!dataQueue.isEmpty()) {
-        logger.info(
-            dataQueue.size() + " player data file(s) remaining in queue, scheduling next batch...");
-        scheduleSave();
+      try {
+        savePlayerData(playerName);
+        totalSaved++;
+      } catch (Exception exception) {
+        plugin.getLogger()
+            .log(Level.SEVERE, "Failed to save player data for " + playerName, exception);
       }
-    });
+      processed++;
+    }
+
+    logger.info("Auto saved " + totalSaved + " player data file(s) this batch.");
+
+    if (uuidsChanged) {
+      uuidsChanged = false;
+      try {
+        configManager.saveConfig("player_uuids.yml");
+        logger.info("Saved updated player UUIDs.");
+      } catch (Exception exception) {
+        plugin.getLogger().log(Level.SEVERE, "Failed to save UUID config", exception);
+      }
+    }
+
+    if (!dataQueue.isEmpty()) {
+      logger.info(
+          dataQueue.size() + " player data file(s) remaining in queue, scheduling next batch...");
+      scheduleSave();
+    }
   }
 
   public void saveAll() {
@@ -4,13 +4,15 @@ import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.tasks.BaseTask;
 import io.github.divinerealms.footcube.tasks.CacheCleanupTask;
 import io.github.divinerealms.footcube.tasks.CubeCleanerTask;
+import io.github.divinerealms.footcube.tasks.FootCubeTick;
 import io.github.divinerealms.footcube.tasks.HighScoresTask;
 import io.github.divinerealms.footcube.tasks.MatchmakingTask;
 import io.github.divinerealms.footcube.tasks.ParticleTrailTask;
 import io.github.divinerealms.footcube.tasks.PhysicsTask;
 import io.github.divinerealms.footcube.tasks.PlayerUpdateTask;
 import io.github.divinerealms.footcube.tasks.QueueStatusTask;
-import io.github.divinerealms.footcube.tasks.TouchCleanupTask;
+import io.github.divinerealms.footcube.tasks.TaskScheduler;
+import io.github.divinerealms.footcube.tasks.TimingWheelTask;
 import io.github.divinerealms.footcube.utils.Logger;
 import io.github.divinerealms.footcube.utils.TaskStats;
 import java.util.ArrayList;
@@ -19,54 +21,72 @@ import lombok.Getter;
 
 /**
  * Centralized manager for all scheduled tasks. Handles initialization, lifecycle, and cleanup of
- * physics tasks.
+ * physics tasks. The tasks share a single {@link TaskScheduler} timer, which runs them by priority
+ * within a per-tick time budget. Physics, player update and matchmaking are not scheduled on their
+ * own but run as stages of the {@link FootCubeTick} pipeline.
  */
 @Getter
 public class TaskManager {
 
   private final Logger logger;
   private final List<BaseTask> tasks;
+  private final TaskScheduler scheduler;
 
-  // Physics Tasks
+  // Per-tick pipeline and its stages
+  private final FootCubeTick footCubeTick;
   private final PhysicsTask physicsTask;
-  private final TouchCleanupTask touchCleanupTask;
   private final PlayerUpdateTask playerUpdateTask;
+  private final MatchmakingTask matchmakingTask;
+
+  // Physics Tasks
   private final ParticleTrailTask particleTrailTask;
 
   // General Tasks
   private final CubeCleanerTask cubeCleanerTask;
-  private final MatchmakingTask matchmakingTask;
   private final CacheCleanupTask cacheCleanupTask;
   private final QueueStatusTask queueStatusTask;
   private final HighScoresTask highScoresTask;
+  private final TimingWheelTask timingWheelTask;
 
   public TaskManager(FCManager fcManager) {
     this.logger = fcManager.getLogger();
     this.tasks = new ArrayList<>();
 
-    // Initialize physics tasks.
+    // Initialize the tick pipeline.
     this.physicsTask = new PhysicsTask(fcManager);
-    this.touchCleanupTask = new TouchCleanupTask(fcManager);
     this.playerUpdateTask = new PlayerUpdateTask(fcManager);
-    this.particleTrailTask = new ParticleTrailTask(fcManager);
+    this.matchmakingTask = new MatchmakingTask(fcManager);
+    this.footCubeTick = new FootCubeTick(fcManager, playerUpdateTask, physicsTask,
+        matchmakingTask);
+
+    // Initialize physics tasks.
+    this.particleTrailTask = new ParticleTrailTask(fcManager, footCubeTick);
 
     // Initialize general tasks.
     this.cubeCleanerTask = new CubeCleanerTask(fcManager,
         fcManager.getCubeCleaner().getRemoveInterval());
-    this.matchmakingTask = new MatchmakingTask(fcManager);
     this.cacheCleanupTask = new CacheCleanupTask(fcManager);
     this.queueStatusTask = new QueueStatusTask(fcManager);
     this.highScoresTask = new HighScoresTask(fcManager);
+    this.timingWheelTask = new TimingWheelTask(fcManager);
 
-    tasks.add(physicsTask);
-    tasks.add(touchCleanupTask);
+    tasks.add(footCubeTick);
     tasks.add(playerUpdateTask);
+    tasks.add(physicsTask);
+    tasks.add(matchmakingTask);
     tasks.add(particleTrailTask);
     tasks.add(cubeCleanerTask);
-    tasks.add(matchmakingTask);
     tasks.add(cacheCleanupTask);
     tasks.add(queueStatusTask);
     tasks.add(highScoresTask);
+    tasks.add(timingWheelTask);
+
+    // Pipeline stages are run by the FootCubeTick, not by the scheduler.
+    List<BaseTask> scheduled = new ArrayList<>(tasks);
+    scheduled.remove(playerUpdateTask);
+    scheduled.remove(physicsTask);
+    scheduled.remove(matchmakingTask);
+    this.scheduler = new TaskScheduler(fcManager, scheduled);
   }
 
   public void startAll() {
@@ -80,11 +100,13 @@ public class TaskManager {
             "&c✘ &4Failed to start " + task.getTaskName() + " task: " + exception.getMessage());
       }
     }
+    scheduler.start();
     logger.info(
         "&a✔ &2Started &e" + started + "/" + tasks.size() + " &2plugin tasks successfully!");
   }
 
   public void stopAll() {
+    scheduler.stop();
     int stopped = 0;
     for (int i = tasks.size() - 1; i >= 0; i--) {
       BaseTask task = tasks.get(i);
@@ -108,24 +130,25 @@ public class TaskManager {
     startAll();
   }
 
+  /**
+   * Snapshots the execution times of every task. The tick pipeline is listed but left out of the
+   * totals, since its time is made up of its stages.
+   */
   public TaskStats getStats() {
-    return new TaskStats(
-        physicsTask.getAverageExecutionTime(),
-        touchCleanupTask.getAverageExecutionTime(),
-        playerUpdateTask.getAverageExecutionTime(),
-        particleTrailTask.getAverageExecutionTime(),
-        cubeCleanerTask.getAverageExecutionTime(),
-        matchmakingTask.getAverageExecutionTime(),
-        cacheCleanupTask.getAverageExecutionTime(),
-        queueStatusTask.getAverageExecutionTime(),
-        highScoresTask.getAverageExecutionTime()
-    );
+    List<TaskStats.Entry> entries = new ArrayList<>(tasks.size());
+    for (BaseTask task : tasks) {
+      entries.add(new TaskStats.Entry(task.getTaskName(), task.isRunning(),
+          task.getTotalExecutions(), task.getDeferrals(), task != footCubeTick,
+          task.getRecentLatency().snapshot(), task.getLifetimeLatency().snapshot()));
+    }
+    return new TaskStats(entries);
   }
 
   public void resetAllStats() {
     for (BaseTask task : tasks) {
       task.resetStats();
     }
+    scheduler.resetStats();
     logger.info("&a✔ &2Reset statistics for all tasks.");
   }
 
@@ -151,14 +151,33 @@ public class Utilities {
       double x, double y, double z,
       float offsetX, float offsetY, float offsetZ,
       float speed, int count) {
+    PacketPlayOutWorldParticles packet = createParticlePacket(particle, x, y, z,
+        offsetX, offsetY, offsetZ, speed, count);
+    if (packet != null) {
+      sendParticlePacket(player, packet);
+    }
+  }
+
+  /**
+   * Encodes a particle packet once so it can be sent to any number of players.
+   *
+   * @return the packet, or {@code null} if the particle is not allowed
+   */
+  public static PacketPlayOutWorldParticles createParticlePacket(EnumParticle particle,
+      double x, double y, double z,
+      float offsetX, float offsetY, float offsetZ,
+      float speed, int count) {
     if (PlayerSettings.DISALLOWED_PARTICLES.contains(particle)) {
-      return;
+      return null;
     }
 
+    return new PacketPlayOutWorldParticles(particle, true,
+        (float) x, (float) y, (float) z,
+        offsetX, offsetY, offsetZ, speed, count);
+  }
+
+  public static void sendParticlePacket(Player player, PacketPlayOutWorldParticles packet) {
     try {
-      PacketPlayOutWorldParticles packet = new PacketPlayOutWorldParticles(particle, true,
-          (float) x, (float) y, (float) z,
-          offsetX, offsetY, offsetZ, speed, count);
       ((CraftPlayer) player).getHandle().playerConnection.sendPacket(packet);
     } catch (Exception exception) {
       plugin.getLogger().log(Level.SEVERE, "Error while trying to send particle", exception);
@@ -35,6 +35,8 @@ import io.github.divinerealms.footcube.matchmaking.player.TeamColor;
 import io.github.divinerealms.footcube.matchmaking.scoreboard.ScoreManager;
 import io.github.divinerealms.footcube.matchmaking.team.Team;
 import io.github.divinerealms.footcube.matchmaking.team.TeamManager;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
 import io.github.divinerealms.footcube.utils.Logger;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -62,6 +64,10 @@ public class MatchManager {
   private final BanManager banManager;
   private final Utilities utilities;
   private final Logger logger;
+  private final PlayerSessionRegistry sessions;
+
+  // Matches advanced by the last update() call.
+  private int matchesUpdated = 0;
 
   public MatchManager(FCManager fcManager) {
     this.fcManager = fcManager;
@@ -73,6 +79,7 @@ public class MatchManager {
     this.banManager = fcManager.getBanManager();
     this.utilities = fcManager.getUtilities();
     this.logger = fcManager.getLogger();
+    this.sessions = fcManager.getSessionRegistry();
   }
 
   public synchronized void joinQueue(Player player, int matchType) {
@@ -128,6 +135,7 @@ public class MatchManager {
         for (int i = 0; i < existingLobby.getPlayers().size(); i++) {
           if (existingLobby.getPlayers().get(i) == null) {
             existingLobby.getPlayers().set(i, new MatchPlayer(p, null));
+            data.rosterChanged();
             scoreboardManager.showLobbyScoreboard(existingLobby, p);
             break;
           }
@@ -190,6 +198,7 @@ public class MatchManager {
 
       targetMatch.getPlayers().clear();
       targetMatch.getPlayers().addAll(Arrays.asList(p1, p2));
+      data.rosterChanged();
 
       targetMatch.setPhase(MatchPhase.STARTING);
       targetMatch.setCountdown(15);
@@ -243,6 +252,7 @@ public class MatchManager {
     while (targetMatch.getPlayers().size() < requiredPlayers) {
       targetMatch.getPlayers().add(null);
     }
+    data.rosterChanged();
 
     for (int i = 0; i < requiredPlayers; i++) {
       MatchPlayer matchPlayer = targetMatch.getPlayers().get(i);
@@ -259,11 +269,33 @@ public class MatchManager {
     scoreboardManager.updateScoreboard(targetMatch);
   }
 
+  /**
+   * Finds the match the player is in. The result is cached on the player's session and reused
+   * until match membership changes, so repeated lookups from event handlers skip the scan.
+   *
+   * @param player The player to look up.
+   * @return The player's match, if any.
+   */
   public Optional<Match> getMatch(Player player) {
     if (player == null || data.getMatches() == null) {
       return Optional.empty();
     }
 
+    PlayerSession session = sessions.get(player);
+    if (session == null) {
+      return Optional.ofNullable(findMatch(player));
+    }
+
+    long rosterVersion = data.getRosterVersion();
+    PlayerSession.MatchPointer pointer = session.getMatchPointer();
+    if (pointer == null || pointer.getRosterVersion() != rosterVersion) {
+      pointer = new PlayerSession.MatchPointer(findMatch(player), rosterVersion);
+      session.setMatchPointer(pointer);
+    }
+    return Optional.ofNullable(pointer.getMatch());
+  }
+
+  private Match findMatch(Player player) {
     for (Match match : data.getMatches()) {
       if (match == null) {
         continue;
@@ -279,12 +311,12 @@ public class MatchManager {
         }
         Player p = mp.getPlayer();
         if (p != null && p.equals(player)) {
-          return Optional.of(match);
+          return match;
         }
       }
     }
 
-    return Optional.empty();
+    return null;
   }
 
   public void leaveMatch(Player player) {
@@ -314,6 +346,7 @@ public class MatchManager {
 
       if (playerIndex != -1) {
         match.getPlayers().set(playerIndex, null);
+        data.rosterChanged();
       }
 
       boolean allNull = true;
@@ -400,6 +433,7 @@ public class MatchManager {
 
     if (openSlotIndex != -1) {
       match.getPlayers().set(openSlotIndex, new MatchPlayer(player, teamToJoin));
+      data.rosterChanged();
 
       if (teamToJoin == TeamColor.RED) {
         player.teleport(match.getArena().getRedSpawn());
@@ -522,14 +556,16 @@ public class MatchManager {
     }
 
     if (match.getCube() != null) {
-      match.getCube().setHealth(0);
+      fcManager.getPhysicsSystem().removeCube(match.getCube());
     }
     match.setPhase(MatchPhase.ENDED);
     data.getMatches().remove(match);
     data.getOpenMatches().remove(match);
+    data.rosterChanged();
   }
 
   public void update() {
+    matchesUpdated = 0;
     List<Match> matches = data.getMatches();
     if (matches == null || matches.isEmpty()) {
       try {
@@ -546,6 +582,7 @@ public class MatchManager {
       if (match == null) {
         continue;
       }
+      matchesUpdated++;
       try {
         system.updateMatch(match);
       } catch (Exception exception) {
@@ -737,6 +774,7 @@ public class MatchManager {
       }
 
       data.getMatches().remove(match);
+      data.rosterChanged();
     }
   }
 
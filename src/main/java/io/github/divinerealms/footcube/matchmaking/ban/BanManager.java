@@ -5,46 +5,127 @@ import static io.github.divinerealms.footcube.configs.Lang.BAN_REMAINING;
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.managers.Utilities;
 import io.github.divinerealms.footcube.utils.Logger;
+import io.github.divinerealms.footcube.utils.TimingWheel;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.Getter;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 
 public class BanManager {
 
   private final Logger logger;
+  private final Plugin plugin;
+  private final TimingWheel timingWheel;
   @Getter
   private final Map<UUID, Long> bannedPlayers = new ConcurrentHashMap<>();
+  // One expiry timer per banned player, rescheduled or cancelled as the ban changes. Main thread
+  // only.
+  private final Map<UUID, BanExpiry> expiries = new HashMap<>();
 
   public BanManager(FCManager fcManager) {
     this.logger = fcManager.getLogger();
+    this.plugin = fcManager.getPlugin();
+    this.timingWheel = fcManager.getTimingWheel();
   }
 
   public boolean isBanned(Player player) {
-    if (!bannedPlayers.containsKey(player.getUniqueId())) {
+    Long banTime = bannedPlayers.get(player.getUniqueId());
+    if (banTime == null) {
       return false;
     }
 
+    // The expiry timer fires on server ticks, so it can trail the wall clock while the server lags.
     long now = System.currentTimeMillis();
-    long banTime = bannedPlayers.get(player.getUniqueId());
-
-    if (now < banTime) {
-      long secondsLeft = (banTime - now) / 1000L;
-      logger.send(player, BAN_REMAINING, player.getDisplayName(),
-          Utilities.formatTime(secondsLeft));
-      return true;
+    if (now >= banTime) {
+      return false;
     }
 
-    bannedPlayers.remove(player.getUniqueId());
-    return false;
+    long secondsLeft = (banTime - now) / 1000L;
+    logger.send(player, BAN_REMAINING, player.getDisplayName(),
+        Utilities.formatTime(secondsLeft));
+    return true;
   }
 
   public void banPlayer(Player player, long duration) {
-    bannedPlayers.put(player.getUniqueId(), System.currentTimeMillis() + duration);
+    long expiresAt = System.currentTimeMillis() + duration;
+    bannedPlayers.put(player.getUniqueId(), expiresAt);
+    scheduleExpiry(player.getUniqueId(), expiresAt);
+  }
+
+  /**
+   * Restores a ban loaded from player data. Safe to call off the main thread; the expiry timer is
+   * scheduled on the next tick.
+   *
+   * @param playerId  The banned player.
+   * @param expiresAt When the ban expires, in epoch milliseconds.
+   */
+  public void restoreBan(UUID playerId, long expiresAt) {
+    if (expiresAt <= System.currentTimeMillis()) {
+      return;
+    }
+
+    bannedPlayers.put(playerId, expiresAt);
+    if (Bukkit.isPrimaryThread()) {
+      scheduleExpiry(playerId, expiresAt);
+    } else {
+      plugin.getServer().getScheduler().runTask(plugin, () -> scheduleExpiry(playerId, expiresAt));
+    }
   }
 
   public void unbanPlayer(Player player) {
-    bannedPlayers.remove(player.getUniqueId());
+    UUID playerId = player.getUniqueId();
+    bannedPlayers.remove(playerId);
+    BanExpiry expiry = expiries.remove(playerId);
+    if (expiry != null) {
+      timingWheel.cancel(expiry.timer);
+    }
+  }
+
+  /**
+   * Moves the player's expiry timer to the given expiry, creating it on the first ban. Nothing is
+   * scheduled if the ban was lifted or replaced while this call was queued, or if the same expiry
+   * is already pending, so restoring a ban on every join or reload does not add timers.
+   */
+  private void scheduleExpiry(UUID playerId, long expiresAt) {
+    Long current = bannedPlayers.get(playerId);
+    if (current == null || current != expiresAt) {
+      return;
+    }
+
+    BanExpiry expiry = expiries.get(playerId);
+    if (expiry == null) {
+      expiry = new BanExpiry(playerId);
+      expiries.put(playerId, expiry);
+    } else if (expiry.expiresAt == expiresAt && expiry.timer.isPending()) {
+      return;
+    }
+
+    expiry.expiresAt = expiresAt;
+    long delay = expiresAt - System.currentTimeMillis();
+    timingWheel.schedule(expiry.timer, TimingWheel.ticksFor(delay));
+  }
+
+  /**
+   * Drops the ban once it expires. The entry is only removed if it still holds the same expiry, so
+   * a ban replaced in the meantime is left alone.
+   */
+  private final class BanExpiry {
+
+    private final UUID playerId;
+    private final TimingWheel.Timer timer = timingWheel.newTimer(this::expire);
+    private long expiresAt;
+
+    private BanExpiry(UUID playerId) {
+      this.playerId = playerId;
+    }
+
+    private void expire() {
+      expiries.remove(playerId, this);
+      bannedPlayers.remove(playerId, expiresAt);
+    }
   }
-}
\ No newline at end of file
+}
@@ -12,7 +12,9 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.entity.Player;
@@ -25,6 +27,8 @@ public class MatchData {
   private final Map<Integer, Queue<Player>> playerQueues = new ConcurrentHashMap<>();
   private final Set<Integer> lockedQueues = ConcurrentHashMap.newKeySet();
   private final Map<Integer, ReentrantLock> queueLocks = new ConcurrentHashMap<>();
+  @Getter(AccessLevel.NONE)
+  private final AtomicLong rosterVersion = new AtomicLong();
 
   @Setter
   private boolean matchesEnabled = true;
@@ -36,4 +40,16 @@ public class MatchData {
     playerQueues.put(FOUR_V_FOUR, new ConcurrentLinkedQueue<>());
     // playerQueues.put(FIVE_V_FIVE, new ConcurrentLinkedQueue<>());
   }
+
+  /**
+   * Version of match membership. Bumped whenever a player is added to or removed from a match, or a
+   * match is added or removed, so cached per-player match pointers know to look again.
+   */
+  public long getRosterVersion() {
+    return rosterVersion.get();
+  }
+
+  public void rosterChanged() {
+    rosterVersion.incrementAndGet();
+  }
 }
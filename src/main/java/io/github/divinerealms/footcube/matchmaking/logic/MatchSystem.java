@@ -48,6 +48,7 @@ import io.github.divinerealms.footcube.matchmaking.player.TeamColor;
 import io.github.divinerealms.footcube.matchmaking.scoreboard.ScoreManager;
 import io.github.divinerealms.footcube.matchmaking.team.Team;
 import io.github.divinerealms.footcube.matchmaking.team.TeamManager;
+import io.github.divinerealms.footcube.physics.CubeStateStore;
 import io.github.divinerealms.footcube.utils.Logger;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -78,6 +79,9 @@ public class MatchSystem {
   private final TeamManager teamManager;
   private final Utilities utilities;
 
+  // In-progress matches whose scoreboard is refreshed in the presentation stage of this tick.
+  private final List<Match> pendingScoreboards = new ArrayList<>();
+
   public MatchSystem(FCManager fcManager) {
     this.fcManager = fcManager;
     this.logger = fcManager.getLogger();
@@ -142,7 +146,7 @@ public class MatchSystem {
   }
 
   public void handleCubeSpawn(Match match) {
-    if (match.getCube() != null && !match.getCube().isDead()) {
+    if (fcManager.getPhysicsSystem().isInPlay(match.getCube())) {
       return;
     }
 
@@ -167,7 +171,7 @@ public class MatchSystem {
   }
 
   public void handleCubeRespawn(Match match) {
-    if (match.getCube() != null && !match.getCube().isDead()) {
+    if (fcManager.getPhysicsSystem().isInPlay(match.getCube())) {
       return;
     }
     if (match.getPhase() != MatchPhase.IN_PROGRESS) {
@@ -204,39 +208,52 @@ public class MatchSystem {
 
   public void handleGoalDetection(Match match) {
     Slime cube = match.getCube();
-    if (cube == null) {
+    if (!fcManager.getPhysicsSystem().isInPlay(cube)) {
       return;
     }
 
-    Location cubeLocation = cube.getLocation();
+    // Prefer the position recorded by the physics task this tick over a fresh entity lookup
+    CubeStateStore states = fcManager.getPhysicsData().getCubeStates();
+    int slot = states.slotOf(cube);
+    double cubeX;
+    double cubeZ;
+    if (slot >= 0 && states.hasFlag(slot, CubeStateStore.FLAG_VELOCITY_TRACKED)) {
+      cubeX = states.getX(slot);
+      cubeZ = states.getZ(slot);
+    } else {
+      Location cubeLocation = cube.getLocation();
+      cubeX = cubeLocation.getX();
+      cubeZ = cubeLocation.getZ();
+    }
+
     Arena arena = match.getArena();
     double cubeRadius = 0.26;
 
     if (arena.isXAxis()) {
       if (arena.isRedIsGreater()
-          && cubeLocation.getX() + cubeRadius > arena.getRedSpawn().getX()
+          && cubeX + cubeRadius > arena.getRedSpawn().getX()
           || !arena.isRedIsGreater()
-          && cubeLocation.getX() - cubeRadius < arena.getRedSpawn().getX()) {
+          && cubeX - cubeRadius < arena.getRedSpawn().getX()) {
         score(match, TeamColor.BLUE);
       } else {
         if (arena.isRedIsGreater()
-            && cubeLocation.getX() - cubeRadius < arena.getBlueSpawn().getX()
+            && cubeX - cubeRadius < arena.getBlueSpawn().getX()
             || !arena.isRedIsGreater()
-            && cubeLocation.getX() + cubeRadius > arena.getBlueSpawn().getX()) {
+            && cubeX + cubeRadius > arena.getBlueSpawn().getX()) {
           score(match, TeamColor.RED);
         }
       }
     } else {
       if (arena.isRedIsGreater()
-          && cubeLocation.getZ() + cubeRadius > arena.getRedSpawn().getZ()
+          && cubeZ + cubeRadius > arena.getRedSpawn().getZ()
           || !arena.isRedIsGreater()
-          && cubeLocation.getZ() - cubeRadius < arena.getRedSpawn().getZ()) {
+          && cubeZ - cubeRadius < arena.getRedSpawn().getZ()) {
         score(match, TeamColor.BLUE);
       } else {
         if (arena.isRedIsGreater()
-            && cubeLocation.getZ() - cubeRadius < arena.getBlueSpawn().getZ()
+            && cubeZ - cubeRadius < arena.getBlueSpawn().getZ()
             || !arena.isRedIsGreater()
-            && cubeLocation.getZ() + cubeRadius > arena.getBlueSpawn().getZ()) {
+            && cubeZ + cubeRadius > arena.getBlueSpawn().getZ()) {
           score(match, TeamColor.RED);
         }
       }
@@ -247,7 +264,7 @@ public class MatchSystem {
     if (match.getPhase() != MatchPhase.IN_PROGRESS) {
       return;
     }
-    updateMatchScore(match, scoringTeam);
+    updateMatchScore(match, scoringTeam, fcManager);
     ScoringResult scoringResult = determineScoringPlayers(match, scoringTeam);
     if (scoringResult.shouldAwardCredits()) {
       awardCreditsForGoal(scoringResult, logger, fcManager);
@@ -414,8 +431,8 @@ public class MatchSystem {
         break;
 
       case IN_PROGRESS:
-        if (shouldUpdateScoreboard(match)) {
-          scoreboardManager.updateScoreboard(match);
+        if (shouldUpdateScoreboard(match) && !pendingScoreboards.contains(match)) {
+          pendingScoreboards.add(match);
         }
         handleGoalDetection(match);
         handleMatchTimer(match);
@@ -573,6 +590,7 @@ public class MatchSystem {
       for (Player p : playerGroup) {
         queue.remove(p);
         targetMatch.getPlayers().add(new MatchPlayer(p, null));
+        data.rosterChanged();
         scoreboardManager.showLobbyScoreboard(targetMatch, p);
       }
 
@@ -728,9 +746,25 @@ public class MatchSystem {
     Collections.shuffle(available);
     Match newMatch = new Match(available.get(0), new ArrayList<>());
     data.getMatches().add(newMatch);
+    data.rosterChanged();
     return newMatch;
   }
 
+  /**
+   * Refreshes the scoreboards of in-progress matches queued by {@link #updateMatch(Match)}, so
+   * they show the state at the end of the tick, including goals scored in it. Matches that ended
+   * meanwhile are skipped.
+   */
+  public void flushScoreboards() {
+    for (int i = 0; i < pendingScoreboards.size(); i++) {
+      Match match = pendingScoreboards.get(i);
+      if (match.getPhase() != MatchPhase.ENDED && data.getMatches().contains(match)) {
+        scoreboardManager.updateScoreboard(match);
+      }
+    }
+    pendingScoreboards.clear();
+  }
+
   private boolean shouldUpdateScoreboard(Match match) {
     return match.getTick() % SCOREBOARD_UPDATE_INTERVAL == 0;
   }
@@ -5,6 +5,8 @@ import static io.github.divinerealms.footcube.configs.Lang.TEAM_DISBANDED;
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.matchmaking.Match;
 import io.github.divinerealms.footcube.matchmaking.MatchPhase;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
 import io.github.divinerealms.footcube.utils.Logger;
 import java.util.Collection;
 import java.util.Collections;
@@ -13,7 +15,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
-import java.util.UUID;
 import lombok.Getter;
 import org.bukkit.entity.Player;
 
@@ -23,11 +24,12 @@ public class TeamManager {
   private final FCManager fcManager;
   private final Logger logger;
   private final Map<Player, Map<Player, Integer>> teamInvites = new HashMap<>();
-  private final Map<UUID, Team> playerTeams = new HashMap<>();
+  private final PlayerSessionRegistry sessions;
 
   public TeamManager(FCManager fcManager) {
     this.fcManager = fcManager;
     this.logger = fcManager.getLogger();
+    this.sessions = fcManager.getSessionRegistry();
   }
 
   public void invite(Player inviter, Player invited, int matchType) {
@@ -59,21 +61,29 @@ public class TeamManager {
   }
 
   public Team getTeam(Player player) {
-    return playerTeams.get(player.getUniqueId());
+    PlayerSession session = sessions.get(player);
+    return session == null ? null : session.getTeam();
   }
 
   public boolean isInTeam(Player player) {
-    return playerTeams.containsKey(player.getUniqueId());
+    return getTeam(player) != null;
   }
 
   public void createTeam(Player leader, Player member, int matchType) {
     Team team = new Team(leader, member, matchType);
-    playerTeams.put(leader.getUniqueId(), team);
-    playerTeams.put(member.getUniqueId(), team);
+    setTeam(leader, team);
+    setTeam(member, team);
   }
 
   public void disbandTeam(Team team) {
-    team.getMembers().forEach(member -> playerTeams.remove(member.getUniqueId()));
+    team.getMembers().forEach(member -> setTeam(member, null));
+  }
+
+  private void setTeam(Player player, Team team) {
+    PlayerSession session = sessions.get(player);
+    if (session != null) {
+      session.setTeam(team);
+    }
   }
 
   public void disbandTeamIfInLobby(Player leaver) {
@@ -392,14 +392,15 @@ public class MatchUtils {
     return "default";
   }
 
-  public static void updateMatchScore(Match match, TeamColor scoringTeam) {
+  public static void updateMatchScore(Match match, TeamColor scoringTeam,
+      FCManager fcManager) {
     if (scoringTeam == TeamColor.RED) {
       match.setScoreRed(match.getScoreRed() + 1);
     } else {
       match.setScoreBlue(match.getScoreBlue() + 1);
     }
     if (match.getCube() != null) {
-      match.getCube().setHealth(0);
+      fcManager.getPhysicsSystem().removeCube(match.getCube());
     }
     match.setCube(null);
   }
@@ -0,0 +1,329 @@
+package io.github.divinerealms.footcube.physics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.entity.Slime;
+
+/**
+ * Dense, index-addressed storage for per-cube physics state.
+ * <p>
+ * Every tracked cube owns a slot for its whole lifetime. State is kept in parallel primitive arrays
+ * (struct-of-arrays) so per-tick loops walk contiguous memory without hashing, boxing or cloning
+ * {@link org.bukkit.util.Vector}/{@link org.bukkit.Location} instances.
+ * </p>
+ *
+ * <p><b>Lifecycle:</b></p>
+ * <ul>
+ *   <li>A slot is allocated in {@code PhysicsSystem#spawnCube(Location)}.</li>
+ *   <li>The slot is released when the cube is removed, and recycled by the next spawn.</li>
+ *   <li>Memory is therefore bounded by the peak number of simultaneously alive cubes.</li>
+ * </ul>
+ *
+ * <p><b>Sleeping:</b> A cube that stays at rest with no player in range for long enough is
+ * flagged {@link #FLAG_SLEEPING}. Sleeping cubes keep their slot and last known position but are
+ * skipped by the physics and particle tasks until {@link #wake(Slime)} is called.</p>
+ *
+ * <p><b>Threading:</b> Slots are allocated, freed and written on the main thread. Async tasks
+ * read cube state from the per-tick
+ * {@link io.github.divinerealms.footcube.physics.snapshot.WorldSnapshot} instead.</p>
+ */
+public class CubeStateStore {
+
+  /** Slot is in use by a live cube. */
+  public static final int FLAG_ACTIVE = 1;
+  /** Velocity arrays hold a value written by the physics task. */
+  public static final int FLAG_VELOCITY_TRACKED = 1 << 1;
+  /** Cube is at rest with nobody nearby and is skipped by the per-tick tasks. */
+  public static final int FLAG_SLEEPING = 1 << 3;
+
+  private static final int INITIAL_CAPACITY = 32;
+
+  private final Map<UUID, Integer> slotsById = new ConcurrentHashMap<>();
+
+  private Slime[] cubes = new Slime[INITIAL_CAPACITY];
+  private int[] flags = new int[INITIAL_CAPACITY];
+
+  private double[] posX = new double[INITIAL_CAPACITY];
+  private double[] posY = new double[INITIAL_CAPACITY];
+  private double[] posZ = new double[INITIAL_CAPACITY];
+
+  private double[] velX = new double[INITIAL_CAPACITY];
+  private double[] velY = new double[INITIAL_CAPACITY];
+  private double[] velZ = new double[INITIAL_CAPACITY];
+
+  private double[] prevVelX = new double[INITIAL_CAPACITY];
+  private double[] prevVelY = new double[INITIAL_CAPACITY];
+  private double[] prevVelZ = new double[INITIAL_CAPACITY];
+
+  private int[] restTicks = new int[INITIAL_CAPACITY];
+
+  // Unique per allocation, so a recycled slot or a pooled entity is never mistaken for its
+  // previous cube. Never reset, even by clear().
+  private long[] spawnIds = new long[INITIAL_CAPACITY];
+  private long lastSpawnId = 0;
+
+  private int[] freeSlots = new int[INITIAL_CAPACITY];
+  private int freeCount = 0;
+  private int highWaterMark = 0;
+  private int activeCount = 0;
+  private int sleepingCount = 0;
+
+  /**
+   * Assigns a slot to the given cube, reusing a freed slot when possible.
+   *
+   * @param cube the cube entity to track
+   * @return the slot index assigned to the cube
+   */
+  public synchronized int allocate(Slime cube) {
+    Integer existing = slotsById.get(cube.getUniqueId());
+    if (existing != null) {
+      return existing;
+    }
+
+    int slot;
+    if (freeCount > 0) {
+      slot = freeSlots[--freeCount];
+    } else {
+      if (highWaterMark == cubes.length) {
+        grow(cubes.length * 2);
+      }
+      slot = highWaterMark++;
+    }
+
+    cubes[slot] = cube;
+    flags[slot] = FLAG_ACTIVE;
+    posX[slot] = posY[slot] = posZ[slot] = 0;
+    velX[slot] = velY[slot] = velZ[slot] = 0;
+    prevVelX[slot] = prevVelY[slot] = prevVelZ[slot] = 0;
+    restTicks[slot] = 0;
+    spawnIds[slot] = ++lastSpawnId;
+
+    slotsById.put(cube.getUniqueId(), slot);
+    activeCount++;
+    return slot;
+  }
+
+  /**
+   * Releases the slot owned by the given cube, if any.
+   *
+   * @param cube the cube whose state should be dropped
+   */
+  public synchronized void free(Slime cube) {
+    Integer slot = slotsById.remove(cube.getUniqueId());
+    if (slot == null) {
+      return;
+    }
+
+    if ((flags[slot] & FLAG_SLEEPING) != 0) {
+      sleepingCount--;
+    }
+    cubes[slot] = null;
+    flags[slot] = 0;
+    freeSlots[freeCount++] = slot;
+    activeCount--;
+  }
+
+  /**
+   * Looks up the slot owned by a cube.
+   *
+   * @param cube the cube to look up
+   * @return the slot index, or {@code -1} if the cube is not tracked
+   */
+  public int slotOf(Slime cube) {
+    if (cube == null) {
+      return -1;
+    }
+    Integer slot = slotsById.get(cube.getUniqueId());
+    return slot == null ? -1 : slot;
+  }
+
+  public synchronized void clear() {
+    Arrays.fill(cubes, null);
+    Arrays.fill(flags, 0);
+    slotsById.clear();
+    freeCount = 0;
+    highWaterMark = 0;
+    activeCount = 0;
+    sleepingCount = 0;
+  }
+
+  /**
+   * Upper bound (exclusive) of slots that have ever been used. Iterate {@code 0..highWaterMark}
+   * and skip slots for which {@link #isActive(int)} is false.
+   *
+   * @return the number of slots to scan
+   */
+  public int getHighWaterMark() {
+    return highWaterMark;
+  }
+
+  public int getActiveCount() {
+    return activeCount;
+  }
+
+  public int getSleepingCount() {
+    return sleepingCount;
+  }
+
+  public boolean isActive(int slot) {
+    return (flags[slot] & FLAG_ACTIVE) != 0;
+  }
+
+  /**
+   * Id of the spawn that allocated the slot. Every allocation gets a new id, even when the same
+   * slot or a pooled entity is reused.
+   */
+  public long getSpawnId(int slot) {
+    return spawnIds[slot];
+  }
+
+  public Slime getCube(int slot) {
+    return cubes[slot];
+  }
+
+  public boolean hasFlag(int slot, int flag) {
+    return (flags[slot] & flag) != 0;
+  }
+
+  public void setFlag(int slot, int flag) {
+    flags[slot] |= flag;
+  }
+
+  public void clearFlag(int slot, int flag) {
+    flags[slot] &= ~flag;
+  }
+
+  // --- Position ---
+
+  public void setPosition(int slot, double x, double y, double z) {
+    posX[slot] = x;
+    posY[slot] = y;
+    posZ[slot] = z;
+  }
+
+  public double getX(int slot) {
+    return posX[slot];
+  }
+
+  public double getY(int slot) {
+    return posY[slot];
+  }
+
+  public double getZ(int slot) {
+    return posZ[slot];
+  }
+
+  // --- Velocity ---
+
+  /**
+   * Records the velocity applied this tick, shifting the old value into the previous-velocity
+   * arrays.
+   */
+  public void pushVelocity(int slot, double x, double y, double z) {
+    prevVelX[slot] = velX[slot];
+    prevVelY[slot] = velY[slot];
+    prevVelZ[slot] = velZ[slot];
+    velX[slot] = x;
+    velY[slot] = y;
+    velZ[slot] = z;
+    flags[slot] |= FLAG_VELOCITY_TRACKED;
+  }
+
+  public double getVelX(int slot) {
+    return velX[slot];
+  }
+
+  public double getVelY(int slot) {
+    return velY[slot];
+  }
+
+  public double getVelZ(int slot) {
+    return velZ[slot];
+  }
+
+  public double getPrevVelX(int slot) {
+    return prevVelX[slot];
+  }
+
+  public double getPrevVelY(int slot) {
+    return prevVelY[slot];
+  }
+
+  public double getPrevVelZ(int slot) {
+    return prevVelZ[slot];
+  }
+
+  // --- Sleep ---
+
+  public boolean isSleeping(int slot) {
+    return (flags[slot] & FLAG_SLEEPING) != 0;
+  }
+
+  /**
+   * Counts one more tick the cube spent at rest with nobody nearby.
+   *
+   * @return the number of consecutive rest ticks, including this one
+   */
+  public int incrementRestTicks(int slot) {
+    return ++restTicks[slot];
+  }
+
+  public void resetRestTicks(int slot) {
+    restTicks[slot] = 0;
+  }
+
+  /**
+   * Puts the cube in the given slot to sleep. Does nothing if it is already sleeping.
+   */
+  public void sleep(int slot) {
+    if ((flags[slot] & FLAG_SLEEPING) != 0) {
+      return;
+    }
+    flags[slot] |= FLAG_SLEEPING;
+    sleepingCount++;
+  }
+
+  /**
+   * Wakes the cube in the given slot and restarts its rest counter. Does nothing if it is awake.
+   */
+  public void wake(int slot) {
+    restTicks[slot] = 0;
+    if ((flags[slot] & FLAG_SLEEPING) == 0) {
+      return;
+    }
+    flags[slot] &= ~FLAG_SLEEPING;
+    sleepingCount--;
+  }
+
+  /**
+   * Wakes the given cube, if it is tracked. Call this whenever something outside the physics task
+   * moves a cube.
+   *
+   * @param cube the cube to wake
+   */
+  public void wake(Slime cube) {
+    int slot = slotOf(cube);
+    if (slot != -1) {
+      wake(slot);
+    }
+  }
+
+  private void grow(int capacity) {
+    cubes = Arrays.copyOf(cubes, capacity);
+    flags = Arrays.copyOf(flags, capacity);
+    posX = Arrays.copyOf(posX, capacity);
+    posY = Arrays.copyOf(posY, capacity);
+    posZ = Arrays.copyOf(posZ, capacity);
+    velX = Arrays.copyOf(velX, capacity);
+    velY = Arrays.copyOf(velY, capacity);
+    velZ = Arrays.copyOf(velZ, capacity);
+    prevVelX = Arrays.copyOf(prevVelX, capacity);
+    prevVelY = Arrays.copyOf(prevVelY, capacity);
+    prevVelZ = Arrays.copyOf(prevVelZ, capacity);
+    restTicks = Arrays.copyOf(restTicks, capacity);
+    spawnIds = Arrays.copyOf(spawnIds, capacity);
+    freeSlots = Arrays.copyOf(freeSlots, capacity);
+  }
+}
@@ -8,13 +8,25 @@ public class PhysicsConstants {
 
   // --- Debug & Monitoring ---
   public static final int DEBUG_ON_MS = 5;
+  public static final long TASK_LATENCY_WINDOW_SECONDS = 60;
+  public static final int TASK_LATENCY_WINDOW_SLICES = 6;
+  public static final double TASK_TICK_BUDGET_MS = 10.0;
+  public static final int TASK_MAX_DEFERRAL_TICKS = 20;
+  public static final int FLIGHT_RECORDER_TICKS = 600;
+  public static final double FLIGHT_RECORDER_THRESHOLD_MS = 50.0;
+  public static final int FLIGHT_RECORDER_POST_TICKS = 100;
+  public static final long FLIGHT_RECORDER_COOLDOWN_SECONDS = 60;
+  public static final double WATCHDOG_THRESHOLD_MS = 100.0;
+  public static final long WATCHDOG_SAMPLE_INTERVAL_MS = 10;
+  public static final int WATCHDOG_MAX_SAMPLES = 3000;
 
   // --- Task Intervals (Ticks) ---
   public static final long PHYSICS_TASK_INTERVAL_TICKS = 1;
+  public static final int PHYSICS_PARALLEL_MIN_CUBES = 32;
+  public static final int PHYSICS_MIN_BATCH_SIZE = 8;
   public static final long MATCH_TASK_INTERVAL_TICKS = 1;
   public static final long GLOW_TASK_INTERVAL_TICKS = 2;
   public static final long CUBE_REMOVAL_DELAY_TICKS = 20;
-  public static final int CLEANUP_LAST_TOUCHES_INTERVAL = 1;
   public static final int EXP_UPDATE_INTERVAL_TICKS = 1;
 
   // --- Timeouts & Cooldowns (Milliseconds) ---
@@ -28,6 +40,8 @@ public class PhysicsConstants {
   public static final int SLIME_SIZE = 1;
   public static final int JUMP_POTION_DURATION = Integer.MAX_VALUE;
   public static final int JUMP_POTION_AMPLIFIER = -3;
+  public static final int CUBE_POOL_MAX_PARKED = 16;
+  public static final double CUBE_POOL_PARK_Y = 300;
 
   // --- Kick Power & Charge Settings ---
   public static final double MAX_KP = 5;
@@ -66,6 +80,7 @@ public class PhysicsConstants {
   // --- Physics Math Thresholds ---
   public static final double VECTOR_CHANGE_THRESHOLD = 0.1;
   public static final double VERTICAL_BOUNCE_THRESHOLD = 0.05;
+  public static final double VELOCITY_WRITE_EPSILON = 0.001;
 
   // --- Player / Location Offsets ---
   public static final int PLAYER_HEAD_LEVEL = 2;
@@ -75,6 +90,7 @@ public class PhysicsConstants {
   public static final double MIN_SOUND_POWER = 0.15;
   public static final float SOUND_VOLUME = 0.5F;
   public static final float SOUND_PITCH = 1;
+  public static final double SOUND_HEARING_DISTANCE = 16;
 
   // --- Particle Defaults ---
   public static final double DISTANCE_PARTICLE_THRESHOLD = 32;
@@ -87,6 +103,17 @@ public class PhysicsConstants {
   public static final float GENERIC_PARTICLE_OFFSET = 0.01F;
   public static final float GENERIC_PARTICLE_SPEED = 0.1F;
   public static final int GENERIC_PARTICLE_COUNT = 10;
+  public static final double PARTICLE_VIEWER_CELL_SIZE = 32;
+
+  // --- Particle Level of Detail ---
+  public static final double LOD_FAR_BAND_DISTANCE = 96;
+  public static final double LOD_FAR_BAND_DISTANCE_SQUARED =
+      LOD_FAR_BAND_DISTANCE * LOD_FAR_BAND_DISTANCE;
+  public static final long LOD_SAMPLE_TICKS = 20;
+  public static final double LOD_TICK_BUDGET_MS = 8;
+  public static final double LOD_TICK_RECOVERY_MS = 5;
+  public static final int LOD_PACKET_BUDGET = 60;
+  public static final int LOD_RECOVERY_WINDOWS = 5;
 
   // --- Anticipatory Hop Effect Constants ---
   public static final int HOP_CHECK_INTERVAL = 3;
@@ -100,6 +127,33 @@ public class PhysicsConstants {
   public static final double HOP_MIN_BOUNCE_MULTIPLIER = 1.25;
   public static final double HOP_IDLE_FORCE_MULTIPLIER = 0.4;
 
+  // --- Cube Sleep Constants ---
+  public static final int SLEEP_REST_TICKS = 40;
+  public static final double SLEEP_HORIZONTAL_SPEED_SQUARED = 0.01 * 0.01;
+  public static final double WAKE_RANGE = HIT_RADIUS * 3;
+
+  // --- Collision Voxel Cache Constants ---
+  public static final int VOXEL_ARENA_MARGIN = 8;
+  public static final int VOXEL_ARENA_BELOW = 4;
+  public static final int VOXEL_ARENA_ABOVE = 16;
+  public static final int VOXEL_PRACTICE_RADIUS = 64;
+  public static final int VOXEL_PRACTICE_BELOW = 8;
+  public static final int VOXEL_PRACTICE_ABOVE = 24;
+
+  // --- Virtual Cube Constants ---
+  public static final double VIRTUAL_CUBE_VIEW_DISTANCE = 48;
+  public static final double VIRTUAL_CUBE_VIEW_DISTANCE_SQUARED =
+      VIRTUAL_CUBE_VIEW_DISTANCE * VIRTUAL_CUBE_VIEW_DISTANCE;
+  public static final double VIRTUAL_CUBE_NEAR_DISTANCE = 24;
+  public static final double VIRTUAL_CUBE_NEAR_DISTANCE_SQUARED =
+      VIRTUAL_CUBE_NEAR_DISTANCE * VIRTUAL_CUBE_NEAR_DISTANCE;
+  public static final int VIRTUAL_CUBE_FAR_INTERVAL = 3;
+  public static final double VIRTUAL_CUBE_REACH = 3.0;
+  public static final double VIRTUAL_CUBE_GRAVITY = 0.08;
+  public static final double VIRTUAL_CUBE_VERTICAL_DRAG = 0.98;
+  public static final float VIRTUAL_CUBE_AIR_FRICTION = 0.91F;
+  public static final double VIRTUAL_CUBE_MIN_MOTION = 0.005;
+
   // --- Utility ---
   public static final ThreadLocalRandom RANDOM = ThreadLocalRandom.current();
 }
\ No newline at end of file
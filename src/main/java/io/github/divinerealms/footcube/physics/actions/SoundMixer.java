@@ -0,0 +1,237 @@
+package io.github.divinerealms.footcube.physics.actions;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.SOUND_HEARING_DISTANCE;
+
+import io.github.divinerealms.footcube.physics.utilities.PlayerSpatialGrid;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import java.util.Arrays;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * Collects the sound effects of one tick and plays them inline when the physics tick ends.
+ * <p>
+ * Sounds are stored in pooled parallel arrays, so queueing does not allocate. On
+ * {@link #flush()} every positional sound is sent only to the players within hearing distance,
+ * found in a {@link PlayerSpatialGrid} of listeners built once per flush, instead of going through
+ * {@code World#playSound}, which walks every player in the world.
+ * </p>
+ *
+ * <p><b>Deduplication:</b> A sound queued again in the same tick from the same source (the same
+ * cube, or the same target player) is merged into the first entry. The merged entry keeps the
+ * loudest volume, so a cube that bounces and gets kicked in one tick is heard once.</p>
+ *
+ * <p><b>Threading:</b> All methods must be called from the main server thread.</p>
+ */
+public class SoundMixer {
+
+  /** Source id for positional sounds that should never be merged. */
+  public static final int NO_SOURCE = -1;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final PlayerSessionRegistry sessions;
+  private final Location soundLocation = new Location(null, 0, 0, 0);
+  private final Location listenerLocation = new Location(null, 0, 0, 0);
+
+  // Pending sounds, one index per entry.
+  private World[] worlds = new World[INITIAL_CAPACITY];
+  private Player[] targets = new Player[INITIAL_CAPACITY];
+  private Sound[] sounds = new Sound[INITIAL_CAPACITY];
+  private int[] sources = new int[INITIAL_CAPACITY];
+  private double[] soundX = new double[INITIAL_CAPACITY];
+  private double[] soundY = new double[INITIAL_CAPACITY];
+  private double[] soundZ = new double[INITIAL_CAPACITY];
+  private float[] volumes = new float[INITIAL_CAPACITY];
+  private float[] pitches = new float[INITIAL_CAPACITY];
+  private int count = 0;
+
+  // Listener snapshot, taken lazily on the first positional sound of a flush. Grid handles index
+  // the listener array.
+  private final PlayerSpatialGrid listenerGrid = new PlayerSpatialGrid(SOUND_HEARING_DISTANCE);
+  private Player[] listeners = new Player[INITIAL_CAPACITY];
+  private int listenerCount = -1;
+
+  @Getter
+  private long queued = 0;
+  @Getter
+  private long merged = 0;
+  @Getter
+  private long sent = 0;
+
+  public SoundMixer(PlayerSessionRegistry sessions) {
+    this.sessions = sessions;
+  }
+
+  /**
+   * Queues a sound at a position, heard by every player within hearing distance.
+   *
+   * @param sourceId Id of the emitting entity (e.g. the cube's entity id) used for merging, or
+   *                 {@link #NO_SOURCE}.
+   */
+  public void queue(int sourceId, World world, double x, double y, double z, Sound sound,
+      float volume, float pitch) {
+    queued++;
+    if (sourceId != NO_SOURCE) {
+      for (int i = 0; i < count; i++) {
+        if (sources[i] == sourceId && targets[i] == null && sounds[i] == sound) {
+          volumes[i] = Math.max(volumes[i], volume);
+          merged++;
+          return;
+        }
+      }
+    }
+
+    int index = append(world, null, sound, volume, pitch);
+    sources[index] = sourceId;
+    soundX[index] = x;
+    soundY[index] = y;
+    soundZ[index] = z;
+  }
+
+  /**
+   * Queues a sound heard only by the given player, played at their position.
+   */
+  public void queue(Player player, Sound sound, float volume, float pitch) {
+    queued++;
+    for (int i = 0; i < count; i++) {
+      if (targets[i] == player && sounds[i] == sound) {
+        volumes[i] = Math.max(volumes[i], volume);
+        merged++;
+        return;
+      }
+    }
+
+    append(null, player, sound, volume, pitch);
+  }
+
+  /**
+   * Plays every pending sound and empties the mixer.
+   */
+  public void flush() {
+    if (count == 0) {
+      return;
+    }
+
+    for (int i = 0; i < count; i++) {
+      if (targets[i] != null) {
+        Player target = targets[i];
+        if (target.isOnline()) {
+          target.playSound(target.getLocation(soundLocation), sounds[i], volumes[i], pitches[i]);
+          sent++;
+        }
+      } else {
+        playNearby(i);
+      }
+    }
+
+    Arrays.fill(worlds, 0, count, null);
+    Arrays.fill(targets, 0, count, null);
+    Arrays.fill(sounds, 0, count, null);
+    count = 0;
+
+    if (listenerCount > 0) {
+      Arrays.fill(listeners, 0, listenerCount, null);
+    }
+    listenerGrid.clear();
+    listenerCount = -1;
+    soundLocation.setWorld(null);
+  }
+
+  public void clear() {
+    Arrays.fill(worlds, null);
+    Arrays.fill(targets, null);
+    Arrays.fill(sounds, null);
+    Arrays.fill(listeners, null);
+    listenerGrid.clear();
+    count = 0;
+    listenerCount = -1;
+  }
+
+  public void resetStats() {
+    queued = 0;
+    merged = 0;
+    sent = 0;
+  }
+
+  /**
+   * Sends one positional sound to every listener in range. Mirrors vanilla's hearing distance of 16
+   * blocks, scaled up for volumes above one.
+   */
+  private void playNearby(int index) {
+    if (listenerCount < 0) {
+      snapshotListeners();
+    }
+
+    World world = worlds[index];
+    double x = soundX[index];
+    double y = soundY[index];
+    double z = soundZ[index];
+    double range = SOUND_HEARING_DISTANCE * Math.max(1.0F, volumes[index]);
+
+    soundLocation.setWorld(world);
+    soundLocation.setX(x);
+    soundLocation.setY(y);
+    soundLocation.setZ(z);
+
+    int found = listenerGrid.queryRange(listenerGrid.worldIndex(world), x, y, z, 0, range);
+    for (int i = 0; i < found; i++) {
+      listeners[listenerGrid.result(i)].playSound(soundLocation, sounds[index], volumes[index],
+          pitches[index]);
+      sent++;
+    }
+  }
+
+  private void snapshotListeners() {
+    listenerGrid.clear();
+    listenerCount = 0;
+    int sessionCount = sessions.getHighWaterMark();
+    for (int id = 0; id < sessionCount; id++) {
+      PlayerSession session = sessions.get(id);
+      Player player = session != null ? session.getPlayer() : null;
+      if (player == null) {
+        continue;
+      }
+
+      if (listenerCount == listeners.length) {
+        listeners = Arrays.copyOf(listeners, listenerCount * 2);
+      }
+
+      player.getLocation(listenerLocation);
+      listeners[listenerCount] = player;
+      listenerGrid.insert(listenerGrid.worldIndex(listenerLocation.getWorld()),
+          listenerLocation.getX(), listenerLocation.getY(), listenerLocation.getZ(),
+          listenerCount);
+      listenerCount++;
+    }
+    listenerLocation.setWorld(null);
+  }
+
+  private int append(World world, Player target, Sound sound, float volume, float pitch) {
+    if (count == sounds.length) {
+      int capacity = count * 2;
+      worlds = Arrays.copyOf(worlds, capacity);
+      targets = Arrays.copyOf(targets, capacity);
+      sounds = Arrays.copyOf(sounds, capacity);
+      sources = Arrays.copyOf(sources, capacity);
+      soundX = Arrays.copyOf(soundX, capacity);
+      soundY = Arrays.copyOf(soundY, capacity);
+      soundZ = Arrays.copyOf(soundZ, capacity);
+      volumes = Arrays.copyOf(volumes, capacity);
+      pitches = Arrays.copyOf(pitches, capacity);
+    }
+
+    int index = count++;
+    worlds[index] = world;
+    targets[index] = target;
+    sounds[index] = sound;
+    sources[index] = NO_SOURCE;
+    volumes[index] = volume;
+    pitches[index] = pitch;
+    return index;
+  }
+}
@@ -0,0 +1,64 @@
+package io.github.divinerealms.footcube.physics.engine;
+
+/**
+ * Plain, mutable state of a single cube as seen by the {@link CubePhysicsEngine}.
+ * <p>
+ * The caller fills the input fields before {@link CubePhysicsEngine#step} and reads the velocity
+ * and event fields back afterwards. Nothing here references Bukkit, so the same object works for
+ * live entities and offline simulations.
+ * </p>
+ */
+public class CubeBody {
+
+  // --- Inputs ---
+
+  public double x;
+  public double y;
+  public double z;
+
+  /** Velocity after the server's own movement step; overwritten with the result. */
+  public double velX;
+  public double velY;
+  public double velZ;
+
+  /** Velocity applied on the previous tick. */
+  public double prevVelX;
+  public double prevVelY;
+  public double prevVelZ;
+
+  public boolean onGround;
+
+  /**
+   * Whether the block probed by the hop check is solid. Only read when the step is called without
+   * a ground probe, e.g. when stepping off the main thread where the world cannot be touched.
+   */
+  public boolean groundSolid;
+
+  // --- Outputs ---
+
+  /** Set when a touch, bounce or hop should produce an impact sound. */
+  public boolean playSound;
+
+  /** Speed before the {@code MAX_KP} cap was applied, or {@code 0} if the cap was not hit. */
+  public double cappedFrom;
+
+  /**
+   * Fills position, current velocity and ground state in one call.
+   */
+  public void set(double x, double y, double z, double velX, double velY, double velZ,
+      boolean onGround) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.velX = velX;
+    this.velY = velY;
+    this.velZ = velZ;
+    this.onGround = onGround;
+  }
+
+  public void setPreviousVelocity(double x, double y, double z) {
+    this.prevVelX = x;
+    this.prevVelY = y;
+    this.prevVelZ = z;
+  }
+}
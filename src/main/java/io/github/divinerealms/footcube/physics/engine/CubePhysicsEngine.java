@@ -0,0 +1,393 @@
+package io.github.divinerealms.footcube.physics.engine;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.AIR_DRAG_FACTOR;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.ANTI_CLIP_DOT_THRESHOLD;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.BOUNCE_THRESHOLD;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.CUBE_SPEED_TOUCH_DIVISOR;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.DRIBBLE_SPEED_LIMIT;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HIT_RADIUS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_BLOCK_CHECK_OFFSET;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_CHECK_INTERVAL;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_FORCE_MULTIPLIER;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_IDLE_CHECK_INTERVAL;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_IDLE_FORCE_MULTIPLIER;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_MAX_GROUND_DISTANCE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_MIN_BOUNCE_MULTIPLIER;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_MIN_GROUND_DISTANCE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_PLAYER_RANGE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_SETTLED_VELOCITY_THRESHOLD;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOW_VELOCITY_PUSH_MULTIPLIER;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOW_VELOCITY_THRESHOLD;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.MAX_KP;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_BOUNCE_VELOCITY_Y;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_RADIUS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_SOUND_POWER;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_SPEED_FOR_DAMPENING;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.PLAYER_FOOT_LEVEL;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.PLAYER_HEAD_LEVEL;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.PLAYER_SPEED_TOUCH_DIVISOR;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.PROXIMITY_THRESHOLD_MULTIPLIER;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VECTOR_CHANGE_THRESHOLD;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VERTICAL_BOUNCE_THRESHOLD;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.WALL_BOUNCE_FACTOR;
+
+import io.github.divinerealms.footcube.physics.utilities.PlayerSpatialGrid;
+import java.util.Arrays;
+
+/**
+ * Pure-Java implementation of the per-cube physics step.
+ * <p>
+ * The engine works only on {@link CubeBody} and {@link PlayerBody} state and never touches Bukkit,
+ * so it can run inside {@code PhysicsTask} on the server as well as in offline simulations and
+ * benchmarks that step thousands of ticks per second.
+ * </p>
+ *
+ * <p><b>Step order:</b></p>
+ * <ol>
+ *   <li>Touch response and dribble dampening for players within {@code HIT_RADIUS}.</li>
+ *   <li>Wall bounce or air drag on X and Z, floor bounce on Y.</li>
+ *   <li>Anticipatory hop when grounded and settled (every {@code HOP_CHECK_INTERVAL} ticks).</li>
+ *   <li>Anti-clipping against nearby players.</li>
+ *   <li>{@code MAX_KP} velocity cap.</li>
+ * </ol>
+ *
+ * <p><b>Side effects</b> are reported instead of performed: players who touched the cube are
+ * available through {@link #getTouchedCount()} and {@link #getTouched(int)}, and sound and cap
+ * events are flagged on the {@link CubeBody}.</p>
+ *
+ * <p>An engine instance keeps reusable scratch arrays and is not thread-safe; use one instance per
+ * thread. Different instances may step cubes concurrently against the same grid and player bodies,
+ * since the step only reads them.</p>
+ */
+public class CubePhysicsEngine {
+
+  // Grid handles returned for the cube currently being stepped.
+  private int[] candidates = new int[16];
+
+  // Players within interaction range of the cube currently being stepped.
+  private PlayerBody[] nearby = new PlayerBody[16];
+  private double[] nearbyDistances = new double[16];
+  private int nearbyCount = 0;
+
+  // Players who touched the cube during the last step.
+  private PlayerBody[] touched = new PlayerBody[16];
+  private int touchedCount = 0;
+
+  /**
+   * Advances a single cube by one physics tick.
+   *
+   * @param cube    The cube to step; its velocity is updated in place.
+   * @param grid    Spatial grid whose handles index into {@code players}.
+   * @param world   World index of the cube, as used when filling the grid.
+   * @param players Player bodies addressed by grid handle.
+   * @param tick    Monotonic physics tick counter, used to schedule hop checks.
+   * @param ground  Solidity lookup used by the hop check, or {@code null} to use the
+   *                precomputed {@link CubeBody#groundSolid} instead.
+   */
+  public void step(CubeBody cube, PlayerSpatialGrid grid, int world, PlayerBody[] players,
+      long tick, GroundProbe ground) {
+    clearScratch();
+    cube.playSound = false;
+    cube.cappedFrom = 0;
+
+    double cubeX = cube.x;
+    double cubeY = cube.y;
+    double cubeZ = cube.z;
+    double velX = cube.velX;
+    double velY = cube.velY;
+    double velZ = cube.velZ;
+    double prevX = cube.prevVelX;
+    double prevY = cube.prevVelY;
+    double prevZ = cube.prevVelZ;
+    boolean wasMoved = false;
+    boolean playSound = false;
+
+    // --- Player interaction and velocity adjustment ---
+    int candidateCount = grid.query(world, cubeX, cubeZ, candidates);
+    if (candidateCount > candidates.length) {
+      candidates = new int[Integer.highestOneBit(candidateCount) << 1];
+      grid.query(world, cubeX, cubeZ, candidates);
+    }
+    for (int i = 0; i < candidateCount; i++) {
+      PlayerBody player = players[candidates[i]];
+
+      // Determines if the player is close enough to directly affect the cube.
+      double distance = distance(cubeX, cubeY, cubeZ, player.x, player.y, player.z);
+
+      // Players beyond 3x hit radius cannot meaningfully interact with the cube.
+      if (distance > HIT_RADIUS * 3) {
+        continue;
+      }
+
+      // Cache the interaction data for the hop and anti-clipping phases.
+      addNearby(player, distance);
+
+      if (distance < HIT_RADIUS) {
+        double cubeSpeed = length(velX, velY, velZ);
+
+        // Apply speed dampening if cube is very close to player for dribbling effect.
+        if (distance < MIN_RADIUS && cubeSpeed > MIN_SPEED_FOR_DAMPENING) {
+          double dampening = DRIBBLE_SPEED_LIMIT / cubeSpeed;
+          velX *= dampening;
+          velY *= dampening;
+          velZ *= dampening;
+        }
+
+        // Compute the resulting power from player movement and cube velocity.
+        double previousSpeed = Math.max(length(prevX, prevY, prevZ), VECTOR_CHANGE_THRESHOLD);
+        double impactPower =
+            player.speed / PLAYER_SPEED_TOUCH_DIVISOR + previousSpeed / CUBE_SPEED_TOUCH_DIVISOR;
+
+        // Directional push from player to cube.
+        double push = cubeSpeed < LOW_VELOCITY_THRESHOLD
+            ? impactPower * LOW_VELOCITY_PUSH_MULTIPLIER
+            : impactPower;
+        velX += player.directionX * push;
+        velZ += player.directionZ * push;
+
+        addTouched(player);
+        wasMoved = true;
+
+        if (impactPower > MIN_SOUND_POWER) {
+          playSound = true;
+        }
+      }
+    }
+
+    // --- Wall collisions and air drag ---
+
+    // If the cube stops moving horizontally (X=0), bounce it back with reduced energy.
+    if (velX == 0) {
+      velX = -prevX * WALL_BOUNCE_FACTOR;
+      if (Math.abs(prevX) > BOUNCE_THRESHOLD) {
+        playSound = true;
+      }
+    } else if (!wasMoved && !cube.onGround && Math.abs(prevX - velX) < VECTOR_CHANGE_THRESHOLD) {
+      velX = prevX * AIR_DRAG_FACTOR;
+    }
+
+    // Z-axis collision and drag adjustment (mirrors X-axis logic).
+    if (velZ == 0) {
+      velZ = -prevZ * WALL_BOUNCE_FACTOR;
+      if (Math.abs(prevZ) > BOUNCE_THRESHOLD) {
+        playSound = true;
+      }
+    } else if (!wasMoved && !cube.onGround && Math.abs(prevZ - velZ) < VECTOR_CHANGE_THRESHOLD) {
+      velZ = prevZ * AIR_DRAG_FACTOR;
+    }
+
+    // Y-axis bounce, preventing velocity loss bugs on floor impact.
+    if (velY < 0 && prevY < 0 && prevY < velY - VERTICAL_BOUNCE_THRESHOLD) {
+      velY = -prevY * WALL_BOUNCE_FACTOR;
+      if (Math.abs(prevY) > BOUNCE_THRESHOLD) {
+        playSound = true;
+      }
+    }
+
+    // --- Anticipatory hop ---
+    // Applies upward force when players are nearby to prevent the cube from sticking to the ground.
+    if (tick % HOP_CHECK_INTERVAL == 0) {
+      int blockBelowY = groundBlockY(cubeY);
+      double distanceToGround = cubeY - (blockBelowY + 1);
+
+      boolean isSettledOnGround = Math.abs(velY) < HOP_SETTLED_VELOCITY_THRESHOLD;
+      boolean isActuallyGrounded = distanceToGround < HOP_MAX_GROUND_DISTANCE
+          && distanceToGround > HOP_MIN_GROUND_DISTANCE
+          && isSettledOnGround
+          && (ground != null
+          ? ground.isSolid((int) Math.floor(cubeX), blockBelowY, (int) Math.floor(cubeZ))
+          : cube.groundSolid);
+
+      if (isActuallyGrounded) {
+        boolean hasClosePlayer = false;
+        double closestPlayerDistance = Double.MAX_VALUE;
+
+        for (int i = 0; i < nearbyCount; i++) {
+          double distance = nearbyDistances[i];
+          if (distance < closestPlayerDistance) {
+            closestPlayerDistance = distance;
+          }
+          if (distance < HOP_PLAYER_RANGE) {
+            hasClosePlayer = true;
+          }
+        }
+
+        if (hasClosePlayer) {
+          double proximityFactor = 1 - (closestPlayerDistance / HOP_PLAYER_RANGE);
+          double bounceForce = MIN_BOUNCE_VELOCITY_Y * HOP_FORCE_MULTIPLIER * proximityFactor;
+          double minBounce = MIN_BOUNCE_VELOCITY_Y * HOP_MIN_BOUNCE_MULTIPLIER;
+          if (bounceForce < minBounce) {
+            bounceForce = minBounce;
+          }
+
+          // Apply the hop if cube isn't already moving upward.
+          if (velY < bounceForce) {
+            velY = bounceForce;
+            playSound = true;
+          }
+        } else if (tick % HOP_IDLE_CHECK_INTERVAL == 0) {
+          // Gentle idle hop when no players are nearby to prevent settling.
+          double idleHopForce = MIN_BOUNCE_VELOCITY_Y * HOP_IDLE_FORCE_MULTIPLIER;
+          if (velY < idleHopForce) {
+            velY = idleHopForce;
+          }
+        }
+      }
+    }
+
+    // --- Anti-clipping ---
+    // Prevents the cube from passing through players at high speeds.
+    double cubeSpeed = length(velX, velY, velZ);
+    if (cubeSpeed > VECTOR_CHANGE_THRESHOLD) {
+      double minScaleFactor = 1;
+      double nextY = cubeY + velY;
+
+      double horizontalSpeed = Math.sqrt(velX * velX + velZ * velZ);
+      double ballDirX = velX / horizontalSpeed;
+      double ballDirZ = velZ / horizontalSpeed;
+
+      for (int i = 0; i < nearbyCount; i++) {
+        PlayerBody player = nearby[i];
+        double distance = nearbyDistances[i];
+
+        // Skip if player is too far away for clipping to be possible.
+        if (distance >= cubeSpeed * PROXIMITY_THRESHOLD_MULTIPLIER) {
+          continue;
+        }
+
+        // Check if the cube's current or next vertical position aligns with player's height.
+        boolean withinY = (cubeY < player.y + PLAYER_HEAD_LEVEL
+            && cubeY > player.y - PLAYER_FOOT_LEVEL)
+            || (nextY < player.y + PLAYER_HEAD_LEVEL && nextY > player.y - PLAYER_FOOT_LEVEL);
+
+        // If vertically aligned, check if the cube's path intersects player's collision radius.
+        if (withinY && perpendicularDistance(velX, velZ, cubeX, cubeZ, player.x, player.z)
+            < MIN_RADIUS) {
+          double toPlayerX = player.x - cubeX;
+          double toPlayerZ = player.z - cubeZ;
+          double toPlayerLength = Math.sqrt(toPlayerX * toPlayerX + toPlayerZ * toPlayerZ);
+          double dot = (toPlayerX * ballDirX + toPlayerZ * ballDirZ) / toPlayerLength;
+
+          // Scale back velocity if moving toward player to prevent clipping.
+          if (dot > ANTI_CLIP_DOT_THRESHOLD) {
+            double scaleFactor = distance / cubeSpeed;
+            if (scaleFactor < minScaleFactor) {
+              minScaleFactor = scaleFactor;
+            }
+          }
+        }
+      }
+
+      if (minScaleFactor < 1) {
+        velX *= minScaleFactor;
+        velY *= minScaleFactor;
+        velZ *= minScaleFactor;
+      }
+    }
+
+    // --- Velocity capping ---
+    double finalSpeed = length(velX, velY, velZ);
+    if (finalSpeed > MAX_KP) {
+      double cap = MAX_KP / finalSpeed;
+      velX *= cap;
+      velY *= cap;
+      velZ *= cap;
+      cube.cappedFrom = finalSpeed;
+    }
+
+    cube.velX = velX;
+    cube.velY = velY;
+    cube.velZ = velZ;
+    cube.playSound = playSound;
+  }
+
+  /**
+   * Number of players who touched the cube during the last {@link #step}.
+   */
+  public int getTouchedCount() {
+    return touchedCount;
+  }
+
+  /**
+   * Returns a player who touched the cube during the last {@link #step}, in touch order.
+   *
+   * @param index Position in the touch list, from {@code 0} to {@link #getTouchedCount()}.
+   */
+  public PlayerBody getTouched(int index) {
+    return touched[index];
+  }
+
+  /**
+   * Drops references to player bodies held from the last step.
+   */
+  public void clearScratch() {
+    Arrays.fill(nearby, 0, nearbyCount, null);
+    Arrays.fill(touched, 0, touchedCount, null);
+    nearbyCount = 0;
+    touchedCount = 0;
+  }
+
+  /**
+   * Y coordinate of the block the hop check probes under a cube. Callers that precompute
+   * {@link CubeBody#groundSolid} must probe this block at {@code floor(x)}, {@code floor(z)}.
+   */
+  public static int groundBlockY(double cubeY) {
+    return (int) Math.floor(cubeY - HOP_BLOCK_CHECK_OFFSET);
+  }
+
+  /**
+   * Euclidean distance between a cube and a player, adjusted so the player's body and the cube's
+   * hitbox line up vertically. The cube's Y is lowered by one block and a further 0.25, and
+   * vertical gaps within 1.25 of that are treated as zero, so a cube touches a player anywhere
+   * from the player's feet to 2.5 blocks above them.
+   *
+   * @return The adjusted distance.
+   */
+  public static double distance(double cubeX, double cubeY, double cubeZ, double playerX,
+      double playerY, double playerZ) {
+    double dx = Math.abs(cubeX - playerX);
+    double dy = Math.abs(cubeY - 1 - playerY - 0.25) - 1.25;
+    if (dy < 0) {
+      dy = 0;
+    }
+    double dz = Math.abs(cubeZ - playerZ);
+    return Math.sqrt(dx * dx + dy * dy + dz * dz);
+  }
+
+  /**
+   * Horizontal distance from a point to the line through the cube along its velocity.
+   *
+   * @return The perpendicular distance, or {@link Double#MAX_VALUE} if the cube barely moves on X.
+   */
+  public static double perpendicularDistance(double velocityX, double velocityZ, double cubeX,
+      double cubeZ, double playerX, double playerZ) {
+    if (Math.abs(velocityX) < 1e-6) {
+      return Double.MAX_VALUE;
+    }
+
+    double slopeA = velocityZ / velocityX;
+    double interceptB = cubeZ - slopeA * cubeX;
+    return Math.abs(slopeA * playerX - playerZ + interceptB) / Math.sqrt(slopeA * slopeA + 1);
+  }
+
+  private static double length(double x, double y, double z) {
+    return Math.sqrt(x * x + y * y + z * z);
+  }
+
+  private void addNearby(PlayerBody player, double distance) {
+    if (nearbyCount == nearby.length) {
+      nearby = Arrays.copyOf(nearby, nearbyCount * 2);
+      nearbyDistances = Arrays.copyOf(nearbyDistances, nearbyCount * 2);
+    }
+    nearby[nearbyCount] = player;
+    nearbyDistances[nearbyCount] = distance;
+    nearbyCount++;
+  }
+
+  private void addTouched(PlayerBody player) {
+    if (touchedCount == touched.length) {
+      touched = Arrays.copyOf(touched, touchedCount * 2);
+    }
+    touched[touchedCount++] = player;
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.divinerealms.footcube.physics.engine;
+
+/**
+ * Answers block solidity queries for the {@link CubePhysicsEngine} hop check.
+ * <p>
+ * The live server implements this over the world the cube is in; offline simulations can supply a
+ * flat floor or any other synthetic terrain.
+ * </p>
+ */
+@FunctionalInterface
+public interface GroundProbe {
+
+  /**
+   * Checks whether the block at the given block coordinates is solid.
+   *
+   * @param x Block X coordinate.
+   * @param y Block Y coordinate.
+   * @param z Block Z coordinate.
+   * @return true if the block is solid.
+   */
+  boolean isSolid(int x, int y, int z);
+}
@@ -0,0 +1,37 @@
+package io.github.divinerealms.footcube.physics.engine;
+
+/**
+ * Plain, mutable snapshot of the player state the {@link CubePhysicsEngine} needs.
+ * <p>
+ * Instances are meant to be pooled and refilled every tick. The {@code handle} is an opaque value
+ * owned by the caller (for example an index into its own player table) and is never interpreted by
+ * the engine.
+ * </p>
+ */
+public class PlayerBody {
+
+  public int handle;
+
+  public double x;
+  public double y;
+  public double z;
+
+  /** Horizontal look direction, normalized. */
+  public double directionX;
+  public double directionZ;
+
+  /** Recent movement speed, as tracked by the movement listener. */
+  public double speed;
+
+  /**
+   * Sets the horizontal look direction from a yaw angle, matching
+   * {@code Location#getDirection().setY(0).normalize()}.
+   *
+   * @param yawDegrees Yaw in degrees.
+   */
+  public void setYaw(float yawDegrees) {
+    double yaw = Math.toRadians(yawDegrees);
+    this.directionX = -Math.sin(yaw);
+    this.directionZ = Math.cos(yaw);
+  }
+}
@@ -1,11 +1,10 @@
 package io.github.divinerealms.footcube.physics.listeners;
 
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DEBUG_ON_MS;
-import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
-
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.physics.PhysicsData;
-import io.github.divinerealms.footcube.utils.Logger;
+import io.github.divinerealms.footcube.physics.utilities.CubePool;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
 import org.bukkit.entity.Slime;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -14,34 +13,37 @@ import org.bukkit.event.entity.EntityDamageEvent;
 public class CubeDamageListener implements Listener {
 
   private final PhysicsData physicsData;
-  private final Logger logger;
+  private final CubePool cubePool;
+  private final Profiler profiler;
 
   public CubeDamageListener(FCManager fcManager) {
     this.physicsData = fcManager.getPhysicsData();
-    this.logger = fcManager.getLogger();
+    this.cubePool = fcManager.getPhysicsSystem().getCubePool();
+    this.profiler = fcManager.getProfiler();
   }
 
   /**
    * Cancels any damage event involving tracked cube entities.
    * <p>This ensures that physics-enabled {@link Slime} instances are not damaged
-   * by players or environmental sources, preserving gameplay integrity.</p>
+   * by players or environmental sources, preserving gameplay integrity. Cubes parked in the
+   * {@link CubePool} are protected as well, so they are still alive when handed out again.</p>
    *
    * @param event the {@link EntityDamageEvent} fired when any entity takes damage
    */
   @EventHandler
   public void disableDamage(EntityDamageEvent event) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.LISTENER_CUBE_DAMAGE);
     try {
       // Cancel all damage applied to physics cubes.
-      if (event.getEntity() instanceof Slime && physicsData.getCubes()
-          .contains((Slime) event.getEntity())) {
+      if (!(event.getEntity() instanceof Slime)) {
+        return;
+      }
+      Slime slime = (Slime) event.getEntity();
+      if (physicsData.getCubes().contains(slime) || cubePool.isParked(slime)) {
         event.setCancelled(true);
       }
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG, "{prefix-admin}&dCubeDamageListener &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.LISTENER_CUBE_DAMAGE, start);
     }
   }
 }
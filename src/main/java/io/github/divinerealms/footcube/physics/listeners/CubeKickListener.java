@@ -2,7 +2,6 @@ package io.github.divinerealms.footcube.physics.listeners;
 
 import static io.github.divinerealms.footcube.configs.Lang.CUBE_CLEAR;
 import static io.github.divinerealms.footcube.configs.Lang.HITDEBUG_WHOLE;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DEBUG_ON_MS;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.KICK_VERTICAL_BOOST;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.SOUND_PITCH;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.SOUND_VOLUME;
@@ -11,15 +10,15 @@ import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
 
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.physics.PhysicsData;
-import io.github.divinerealms.footcube.physics.touch.CubeTouchInfo;
 import io.github.divinerealms.footcube.physics.touch.CubeTouchType;
 import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
 import io.github.divinerealms.footcube.physics.utilities.PlayerKickResult;
+import io.github.divinerealms.footcube.session.PlayerSession;
 import io.github.divinerealms.footcube.utils.Logger;
 import io.github.divinerealms.footcube.utils.PlayerSettings;
-import java.util.Map;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Sound;
@@ -41,6 +40,7 @@ public class CubeKickListener implements Listener {
   private final Logger logger;
   private final PhysicsSystem system;
   private final PhysicsData data;
+  private final Profiler profiler;
 
   public CubeKickListener(FCManager fcManager) {
     this.fcManager = fcManager;
@@ -49,6 +49,7 @@ public class CubeKickListener implements Listener {
     this.logger = fcManager.getLogger();
     this.system = fcManager.getPhysicsSystem();
     this.data = fcManager.getPhysicsData();
+    this.profiler = fcManager.getProfiler();
   }
 
   /**
@@ -60,7 +61,7 @@ public class CubeKickListener implements Listener {
    */
   @EventHandler
   public void leftClick(EntityDamageByEntityEvent event) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.LISTENER_CUBE_KICK);
     try {
       if (!(event.getEntity() instanceof Slime)) {
         return;
@@ -81,13 +82,14 @@ public class CubeKickListener implements Listener {
 
       // Creative players can remove cubes directly.
       if (player.getGameMode() == GameMode.CREATIVE && player.hasPermission(PERM_CLEAR_CUBE)) {
-        cube.setHealth(0);
+        system.removeCube(cube);
         logger.send(player, CUBE_CLEAR);
         return;
       }
 
       // Prevent unauthorized players from interacting.
-      if (system.notAllowedToInteract(player)) {
+      PlayerSession session = fcManager.getSession(player);
+      if (session == null || system.notAllowedToInteract(player)) {
         return;
       }
 
@@ -95,13 +97,13 @@ public class CubeKickListener implements Listener {
       CubeTouchType kickType = player.isSneaking()
           ? CubeTouchType.CHARGED_KICK
           : CubeTouchType.REGULAR_KICK;
-      Map<CubeTouchType, CubeTouchInfo> touches = data.getLastTouches().get(playerId);
-      if (touches != null && touches.containsKey(kickType)) {
+      long now = System.currentTimeMillis();
+      if (data.getTouchCooldowns().isOnCooldown(session.getId(), kickType, now)) {
         return;
       }
 
       // Calculate kick result.
-      PlayerKickResult kickResult = system.calculateKickPower(player);
+      PlayerKickResult kickResult = system.calculateKickPower(session, player.isSneaking());
 
       // Compute final kick direction and apply impulse.
       Location playerLocation = player.getLocation();
@@ -109,19 +111,19 @@ public class CubeKickListener implements Listener {
           .multiply(kickResult.getFinalKickPower()).setY(
               KICK_VERTICAL_BOOST);
       cube.setVelocity(cube.getVelocity().add(kick));
+      data.getCubeStates().wake(cube);
 
       // Register player hit cooldown and record interaction.
-      data.getLastTouches().computeIfAbsent(playerId, k -> new ConcurrentHashMap<>())
-          .put(kickType, new CubeTouchInfo(System.currentTimeMillis(), kickType));
+      data.getTouchCooldowns().start(session.getId(), kickType, now);
       system.recordPlayerAction(player);
       fcManager.getMatchManager().kick(player);
 
       // Register player hit cooldown and record interaction.
-      system.queueSound(cube.getLocation(), Sound.SLIME_WALK, 0.75F, 1.0F);
+      system.queueSound(cube, Sound.SLIME_WALK, 0.75F, 1.0F);
 
       // Schedule post-processing for player sound feedback and debug info.
       scheduler.runTask(plugin, () -> {
-        PlayerSettings settings = fcManager.getPlayerSettings(player);
+        PlayerSettings settings = session.getSettings();
         if (settings != null && settings.isKickSoundEnabled()) {
           system.queueSound(player, settings.getKickSound(), SOUND_VOLUME, SOUND_PITCH);
         }
@@ -136,10 +138,7 @@ public class CubeKickListener implements Listener {
 
       event.setCancelled(true);
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send("group.fcfa", "{prefix-admin}&dCubeKickListener &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.LISTENER_CUBE_KICK, start);
     }
   }
 }
\ No newline at end of file
@@ -1,18 +1,14 @@
 package io.github.divinerealms.footcube.physics.listeners;
 
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.CUBE_JUMP_RIGHT_CLICK;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DEBUG_ON_MS;
-import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
 
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.physics.PhysicsData;
-import io.github.divinerealms.footcube.physics.touch.CubeTouchInfo;
 import io.github.divinerealms.footcube.physics.touch.CubeTouchType;
 import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
-import io.github.divinerealms.footcube.utils.Logger;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Slime;
 import org.bukkit.event.EventHandler;
@@ -23,13 +19,13 @@ import org.bukkit.util.Vector;
 public class CubeTapListener implements Listener {
 
   private final FCManager fcManager;
-  private final Logger logger;
+  private final Profiler profiler;
   private final PhysicsData data;
   private final PhysicsSystem system;
 
   public CubeTapListener(FCManager fcManager) {
     this.fcManager = fcManager;
-    this.logger = fcManager.getLogger();
+    this.profiler = fcManager.getProfiler();
     this.data = fcManager.getPhysicsData();
     this.system = fcManager.getPhysicsSystem();
   }
@@ -44,7 +40,7 @@ public class CubeTapListener implements Listener {
    */
   @EventHandler
   public void rightClick(PlayerInteractEntityEvent event) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.LISTENER_CUBE_TAP);
     try {
       if (!(event.getRightClicked() instanceof Slime)) {
         return;
@@ -55,16 +51,16 @@ public class CubeTapListener implements Listener {
 
       Slime cube = (Slime) event.getRightClicked();
       Player player = event.getPlayer();
-      UUID playerId = player.getUniqueId();
+      PlayerSession session = fcManager.getSession(player);
 
       // Prevent AFK or unauthorized players from interacting.
-      if (system.notAllowedToInteract(player)) {
+      if (session == null || system.notAllowedToInteract(player)) {
         return;
       }
 
       // Enforce cooldown.
-      Map<CubeTouchType, CubeTouchInfo> touches = data.getLastTouches().get(playerId);
-      if (touches != null && touches.containsKey(CubeTouchType.RISE)) {
+      long now = System.currentTimeMillis();
+      if (data.getTouchCooldowns().isOnCooldown(session.getId(), CubeTouchType.RISE, now)) {
         return;
       }
 
@@ -72,23 +68,19 @@ public class CubeTapListener implements Listener {
       Vector previousVelocity = cube.getVelocity().clone();
       double newY = Math.max(previousVelocity.getY(), CUBE_JUMP_RIGHT_CLICK);
       cube.setVelocity(previousVelocity.setY(newY));
+      data.getCubeStates().wake(cube);
 
       // Mark player action to prevent spamming.
-      data.getLastTouches().computeIfAbsent(playerId, k -> new ConcurrentHashMap<>())
-          .put(CubeTouchType.RISE,
-              new CubeTouchInfo(System.currentTimeMillis(), CubeTouchType.RISE));
-      data.getRaised().put(cube.getUniqueId(), System.currentTimeMillis());
+      data.getTouchCooldowns().start(session.getId(), CubeTouchType.RISE, now);
+      system.markRaised(cube, now);
 
       system.recordPlayerAction(player);
       fcManager.getMatchManager().kick(player);
 
       // Play feedback sound.
-      system.queueSound(cube.getLocation());
+      system.queueSound(cube);
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG, "{prefix-admin}&bCubeTapListener &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.LISTENER_CUBE_TAP, start);
     }
   }
 }
\ No newline at end of file
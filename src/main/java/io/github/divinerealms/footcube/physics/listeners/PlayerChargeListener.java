@@ -1,13 +1,11 @@
 package io.github.divinerealms.footcube.physics.listeners;
 
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DEBUG_ON_MS;
-import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
-
 import io.github.divinerealms.footcube.core.FCManager;
-import io.github.divinerealms.footcube.physics.PhysicsData;
 import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
-import io.github.divinerealms.footcube.utils.Logger;
-import java.util.UUID;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -15,15 +13,15 @@ import org.bukkit.event.player.PlayerToggleSneakEvent;
 
 public class PlayerChargeListener implements Listener {
 
-  private final Logger logger;
+  private final Profiler profiler;
 
-  private final PhysicsData data;
+  private final PlayerSessionRegistry sessions;
   private final PhysicsSystem system;
 
   public PlayerChargeListener(FCManager fcManager) {
-    this.logger = fcManager.getLogger();
+    this.profiler = fcManager.getProfiler();
 
-    this.data = fcManager.getPhysicsData();
+    this.sessions = fcManager.getSessionRegistry();
     this.system = fcManager.getPhysicsSystem();
   }
 
@@ -35,28 +33,25 @@ public class PlayerChargeListener implements Listener {
    */
   @EventHandler
   public void playerChargeCalculator(PlayerToggleSneakEvent event) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.LISTENER_PLAYER_CHARGE);
     try {
       Player player = event.getPlayer();
-      if (system.notAllowedToInteract(player)) {
+      PlayerSession session = sessions.get(player);
+      if (session == null || system.notAllowedToInteract(player)) {
         return;
       }
-      UUID playerId = player.getUniqueId();
 
       if (event.isSneaking()) {
         // Begin charging.
-        data.getCharges().put(playerId, 0D);
-        system.recordPlayerAction(player);
+        session.startCharging();
+        system.recordPlayerAction(session);
       } else {
         // Reset when released.
         player.setExp(0);
-        data.getCharges().remove(playerId);
+        session.stopCharging();
       }
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG, "{prefix-admin}&dPlayerChargeListener &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.LISTENER_PLAYER_CHARGE, start);
     }
   }
 }
\ No newline at end of file
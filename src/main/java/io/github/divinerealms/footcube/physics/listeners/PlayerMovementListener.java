@@ -1,14 +1,13 @@
 package io.github.divinerealms.footcube.physics.listeners;
 
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DEBUG_ON_MS;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.PLAYER_HEAD_LEVEL;
-import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
 
 import io.github.divinerealms.footcube.core.FCManager;
-import io.github.divinerealms.footcube.physics.PhysicsData;
 import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
-import io.github.divinerealms.footcube.utils.Logger;
-import java.util.UUID;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -17,14 +16,14 @@ import org.bukkit.event.player.PlayerMoveEvent;
 
 public class PlayerMovementListener implements Listener {
 
-  private final PhysicsData data;
+  private final PlayerSessionRegistry sessions;
   private final PhysicsSystem system;
-  private final Logger logger;
+  private final Profiler profiler;
 
   public PlayerMovementListener(FCManager fcManager) {
-    this.data = fcManager.getPhysicsData();
+    this.sessions = fcManager.getSessionRegistry();
     this.system = fcManager.getPhysicsSystem();
-    this.logger = fcManager.getLogger();
+    this.profiler = fcManager.getProfiler();
   }
 
   /**
@@ -36,7 +35,7 @@ public class PlayerMovementListener implements Listener {
    */
   @EventHandler
   public void playerMove(PlayerMoveEvent event) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.LISTENER_PLAYER_MOVE);
     try {
       Location to = event.getTo(), from = event.getFrom();
       // Skip if no movement occurred.
@@ -45,10 +44,10 @@ public class PlayerMovementListener implements Listener {
       }
 
       Player player = event.getPlayer();
-      if (system.notAllowedToInteract(player) || system.isAFK(player)) {
+      PlayerSession session = sessions.get(player);
+      if (system.notAllowedToInteract(player) || system.isAFK(session)) {
         return;
       }
-      UUID playerId = player.getUniqueId();
 
       // Compute normalized velocity components.
       double dx = to.getX() - from.getX();
@@ -58,13 +57,10 @@ public class PlayerMovementListener implements Listener {
       double speed = Math.sqrt(dx * dx + scaledDy * scaledDy + dz * dz);
 
       // Record recent motion and mark player as active.
-      system.recordPlayerAction(player);
-      data.getSpeed().put(playerId, speed);
+      system.recordPlayerAction(session);
+      session.setSpeed(speed);
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG, "{prefix-admin}&dPlayerMovementListener &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.LISTENER_PLAYER_MOVE, start);
     }
   }
 }
@@ -0,0 +1,356 @@
+package io.github.divinerealms.footcube.physics.snapshot;
+
+import io.github.divinerealms.footcube.matchmaking.player.TeamColor;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import net.minecraft.server.v1_8_R3.EnumParticle;
+import org.bukkit.Color;
+import org.bukkit.GameMode;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * Copy of the cube and player state the main thread saw at the end of one physics tick, for async
+ * tasks that must not touch Bukkit entities themselves.
+ * <p>
+ * A snapshot is written only by {@link WorldSnapshotBus} and never changes while it is the
+ * published one. Buffers are recycled, though: once two newer snapshots have been published, the
+ * main thread starts overwriting this one. Readers that may still be running by then copy what
+ * they need and check it with {@link #validate(long)}:
+ * </p>
+ * <pre>{@code
+ * WorldSnapshot snapshot = bus.acquire();
+ * long stamp = snapshot.getStamp();
+ * // ... copy fields ...
+ * if (!snapshot.validate(stamp)) {
+ *   // the buffer was recycled mid-read; acquire again
+ * }
+ * }</pre>
+ *
+ * <p>A recycled buffer may grow its arrays while a reader is still walking the old counts, so a
+ * count can be larger than the array a reader then loads. The indexed getters check the index
+ * against the array they actually read and return a default value past its end instead of
+ * throwing; such values are always followed by a failed {@link #validate(long)}.</p>
+ *
+ * <p>The {@link Player} references are only meant for sending packets; reading their state from
+ * an async thread is exactly what the snapshot exists to avoid.</p>
+ */
+public class WorldSnapshot {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  // Even while stable, odd while the main thread is writing.
+  private volatile long stamp = 0;
+  private long tick = 0;
+
+  // --- Cubes, in slot order ---
+  private int cubeCount = 0;
+  private int[] cubeSlots = new int[INITIAL_CAPACITY];
+  private int[] cubeEntityIds = new int[INITIAL_CAPACITY];
+  private long[] cubeSpawnIds = new long[INITIAL_CAPACITY];
+  private World[] cubeWorlds = new World[INITIAL_CAPACITY];
+  private double[] cubeX = new double[INITIAL_CAPACITY];
+  private double[] cubeY = new double[INITIAL_CAPACITY];
+  private double[] cubeZ = new double[INITIAL_CAPACITY];
+  private double[] cubeVelX = new double[INITIAL_CAPACITY];
+  private double[] cubeVelY = new double[INITIAL_CAPACITY];
+  private double[] cubeVelZ = new double[INITIAL_CAPACITY];
+  private boolean[] cubeSleeping = new boolean[INITIAL_CAPACITY];
+
+  // --- Players, in session order ---
+  private int playerCount = 0;
+  private int[] playerSessionIds = new int[INITIAL_CAPACITY];
+  private Player[] players = new Player[INITIAL_CAPACITY];
+  private boolean[] playerOnline = new boolean[INITIAL_CAPACITY];
+  private World[] playerWorlds = new World[INITIAL_CAPACITY];
+  private double[] playerX = new double[INITIAL_CAPACITY];
+  private double[] playerY = new double[INITIAL_CAPACITY];
+  private double[] playerZ = new double[INITIAL_CAPACITY];
+  private float[] playerYaw = new float[INITIAL_CAPACITY];
+  private float[] playerPitch = new float[INITIAL_CAPACITY];
+  private GameMode[] playerGameModes = new GameMode[INITIAL_CAPACITY];
+  private int[] playerArenaIds = new int[INITIAL_CAPACITY];
+  private TeamColor[] playerTeams = new TeamColor[INITIAL_CAPACITY];
+  private boolean[] playerParticlesEnabled = new boolean[INITIAL_CAPACITY];
+  private EnumParticle[] playerParticles = new EnumParticle[INITIAL_CAPACITY];
+  private Color[] playerParticleColors = new Color[INITIAL_CAPACITY];
+
+  /**
+   * Version of this buffer, to be passed to {@link #validate(long)} after reading.
+   */
+  public long getStamp() {
+    return stamp;
+  }
+
+  /**
+   * Whether everything read since {@link #getStamp()} returned {@code stamp} is consistent, i.e.
+   * the main thread has not started recycling this buffer in the meantime.
+   */
+  public boolean validate(long stamp) {
+    VarHandle.acquireFence();
+    return (stamp & 1) == 0 && this.stamp == stamp;
+  }
+
+  /**
+   * Number of snapshots published before and including this one.
+   */
+  public long getTick() {
+    return tick;
+  }
+
+  // --- Cube accessors ---
+
+  public int getCubeCount() {
+    return cubeCount;
+  }
+
+  /** Slot of the cube in {@code CubeStateStore}. */
+  public int getCubeSlot(int index) {
+    int[] values = cubeSlots;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public int getCubeEntityId(int index) {
+    int[] values = cubeEntityIds;
+    return index < values.length ? values[index] : 0;
+  }
+
+  /**
+   * Spawn id of the cube, from {@code CubeStateStore}. Changes on every spawn, so it tells a reused
+   * slot or a pooled entity apart from the cube it was before; entity ids do not.
+   */
+  public long getCubeSpawnId(int index) {
+    long[] values = cubeSpawnIds;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public World getCubeWorld(int index) {
+    World[] values = cubeWorlds;
+    return index < values.length ? values[index] : null;
+  }
+
+  public double getCubeX(int index) {
+    double[] values = cubeX;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public double getCubeY(int index) {
+    double[] values = cubeY;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public double getCubeZ(int index) {
+    double[] values = cubeZ;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public double getCubeVelX(int index) {
+    double[] values = cubeVelX;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public double getCubeVelY(int index) {
+    double[] values = cubeVelY;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public double getCubeVelZ(int index) {
+    double[] values = cubeVelZ;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public boolean isCubeSleeping(int index) {
+    boolean[] values = cubeSleeping;
+    return index < values.length ? values[index] : false;
+  }
+
+  // --- Player accessors ---
+
+  public int getPlayerCount() {
+    return playerCount;
+  }
+
+  public int getPlayerSessionId(int index) {
+    int[] values = playerSessionIds;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public Player getPlayer(int index) {
+    Player[] values = players;
+    return index < values.length ? values[index] : null;
+  }
+
+  /** Whether Bukkit still reported the player as online; {@code false} marks a stale session. */
+  public boolean isPlayerOnline(int index) {
+    boolean[] values = playerOnline;
+    return index < values.length ? values[index] : false;
+  }
+
+  public World getPlayerWorld(int index) {
+    World[] values = playerWorlds;
+    return index < values.length ? values[index] : null;
+  }
+
+  public double getPlayerX(int index) {
+    double[] values = playerX;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public double getPlayerY(int index) {
+    double[] values = playerY;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public double getPlayerZ(int index) {
+    double[] values = playerZ;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public float getPlayerYaw(int index) {
+    float[] values = playerYaw;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public float getPlayerPitch(int index) {
+    float[] values = playerPitch;
+    return index < values.length ? values[index] : 0;
+  }
+
+  public GameMode getPlayerGameMode(int index) {
+    GameMode[] values = playerGameModes;
+    return index < values.length ? values[index] : null;
+  }
+
+  /** Arena id of the player's match, or {@code -1} if they are not in one. */
+  public int getPlayerArenaId(int index) {
+    int[] values = playerArenaIds;
+    return index < values.length ? values[index] : 0;
+  }
+
+  /** The player's team in their match, or {@code null}. */
+  public TeamColor getPlayerTeam(int index) {
+    TeamColor[] values = playerTeams;
+    return index < values.length ? values[index] : null;
+  }
+
+  public boolean isPlayerParticlesEnabled(int index) {
+    boolean[] values = playerParticlesEnabled;
+    return index < values.length ? values[index] : false;
+  }
+
+  public EnumParticle getPlayerParticle(int index) {
+    EnumParticle[] values = playerParticles;
+    return index < values.length ? values[index] : null;
+  }
+
+  public Color getPlayerParticleColor(int index) {
+    Color[] values = playerParticleColors;
+    return index < values.length ? values[index] : null;
+  }
+
+  // --- Writer side, used by WorldSnapshotBus on the main thread ---
+
+  void beginWrite(long tick) {
+    stamp++;
+    VarHandle.releaseFence();
+    this.tick = tick;
+    Arrays.fill(cubeWorlds, 0, cubeCount, null);
+    Arrays.fill(players, 0, playerCount, null);
+    Arrays.fill(playerWorlds, 0, playerCount, null);
+    Arrays.fill(playerTeams, 0, playerCount, null);
+    Arrays.fill(playerParticleColors, 0, playerCount, null);
+    cubeCount = 0;
+    playerCount = 0;
+  }
+
+  void endWrite() {
+    stamp++;
+  }
+
+  void addCube(int slot, int entityId, long spawnId, World world, double x, double y, double z,
+      double velX, double velY, double velZ, boolean sleeping) {
+    if (cubeCount == cubeSlots.length) {
+      int capacity = cubeCount * 2;
+      cubeSlots = Arrays.copyOf(cubeSlots, capacity);
+      cubeEntityIds = Arrays.copyOf(cubeEntityIds, capacity);
+      cubeSpawnIds = Arrays.copyOf(cubeSpawnIds, capacity);
+      cubeWorlds = Arrays.copyOf(cubeWorlds, capacity);
+      cubeX = Arrays.copyOf(cubeX, capacity);
+      cubeY = Arrays.copyOf(cubeY, capacity);
+      cubeZ = Arrays.copyOf(cubeZ, capacity);
+      cubeVelX = Arrays.copyOf(cubeVelX, capacity);
+      cubeVelY = Arrays.copyOf(cubeVelY, capacity);
+      cubeVelZ = Arrays.copyOf(cubeVelZ, capacity);
+      cubeSleeping = Arrays.copyOf(cubeSleeping, capacity);
+    }
+
+    int index = cubeCount++;
+    cubeSlots[index] = slot;
+    cubeEntityIds[index] = entityId;
+    cubeSpawnIds[index] = spawnId;
+    cubeWorlds[index] = world;
+    cubeX[index] = x;
+    cubeY[index] = y;
+    cubeZ[index] = z;
+    cubeVelX[index] = velX;
+    cubeVelY[index] = velY;
+    cubeVelZ[index] = velZ;
+    cubeSleeping[index] = sleeping;
+  }
+
+  /**
+   * Appends a player and returns their index, so the caller can fill in the remaining columns.
+   */
+  int addPlayer(int sessionId, Player player, boolean online, World world,
+      double x, double y, double z, float yaw, float pitch, GameMode gameMode) {
+    if (playerCount == playerSessionIds.length) {
+      int capacity = playerCount * 2;
+      playerSessionIds = Arrays.copyOf(playerSessionIds, capacity);
+      players = Arrays.copyOf(players, capacity);
+      playerOnline = Arrays.copyOf(playerOnline, capacity);
+      playerWorlds = Arrays.copyOf(playerWorlds, capacity);
+      playerX = Arrays.copyOf(playerX, capacity);
+      playerY = Arrays.copyOf(playerY, capacity);
+      playerZ = Arrays.copyOf(playerZ, capacity);
+      playerYaw = Arrays.copyOf(playerYaw, capacity);
+      playerPitch = Arrays.copyOf(playerPitch, capacity);
+      playerGameModes = Arrays.copyOf(playerGameModes, capacity);
+      playerArenaIds = Arrays.copyOf(playerArenaIds, capacity);
+      playerTeams = Arrays.copyOf(playerTeams, capacity);
+      playerParticlesEnabled = Arrays.copyOf(playerParticlesEnabled, capacity);
+      playerParticles = Arrays.copyOf(playerParticles, capacity);
+      playerParticleColors = Arrays.copyOf(playerParticleColors, capacity);
+    }
+
+    int index = playerCount++;
+    playerSessionIds[index] = sessionId;
+    players[index] = player;
+    playerOnline[index] = online;
+    playerWorlds[index] = world;
+    playerX[index] = x;
+    playerY[index] = y;
+    playerZ[index] = z;
+    playerYaw[index] = yaw;
+    playerPitch[index] = pitch;
+    playerGameModes[index] = gameMode;
+    playerArenaIds[index] = -1;
+    playerTeams[index] = null;
+    return index;
+  }
+
+  void setPlayerMatch(int index, int arenaId, TeamColor team) {
+    playerArenaIds[index] = arenaId;
+    playerTeams[index] = team;
+  }
+
+  void setPlayerParticles(int index, boolean enabled, EnumParticle particle, Color color) {
+    playerParticlesEnabled[index] = enabled;
+    playerParticles[index] = particle;
+    playerParticleColors[index] = color;
+  }
+
+  void clear() {
+    beginWrite(0);
+    endWrite();
+  }
+}
@@ -0,0 +1,142 @@
+package io.github.divinerealms.footcube.physics.snapshot;
+
+import io.github.divinerealms.footcube.matchmaking.Match;
+import io.github.divinerealms.footcube.matchmaking.MatchManager;
+import io.github.divinerealms.footcube.matchmaking.player.MatchPlayer;
+import io.github.divinerealms.footcube.matchmaking.player.TeamColor;
+import io.github.divinerealms.footcube.physics.CubeStateStore;
+import io.github.divinerealms.footcube.physics.PhysicsData;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import io.github.divinerealms.footcube.utils.PlayerSettings;
+import net.minecraft.server.v1_8_R3.EnumParticle;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Slime;
+
+/**
+ * Publishes a {@link WorldSnapshot} at the end of every physics tick for async tasks to read.
+ * <p>
+ * The bus owns two snapshot buffers. The main thread fills the back buffer and then swaps it to
+ * the front with a single volatile write; readers just load the front reference. Neither side ever
+ * takes a lock, and a reader always gets a complete snapshot. Since the back buffer is the one
+ * published a tick earlier, a reader that holds on to a snapshot for more than a tick must check
+ * it with {@link WorldSnapshot#validate(long)}.
+ * </p>
+ *
+ * <p><b>Threading:</b> {@link #publish()} and {@link #clear()} must be called from the main server
+ * thread. {@link #acquire()} may be called from any thread.</p>
+ */
+public class WorldSnapshotBus {
+
+  private final PhysicsData data;
+  private final PlayerSessionRegistry sessions;
+  private final MatchManager matchManager;
+
+  private final WorldSnapshot[] buffers = {new WorldSnapshot(), new WorldSnapshot()};
+  private final Location scratch = new Location(null, 0, 0, 0);
+  private volatile WorldSnapshot front = buffers[0];
+  private int backIndex = 1;
+  private long tick = 0;
+
+  public WorldSnapshotBus(PhysicsData data, PlayerSessionRegistry sessions,
+      MatchManager matchManager) {
+    this.data = data;
+    this.sessions = sessions;
+    this.matchManager = matchManager;
+  }
+
+  /**
+   * Returns the latest published snapshot. Never {@code null}; empty until the first tick.
+   */
+  public WorldSnapshot acquire() {
+    return front;
+  }
+
+  /**
+   * Captures cubes and players into the back buffer and publishes it.
+   */
+  public void publish() {
+    WorldSnapshot snapshot = buffers[backIndex];
+    snapshot.beginWrite(++tick);
+    captureCubes(snapshot);
+    capturePlayers(snapshot);
+    snapshot.endWrite();
+    scratch.setWorld(null);
+
+    front = snapshot;
+    backIndex ^= 1;
+  }
+
+  /**
+   * Publishes an empty snapshot and drops every entity reference held by either buffer.
+   */
+  public void clear() {
+    buffers[0].clear();
+    buffers[1].clear();
+    front = buffers[0];
+    backIndex = 1;
+  }
+
+  /**
+   * Only cubes the physics task has processed are included, since their stored position and
+   * velocity are not meaningful before that.
+   */
+  private void captureCubes(WorldSnapshot snapshot) {
+    CubeStateStore states = data.getCubeStates();
+    int slotCount = states.getHighWaterMark();
+    for (int slot = 0; slot < slotCount; slot++) {
+      if (!states.isActive(slot) || !states.hasFlag(slot, CubeStateStore.FLAG_VELOCITY_TRACKED)) {
+        continue;
+      }
+
+      Slime cube = states.getCube(slot);
+      if (cube == null || cube.isDead()) {
+        continue;
+      }
+
+      snapshot.addCube(slot, cube.getEntityId(), states.getSpawnId(slot), cube.getWorld(),
+          states.getX(slot), states.getY(slot), states.getZ(slot),
+          states.getVelX(slot), states.getVelY(slot), states.getVelZ(slot),
+          states.isSleeping(slot));
+    }
+  }
+
+  private void capturePlayers(WorldSnapshot snapshot) {
+    int sessionCount = sessions.getHighWaterMark();
+    for (int id = 0; id < sessionCount; id++) {
+      PlayerSession session = sessions.get(id);
+      Player player = session != null ? session.getPlayer() : null;
+      if (player == null) {
+        continue;
+      }
+
+      player.getLocation(scratch);
+      int index = snapshot.addPlayer(id, player, player.isOnline(), scratch.getWorld(),
+          scratch.getX(), scratch.getY(), scratch.getZ(), scratch.getYaw(), scratch.getPitch(),
+          player.getGameMode());
+
+      Match match = matchManager.getMatch(player).orElse(null);
+      if (match != null) {
+        snapshot.setPlayerMatch(index, match.getArena().getId(), teamOf(match, player));
+      }
+
+      PlayerSettings settings = session.getSettings();
+      EnumParticle particle = settings.getParticle();
+      snapshot.setPlayerParticles(index, settings.isParticlesEnabled(), particle,
+          particle == EnumParticle.REDSTONE ? settings.getRedstoneColor() : null);
+    }
+  }
+
+  private static TeamColor teamOf(Match match, Player player) {
+    if (match.getPlayers() == null) {
+      return null;
+    }
+    for (MatchPlayer matchPlayer : match.getPlayers()) {
+      if (matchPlayer != null && matchPlayer.getPlayer() == player) {
+        return matchPlayer.getTeamColor();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,88 @@
+package io.github.divinerealms.footcube.physics.touch;
+
+import java.util.Arrays;
+
+/**
+ * Flat table of kick and rise cooldowns, indexed by player session id and {@link CubeTouchType}.
+ * <p>
+ * Session ids are small and dense (see
+ * {@link io.github.divinerealms.footcube.session.PlayerSessionRegistry}), so the table stores one
+ * primitive expiry timestamp per {@code (session, type)} pair in a single {@code long[]} without
+ * any hashing. Expiry is checked lazily on read, so nothing ever has to sweep the table, and
+ * starting or checking a cooldown does not allocate.
+ * </p>
+ *
+ * <p><b>Threading:</b> All methods must be called from the main server thread.</p>
+ */
+public class TouchCooldownTable {
+
+  private static final CubeTouchType[] TYPES = CubeTouchType.values();
+  private static final int INITIAL_PLAYERS = 64;
+
+  private long[] expiries = new long[INITIAL_PLAYERS * TYPES.length];
+
+  /**
+   * Whether the player is still on cooldown for the given touch type.
+   *
+   * @param sessionId the player's session id
+   * @param type      the touch type
+   * @param now       current time in milliseconds
+   * @return {@code true} if the cooldown has not expired yet
+   */
+  public boolean isOnCooldown(int sessionId, CubeTouchType type, long now) {
+    int index = index(sessionId, type);
+    return index < expiries.length && expiries[index] > now;
+  }
+
+  /**
+   * Starts the cooldown of the given touch type, replacing any previous one.
+   *
+   * @param sessionId the session id of the player who touched the cube
+   * @param type      the touch type
+   * @param now       current time in milliseconds
+   */
+  public void start(int sessionId, CubeTouchType type, long now) {
+    int index = index(sessionId, type);
+    if (index >= expiries.length) {
+      expiries = Arrays.copyOf(expiries,
+          Math.max(expiries.length * 2, (sessionId + 1) * TYPES.length));
+    }
+    expiries[index] = now + type.getCooldown();
+  }
+
+  /**
+   * Time left on the cooldown of the given touch type.
+   *
+   * @param sessionId the player's session id
+   * @param type      the touch type
+   * @param now       current time in milliseconds
+   * @return the remaining milliseconds, or {@code 0} if the cooldown expired or never started
+   */
+  public long getRemaining(int sessionId, CubeTouchType type, long now) {
+    int index = index(sessionId, type);
+    if (index >= expiries.length) {
+      return 0;
+    }
+    return Math.max(0, expiries[index] - now);
+  }
+
+  /**
+   * Clears every cooldown of a session, so the next player to get its id starts fresh.
+   *
+   * @param sessionId the session id of the player who left
+   */
+  public void release(int sessionId) {
+    int from = index(sessionId, TYPES[0]);
+    if (from < expiries.length) {
+      Arrays.fill(expiries, from, from + TYPES.length, 0);
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(expiries, 0);
+  }
+
+  private static int index(int sessionId, CubeTouchType type) {
+    return sessionId * TYPES.length + type.ordinal();
+  }
+}
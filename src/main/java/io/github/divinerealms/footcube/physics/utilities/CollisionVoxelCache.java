@@ -0,0 +1,304 @@
+package io.github.divinerealms.footcube.physics.utilities;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VOXEL_ARENA_ABOVE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VOXEL_ARENA_BELOW;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VOXEL_ARENA_MARGIN;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VOXEL_PRACTICE_ABOVE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VOXEL_PRACTICE_BELOW;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VOXEL_PRACTICE_RADIUS;
+
+import io.github.divinerealms.footcube.core.FCManager;
+import io.github.divinerealms.footcube.managers.ConfigManager;
+import io.github.divinerealms.footcube.matchmaking.arena.Arena;
+import io.github.divinerealms.footcube.matchmaking.arena.ArenaManager;
+import io.github.divinerealms.footcube.utils.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import net.minecraft.server.v1_8_R3.BlockPosition;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.craftbukkit.v1_8_R3.CraftWorld;
+import org.bukkit.craftbukkit.v1_8_R3.util.CraftMagicNumbers;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+
+/**
+ * Solid-block cache for every arena and practice area, used by the physics hop and ground checks.
+ * <p>
+ * Each area is mirrored into a {@link VoxelRegion} bitset when arenas are (re)loaded, so the
+ * per-tick checks become array reads instead of world and chunk lookups. Blocks outside every
+ * region, or in chunks that were not loaded yet, are read from the world as before.
+ * </p>
+ *
+ * <p><b>Keeping the cache fresh:</b></p>
+ * <ul>
+ *   <li>{@link #rebuild()} recreates all regions from {@link ArenaManager} and
+ *   {@code practice.yml}.</li>
+ *   <li>Chunk loads fill the matching columns; chunk unloads mark them unknown again.</li>
+ *   <li>Block changes inside a region are queued and re-read from the world on the next tick, once
+ *   the change has actually been applied.</li>
+ * </ul>
+ *
+ * <p><b>Threading:</b> All methods must be called from the main server thread.</p>
+ */
+public class CollisionVoxelCache {
+
+  private final ArenaManager arenaManager;
+  private final ConfigManager configManager;
+  private final Logger logger;
+  private final BukkitScheduler scheduler;
+  private final Plugin plugin;
+
+  private final List<Entry> entries = new ArrayList<>();
+  private final List<Block> pendingBlocks = new ArrayList<>();
+  private final BlockPosition.MutableBlockPosition blockPosition =
+      new BlockPosition.MutableBlockPosition();
+
+  private Entry lastHit;
+  private boolean flushScheduled = false;
+
+  @Getter
+  private long cachedLookups = 0;
+  @Getter
+  private long worldLookups = 0;
+
+  public CollisionVoxelCache(FCManager fcManager) {
+    this.arenaManager = fcManager.getArenaManager();
+    this.configManager = fcManager.getConfigManager();
+    this.logger = fcManager.getLogger();
+    this.scheduler = fcManager.getScheduler();
+    this.plugin = fcManager.getPlugin();
+  }
+
+  /**
+   * Drops every region and builds them again from the current arenas and practice areas. Only
+   * chunks that are already loaded are read; the rest are filled when they load.
+   */
+  public void rebuild() {
+    entries.clear();
+    pendingBlocks.clear();
+    lastHit = null;
+
+    for (Arena arena : arenaManager.getArenas()) {
+      addArena(arena);
+    }
+
+    FileConfiguration practice = configManager.getConfig("practice.yml");
+    ConfigurationSection areas = practice == null
+        ? null
+        : practice.getConfigurationSection("practice-areas");
+    if (areas != null) {
+      for (String name : areas.getKeys(false)) {
+        Object value = areas.get(name);
+        if (value instanceof Location) {
+          addPracticeArea((Location) value);
+        }
+      }
+    }
+
+    long bytes = 0;
+    for (Entry entry : entries) {
+      fillLoadedChunks(entry);
+      bytes += entry.region.getMemoryBytes();
+    }
+
+    logger.info("&a✔ &2Built collision cache for &e" + entries.size() + " &2regions (&e"
+        + (bytes / 1024) + "KB&2).");
+  }
+
+  /**
+   * Whether the block at the given position is solid, answered from the cache when possible.
+   */
+  public boolean isSolid(World world, int x, int y, int z) {
+    if (lastHit != null && lastHit.world == world) {
+      int result = lastHit.region.lookup(x, y, z);
+      if (result != VoxelRegion.UNKNOWN) {
+        cachedLookups++;
+        return result == VoxelRegion.SOLID;
+      }
+    }
+
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+      if (entry.world != world || entry == lastHit) {
+        continue;
+      }
+
+      int result = entry.region.lookup(x, y, z);
+      if (result != VoxelRegion.UNKNOWN) {
+        lastHit = entry;
+        cachedLookups++;
+        return result == VoxelRegion.SOLID;
+      }
+    }
+
+    worldLookups++;
+    return readWorld(world, x, y, z);
+  }
+
+  /**
+   * Queues a block for re-reading on the next tick if it lies inside any region. Call this from
+   * block change events, which fire before the change is applied.
+   */
+  public void invalidate(Block block) {
+    if (!isCovered(block.getWorld(), block.getX(), block.getY(), block.getZ())) {
+      return;
+    }
+
+    pendingBlocks.add(block);
+    if (!flushScheduled) {
+      flushScheduled = true;
+      scheduler.runTask(plugin, this::flushPending);
+    }
+  }
+
+  public void onChunkLoad(Chunk chunk) {
+    World world = chunk.getWorld();
+    for (Entry entry : entries) {
+      if (entry.world == world && entry.region.overlapsChunk(chunk.getX(), chunk.getZ())) {
+        fillChunk(entry, chunk.getX(), chunk.getZ());
+      }
+    }
+  }
+
+  public void onChunkUnload(Chunk chunk) {
+    for (Entry entry : entries) {
+      if (entry.world == chunk.getWorld()) {
+        entry.region.markChunkKnown(chunk.getX(), chunk.getZ(), false);
+      }
+    }
+  }
+
+  public int getRegionCount() {
+    return entries.size();
+  }
+
+  private void flushPending() {
+    flushScheduled = false;
+    for (Block block : pendingBlocks) {
+      World world = block.getWorld();
+      int x = block.getX();
+      int y = block.getY();
+      int z = block.getZ();
+      boolean solid = readWorld(world, x, y, z);
+
+      for (Entry entry : entries) {
+        if (entry.world == world) {
+          entry.region.set(x, y, z, solid);
+        }
+      }
+    }
+    pendingBlocks.clear();
+  }
+
+  private boolean isCovered(World world, int x, int y, int z) {
+    for (Entry entry : entries) {
+      if (entry.world == world && entry.region.contains(x, y, z)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Arenas only store their two spawns, so the box spans both spawns along the arena axis and half
+   * the spawn distance to each side across it, plus a margin for walls and goals.
+   */
+  private void addArena(Arena arena) {
+    Location blue = arena.getBlueSpawn();
+    Location red = arena.getRedSpawn();
+    if (blue == null || red == null || blue.getWorld() == null) {
+      return;
+    }
+
+    double halfWidth = (arena.isXAxis()
+        ? Math.abs(blue.getX() - red.getX())
+        : Math.abs(blue.getZ() - red.getZ())) / 2;
+    double spreadX = VOXEL_ARENA_MARGIN + (arena.isXAxis() ? 0 : halfWidth);
+    double spreadZ = VOXEL_ARENA_MARGIN + (arena.isXAxis() ? halfWidth : 0);
+    int baseY = (int) Math.floor(Math.min(blue.getY(), red.getY()));
+
+    add(blue.getWorld(),
+        (int) Math.floor(Math.min(blue.getX(), red.getX()) - spreadX),
+        baseY - VOXEL_ARENA_BELOW,
+        (int) Math.floor(Math.min(blue.getZ(), red.getZ()) - spreadZ),
+        (int) Math.floor(Math.max(blue.getX(), red.getX()) + spreadX),
+        baseY + VOXEL_ARENA_ABOVE,
+        (int) Math.floor(Math.max(blue.getZ(), red.getZ()) + spreadZ));
+  }
+
+  private void addPracticeArea(Location center) {
+    if (center.getWorld() == null) {
+      return;
+    }
+
+    int x = center.getBlockX();
+    int y = center.getBlockY();
+    int z = center.getBlockZ();
+    add(center.getWorld(),
+        x - VOXEL_PRACTICE_RADIUS, y - VOXEL_PRACTICE_BELOW, z - VOXEL_PRACTICE_RADIUS,
+        x + VOXEL_PRACTICE_RADIUS, y + VOXEL_PRACTICE_ABOVE, z + VOXEL_PRACTICE_RADIUS);
+  }
+
+  private void add(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+    minY = Math.max(0, minY);
+    maxY = Math.min(world.getMaxHeight() - 1, maxY);
+    if (maxY < minY) {
+      return;
+    }
+    entries.add(new Entry(world, new VoxelRegion(minX, minY, minZ, maxX, maxY, maxZ)));
+  }
+
+  private void fillLoadedChunks(Entry entry) {
+    VoxelRegion region = entry.region;
+    for (int chunkX = region.getMinX() >> 4; chunkX <= region.getMaxX() >> 4; chunkX++) {
+      for (int chunkZ = region.getMinZ() >> 4; chunkZ <= region.getMaxZ() >> 4; chunkZ++) {
+        if (entry.world.isChunkLoaded(chunkX, chunkZ)) {
+          fillChunk(entry, chunkX, chunkZ);
+        }
+      }
+    }
+  }
+
+  private void fillChunk(Entry entry, int chunkX, int chunkZ) {
+    VoxelRegion region = entry.region;
+    int fromX = Math.max(chunkX << 4, region.getMinX());
+    int toX = Math.min((chunkX << 4) + 15, region.getMaxX());
+    int fromZ = Math.max(chunkZ << 4, region.getMinZ());
+    int toZ = Math.min((chunkZ << 4) + 15, region.getMaxZ());
+
+    for (int y = region.getMinY(); y <= region.getMaxY(); y++) {
+      for (int z = fromZ; z <= toZ; z++) {
+        for (int x = fromX; x <= toX; x++) {
+          region.set(x, y, z, readWorld(entry.world, x, y, z));
+        }
+      }
+    }
+    region.markChunkKnown(chunkX, chunkZ, true);
+  }
+
+  /**
+   * Reads solidity through the NMS world with a reusable block position instead of creating a
+   * Bukkit {@code Block} wrapper.
+   */
+  private boolean readWorld(World world, int x, int y, int z) {
+    return CraftMagicNumbers.getMaterial(
+        ((CraftWorld) world).getHandle().getType(blockPosition.c(x, y, z)).getBlock()).isSolid();
+  }
+
+  private static final class Entry {
+
+    private final World world;
+    private final VoxelRegion region;
+
+    private Entry(World world, VoxelRegion region) {
+      this.world = world;
+      this.region = region;
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package io.github.divinerealms.footcube.physics.utilities;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.CUBE_POOL_MAX_PARKED;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.CUBE_POOL_PARK_Y;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.JUMP_POTION_AMPLIFIER;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.JUMP_POTION_DURATION;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.SLIME_SIZE;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Level;
+import lombok.Getter;
+import net.minecraft.server.v1_8_R3.EntitySlime;
+import net.minecraft.server.v1_8_R3.NBTTagCompound;
+import net.minecraft.server.v1_8_R3.PathfinderGoalSelector;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.craftbukkit.v1_8_R3.entity.CraftSlime;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Slime;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.util.Vector;
+
+/**
+ * Pool of pre-configured cube entities, so removing and spawning cubes does not create and destroy
+ * Slimes.
+ * <p>
+ * A new cube needs a spawned entity, its size, a permanent jump effect and a reflective wipe of its
+ * AI goals, and every spawn and kill is broadcast to the players tracking it. A released cube is
+ * instead <i>parked</i>: it is made invisible, frozen with {@code NoAI} and lifted straight up to
+ * the absolute height {@code CUBE_POOL_PARK_Y}, keeping the X and Z it was released at. Entity
+ * tracking in 1.8 only looks at horizontal distance, so players near that spot keep tracking the
+ * parked cube, and taking it out again costs a teleport packet instead of a destroy and a spawn.
+ * The entity keeps its id across reuse; {@code CubeStateStore} gives every spawn a new spawn id
+ * for code that must tell the two apart.
+ * </p>
+ *
+ * <p>{@link #acquire(Location)} hands out the parked cube nearest to the target in the same world
+ * and only spawns a new one when there is none. Parked cubes that died meanwhile (e.g. their chunk
+ * unloaded) are dropped on the way. Hits and misses are counted for the task report.</p>
+ *
+ * <p><b>Threading:</b> All methods must be called from the main server thread.</p>
+ */
+public class CubePool {
+
+  // Resolved once; null if this server's NMS does not have the field.
+  private static final Field GOAL_LIST = resolveGoalList();
+
+  private final Plugin plugin;
+  private final List<Slime> parked = new ArrayList<>();
+  private final Location scratch = new Location(null, 0, 0, 0);
+  private final Vector zero = new Vector();
+
+  @Getter
+  private long hits = 0;
+  @Getter
+  private long misses = 0;
+
+  public CubePool(Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Returns a ready-to-use cube at the given location, reusing a parked one when possible.
+   */
+  public Slime acquire(Location location) {
+    Slime cube = takeNearest(location);
+    if (cube == null) {
+      misses++;
+      return create(location);
+    }
+
+    hits++;
+    setFrozen(cube, false);
+    cube.removePotionEffect(PotionEffectType.INVISIBILITY);
+    cube.teleport(location);
+    cube.setVelocity(zero);
+    return cube;
+  }
+
+  /**
+   * Parks a cube for later reuse, or removes it if the pool is full or the cube is dead.
+   */
+  public void release(Slime cube) {
+    if (cube.isDead() || !cube.isValid() || parked.size() >= CUBE_POOL_MAX_PARKED) {
+      cube.remove();
+      return;
+    }
+
+    cube.getLocation(scratch);
+    scratch.setY(CUBE_POOL_PARK_Y);
+    cube.addPotionEffect(
+        new PotionEffect(PotionEffectType.INVISIBILITY, Integer.MAX_VALUE, 0, true), true);
+    cube.setVelocity(zero);
+    cube.teleport(scratch);
+    setFrozen(cube, true);
+    scratch.setWorld(null);
+    parked.add(cube);
+  }
+
+  /**
+   * Whether the entity is a parked cube. Parked cubes are not part of the game, but must still be
+   * protected from damage.
+   */
+  public boolean isParked(Slime cube) {
+    for (int i = 0; i < parked.size(); i++) {
+      if (parked.get(i) == cube) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int getParkedCount() {
+    return parked.size();
+  }
+
+  /**
+   * Removes every parked cube from the world.
+   */
+  public void clear() {
+    for (Slime cube : parked) {
+      if (!cube.isDead()) {
+        cube.remove();
+      }
+    }
+    parked.clear();
+  }
+
+  public void resetStats() {
+    hits = 0;
+    misses = 0;
+  }
+
+  private Slime takeNearest(Location location) {
+    World world = location.getWorld();
+    int nearest = -1;
+    double nearestDistance = Double.MAX_VALUE;
+
+    for (int i = parked.size() - 1; i >= 0; i--) {
+      Slime cube = parked.get(i);
+      if (cube.isDead() || !cube.isValid()) {
+        parked.remove(i);
+        if (nearest > i) {
+          nearest--;
+        }
+        continue;
+      }
+
+      cube.getLocation(scratch);
+      if (scratch.getWorld() != world) {
+        continue;
+      }
+      double dx = scratch.getX() - location.getX();
+      double dz = scratch.getZ() - location.getZ();
+      double distance = dx * dx + dz * dz;
+      if (distance < nearestDistance) {
+        nearestDistance = distance;
+        nearest = i;
+      }
+    }
+    scratch.setWorld(null);
+
+    return nearest == -1 ? null : parked.remove(nearest);
+  }
+
+  private Slime create(Location location) {
+    Slime cube = (Slime) location.getWorld().spawnEntity(location, EntityType.SLIME);
+    cube.setRemoveWhenFarAway(false);
+    cube.setSize(SLIME_SIZE);
+    // Permanent jump effect that stops the cube from hopping.
+    cube.addPotionEffect(
+        new PotionEffect(PotionEffectType.JUMP, JUMP_POTION_DURATION, JUMP_POTION_AMPLIFIER,
+            true),
+        true);
+
+    // NMS Hack to prevent the ball from trying to reach the player.
+    if (GOAL_LIST != null) {
+      EntitySlime nmsSlime = ((CraftSlime) cube).getHandle();
+      try {
+        GOAL_LIST.set(nmsSlime.goalSelector, new LinkedList<>());
+        GOAL_LIST.set(nmsSlime.targetSelector, new LinkedList<>());
+      } catch (Exception exception) {
+        plugin.getLogger().log(Level.SEVERE, "Error injecting NMS Pathfinder Goals:", exception);
+      }
+    }
+    return cube;
+  }
+
+  /**
+   * Toggles {@code NoAI}, which in 1.8 also stops gravity and knockback, so a parked cube stays
+   * exactly where it was put.
+   */
+  private static void setFrozen(Slime cube, boolean frozen) {
+    EntitySlime nmsSlime = ((CraftSlime) cube).getHandle();
+    NBTTagCompound tag = new NBTTagCompound();
+    nmsSlime.c(tag);
+    tag.setByte("NoAI", (byte) (frozen ? 1 : 0));
+    nmsSlime.f(tag);
+  }
+
+  private static Field resolveGoalList() {
+    try {
+      Field field = PathfinderGoalSelector.class.getDeclaredField("b");
+      field.setAccessible(true);
+      return field;
+    } catch (Exception exception) {
+      java.util.logging.Logger.getLogger("FootCube")
+          .log(Level.SEVERE, "Error resolving NMS Pathfinder Goals:", exception);
+      return null;
+    }
+  }
+}
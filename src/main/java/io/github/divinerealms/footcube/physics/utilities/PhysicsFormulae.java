@@ -2,13 +2,11 @@ package io.github.divinerealms.footcube.physics.utilities;
 
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.BALL_TOUCH_Y_OFFSET;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.CUBE_HITBOX_ADJUSTMENT;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DEBUG_ON_MS;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.MAX_KP;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.RANDOM;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.SOFT_CAP_MIN_FACTOR;
-import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
 
-import io.github.divinerealms.footcube.utils.Logger;
+import io.github.divinerealms.footcube.physics.engine.CubePhysicsEngine;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
@@ -16,12 +14,6 @@ import org.bukkit.util.Vector;
 @SuppressWarnings("unused")
 public class PhysicsFormulae {
 
-  private final Logger logger;
-
-  public PhysicsFormulae(Logger logger) {
-    this.logger = logger;
-  }
-
   /**
    * Calculates the Euclidean distance between two {@link Location} points, accounting for player
    * and cube height offsets to ensure accurate collision detection.
@@ -33,7 +25,7 @@ public class PhysicsFormulae {
    *
    * <p><b>Implementation Details:</b></p>
    * <ul>
-   *   <li>Temporarily offsets {@code locA} by -1 block on the Y-axis to match player height.</li>
+   *   <li>Offsets {@code locA} by -1 block on the Y-axis to match player height.</li>
    *   <li>Applies a 0.25-block downward adjustment for cube height alignment.</li>
    *   <li>Clamps negative Y-differences to zero to prevent invalid proximity readings.</li>
    * </ul>
@@ -41,28 +33,29 @@ public class PhysicsFormulae {
    * <p><b>Performance:</b> Uses direct arithmetic and {@link Math#sqrt(double)} for true Euclidean distance.
    * Prefer {@link #getDistanceSquared(Location, Location)} for large-scale or repeated calculations.</p>
    *
-   * @param locA The first location (typically the player).
-   * @param locB The second location (typically the cube or ball).
+   * @param locA The cube's location; the offsets above are applied to its Y.
+   * @param locB The player's location.
    * @return The real-world distance between the two adjusted positions.
    */
   public double getDistance(Location locA, Location locB) {
-    long start = System.nanoTime();
-    try {
-      Location locAnew = locA.clone().add(0, -1, 0);
-      double dx = Math.abs(locAnew.getX() - locB.getX());
-      double dy = Math.abs(locAnew.getY() - locB.getY() - 0.25) - 1.25;
-      if (dy < 0) {
-        dy = 0;
-      }
-      double dz = Math.abs(locAnew.getZ() - locB.getZ());
-      return Math.sqrt(dx * dx + dy * dy + dz * dz);
-    } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsFormulae#getDistance() &ftook &e" + ms + "ms");
-      }
-    }
+    return getDistance(locA.getX(), locA.getY(), locA.getZ(), locB.getX(), locB.getY(),
+        locB.getZ());
+  }
+
+  /**
+   * Primitive variant of {@link #getDistance(Location, Location)} for hot paths that keep
+   * coordinates in local variables or arrays and must not allocate.
+   *
+   * @param ax X coordinate of the cube.
+   * @param ay Y coordinate of the cube, which the offsets are applied to.
+   * @param az Z coordinate of the cube.
+   * @param bx X coordinate of the player.
+   * @param by Y coordinate of the player.
+   * @param bz Z coordinate of the player.
+   * @return The real-world distance between the two adjusted positions.
+   */
+  public double getDistance(double ax, double ay, double az, double bx, double by, double bz) {
+    return CubePhysicsEngine.distance(ax, ay, az, bx, by, bz);
   }
 
   /**
@@ -75,23 +68,14 @@ public class PhysicsFormulae {
    * @return The squared distance between the two points.
    */
   public double getDistanceSquared(Location locA, Location locB) {
-    long start = System.nanoTime();
-    try {
-      double dx = locA.getX() - locB.getX();
-      double dy = (locA.getY() - BALL_TOUCH_Y_OFFSET) - locB.getY() - CUBE_HITBOX_ADJUSTMENT;
-      if (dy < 0) {
-        dy = 0;
-      }
-      double dz = locA.getZ() - locB.getZ();
-
-      return dx * dx + dy * dy + dz * dz;
-    } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsFormulae#getDistanceSquared() &ftook &e" + ms + "ms");
-      }
+    double dx = locA.getX() - locB.getX();
+    double dy = (locA.getY() - BALL_TOUCH_Y_OFFSET) - locB.getY() - CUBE_HITBOX_ADJUSTMENT;
+    if (dy < 0) {
+      dy = 0;
     }
+    double dz = locA.getZ() - locB.getZ();
+
+    return dx * dx + dy * dy + dz * dz;
   }
 
   /**
@@ -104,27 +88,27 @@ public class PhysicsFormulae {
    * @return The perpendicular distance between the player and the cube's velocity vector.
    */
   public double getPerpendicularDistance(Vector newVelocity, Vector cubePos, Player player) {
-    long start = System.nanoTime();
-    try {
-      if (Math.abs(newVelocity.getX()) < 1e-6) {
-        return Double.MAX_VALUE;
-      }
-
-      double slopeA = newVelocity.getZ() / newVelocity.getX();
-      double interceptB = cubePos.getZ() - slopeA * cubePos.getX();
-
-      double playerX = player.getLocation().getX();
-      double playerZ = player.getLocation().getZ();
+    Location playerLocation = player.getLocation();
+    return getPerpendicularDistance(newVelocity.getX(), newVelocity.getZ(), cubePos.getX(),
+        cubePos.getZ(), playerLocation.getX(), playerLocation.getZ());
+  }
 
-      // Compute perpendicular distance from player to cube’s path
-      return Math.abs(slopeA * playerX - playerZ + interceptB) / Math.sqrt(slopeA * slopeA + 1);
-    } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsFormulae#getPerpendicularDistance() &ftook &e" + ms + "ms");
-      }
-    }
+  /**
+   * Primitive variant of {@link #getPerpendicularDistance(Vector, Vector, Player)} that works on
+   * horizontal coordinates only and never allocates.
+   *
+   * @param velocityX X component of the cube's velocity.
+   * @param velocityZ Z component of the cube's velocity.
+   * @param cubeX     X coordinate of the cube.
+   * @param cubeZ     Z coordinate of the cube.
+   * @param playerX   X coordinate of the player.
+   * @param playerZ   Z coordinate of the player.
+   * @return The perpendicular distance between the player and the cube's velocity vector.
+   */
+  public double getPerpendicularDistance(double velocityX, double velocityZ, double cubeX,
+      double cubeZ, double playerX, double playerZ) {
+    return CubePhysicsEngine.perpendicularDistance(velocityX, velocityZ, cubeX, cubeZ, playerX,
+        playerZ);
   }
 
   /**
@@ -140,29 +124,20 @@ public class PhysicsFormulae {
    * @return The squared perpendicular distance between the player and the cube's velocity vector.
    */
   public double getPerpendicularDistanceSquared(Vector newVelocity, Vector cubePos, Player player) {
-    long start = System.nanoTime();
-    try {
-      if (Math.abs(newVelocity.getX()) < 1e-6) {
-        return Double.MAX_VALUE;
-      }
+    if (Math.abs(newVelocity.getX()) < 1e-6) {
+      return Double.MAX_VALUE;
+    }
 
-      double slopeA = newVelocity.getZ() / newVelocity.getX();
-      double interceptB = cubePos.getZ() - slopeA * cubePos.getX();
+    double slopeA = newVelocity.getZ() / newVelocity.getX();
+    double interceptB = cubePos.getZ() - slopeA * cubePos.getX();
 
-      double playerX = player.getLocation().getX();
-      double playerZ = player.getLocation().getZ();
+    Location playerLocation = player.getLocation();
+    double playerX = playerLocation.getX();
+    double playerZ = playerLocation.getZ();
 
-      // (|a*x - z + b| / sqrt(a² + 1))² = (a*x - z + b)² / (a² + 1)
-      double numerator = slopeA * playerX - playerZ + interceptB;
-      return (numerator * numerator) / (slopeA * slopeA + 1);
-    } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsFormulae#getPerpendicularDistanceSquared() &ftook &e" + ms
-                + "ms");
-      }
-    }
+    // (|a*x - z + b| / sqrt(a² + 1))² = (a*x - z + b)² / (a² + 1)
+    double numerator = slopeA * playerX - playerZ + interceptB;
+    return (numerator * numerator) / (slopeA * slopeA + 1);
   }
 
   /**
@@ -172,19 +147,10 @@ public class PhysicsFormulae {
    * @return Randomized capped kick power.
    */
   public double capKickPower(double baseKickPower) {
-    long start = System.nanoTime();
-    try {
-      if (baseKickPower <= MAX_KP) {
-        return baseKickPower;
-      }
-      double minRandomKP = MAX_KP * SOFT_CAP_MIN_FACTOR;
-      return minRandomKP + RANDOM.nextDouble() * (MAX_KP - minRandomKP);
-    } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsFormulae#capKickPower() &ftook &e" + ms + "ms");
-      }
+    if (baseKickPower <= MAX_KP) {
+      return baseKickPower;
     }
+    double minRandomKP = MAX_KP * SOFT_CAP_MIN_FACTOR;
+    return minRandomKP + RANDOM.nextDouble() * (MAX_KP - minRandomKP);
   }
 }
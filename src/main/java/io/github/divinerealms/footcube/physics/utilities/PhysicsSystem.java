@@ -9,107 +9,86 @@ import static io.github.divinerealms.footcube.configs.Lang.HITDEBUG_PLAYER_WHOLE
 import static io.github.divinerealms.footcube.configs.Lang.HITDEBUG_REGULAR;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.AFK_THRESHOLD;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.CHARGED_BASE_POWER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.CHARGED_KICK_COOLDOWN;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.CHARGE_BASE_VALUE;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.CHARGE_MULTIPLIER;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.CUBE_REMOVAL_DELAY_TICKS;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DEBUG_ON_MS;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.JUMP_POTION_AMPLIFIER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.JUMP_POTION_DURATION;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.KICK_POWER_SPEED_MULTIPLIER;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_SPEED_FOR_DAMPENING;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.REGULAR_BASE_POWER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.REGULAR_KICK_COOLDOWN;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.SLIME_SIZE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.RISE_COOLDOWN;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.SOUND_PITCH;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.SOUND_VOLUME;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.SPAWN_COOLDOWN_MS;
 import static io.github.divinerealms.footcube.utils.Permissions.PERM_BYPASS_COOLDOWN;
-import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
 
 import io.github.divinerealms.footcube.managers.Utilities;
 import io.github.divinerealms.footcube.physics.PhysicsData;
-import io.github.divinerealms.footcube.physics.actions.CubeSoundAction;
-import io.github.divinerealms.footcube.physics.touch.CubeTouchInfo;
+import io.github.divinerealms.footcube.physics.actions.SoundMixer;
 import io.github.divinerealms.footcube.physics.touch.CubeTouchType;
+import io.github.divinerealms.footcube.physics.virtual.VirtualCubes;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
 import io.github.divinerealms.footcube.utils.Logger;
-import java.lang.reflect.Field;
-import java.util.ArrayDeque;
+import io.github.divinerealms.footcube.utils.TimingWheel;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.logging.Level;
-import net.minecraft.server.v1_8_R3.EntitySlime;
-import net.minecraft.server.v1_8_R3.PathfinderGoalSelector;
+import lombok.Getter;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Sound;
-import org.bukkit.craftbukkit.v1_8_R3.entity.CraftSlime;
 import org.bukkit.entity.Entity;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Slime;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.potion.PotionEffect;
-import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitScheduler;
 
 public class PhysicsSystem {
 
+  private static final long AFK_THRESHOLD_TICKS = TimingWheel.ticksFor(AFK_THRESHOLD);
+  private static final Runnable ACTIVITY_EXPIRED = () -> {
+  };
+
   private final PhysicsData data;
   private final Logger logger;
   private final BukkitScheduler scheduler;
   private final Plugin plugin;
   private final PhysicsFormulae formulae;
-
-  public PhysicsSystem(PhysicsData data, Logger logger, BukkitScheduler scheduler, Plugin plugin) {
+  private final Profiler profiler;
+  private final TimingWheel timingWheel;
+  private final PlayerSessionRegistry sessions;
+  @Getter
+  private final SoundMixer soundMixer;
+  @Getter
+  private final CubePool cubePool;
+  @Getter
+  private final VirtualCubes virtualCubes;
+  private final Location soundLocation = new Location(null, 0, 0, 0);
+
+  public PhysicsSystem(PhysicsData data, Logger logger, BukkitScheduler scheduler, Plugin plugin,
+      Profiler profiler, TimingWheel timingWheel, PlayerSessionRegistry sessions) {
     this.data = data;
     this.logger = logger;
     this.scheduler = scheduler;
     this.plugin = plugin;
-    this.formulae = new PhysicsFormulae(logger);
+    this.profiler = profiler;
+    this.timingWheel = timingWheel;
+    this.sessions = sessions;
+    this.soundMixer = new SoundMixer(sessions);
+    this.cubePool = new CubePool(plugin);
+    this.virtualCubes = new VirtualCubes(plugin, data, sessions);
+    this.formulae = new PhysicsFormulae();
   }
 
   /**
-   * Schedules the playback of queued sound events after physics updates. Ensures that multiple
-   * cubes can trigger sounds in a single tick efficiently.
+   * Plays every sound queued during this tick. Called once at the end of the physics tick, so
+   * sounds go out in the same tick they were queued in.
    */
-  public void scheduleSound() {
-    Queue<CubeSoundAction> queue = data.getSoundQueue();
-    if (queue.isEmpty()) {
-      return;
-    }
-
-    Queue<CubeSoundAction> toPlay = new ArrayDeque<>(queue);
-    queue.clear();
-
-    scheduler.runTask(plugin, () -> toPlay.forEach(action -> {
-      Location location;
-      Sound sound = action.getSound();
-      float volume = action.getVolume();
-      float pitch = action.getPitch();
-
-      if (action.isPlayerTargeted()) {
-        Player player = action.getPlayer();
-        if (player == null || !player.isOnline()) {
-          return;
-        }
-
-        location = player.getLocation();
-        player.playSound(location, sound, volume, pitch);
-      } else {
-        location = action.getLocation();
-        if (location == null) {
-          return;
-        }
-
-        location.getWorld().playSound(location, sound, volume, pitch);
-      }
-    }));
+  public void flushSounds() {
+    soundMixer.flush();
   }
 
   /**
@@ -126,6 +105,8 @@ public class PhysicsSystem {
 
     scheduler.runTaskLater(plugin, () -> toRemove.forEach(cube -> {
       data.getCubes().remove(cube);
+      data.getCubeStates().free(cube);
+      data.getRaised().remove(cube.getUniqueId());
       if (!cube.isDead()) {
         cube.remove();
       }
@@ -142,7 +123,36 @@ public class PhysicsSystem {
     if (location == null || sound == null) {
       return;
     }
-    data.getSoundQueue().offer(new CubeSoundAction(location, null, sound, volume, pitch));
+    soundMixer.queue(SoundMixer.NO_SOURCE, location.getWorld(), location.getX(), location.getY(),
+        location.getZ(), sound, volume, pitch);
+  }
+
+  /**
+   * Queues a sound at the cube's current position. Repeats of the same sound from the same cube
+   * within one tick are merged by the mixer.
+   *
+   * @param cube The cube emitting the sound. Must not be null.
+   */
+  public void queueSound(Slime cube, Sound sound, float volume, float pitch) {
+    Location location = cube.getLocation(soundLocation);
+    soundMixer.queue(cube.getEntityId(), location.getWorld(), location.getX(), location.getY(),
+        location.getZ(), sound, volume, pitch);
+    soundLocation.setWorld(null);
+  }
+
+  /**
+   * Queues the default cube sound at the given position, using the cube as the merge source.
+   */
+  public void queueSound(Slime cube, double x, double y, double z) {
+    soundMixer.queue(cube.getEntityId(), cube.getWorld(), x, y, z, Sound.SLIME_WALK, SOUND_VOLUME,
+        SOUND_PITCH);
+  }
+
+  /**
+   * Queues the default cube sound at the cube's current position.
+   */
+  public void queueSound(Slime cube) {
+    queueSound(cube, Sound.SLIME_WALK, SOUND_VOLUME, SOUND_PITCH);
   }
 
   /**
@@ -161,7 +171,7 @@ public class PhysicsSystem {
     if (player == null || sound == null) {
       return;
     }
-    data.getSoundQueue().offer(new CubeSoundAction(null, player, sound, volume, pitch));
+    soundMixer.queue(player, sound, volume, pitch);
   }
 
   /**
@@ -181,12 +191,25 @@ public class PhysicsSystem {
    * @return Player's kick power
    */
   public PlayerKickResult calculateKickPower(Player player) {
-    long start = System.nanoTime();
+    return calculateKickPower(sessions.get(player), player.isSneaking());
+  }
+
+  /**
+   * Calculates the final kick power from the tracked speed and charge of a player's session,
+   * without requiring a live {@link Player} instance.
+   *
+   * @param session   Session of the player who kicked the ball, or {@code null} to use defaults.
+   * @param isCharged Whether the kick is a charged kick (player is sneaking).
+   * @return Player's kick power
+   */
+  public PlayerKickResult calculateKickPower(PlayerSession session, boolean isCharged) {
+    long start = profiler.start(ProfilerSection.SYSTEM_KICK_POWER);
     try {
-      boolean isCharged = player.isSneaking();
-      double charge = CHARGE_BASE_VALUE
-          + data.getCharges().getOrDefault(player.getUniqueId(), 0D) * CHARGE_MULTIPLIER;
-      double speed = data.getSpeed().getOrDefault(player.getUniqueId(), MIN_SPEED_FOR_DAMPENING);
+      double tracked = session != null && session.isCharging() ? session.getCharge() : 0;
+      double charge = CHARGE_BASE_VALUE + tracked * CHARGE_MULTIPLIER;
+      double speed = session != null
+          ? session.getSpeedOr(MIN_SPEED_FOR_DAMPENING)
+          : MIN_SPEED_FOR_DAMPENING;
       double power = isCharged
           ? speed * KICK_POWER_SPEED_MULTIPLIER + CHARGED_BASE_POWER
           : speed * KICK_POWER_SPEED_MULTIPLIER + REGULAR_BASE_POWER;
@@ -195,11 +218,7 @@ public class PhysicsSystem {
 
       return new PlayerKickResult(power, charge, baseKickPower, finalKickPower, isCharged);
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsSystem#calculateKickPower() &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.SYSTEM_KICK_POWER, start);
     }
   }
 
@@ -207,8 +226,10 @@ public class PhysicsSystem {
    * Removes all Slime entities in the main world. Used only on plugin reload.
    */
   public void removeCubes() {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.SYSTEM_REMOVE_CUBES);
     try {
+      cubePool.clear();
+      virtualCubes.clear();
       List<Entity> entities = plugin.getServer().getWorlds().get(0).getEntities();
       for (Entity entity : entities) {
         if (entity instanceof Slime) {
@@ -219,54 +240,65 @@ public class PhysicsSystem {
         }
       }
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsSystem#removeCubes() &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.SYSTEM_REMOVE_CUBES, start);
     }
   }
 
   /**
-   * Spawns a new ball at the given location and disables its AI.
+   * Spawns a new ball at the given location and disables its AI. The entity comes from the
+   * {@link CubePool} when a parked cube is available. In virtual cube mode, the ball is a
+   * {@link VirtualCubes virtual cube} instead and has no entity in the world.
    *
    * @param location The location to spawn the cube.
    * @return The spawned entity.
    */
   public Slime spawnCube(Location location) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.SYSTEM_SPAWN_CUBE);
     try {
-      Slime cube = (Slime) location.getWorld().spawnEntity(location, EntityType.SLIME);
-      cube.setRemoveWhenFarAway(false);
-      cube.setSize(SLIME_SIZE);
-      // Permanent jump effect that stops the cube from hopping.
-      cube.addPotionEffect(
-          new PotionEffect(PotionEffectType.JUMP, JUMP_POTION_DURATION, JUMP_POTION_AMPLIFIER,
-              true),
-          true);
-
-      // NMS Hack to prevent the ball from trying to reach the player.
-      EntitySlime nmsSlime = ((CraftSlime) cube).getHandle();
-      try {
-        Field bField = PathfinderGoalSelector.class.getDeclaredField("b");
-        bField.setAccessible(true);
-        bField.set(nmsSlime.goalSelector, new LinkedList<>());
-        bField.set(nmsSlime.targetSelector, new LinkedList<>());
-      } catch (Exception exception) {
-        plugin.getLogger().log(Level.SEVERE, "Error injecting NMS Pathfinder Goals:", exception);
-      }
-
+      Slime cube = virtualCubes.isEnabled()
+          ? virtualCubes.spawn(location)
+          : cubePool.acquire(location);
       data.getCubes().add(cube);
+      data.getCubeStates().allocate(cube);
       return cube;
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsSystem#spawnCube() &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.SYSTEM_SPAWN_CUBE, start);
+    }
+  }
+
+  /**
+   * Takes a cube out of play and hands it back to the {@link CubePool}, or despawns it if it is a
+   * virtual cube. Use this instead of killing the cube, so the entity can be reused by the next
+   * spawn.
+   *
+   * @param cube The cube to remove. Ignored if it is not in play.
+   */
+  public void removeCube(Slime cube) {
+    if (cube == null || !data.getCubes().remove(cube)) {
+      return;
+    }
+
+    data.getCubeStates().free(cube);
+    data.getRaised().remove(cube.getUniqueId());
+    data.getCubesToRemove().remove(cube);
+    if (virtualCubes.isVirtual(cube)) {
+      virtualCubes.release(cube);
+    } else {
+      cubePool.release(cube);
     }
   }
 
+  /**
+   * Checks whether the cube is alive and tracked by the physics engine. A cube that was handed
+   * back to the pool is still a live entity, so {@code isDead()} alone is not enough.
+   *
+   * @param cube The cube to check, may be null.
+   * @return True if the cube is in play.
+   */
+  public boolean isInPlay(Slime cube) {
+    return cube != null && !cube.isDead() && data.getCubes().contains(cube);
+  }
+
   /**
    * Checks if the given player is not allowed to interact based on their game mode.
    *
@@ -278,26 +310,52 @@ public class PhysicsSystem {
   }
 
   /**
-   * Determines if the specified player is currently away-from-keyboard (AFK) based on their last
-   * recorded action time.
+   * Determines if the specified player is currently away-from-keyboard (AFK). A player is AFK once
+   * their activity timer has run out, or if they never performed an action at all.
    *
    * @param player The player to check for AFK status. Must not be null.
-   * @return True if the player is considered AFK (time since last action exceeds the set
-   * threshold), false otherwise.
+   * @return True if the player is considered AFK, false otherwise.
    */
   public boolean isAFK(Player player) {
-    long last = data.getLastAction().getOrDefault(player.getUniqueId(), 0L);
-    return System.currentTimeMillis() - last > AFK_THRESHOLD;
+    return isAFK(sessions.get(player));
+  }
+
+  /**
+   * Session-based variant of {@link #isAFK(Player)} for loops that already hold the session.
+   */
+  public boolean isAFK(PlayerSession session) {
+    if (session == null) {
+      return true;
+    }
+    TimingWheel.Timer timer = session.getActivityTimer();
+    return timer == null || !timer.isPending();
   }
 
   /**
-   * Records the most recent action performed by a player by updating the timestamp of their last
-   * action.
+   * Records an action performed by a player by pushing their activity timer back to the full AFK
+   * threshold. The timer node is reused, so this does not allocate after the first action.
    *
    * @param player The player whose action is being recorded. Must not be null.
    */
   public void recordPlayerAction(Player player) {
-    data.getLastAction().put(player.getUniqueId(), System.currentTimeMillis());
+    recordPlayerAction(sessions.get(player));
+  }
+
+  /**
+   * Session-based variant of {@link #recordPlayerAction(Player)}. Does nothing for a {@code null}
+   * session.
+   */
+  public void recordPlayerAction(PlayerSession session) {
+    if (session == null) {
+      return;
+    }
+
+    TimingWheel.Timer timer = session.getActivityTimer();
+    if (timer == null) {
+      timer = timingWheel.newTimer(ACTIVITY_EXPIRED);
+      session.setActivityTimer(timer);
+    }
+    timingWheel.schedule(timer, AFK_THRESHOLD_TICKS);
   }
 
   /**
@@ -308,54 +366,43 @@ public class PhysicsSystem {
    * @param player The player to be removed. Must not be null.
    */
   public void removePlayer(Player player) {
-    long start = System.nanoTime();
-    try {
-      UUID uuid = player.getUniqueId();
+    data.getCubeHits().remove(player.getUniqueId());
 
-      data.getSpeed().remove(uuid);
-      data.getCharges().remove(uuid);
-      data.getLastAction().remove(uuid);
-      data.getCubeHits().remove(uuid);
-    } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsSystem#removePlayer() &ftook &e" + ms + "ms");
-      }
+    PlayerSession session = sessions.get(player);
+    if (session == null) {
+      return;
+    }
+
+    if (session.getActivityTimer() != null) {
+      timingWheel.cancel(session.getActivityTimer());
     }
+    session.stopCharging();
+    data.getTouchCooldowns().release(session.getId());
   }
 
   /**
    * Displays hit-related information to the player and manages the cooldown logic for hits based on
-   * whether the hit is a charged or regular hit. This method also logs any performance overhead if
-   * the execution time exceeds a millisecond.
+   * whether the hit is a charged or regular hit.
    *
    * @param player     The player who performed the hit. This parameter must not be null.
    * @param kickResult The result of the kick action, containing details such as kick power, charge
    *                   level, and whether the hit was charged. This parameter must not be null.
    */
   public void showHits(Player player, PlayerKickResult kickResult) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.SYSTEM_SHOW_HITS);
     try {
-      UUID playerId = player.getUniqueId();
+      PlayerSession session = sessions.get(player);
+      if (session == null) {
+        return;
+      }
       boolean isChargedHit = kickResult.isChargedHit();
       double finalKickPower = kickResult.getFinalKickPower();
       CubeTouchType type = isChargedHit
           ? CubeTouchType.CHARGED_KICK
           : CubeTouchType.REGULAR_KICK;
 
-      Map<CubeTouchType, CubeTouchInfo> touches = data.getLastTouches().get(playerId);
-      long lastHitTime = 0L;
-      if (touches != null && touches.containsKey(type)) {
-        lastHitTime = touches.get(type).getTimestamp();
-      }
-
-      long cooldownDuration = isChargedHit
-          ? CHARGED_KICK_COOLDOWN
-          : REGULAR_KICK_COOLDOWN;
-      long currentTime = System.currentTimeMillis();
-      long timeElapsed = currentTime - lastHitTime;
-      long timeRemainingMillis = Math.max(0, cooldownDuration - timeElapsed);
+      long timeRemainingMillis = data.getTouchCooldowns()
+          .getRemaining(session.getId(), type, System.currentTimeMillis());
 
       String timeFormatted = String.format("%.1f", timeRemainingMillis / 1000.0);
       String color = timeRemainingMillis > 50
@@ -372,18 +419,14 @@ public class PhysicsSystem {
               : HITDEBUG_PLAYER_REGULAR.replace(String.format("%.2f", finalKickPower)),
           HITDEBUG_PLAYER_COOLDOWN.replace(color, timeFormatted));
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsSystem#showHits() &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.SYSTEM_SHOW_HITS, start);
     }
   }
 
   /**
    * Generates a debug message for a player's hit action based on whether the hit is charged or
    * regular. The method formats and returns a string with details including the player's name, kick
-   * power, base power, and charge level. Logs execution time if it exceeds a defined threshold.
+   * power, base power, and charge level.
    *
    * @param player The player who performed the hit. This parameter must not be null.
    * @param result The result of the hit action, which contains information such as kick power,
@@ -391,28 +434,19 @@ public class PhysicsSystem {
    * @return A string containing the formatted debug information about the hit action.
    */
   public String onHitDebug(Player player, PlayerKickResult result) {
-    long start = System.nanoTime();
-    try {
-      String coloredKickPower = result.getFinalKickPower() != result.getBaseKickPower()
-          ? "&c"
-          : "&a";
-      return result.isChargedHit()
-          ? HITDEBUG_CHARGED.replace(
-          player.getDisplayName(),
-          coloredKickPower + String.format("%.2f", result.getFinalKickPower()),
-          String.format("%.2f", result.getBaseKickPower()),
-          String.format("%.2f", result.getPower()),
-          String.format("%.2f", result.getCharge()))
-          : HITDEBUG_REGULAR.replace(player.getDisplayName(),
-              String.format("%.2f", result.getFinalKickPower())
-          );
-    } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsSystem#onHitDebug() &ftook &e" + ms + "ms");
-      }
-    }
+    String coloredKickPower = result.getFinalKickPower() != result.getBaseKickPower()
+        ? "&c"
+        : "&a";
+    return result.isChargedHit()
+        ? HITDEBUG_CHARGED.replace(
+        player.getDisplayName(),
+        coloredKickPower + String.format("%.2f", result.getFinalKickPower()),
+        String.format("%.2f", result.getBaseKickPower()),
+        String.format("%.2f", result.getPower()),
+        String.format("%.2f", result.getCharge()))
+        : HITDEBUG_REGULAR.replace(player.getDisplayName(),
+            String.format("%.2f", result.getFinalKickPower())
+        );
   }
 
   /**
@@ -423,7 +457,7 @@ public class PhysicsSystem {
    * @return True if the player must wait before spawning again, false otherwise.
    */
   public boolean cantSpawnYet(Player player) {
-    long start = System.nanoTime();
+    long start = profiler.start(ProfilerSection.SYSTEM_SPAWN_COOLDOWN);
     try {
       if (player.hasPermission(PERM_BYPASS_COOLDOWN)) {
         return false;
@@ -439,11 +473,7 @@ public class PhysicsSystem {
       }
       return false;
     } finally {
-      long ms = (System.nanoTime() - start) / 1_000_000;
-      if (ms > DEBUG_ON_MS) {
-        logger.send(PERM_HIT_DEBUG,
-            "{prefix-admin}&dPhysicsSystem#cantSpawnYet() &ftook &e" + ms + "ms");
-      }
+      profiler.stop(ProfilerSection.SYSTEM_SPAWN_COOLDOWN, start);
     }
   }
 
@@ -454,6 +484,24 @@ public class PhysicsSystem {
    * @param player The player who triggered the spawn action.
    */
   public void setButtonCooldown(Player player) {
-    data.getButtonCooldowns().put(player.getUniqueId(), System.currentTimeMillis());
+    UUID playerId = player.getUniqueId();
+    long now = System.currentTimeMillis();
+    data.getButtonCooldowns().put(playerId, now);
+    timingWheel.schedule(TimingWheel.ticksFor(SPAWN_COOLDOWN_MS),
+        () -> data.getButtonCooldowns().remove(playerId, now));
+  }
+
+  /**
+   * Records that a player raised the given cube. The entry is evicted by the timing wheel once the
+   * rise cooldown has passed, unless the cube was raised again in the meantime.
+   *
+   * @param cube The cube that was raised.
+   * @param now  Current time in milliseconds.
+   */
+  public void markRaised(Slime cube, long now) {
+    UUID cubeId = cube.getUniqueId();
+    data.getRaised().put(cubeId, now);
+    timingWheel.schedule(TimingWheel.ticksFor(RISE_COOLDOWN),
+        () -> data.getRaised().remove(cubeId, now));
   }
 }
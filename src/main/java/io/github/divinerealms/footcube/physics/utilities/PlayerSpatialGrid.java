@@ -0,0 +1,395 @@
+package io.github.divinerealms.footcube.physics.utilities;
+
+import java.util.Arrays;
+
+/**
+ * Uniform spatial hash of player positions, used as the broad phase wherever something needs the
+ * players around a point.
+ * <p>
+ * Players are bucketed by world and by horizontal cell, usually once per tick or task run. The
+ * physics step uses the 3×3 {@link #query(int, double, double)} around each cube, which needs a
+ * cell at least as large as the interaction radius, turning the per-tick cost from
+ * {@code cubes × players} into roughly {@code cubes × nearby players}. Sounds, particle trails and
+ * virtual cube tracking use {@link #queryRange}, which visits every cell that overlaps a sphere or
+ * spherical shell of any radius and checks the exact distance per player.
+ * </p>
+ *
+ * <p><b>Implementation Details:</b></p>
+ * <ul>
+ *   <li>Cells are keyed by {@code (world, cellX, cellZ)} packed into a single {@code long}. Worlds
+ *   are small indices handed out by {@link #worldIndex(Object)}.</li>
+ *   <li>Buckets live in an open-addressing table of primitive arrays; entries are chained through
+ *   an {@code int[]} so that rebuilding the grid every tick does not allocate.</li>
+ *   <li>The cell size is chosen per grid: around the interaction radius for the physics step, and
+ *   around the typical query radius for range queries.</li>
+ * </ul>
+ *
+ * <p>The grid stores caller-defined integer handles (usually an index into a per-tick player
+ * array) and never touches Bukkit objects, so it is safe to use from tests and benchmarks.</p>
+ *
+ * <p><b>Threading:</b> Not thread-safe, except for the
+ * {@link #query(int, double, double, int[])} variant documented as such. A grid is filled and
+ * queried by one owner.</p>
+ */
+public class PlayerSpatialGrid {
+
+  private static final long EMPTY_KEY = Long.MIN_VALUE;
+  private static final int COORD_BITS = 26;
+  private static final long COORD_MASK = (1L << COORD_BITS) - 1;
+
+  private final double cellSize;
+  private final double inverseCellSize;
+
+  private long[] keys;
+  private int[] heads;
+  private int tableMask;
+  private int usedBuckets;
+
+  private int[] entryNext;
+  private int[] entryValue;
+  private double[] entryX;
+  private double[] entryY;
+  private double[] entryZ;
+  private int entryCount;
+
+  private int[] results = new int[16];
+  private double[] resultDistances = new double[16];
+
+  // Worlds seen since the last clear, compared by identity; their position is the world index.
+  private Object[] worlds = new Object[4];
+  private int worldCount = 0;
+
+  public PlayerSpatialGrid(double cellSize) {
+    this(cellSize, 64);
+  }
+
+  public PlayerSpatialGrid(double cellSize, int expectedEntries) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+    }
+
+    this.cellSize = cellSize;
+    this.inverseCellSize = 1.0 / cellSize;
+
+    int capacity = tableSizeFor(Math.max(16, expectedEntries * 2));
+    this.keys = new long[capacity];
+    this.heads = new int[capacity];
+    this.tableMask = capacity - 1;
+    Arrays.fill(keys, EMPTY_KEY);
+
+    this.entryNext = new int[Math.max(16, expectedEntries)];
+    this.entryValue = new int[entryNext.length];
+    this.entryX = new double[entryNext.length];
+    this.entryY = new double[entryNext.length];
+    this.entryZ = new double[entryNext.length];
+  }
+
+  /**
+   * Resolves a small index for a world, used as part of the cell key. Worlds are compared by
+   * identity and added the first time they are seen. {@link #clear()} forgets them again, so the
+   * grid never keeps an unloaded world alive; an index is only valid until the next clear.
+   *
+   * @param world The world to resolve, e.g. a Bukkit {@code World}.
+   * @return The index of the world in this grid.
+   */
+  public int worldIndex(Object world) {
+    for (int i = 0; i < worldCount; i++) {
+      if (worlds[i] == world) {
+        return i;
+      }
+    }
+    if (worldCount == worlds.length) {
+      worlds = Arrays.copyOf(worlds, worldCount * 2);
+    }
+    worlds[worldCount] = world;
+    return worldCount++;
+  }
+
+  /**
+   * Removes every entry and releases the world table, while keeping the backing arrays for the
+   * next tick.
+   */
+  public void clear() {
+    if (usedBuckets > 0) {
+      Arrays.fill(keys, EMPTY_KEY);
+      usedBuckets = 0;
+    }
+    entryCount = 0;
+    Arrays.fill(worlds, 0, worldCount, null);
+    worldCount = 0;
+  }
+
+  /**
+   * Inserts a handle at the given horizontal position. Range queries treat it as lying at
+   * {@code y = 0}.
+   *
+   * @param world  Index of the world the position belongs to.
+   * @param x      X coordinate.
+   * @param z      Z coordinate.
+   * @param handle Caller-defined value returned by {@link #query}.
+   */
+  public void insert(int world, double x, double z, int handle) {
+    insert(world, x, 0, z, handle);
+  }
+
+  /**
+   * Inserts a handle at the given position.
+   *
+   * @param world  Index of the world the position belongs to.
+   * @param x      X coordinate.
+   * @param y      Y coordinate, only used by {@link #queryRange}.
+   * @param z      Z coordinate.
+   * @param handle Caller-defined value returned by the queries.
+   */
+  public void insert(int world, double x, double y, double z, int handle) {
+    if (entryCount == entryNext.length) {
+      int capacity = entryCount * 2;
+      entryNext = Arrays.copyOf(entryNext, capacity);
+      entryValue = Arrays.copyOf(entryValue, capacity);
+      entryX = Arrays.copyOf(entryX, capacity);
+      entryY = Arrays.copyOf(entryY, capacity);
+      entryZ = Arrays.copyOf(entryZ, capacity);
+    }
+    if ((usedBuckets + 1) * 2 > keys.length) {
+      rehash(keys.length * 2);
+    }
+
+    long key = cellKey(world, cellCoord(x), cellCoord(z));
+    int bucket = findBucket(key);
+    if (keys[bucket] == EMPTY_KEY) {
+      keys[bucket] = key;
+      heads[bucket] = -1;
+      usedBuckets++;
+    }
+
+    int entry = entryCount++;
+    entryValue[entry] = handle;
+    entryX[entry] = x;
+    entryY[entry] = y;
+    entryZ[entry] = z;
+    entryNext[entry] = heads[bucket];
+    heads[bucket] = entry;
+  }
+
+  /**
+   * Collects the handles stored in the cell containing the position and its eight horizontal
+   * neighbours. Results are read back with {@link #result(int)} and stay valid until the next
+   * query.
+   *
+   * @param world Index of the world to search.
+   * @param x     X coordinate of the query point.
+   * @param z     Z coordinate of the query point.
+   * @return The number of handles found.
+   */
+  public int query(int world, double x, double z) {
+    int cellX = cellCoord(x);
+    int cellZ = cellCoord(z);
+    int count = 0;
+
+    for (int offsetX = -1; offsetX <= 1; offsetX++) {
+      for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+        int bucket = findBucket(cellKey(world, cellX + offsetX, cellZ + offsetZ));
+        if (keys[bucket] == EMPTY_KEY) {
+          continue;
+        }
+
+        for (int entry = heads[bucket]; entry != -1; entry = entryNext[entry]) {
+          if (count == results.length) {
+            results = Arrays.copyOf(results, count * 2);
+            resultDistances = Arrays.copyOf(resultDistances, count * 2);
+          }
+          results[count++] = entryValue[entry];
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Thread-safe variant of {@link #query(int, double, double)} that writes handles into a
+   * caller-owned array instead of the grid's shared result buffer. Several threads may query the
+   * same grid concurrently as long as nobody inserts or clears it meanwhile.
+   *
+   * @param world Index of the world to search.
+   * @param x     X coordinate of the query point.
+   * @param z     Z coordinate of the query point.
+   * @param out   Array receiving the handles; only the first {@code out.length} are written.
+   * @return The number of handles found, which may exceed {@code out.length}. In that case the
+   *     caller should retry with a larger array.
+   */
+  public int query(int world, double x, double z, int[] out) {
+    int cellX = cellCoord(x);
+    int cellZ = cellCoord(z);
+    int count = 0;
+
+    for (int offsetX = -1; offsetX <= 1; offsetX++) {
+      for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+        int bucket = findBucket(cellKey(world, cellX + offsetX, cellZ + offsetZ));
+        if (keys[bucket] == EMPTY_KEY) {
+          continue;
+        }
+
+        for (int entry = heads[bucket]; entry != -1; entry = entryNext[entry]) {
+          if (count < out.length) {
+            out[count] = entryValue[entry];
+          }
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Collects the handles whose distance to the given point lies within
+   * {@code [minDistance, maxDistance]}. Every cell that overlaps the outer sphere is visited, so
+   * the radius may be larger than a cell; cells entirely outside it are skipped without looking at
+   * their entries. Results are read back with {@link #result(int)} and
+   * {@link #resultDistanceSquared(int)} and stay valid until the next query.
+   *
+   * @param world       Index of the world to search.
+   * @param x           X coordinate of the query point.
+   * @param y           Y coordinate of the query point.
+   * @param z           Z coordinate of the query point.
+   * @param minDistance Inner radius; {@code 0} for a plain sphere.
+   * @param maxDistance Outer radius.
+   * @return The number of handles found.
+   */
+  public int queryRange(int world, double x, double y, double z, double minDistance,
+      double maxDistance) {
+    if (entryCount == 0) {
+      return 0;
+    }
+
+    double minSquared = minDistance * minDistance;
+    double maxSquared = maxDistance * maxDistance;
+    int fromX = cellCoord(x - maxDistance);
+    int toX = cellCoord(x + maxDistance);
+    int fromZ = cellCoord(z - maxDistance);
+    int toZ = cellCoord(z + maxDistance);
+    int count = 0;
+
+    for (int cellX = fromX; cellX <= toX; cellX++) {
+      double nearX = axisDistance(x, cellX * cellSize);
+
+      for (int cellZ = fromZ; cellZ <= toZ; cellZ++) {
+        double nearZ = axisDistance(z, cellZ * cellSize);
+        if (nearX * nearX + nearZ * nearZ > maxSquared) {
+          continue;
+        }
+        int bucket = findBucket(cellKey(world, cellX, cellZ));
+        if (keys[bucket] == EMPTY_KEY) {
+          continue;
+        }
+
+        for (int entry = heads[bucket]; entry != -1; entry = entryNext[entry]) {
+          double dx = entryX[entry] - x;
+          double dy = entryY[entry] - y;
+          double dz = entryZ[entry] - z;
+          double distanceSquared = dx * dx + dy * dy + dz * dz;
+          if (distanceSquared < minSquared || distanceSquared > maxSquared) {
+            continue;
+          }
+          if (count == results.length) {
+            results = Arrays.copyOf(results, count * 2);
+            resultDistances = Arrays.copyOf(resultDistances, count * 2);
+          }
+          results[count] = entryValue[entry];
+          resultDistances[count] = distanceSquared;
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns a handle collected by the last {@link #query} or {@link #queryRange} call.
+   *
+   * @param index Position in the result list, from {@code 0} to the query count.
+   * @return The stored handle.
+   */
+  public int result(int index) {
+    return results[index];
+  }
+
+  /**
+   * Returns the squared distance of a handle collected by the last {@link #queryRange} call.
+   *
+   * @param index Position in the result list, from {@code 0} to the query count.
+   */
+  public double resultDistanceSquared(int index) {
+    return resultDistances[index];
+  }
+
+  public double getCellSize() {
+    return cellSize;
+  }
+
+  public int size() {
+    return entryCount;
+  }
+
+  private int cellCoord(double coordinate) {
+    return (int) Math.floor(coordinate * inverseCellSize);
+  }
+
+  /**
+   * Distance from a coordinate to the nearest point of a cell along one axis.
+   */
+  private double axisDistance(double coordinate, double cellMin) {
+    if (coordinate < cellMin) {
+      return cellMin - coordinate;
+    }
+    return Math.max(0, coordinate - (cellMin + cellSize));
+  }
+
+  private static long cellKey(int world, int cellX, int cellZ) {
+    return ((long) world << (COORD_BITS * 2))
+        | ((cellX & COORD_MASK) << COORD_BITS)
+        | (cellZ & COORD_MASK);
+  }
+
+  private int findBucket(long key) {
+    int bucket = mix(key) & tableMask;
+    while (keys[bucket] != EMPTY_KEY && keys[bucket] != key) {
+      bucket = (bucket + 1) & tableMask;
+    }
+    return bucket;
+  }
+
+  private void rehash(int newCapacity) {
+    long[] oldKeys = keys;
+    int[] oldHeads = heads;
+
+    keys = new long[newCapacity];
+    heads = new int[newCapacity];
+    tableMask = newCapacity - 1;
+    Arrays.fill(keys, EMPTY_KEY);
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] == EMPTY_KEY) {
+        continue;
+      }
+      int bucket = findBucket(oldKeys[i]);
+      keys[bucket] = oldKeys[i];
+      heads[bucket] = oldHeads[i];
+    }
+  }
+
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private static int tableSizeFor(int capacity) {
+    int size = 1;
+    while (size < capacity) {
+      size <<= 1;
+    }
+    return size;
+  }
+}
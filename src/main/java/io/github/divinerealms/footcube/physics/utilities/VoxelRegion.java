@@ -0,0 +1,168 @@
+package io.github.divinerealms.footcube.physics.utilities;
+
+import java.util.Arrays;
+
+/**
+ * Axis-aligned box of blocks stored as a solidity bitset, one bit per block.
+ * <p>
+ * A region covers one arena or practice area and answers "is this block solid?" with a single
+ * array read, without touching the world or its chunks.
+ * </p>
+ *
+ * <p><b>Implementation Details:</b></p>
+ * <ul>
+ *   <li>Bits are laid out X-fastest, then Z, then Y, so a horizontal layer is contiguous.</li>
+ *   <li>Each 16×16 chunk column inside the box carries a "known" flag. Columns whose chunk was not
+ *   loaded while the region was filled stay unknown, and {@link #lookup} reports them as such so
+ *   the caller can fall back to the world.</li>
+ * </ul>
+ *
+ * <p>The region never touches Bukkit objects, so it is safe to use from tests and
+ * benchmarks.</p>
+ */
+public class VoxelRegion {
+
+  /** The block is inside the region and known to be solid. */
+  public static final int SOLID = 1;
+  /** The block is inside the region and known to be passable. */
+  public static final int EMPTY = 0;
+  /** The block is outside the region, or its chunk column has not been filled yet. */
+  public static final int UNKNOWN = -1;
+
+  private final int minX;
+  private final int minY;
+  private final int minZ;
+  private final int sizeX;
+  private final int sizeY;
+  private final int sizeZ;
+
+  private final int minChunkX;
+  private final int minChunkZ;
+  private final int chunksX;
+  private final int chunksZ;
+
+  private final long[] bits;
+  private final boolean[] knownChunks;
+
+  /**
+   * Creates an empty region covering both corners, inclusive. All chunk columns start unknown.
+   */
+  public VoxelRegion(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+    if (maxX < minX || maxY < minY || maxZ < minZ) {
+      throw new IllegalArgumentException("Region corners are out of order");
+    }
+
+    this.minX = minX;
+    this.minY = minY;
+    this.minZ = minZ;
+    this.sizeX = maxX - minX + 1;
+    this.sizeY = maxY - minY + 1;
+    this.sizeZ = maxZ - minZ + 1;
+
+    this.minChunkX = minX >> 4;
+    this.minChunkZ = minZ >> 4;
+    this.chunksX = (maxX >> 4) - minChunkX + 1;
+    this.chunksZ = (maxZ >> 4) - minChunkZ + 1;
+
+    long volume = (long) sizeX * sizeY * sizeZ;
+    this.bits = new long[(int) ((volume + 63) >>> 6)];
+    this.knownChunks = new boolean[chunksX * chunksZ];
+  }
+
+  /**
+   * Looks up a block.
+   *
+   * @return {@link #SOLID}, {@link #EMPTY} or {@link #UNKNOWN}.
+   */
+  public int lookup(int x, int y, int z) {
+    int localX = x - minX;
+    int localY = y - minY;
+    int localZ = z - minZ;
+    if (localX < 0 || localX >= sizeX || localY < 0 || localY >= sizeY
+        || localZ < 0 || localZ >= sizeZ) {
+      return UNKNOWN;
+    }
+    if (!knownChunks[chunkIndex(x >> 4, z >> 4)]) {
+      return UNKNOWN;
+    }
+
+    int index = (localY * sizeZ + localZ) * sizeX + localX;
+    return (bits[index >>> 6] & (1L << index)) != 0 ? SOLID : EMPTY;
+  }
+
+  public boolean contains(int x, int y, int z) {
+    return x >= minX && x < minX + sizeX
+        && y >= minY && y < minY + sizeY
+        && z >= minZ && z < minZ + sizeZ;
+  }
+
+  /**
+   * Whether the region overlaps the given chunk column.
+   */
+  public boolean overlapsChunk(int chunkX, int chunkZ) {
+    return chunkX >= minChunkX && chunkX < minChunkX + chunksX
+        && chunkZ >= minChunkZ && chunkZ < minChunkZ + chunksZ;
+  }
+
+  /**
+   * Stores the solidity of a block. Positions outside the region are ignored.
+   */
+  public void set(int x, int y, int z, boolean solid) {
+    if (!contains(x, y, z)) {
+      return;
+    }
+
+    int index = ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+    if (solid) {
+      bits[index >>> 6] |= 1L << index;
+    } else {
+      bits[index >>> 6] &= ~(1L << index);
+    }
+  }
+
+  public void markChunkKnown(int chunkX, int chunkZ, boolean known) {
+    if (overlapsChunk(chunkX, chunkZ)) {
+      knownChunks[chunkIndex(chunkX, chunkZ)] = known;
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(bits, 0);
+    Arrays.fill(knownChunks, false);
+  }
+
+  public int getMinX() {
+    return minX;
+  }
+
+  public int getMinY() {
+    return minY;
+  }
+
+  public int getMinZ() {
+    return minZ;
+  }
+
+  public int getMaxX() {
+    return minX + sizeX - 1;
+  }
+
+  public int getMaxY() {
+    return minY + sizeY - 1;
+  }
+
+  public int getMaxZ() {
+    return minZ + sizeZ - 1;
+  }
+
+  /**
+   * Approximate heap used by the bitset and chunk flags, in bytes.
+   */
+  public long getMemoryBytes() {
+    return (long) bits.length * Long.BYTES + knownChunks.length;
+  }
+
+  private int chunkIndex(int chunkX, int chunkZ) {
+    return (chunkZ - minChunkZ) * chunksX + (chunkX - minChunkX);
+  }
+}
@@ -0,0 +1,197 @@
+package io.github.divinerealms.footcube.physics.virtual;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.lang.reflect.Field;
+import java.util.logging.Level;
+import net.minecraft.server.v1_8_R3.EntityPlayer;
+import net.minecraft.server.v1_8_R3.PacketPlayInArmAnimation;
+import net.minecraft.server.v1_8_R3.PacketPlayInUseEntity;
+import net.minecraft.server.v1_8_R3.PacketPlayInUseEntity.EnumEntityUseAction;
+import org.bukkit.craftbukkit.v1_8_R3.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Slime;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Network side of {@link VirtualCubes}.
+ * <p>
+ * The server drops attack and interact packets for virtual cubes, since no entity in the world has
+ * their id. A handler placed in front of the server's own in every player's channel pipeline picks
+ * those packets out and replays them on the main thread as the Bukkit events the cube listeners
+ * already handle:
+ * </p>
+ * <ul>
+ *   <li>Attack on a virtual cube: an {@link EntityDamageByEntityEvent}, handled as a kick.</li>
+ *   <li>Interact on a virtual cube: a {@link PlayerInteractEntityEvent}, handled as a tap.</li>
+ *   <li>Arm swing: the player's line of sight is tested against the server position of every
+ *   virtual cube, and a hit is handled as an attack. This catches kicks the client aimed at a
+ *   slightly stale position.</li>
+ * </ul>
+ *
+ * <p>A single click usually produces both a swing and an attack; the kick cooldown drops the
+ * second one.</p>
+ */
+public class VirtualCubeInput {
+
+  private static final String HANDLER_NAME = "footcube_virtual_cube";
+  private static final String SERVER_HANDLER_NAME = "packet_handler";
+
+  // Resolved once; null if this server's NMS does not have the field.
+  private static final Field USE_ENTITY_ID = resolveUseEntityId();
+
+  private final Plugin plugin;
+  private final VirtualCubes cubes;
+
+  VirtualCubeInput(Plugin plugin, VirtualCubes cubes) {
+    this.plugin = plugin;
+    this.cubes = cubes;
+  }
+
+  /**
+   * Adds the handler to the player's connection, unless it is already there.
+   */
+  public void inject(Player player) {
+    Channel channel = channelOf(player);
+    if (channel == null) {
+      return;
+    }
+
+    channel.eventLoop().execute(() -> {
+      if (channel.pipeline().get(HANDLER_NAME) == null
+          && channel.pipeline().get(SERVER_HANDLER_NAME) != null) {
+        channel.pipeline().addBefore(SERVER_HANDLER_NAME, HANDLER_NAME, new Handler(player));
+      }
+    });
+  }
+
+  public void uninject(Player player) {
+    Channel channel = channelOf(player);
+    if (channel == null) {
+      return;
+    }
+
+    channel.eventLoop().execute(() -> {
+      if (channel.pipeline().get(HANDLER_NAME) != null) {
+        channel.pipeline().remove(HANDLER_NAME);
+      }
+    });
+  }
+
+  public void injectAll() {
+    for (Player player : plugin.getServer().getOnlinePlayers()) {
+      inject(player);
+    }
+  }
+
+  public void uninjectAll() {
+    for (Player player : plugin.getServer().getOnlinePlayers()) {
+      uninject(player);
+    }
+  }
+
+  private void attack(Player player, Slime cube) {
+    if (!player.isOnline() || cube.isDead()) {
+      return;
+    }
+
+    plugin.getServer().getPluginManager().callEvent(
+        new EntityDamageByEntityEvent(player, cube, DamageCause.ENTITY_ATTACK, 1.0D));
+  }
+
+  private void interact(Player player, Slime cube) {
+    if (!player.isOnline() || cube.isDead()) {
+      return;
+    }
+
+    plugin.getServer().getPluginManager().callEvent(new PlayerInteractEntityEvent(player, cube));
+  }
+
+  private void swing(Player player) {
+    if (!player.isOnline()) {
+      return;
+    }
+
+    Slime cube = cubes.getTargetCube(player);
+    if (cube != null) {
+      attack(player, cube);
+    }
+  }
+
+  /**
+   * Handles a use-entity packet aimed at a virtual cube.
+   *
+   * @return true if the packet was for a virtual cube and must not reach the server
+   */
+  private boolean useEntity(Player player, PacketPlayInUseEntity packet) {
+    if (USE_ENTITY_ID == null) {
+      return false;
+    }
+
+    Slime cube;
+    try {
+      cube = cubes.getCube(USE_ENTITY_ID.getInt(packet));
+    } catch (IllegalAccessException exception) {
+      return false;
+    }
+    if (cube == null) {
+      return false;
+    }
+
+    EnumEntityUseAction action = packet.a();
+    if (action == EnumEntityUseAction.ATTACK) {
+      plugin.getServer().getScheduler().runTask(plugin, () -> attack(player, cube));
+    } else if (action == EnumEntityUseAction.INTERACT) {
+      plugin.getServer().getScheduler().runTask(plugin, () -> interact(player, cube));
+    }
+    return true;
+  }
+
+  private static Channel channelOf(Player player) {
+    EntityPlayer handle = ((CraftPlayer) player).getHandle();
+    if (handle.playerConnection == null) {
+      return null;
+    }
+    return handle.playerConnection.networkManager.channel;
+  }
+
+  private static Field resolveUseEntityId() {
+    try {
+      Field field = PacketPlayInUseEntity.class.getDeclaredField("a");
+      field.setAccessible(true);
+      return field;
+    } catch (Exception exception) {
+      java.util.logging.Logger.getLogger("FootCube")
+          .log(Level.SEVERE, "Error resolving use-entity packet target:", exception);
+      return null;
+    }
+  }
+
+  /**
+   * Runs on the player's network thread, so it only filters packets and hands the rest of the
+   * work to the main thread.
+   */
+  private final class Handler extends ChannelInboundHandlerAdapter {
+
+    private final Player player;
+
+    private Handler(Player player) {
+      this.player = player;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+      if (msg instanceof PacketPlayInUseEntity && useEntity(player, (PacketPlayInUseEntity) msg)) {
+        return;
+      }
+      if (msg instanceof PacketPlayInArmAnimation && cubes.hasCubes()) {
+        plugin.getServer().getScheduler().runTask(plugin, () -> swing(player));
+      }
+      super.channelRead(ctx, msg);
+    }
+  }
+}
@@ -0,0 +1,554 @@
+package io.github.divinerealms.footcube.physics.virtual;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.SLIME_SIZE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_AIR_FRICTION;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_FAR_INTERVAL;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_GRAVITY;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_MIN_MOTION;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_NEAR_DISTANCE_SQUARED;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_REACH;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_VERTICAL_DRAG;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VIRTUAL_CUBE_VIEW_DISTANCE;
+
+import io.github.divinerealms.footcube.physics.CubeStateStore;
+import io.github.divinerealms.footcube.physics.PhysicsData;
+import io.github.divinerealms.footcube.physics.utilities.PlayerSpatialGrid;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import net.minecraft.server.v1_8_R3.BlockPosition;
+import net.minecraft.server.v1_8_R3.EntitySlime;
+import net.minecraft.server.v1_8_R3.MathHelper;
+import net.minecraft.server.v1_8_R3.MovingObjectPosition;
+import net.minecraft.server.v1_8_R3.Packet;
+import net.minecraft.server.v1_8_R3.PacketPlayOutEntityDestroy;
+import net.minecraft.server.v1_8_R3.PacketPlayOutEntityTeleport;
+import net.minecraft.server.v1_8_R3.PacketPlayOutEntityVelocity;
+import net.minecraft.server.v1_8_R3.PacketPlayOutSpawnEntityLiving;
+import net.minecraft.server.v1_8_R3.Vec3D;
+import org.bukkit.Location;
+import org.bukkit.craftbukkit.v1_8_R3.CraftWorld;
+import org.bukkit.craftbukkit.v1_8_R3.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Slime;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Vector;
+
+/**
+ * Cubes that exist only in the physics engine, with no entity in the server world.
+ * <p>
+ * A virtual cube is an {@link EntitySlime} that is constructed but never added to its world, so
+ * the server does not tick its AI, potion effects or entity collisions, and does not track it for
+ * players. The rest of the plugin still sees an ordinary {@link Slime}: location, velocity, death
+ * and the cube state store all work through the detached handle.
+ * </p>
+ *
+ * <p>What the server would normally do for the entity is done here instead, once per physics
+ * tick:</p>
+ * <ul>
+ *   <li><b>Movement:</b> the vanilla living-entity step without input, i.e. block collision
+ *   through {@code Entity.move}, then gravity and ground friction. Sleeping cubes are not
+ *   moved.</li>
+ *   <li><b>Tracking:</b> spawn, teleport, velocity and destroy packets for players within
+ *   {@code VIRTUAL_CUBE_VIEW_DISTANCE}, found through a {@link PlayerSpatialGrid} of online players
+ *   built once per tick. Players within {@code VIRTUAL_CUBE_NEAR_DISTANCE} get a
+ *   change on the tick it happens, players further away only every
+ *   {@code VIRTUAL_CUBE_FAR_INTERVAL} ticks. Packets are encoded once per cube and tick and shared
+ *   between viewers.</li>
+ *   <li><b>Input:</b> {@link VirtualCubeInput} turns attacks, interactions and arm swings aimed at
+ *   a cube into the Bukkit events the cube listeners already handle.</li>
+ *   <li><b>Unloading:</b> a cube whose chunk is no longer loaded dies, like entity cubes do in
+ *   {@code ChunkCheckers}.</li>
+ * </ul>
+ *
+ * <p>The mode is switched with {@code physics.virtual-cubes} in {@code config.yml} and only
+ * affects cubes spawned afterwards.</p>
+ *
+ * <p><b>Threading:</b> All methods except {@link #getCube(int)} and {@link #hasCubes()} must be
+ * called from the main server thread. Those two read a concurrent index, so the input handler can
+ * filter packets on the network threads.</p>
+ */
+public class VirtualCubes {
+
+  // Vanilla grows entity hitboxes by this much when testing what a player is looking at.
+  private static final double HITBOX_BORDER = 0.1;
+
+  private final PhysicsData data;
+  private final PlayerSessionRegistry sessions;
+  @Getter
+  private final VirtualCubeInput input;
+
+  private final Map<Integer, Slime> byEntityId = new ConcurrentHashMap<>();
+  private final List<VirtualCube> cubes = new ArrayList<>();
+
+  @Getter
+  private boolean enabled = false;
+  @Getter
+  private long packetsSent = 0;
+  private long tick = 0;
+
+  // Every online player this tick; only the first viewerCount entries are valid. Grid handles
+  // index the viewer array.
+  private final PlayerSpatialGrid viewerGrid = new PlayerSpatialGrid(VIRTUAL_CUBE_VIEW_DISTANCE);
+  private Player[] viewers = new Player[16];
+  private int viewerCount = 0;
+
+  private final Location scratch = new Location(null, 0, 0, 0);
+  private final BlockPosition.MutableBlockPosition below = new BlockPosition.MutableBlockPosition();
+
+  public VirtualCubes(Plugin plugin, PhysicsData data, PlayerSessionRegistry sessions) {
+    this.data = data;
+    this.sessions = sessions;
+    this.input = new VirtualCubeInput(plugin, this);
+  }
+
+  /**
+   * Switches new cubes between virtual and entity cubes. Enabling hooks the input handler into
+   * every online player's connection. Disabling unhooks it again, as soon as the virtual cubes
+   * still in play are gone.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    if (enabled) {
+      input.injectAll();
+    } else {
+      uninjectIfUnused();
+    }
+  }
+
+  /**
+   * Creates a virtual cube at the given location. It becomes visible on the next {@link #tick()}.
+   */
+  public Slime spawn(Location location) {
+    EntitySlime handle = new EntitySlime(((CraftWorld) location.getWorld()).getHandle());
+    handle.setPositionRotation(location.getX(), location.getY(), location.getZ(),
+        location.getYaw(), 0);
+
+    Slime cube = (Slime) handle.getBukkitEntity();
+    cube.setSize(SLIME_SIZE);
+    cubes.add(new VirtualCube(cube, handle));
+    byEntityId.put(handle.getId(), cube);
+    return cube;
+  }
+
+  /**
+   * Kills a virtual cube and removes it from every player's view.
+   */
+  public void release(Slime cube) {
+    for (int i = 0; i < cubes.size(); i++) {
+      VirtualCube virtualCube = cubes.get(i);
+      if (virtualCube.cube == cube) {
+        despawn(virtualCube);
+        cubes.remove(i);
+        uninjectIfUnused();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Forgets that the player has any virtual cube spawned, so they are spawned again once the
+   * player is back in range. Call this when the client drops its entities, on respawn or on a world
+   * change; no destroy packet is sent.
+   */
+  public void forgetViewer(Player player) {
+    for (VirtualCube virtualCube : cubes) {
+      int viewer = virtualCube.indexOf(player);
+      if (viewer != -1) {
+        virtualCube.removeViewer(viewer);
+      }
+    }
+  }
+
+  public boolean isVirtual(Slime cube) {
+    return cube != null && byEntityId.get(cube.getEntityId()) == cube;
+  }
+
+  /**
+   * Looks up a virtual cube by entity id. Safe to call from any thread.
+   *
+   * @return the cube, or {@code null} if no virtual cube has that id
+   */
+  public Slime getCube(int entityId) {
+    return byEntityId.get(entityId);
+  }
+
+  /**
+   * Whether any virtual cube exists. Safe to call from any thread.
+   */
+  public boolean hasCubes() {
+    return !byEntityId.isEmpty();
+  }
+
+  public int getCount() {
+    return cubes.size();
+  }
+
+  /**
+   * Counts virtual cubes in the same world within {@code range} blocks on every axis, the same box
+   * {@code World#getNearbyEntities} uses.
+   */
+  public int countNear(Location location, double range) {
+    int count = 0;
+    for (VirtualCube virtualCube : cubes) {
+      EntitySlime handle = virtualCube.handle;
+      if (handle.dead || handle.world.getWorld() != location.getWorld()) {
+        continue;
+      }
+      if (Math.abs(handle.locX - location.getX()) <= range
+          && Math.abs(handle.locY - location.getY()) <= range
+          && Math.abs(handle.locZ - location.getZ()) <= range) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Finds the virtual cube the player is looking at within {@code VIRTUAL_CUBE_REACH}, using the
+   * server's position of the cube rather than wherever the client drew it.
+   *
+   * @return the nearest cube on the player's line of sight, or {@code null}
+   */
+  public Slime getTargetCube(Player player) {
+    if (cubes.isEmpty()) {
+      return null;
+    }
+
+    Location eye = player.getEyeLocation();
+    Vector direction = eye.getDirection();
+    Vec3D from = new Vec3D(eye.getX(), eye.getY(), eye.getZ());
+    Vec3D to = new Vec3D(eye.getX() + direction.getX() * VIRTUAL_CUBE_REACH,
+        eye.getY() + direction.getY() * VIRTUAL_CUBE_REACH,
+        eye.getZ() + direction.getZ() * VIRTUAL_CUBE_REACH);
+
+    Slime target = null;
+    double targetDistance = Double.MAX_VALUE;
+    for (VirtualCube virtualCube : cubes) {
+      EntitySlime handle = virtualCube.handle;
+      if (handle.dead || handle.world.getWorld() != eye.getWorld()) {
+        continue;
+      }
+
+      MovingObjectPosition hit = handle.getBoundingBox()
+          .grow(HITBOX_BORDER, HITBOX_BORDER, HITBOX_BORDER).a(from, to);
+      if (hit == null) {
+        continue;
+      }
+
+      double dx = hit.pos.a - from.a;
+      double dy = hit.pos.b - from.b;
+      double dz = hit.pos.c - from.c;
+      double distance = dx * dx + dy * dy + dz * dz;
+      if (distance < targetDistance) {
+        targetDistance = distance;
+        target = virtualCube.cube;
+      }
+    }
+    return target;
+  }
+
+  /**
+   * Moves every virtual cube and brings each player's view of them up to date. Called once per
+   * physics tick, after the new velocities have been applied.
+   */
+  public void tick() {
+    if (cubes.isEmpty()) {
+      return;
+    }
+
+    tick++;
+    collectViewers();
+    CubeStateStore states = data.getCubeStates();
+
+    for (int i = cubes.size() - 1; i >= 0; i--) {
+      VirtualCube virtualCube = cubes.get(i);
+      EntitySlime handle = virtualCube.handle;
+
+      if (!handle.dead && !handle.world.getWorld().isChunkLoaded(
+          MathHelper.floor(handle.locX) >> 4, MathHelper.floor(handle.locZ) >> 4)) {
+        handle.die();
+      }
+      if (handle.dead) {
+        despawn(virtualCube);
+        cubes.remove(i);
+        uninjectIfUnused();
+        continue;
+      }
+
+      int slot = states.slotOf(virtualCube.cube);
+      if (slot == -1 || !states.isSleeping(slot)) {
+        move(handle);
+      }
+      virtualCube.encode();
+      updateViewers(virtualCube);
+    }
+
+    Arrays.fill(viewers, 0, viewerCount, null);
+    viewerGrid.clear();
+    viewerCount = 0;
+  }
+
+  /**
+   * Removes every virtual cube and unhooks the input handler from every online player.
+   */
+  public void clear() {
+    tick++;
+    for (VirtualCube virtualCube : cubes) {
+      despawn(virtualCube);
+    }
+    cubes.clear();
+    byEntityId.clear();
+    input.uninjectAll();
+  }
+
+  public void resetStats() {
+    packetsSent = 0;
+  }
+
+  /**
+   * Unhooks the input handler once the mode is off and no virtual cube is left to interact with.
+   */
+  private void uninjectIfUnused() {
+    if (!enabled && cubes.isEmpty()) {
+      input.uninjectAll();
+    }
+  }
+
+  /**
+   * The part of {@code EntityLiving} movement that applies to a cube without AI: small motion is
+   * zeroed, the entity moves with block collision, then falls and slows down by the friction of
+   * the block it stood on.
+   */
+  private void move(EntitySlime handle) {
+    if (Math.abs(handle.motX) < VIRTUAL_CUBE_MIN_MOTION) {
+      handle.motX = 0;
+    }
+    if (Math.abs(handle.motY) < VIRTUAL_CUBE_MIN_MOTION) {
+      handle.motY = 0;
+    }
+    if (Math.abs(handle.motZ) < VIRTUAL_CUBE_MIN_MOTION) {
+      handle.motZ = 0;
+    }
+
+    float friction = VIRTUAL_CUBE_AIR_FRICTION;
+    if (handle.onGround) {
+      below.c(MathHelper.floor(handle.locX), MathHelper.floor(handle.getBoundingBox().b) - 1,
+          MathHelper.floor(handle.locZ));
+      friction *= handle.world.getType(below).getBlock().frictionFactor;
+    }
+
+    handle.lastX = handle.locX;
+    handle.lastY = handle.locY;
+    handle.lastZ = handle.locZ;
+    handle.move(handle.motX, handle.motY, handle.motZ);
+
+    handle.motY -= VIRTUAL_CUBE_GRAVITY;
+    handle.motY *= VIRTUAL_CUBE_VERTICAL_DRAG;
+    handle.motX *= friction;
+    handle.motZ *= friction;
+  }
+
+  private void updateViewers(VirtualCube virtualCube) {
+    EntitySlime handle = virtualCube.handle;
+    boolean farDue = tick % VIRTUAL_CUBE_FAR_INTERVAL == 0;
+
+    int found = viewerGrid.queryRange(viewerGrid.worldIndex(handle.world.getWorld()),
+        handle.locX, handle.locY, handle.locZ, 0, VIRTUAL_CUBE_VIEW_DISTANCE);
+    for (int n = 0; n < found; n++) {
+      Player player = viewers[viewerGrid.result(n)];
+      int viewer = virtualCube.indexOf(player);
+
+      if (viewer == -1) {
+        send(player, new PacketPlayOutSpawnEntityLiving(handle));
+        send(player, virtualCube.velocityPacket(tick));
+        virtualCube.addViewer(player, tick);
+        continue;
+      }
+
+      virtualCube.seen[viewer] = tick;
+      if (virtualCube.changed) {
+        virtualCube.dirty[viewer] = true;
+      }
+      if (virtualCube.dirty[viewer] && (farDue
+          || viewerGrid.resultDistanceSquared(n) <= VIRTUAL_CUBE_NEAR_DISTANCE_SQUARED)) {
+        send(player, virtualCube.teleportPacket(tick));
+        send(player, virtualCube.velocityPacket(tick));
+        virtualCube.dirty[viewer] = false;
+      }
+    }
+
+    // Viewers not in range this tick have either walked away, and get the cube destroyed, or left;
+    // a client that left dropped the entity with the connection.
+    for (int viewer = virtualCube.viewerCount - 1; viewer >= 0; viewer--) {
+      if (virtualCube.seen[viewer] != tick) {
+        Player player = virtualCube.viewers[viewer];
+        if (player.isOnline()) {
+          send(player, virtualCube.destroyPacket);
+        }
+        virtualCube.removeViewer(viewer);
+      }
+    }
+  }
+
+  private void despawn(VirtualCube virtualCube) {
+    for (int viewer = 0; viewer < virtualCube.viewerCount; viewer++) {
+      Player player = virtualCube.viewers[viewer];
+      if (player.isOnline()) {
+        send(player, virtualCube.destroyPacket);
+      }
+    }
+    virtualCube.clearViewers();
+
+    byEntityId.remove(virtualCube.handle.getId());
+    if (!virtualCube.handle.dead) {
+      virtualCube.handle.die();
+    }
+  }
+
+  private void collectViewers() {
+    int sessionCount = sessions.getHighWaterMark();
+    for (int id = 0; id < sessionCount; id++) {
+      PlayerSession session = sessions.get(id);
+      Player player = session != null ? session.getPlayer() : null;
+      if (player == null || !player.isOnline()) {
+        continue;
+      }
+
+      if (viewerCount == viewers.length) {
+        viewers = Arrays.copyOf(viewers, viewerCount * 2);
+      }
+
+      player.getLocation(scratch);
+      viewers[viewerCount] = player;
+      viewerGrid.insert(viewerGrid.worldIndex(scratch.getWorld()), scratch.getX(), scratch.getY(),
+          scratch.getZ(), viewerCount);
+      viewerCount++;
+    }
+    scratch.setWorld(null);
+  }
+
+  private void send(Player player, Packet<?> packet) {
+    ((CraftPlayer) player).getHandle().playerConnection.sendPacket(packet);
+    packetsSent++;
+  }
+
+  /**
+   * A virtual cube, the players who currently have it spawned, and the packets encoded for it on
+   * the current tick.
+   */
+  private static final class VirtualCube {
+
+    private final Slime cube;
+    private final EntitySlime handle;
+    private final PacketPlayOutEntityDestroy destroyPacket;
+
+    private Player[] viewers = new Player[4];
+    private boolean[] dirty = new boolean[4];
+    private long[] seen = new long[4];
+    private int viewerCount = 0;
+
+    // Last encoded state, in the fixed-point units of the packets.
+    private int encodedX;
+    private int encodedY;
+    private int encodedZ;
+    private int encodedVelX;
+    private int encodedVelY;
+    private int encodedVelZ;
+    private boolean changed;
+
+    private PacketPlayOutEntityTeleport teleport;
+    private long teleportTick = -1;
+    private PacketPlayOutEntityVelocity velocity;
+    private long velocityTick = -1;
+
+    private VirtualCube(Slime cube, EntitySlime handle) {
+      this.cube = cube;
+      this.handle = handle;
+      this.destroyPacket = new PacketPlayOutEntityDestroy(handle.getId());
+    }
+
+    /**
+     * Records the cube's state as the packets would encode it, and whether that differs from the
+     * previous tick.
+     */
+    private void encode() {
+      int x = MathHelper.floor(handle.locX * 32.0D);
+      int y = MathHelper.floor(handle.locY * 32.0D);
+      int z = MathHelper.floor(handle.locZ * 32.0D);
+      int velX = encodeVelocity(handle.motX);
+      int velY = encodeVelocity(handle.motY);
+      int velZ = encodeVelocity(handle.motZ);
+
+      changed = x != encodedX || y != encodedY || z != encodedZ
+          || velX != encodedVelX || velY != encodedVelY || velZ != encodedVelZ;
+      encodedX = x;
+      encodedY = y;
+      encodedZ = z;
+      encodedVelX = velX;
+      encodedVelY = velY;
+      encodedVelZ = velZ;
+    }
+
+    private PacketPlayOutEntityTeleport teleportPacket(long tick) {
+      if (teleportTick != tick) {
+        teleport = new PacketPlayOutEntityTeleport(handle);
+        teleportTick = tick;
+      }
+      return teleport;
+    }
+
+    private PacketPlayOutEntityVelocity velocityPacket(long tick) {
+      if (velocityTick != tick) {
+        velocity = new PacketPlayOutEntityVelocity(handle);
+        velocityTick = tick;
+      }
+      return velocity;
+    }
+
+    private int indexOf(Player player) {
+      for (int i = 0; i < viewerCount; i++) {
+        if (viewers[i] == player) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void addViewer(Player player, long tick) {
+      if (viewerCount == viewers.length) {
+        int capacity = viewerCount * 2;
+        viewers = Arrays.copyOf(viewers, capacity);
+        dirty = Arrays.copyOf(dirty, capacity);
+        seen = Arrays.copyOf(seen, capacity);
+      }
+      viewers[viewerCount] = player;
+      dirty[viewerCount] = false;
+      seen[viewerCount] = tick;
+      viewerCount++;
+    }
+
+    private void removeViewer(int index) {
+      int last = --viewerCount;
+      viewers[index] = viewers[last];
+      dirty[index] = dirty[last];
+      seen[index] = seen[last];
+      viewers[last] = null;
+    }
+
+    private void clearViewers() {
+      Arrays.fill(viewers, 0, viewerCount, null);
+      viewerCount = 0;
+    }
+
+    // Same clamping and scale as PacketPlayOutEntityVelocity.
+    private static int encodeVelocity(double velocity) {
+      return (int) (Math.max(-3.9D, Math.min(3.9D, velocity)) * 8000.0D);
+    }
+  }
+}
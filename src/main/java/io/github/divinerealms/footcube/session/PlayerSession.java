@@ -0,0 +1,108 @@
+package io.github.divinerealms.footcube.session;
+
+import io.github.divinerealms.footcube.matchmaking.Match;
+import io.github.divinerealms.footcube.matchmaking.team.Team;
+import io.github.divinerealms.footcube.utils.PlayerSettings;
+import io.github.divinerealms.footcube.utils.TimingWheel;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.entity.Player;
+
+/**
+ * Everything the plugin tracks about one online player, addressed by a small dense id.
+ * <p>
+ * A session is opened by {@link PlayerSessionRegistry} when the player joins and closed when they
+ * quit. Closing drops the {@link Player} reference, so code holding on to a session can never reach
+ * a logged-out player; {@link #getPlayer()} simply returns {@code null} from then on.
+ * </p>
+ *
+ * <p><b>Threading:</b> Sessions are opened, closed and written on the main thread. Async readers
+ * (e.g. particle trails) may read them concurrently and must tolerate slightly stale values.</p>
+ */
+@Getter
+public class PlayerSession {
+
+  private final int id;
+  private final UUID uniqueId;
+  private final PlayerSettings settings = new PlayerSettings();
+  private volatile Player player;
+
+  // --- Physics ---
+  private volatile double speed;
+  private volatile boolean speedTracked = false;
+  @Setter
+  private volatile double charge;
+  private volatile boolean charging = false;
+  @Setter
+  private TimingWheel.Timer activityTimer;
+
+  // --- Matchmaking ---
+  @Setter
+  private volatile Team team;
+  @Setter
+  private volatile MatchPointer matchPointer;
+
+  PlayerSession(int id, Player player) {
+    this.id = id;
+    this.uniqueId = player.getUniqueId();
+    this.player = player;
+  }
+
+  public boolean isOpen() {
+    return player != null;
+  }
+
+  /**
+   * Records the player's latest movement speed, as measured by the movement listener.
+   */
+  public void setSpeed(double speed) {
+    this.speed = speed;
+    this.speedTracked = true;
+  }
+
+  /**
+   * The latest movement speed, or the given fallback if the player has not moved yet.
+   */
+  public double getSpeedOr(double fallback) {
+    return speedTracked ? speed : fallback;
+  }
+
+  /**
+   * Starts a charge from zero. Called when the player starts sneaking.
+   */
+  public void startCharging() {
+    this.charge = 0;
+    this.charging = true;
+  }
+
+  public void stopCharging() {
+    this.charging = false;
+    this.charge = 0;
+  }
+
+  void close() {
+    player = null;
+    team = null;
+    matchPointer = null;
+    activityTimer = null;
+    charging = false;
+  }
+
+  /**
+   * The match a player was found in, together with the roster version it was resolved at. The
+   * pointer is only trusted while the roster version is unchanged; any change to match membership
+   * bumps the version and forces a fresh lookup.
+   */
+  @Getter
+  public static final class MatchPointer {
+
+    private final Match match;
+    private final long rosterVersion;
+
+    public MatchPointer(Match match, long rosterVersion) {
+      this.match = match;
+      this.rosterVersion = rosterVersion;
+    }
+  }
+}
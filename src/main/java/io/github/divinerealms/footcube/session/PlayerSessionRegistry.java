@@ -0,0 +1,132 @@
+package io.github.divinerealms.footcube.session;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.entity.Player;
+
+/**
+ * Registry of {@link PlayerSession}s for every online player.
+ * <p>
+ * Each session gets the lowest free int id on join and gives it back on quit, so ids stay dense
+ * and per-player state can live in plain arrays indexed by session id. Per-tick loops walk
+ * {@code 0..getHighWaterMark()} instead of iterating hash sets of {@link Player} objects.
+ * </p>
+ *
+ * <p><b>Threading:</b> Sessions are opened and closed on the main thread. Lookups and iteration
+ * are safe from async tasks; a slot may turn {@code null} or closed while it is being read.</p>
+ */
+public class PlayerSessionRegistry {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final Map<UUID, PlayerSession> sessionsById = new ConcurrentHashMap<>();
+
+  private volatile PlayerSession[] sessions = new PlayerSession[INITIAL_CAPACITY];
+  private int[] freeIds = new int[INITIAL_CAPACITY];
+  private int freeCount = 0;
+  private volatile int highWaterMark = 0;
+  private volatile int onlineCount = 0;
+
+  /**
+   * Opens a session for the given player, or returns the existing one.
+   *
+   * @param player the player who joined
+   * @return the player's session
+   */
+  public synchronized PlayerSession open(Player player) {
+    PlayerSession existing = sessionsById.get(player.getUniqueId());
+    if (existing != null) {
+      return existing;
+    }
+
+    int id;
+    if (freeCount > 0) {
+      id = freeIds[--freeCount];
+    } else {
+      if (highWaterMark == sessions.length) {
+        sessions = Arrays.copyOf(sessions, sessions.length * 2);
+        freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+      }
+      id = highWaterMark++;
+    }
+
+    PlayerSession session = new PlayerSession(id, player);
+    sessions[id] = session;
+    sessionsById.put(player.getUniqueId(), session);
+    onlineCount++;
+    return session;
+  }
+
+  /**
+   * Closes the player's session and recycles its id. Does nothing if the player has no session.
+   *
+   * @param playerId the player who quit
+   */
+  public synchronized void close(UUID playerId) {
+    PlayerSession session = sessionsById.remove(playerId);
+    if (session == null) {
+      return;
+    }
+
+    session.close();
+    sessions[session.getId()] = null;
+    freeIds[freeCount++] = session.getId();
+    onlineCount--;
+  }
+
+  public synchronized void clear() {
+    for (PlayerSession session : sessions) {
+      if (session != null) {
+        session.close();
+      }
+    }
+    Arrays.fill(sessions, null);
+    sessionsById.clear();
+    freeCount = 0;
+    highWaterMark = 0;
+    onlineCount = 0;
+  }
+
+  /**
+   * @return the player's session, or {@code null} if they are not online
+   */
+  public PlayerSession get(Player player) {
+    return player == null ? null : sessionsById.get(player.getUniqueId());
+  }
+
+  /**
+   * @return the player's session, or {@code null} if they are not online
+   */
+  public PlayerSession get(UUID playerId) {
+    return sessionsById.get(playerId);
+  }
+
+  /**
+   * Looks up a session by id.
+   *
+   * @param id a session id below {@link #getHighWaterMark()}
+   * @return the session, or {@code null} if the id is currently free
+   */
+  public PlayerSession get(int id) {
+    PlayerSession[] snapshot = sessions;
+    return id < snapshot.length ? snapshot[id] : null;
+  }
+
+  /**
+   * Upper bound (exclusive) of ids that have ever been handed out. Iterate
+   * {@code 0..highWaterMark} and skip ids for which {@link #get(int)} returns {@code null}.
+   */
+  public int getHighWaterMark() {
+    return highWaterMark;
+  }
+
+  public int getOnlineCount() {
+    return onlineCount;
+  }
+
+  public boolean isEmpty() {
+    return onlineCount == 0;
+  }
+}
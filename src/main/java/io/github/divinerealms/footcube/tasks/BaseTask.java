@@ -1,16 +1,19 @@
 package io.github.divinerealms.footcube.tasks;
 
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_LATENCY_WINDOW_SECONDS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_LATENCY_WINDOW_SLICES;
 import static io.github.divinerealms.footcube.utils.Permissions.PERM_ADMIN;
 
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.utils.Logger;
-import java.util.ArrayDeque;
-import java.util.Queue;
+import io.github.divinerealms.footcube.utils.profiler.LatencyHistogram;
+import io.github.divinerealms.footcube.utils.profiler.RollingLatencyHistogram;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
 
 public abstract class BaseTask implements Runnable {
 
@@ -19,29 +22,57 @@ public abstract class BaseTask implements Runnable {
   protected final Logger logger;
   @Getter
   private final String taskName;
+  @Getter
   private final long interval;
+  @Getter
   private final boolean async;
-  private final Queue<Long> recentExecutionTimes = new ArrayDeque<>(20);
+  @Getter
+  private final TaskPriority priority;
   private final long debugThreshold;
-  private BukkitTask task;
+  private final AtomicBoolean inFlight = new AtomicBoolean();
+  private final Runnable asyncRun = this::runAsync;
   @Getter
   private boolean running = false;
   @Getter
   private long totalExecutions = 0;
-  private long totalExecutionTime = 0;
 
-  protected BaseTask(FCManager fcManager, String taskName, long interval, boolean async) {
-    this(fcManager, taskName, interval, async, getDefaultThreshold(interval));
+  // Scheduling state, owned by the TaskScheduler.
+  long nextRunTick = -1;
+  int deferredTicks = 0;
+  @Getter
+  long deferrals = 0;
+
+  // Execution times since start or the last reset, and over the last TASK_LATENCY_WINDOW_SECONDS.
+  @Getter
+  private final LatencyHistogram lifetimeLatency = new LatencyHistogram();
+  @Getter
+  private final RollingLatencyHistogram recentLatency = new RollingLatencyHistogram(
+      TASK_LATENCY_WINDOW_SLICES,
+      TimeUnit.SECONDS.toNanos(TASK_LATENCY_WINDOW_SECONDS) / TASK_LATENCY_WINDOW_SLICES);
+
+  protected BaseTask(FCManager fcManager, String taskName, long interval, boolean async,
+      TaskPriority priority) {
+    this(fcManager, taskName, interval, async, priority, getDefaultThreshold(interval));
   }
 
   protected BaseTask(FCManager fcManager, String taskName, long interval, boolean async,
-      long customThreshold) {
+      TaskPriority priority, long customThreshold) {
+    this(fcManager, fcManager.getPlugin(), fcManager.getLogger(), taskName, interval, async,
+        priority, customThreshold);
+  }
+
+  /**
+   * Builds the task from its collaborators directly rather than through the {@link FCManager}.
+   */
+  BaseTask(FCManager fcManager, Plugin plugin, Logger logger, String taskName, long interval,
+      boolean async, TaskPriority priority, long customThreshold) {
     this.fcManager = fcManager;
-    this.plugin = fcManager.getPlugin();
-    this.logger = fcManager.getLogger();
+    this.plugin = plugin;
+    this.logger = logger;
     this.taskName = taskName;
     this.interval = interval;
     this.async = async;
+    this.priority = priority;
     this.debugThreshold = customThreshold;
   }
 
@@ -55,33 +86,54 @@ public abstract class BaseTask implements Runnable {
     return 50;
   }
 
+  /**
+   * Marks the task as running. The {@link TaskScheduler} runs it from then on, first after one
+   * interval.
+   */
   public void start() {
     if (running) {
       logger.info("&e! &6" + taskName + " task is already running");
       return;
     }
-    if (async) {
-      task = plugin.getServer().getScheduler()
-          .runTaskTimerAsynchronously(plugin, this, interval, interval);
-    } else {
-      task = plugin.getServer().getScheduler().runTaskTimer(plugin, this, interval, interval);
-    }
+    nextRunTick = -1;
+    deferredTicks = 0;
     running = true;
     logger.info("&a✔ &2Started &d" + taskName + "&2 task &7&o(type: " + (async
         ? "&ba"
         : "&a") + "sync&7&o, frequency: " + interval +
-        " ticks)");
+        " ticks, priority: " + priority.name().toLowerCase() + ")");
   }
 
+  /**
+   * Stops further runs. An async run already in progress is allowed to finish.
+   */
   public void stop() {
-    if (!running) {
-      return;
+    running = false;
+  }
+
+  /**
+   * Runs the task in place, or hands it to the async pool if it is async.
+   *
+   * @return {@code false} if the task is async and its previous run has not finished yet
+   */
+  boolean dispatch() {
+    if (!async) {
+      run();
+      return true;
     }
-    if (task != null) {
-      task.cancel();
-      task = null;
+    if (!inFlight.compareAndSet(false, true)) {
+      return false;
+    }
+    plugin.getServer().getScheduler().runTaskAsynchronously(plugin, asyncRun);
+    return true;
+  }
+
+  private void runAsync() {
+    try {
+      run();
+    } finally {
+      inFlight.set(false);
     }
-    running = false;
   }
 
   @Override
@@ -94,8 +146,9 @@ public abstract class BaseTask implements Runnable {
           .log(Level.SEVERE, "Error in " + taskName + " task: " + exception.getMessage(),
               exception);
     } finally {
-      long durationNanos = System.nanoTime() - start;
-      recordExecution(durationNanos);
+      long end = System.nanoTime();
+      long durationNanos = end - start;
+      recordExecution(durationNanos, end);
 
       long durationMillis = durationNanos / 1_000_000;
       if (durationMillis > debugThreshold) {
@@ -109,27 +162,32 @@ public abstract class BaseTask implements Runnable {
 
   protected abstract void kaboom();
 
-  private void recordExecution(long duration) {
+  private void recordExecution(long duration, long now) {
     totalExecutions++;
-    totalExecutionTime += duration;
-
-    recentExecutionTimes.offer(duration);
-    if (recentExecutionTimes.size() > 20) {
-      long removed = recentExecutionTimes.poll();
-      totalExecutionTime -= removed;
-    }
+    lifetimeLatency.record(duration);
+    recentLatency.record(duration, now);
   }
 
+  /**
+   * Mean execution time over the rolling window, in milliseconds.
+   */
   public double getAverageExecutionTime() {
-    if (recentExecutionTimes.isEmpty()) {
-      return 0.0;
-    }
-    return totalExecutionTime / (double) recentExecutionTimes.size() / 1_000_000.0;
+    return recentLatency.getMeanNanos() / 1_000_000.0;
+  }
+
+  /**
+   * Execution time percentile over the rolling window, in milliseconds.
+   *
+   * @param quantile Quantile between {@code 0} and {@code 1} (e.g. {@code 0.99}).
+   */
+  public double getRecentPercentile(double quantile) {
+    return recentLatency.percentile(quantile) / 1_000_000.0;
   }
 
   public void resetStats() {
     totalExecutions = 0;
-    recentExecutionTimes.clear();
-    totalExecutionTime = 0;
+    deferrals = 0;
+    lifetimeLatency.reset();
+    recentLatency.reset();
   }
 }
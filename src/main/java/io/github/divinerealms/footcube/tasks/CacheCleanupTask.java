@@ -1,29 +1,66 @@
 package io.github.divinerealms.footcube.tasks;
 
 import io.github.divinerealms.footcube.core.FCManager;
+import io.github.divinerealms.footcube.physics.snapshot.WorldSnapshot;
+import io.github.divinerealms.footcube.physics.snapshot.WorldSnapshotBus;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import java.util.ArrayList;
+import java.util.List;
 import org.bukkit.entity.Player;
 
 public class CacheCleanupTask extends BaseTask {
 
   private static final long UPDATE_INTERVAL = 20 * 60 * 5; // 5 minutes
 
+  private final PlayerSessionRegistry sessions;
+  private final WorldSnapshotBus worldSnapshots;
+
   public CacheCleanupTask(FCManager fcManager) {
-    super(fcManager, "CacheCleanup", UPDATE_INTERVAL, true);
+    super(fcManager, "CacheCleanup", UPDATE_INTERVAL, true,
+        TaskPriority.DEFERRABLE);
+    this.sessions = fcManager.getSessionRegistry();
+    this.worldSnapshots = fcManager.getWorldSnapshots();
   }
 
   @Override
   protected void kaboom() {
+    // Sessions are closed on quit; this only catches quits that were never delivered.
+    WorldSnapshot snapshot = worldSnapshots.acquire();
+    long stamp = snapshot.getStamp();
+    List<Integer> stale = null;
+    for (int i = 0; i < snapshot.getPlayerCount(); i++) {
+      if (snapshot.isPlayerOnline(i)) {
+        continue;
+      }
+      if (stale == null) {
+        stale = new ArrayList<>();
+      }
+      stale.add(snapshot.getPlayerSessionId(i));
+    }
+    if (stale == null || !snapshot.validate(stamp)) {
+      return;
+    }
+
+    // Sessions may only be closed on the main thread; re-check there, the player may be back.
+    List<Integer> candidates = stale;
+    plugin.getServer().getScheduler().runTask(plugin, () -> closeStale(candidates));
+  }
+
+  private void closeStale(List<Integer> candidates) {
     int removed = 0;
-    for (Player player : fcManager.getCachedPlayers()) {
-      if (player != null && player.isOnline()) {
+    for (int id : candidates) {
+      PlayerSession session = sessions.get(id);
+      Player player = session != null ? session.getPlayer() : null;
+      if (player == null || player.isOnline()) {
         continue;
       }
-      fcManager.getCachedPlayers().remove(player);
+      sessions.close(session.getUniqueId());
       removed++;
     }
 
     if (removed > 0) {
-      logger.info("&2Cleaned up &e" + removed + " &2stale player references.");
+      logger.info("&2Closed &e" + removed + " &2stale player sessions.");
     }
   }
 }
@@ -14,7 +14,7 @@ public class CubeCleanerTask extends BaseTask {
   private final CubeCleaner cubeCleaner;
 
   public CubeCleanerTask(FCManager fcManager, long interval) {
-    super(fcManager, "CubeCleaner", interval, false);
+    super(fcManager, "CubeCleaner", interval, false, TaskPriority.DEFERRABLE);
     this.cubeCleaner = fcManager.getCubeCleaner();
   }
 
@@ -0,0 +1,240 @@
+package io.github.divinerealms.footcube.tasks;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.FLIGHT_RECORDER_COOLDOWN_SECONDS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.FLIGHT_RECORDER_POST_TICKS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.FLIGHT_RECORDER_THRESHOLD_MS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.FLIGHT_RECORDER_TICKS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_LATENCY_WINDOW_SECONDS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_LATENCY_WINDOW_SLICES;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.WATCHDOG_MAX_SAMPLES;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.WATCHDOG_SAMPLE_INTERVAL_MS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.WATCHDOG_THRESHOLD_MS;
+
+import io.github.divinerealms.footcube.core.FCManager;
+import io.github.divinerealms.footcube.managers.PlayerDataManager;
+import io.github.divinerealms.footcube.matchmaking.MatchManager;
+import io.github.divinerealms.footcube.matchmaking.logic.MatchSystem;
+import io.github.divinerealms.footcube.physics.PhysicsData;
+import io.github.divinerealms.footcube.physics.actions.SoundMixer;
+import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
+import io.github.divinerealms.footcube.physics.virtual.VirtualCubes;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import io.github.divinerealms.footcube.utils.profiler.FlightRecorder;
+import io.github.divinerealms.footcube.utils.profiler.RollingLatencyHistogram;
+import io.github.divinerealms.footcube.utils.profiler.StallWatchdog;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Runs the per-tick gameplay work as one ordered pipeline, from a single scheduler entry.
+ * <p>
+ * The stages always run in this order:
+ * </p>
+ * <ol>
+ *   <li><b>Input:</b> {@link PlayerUpdateTask} recovers kick charge, so kicks handled later this
+ *   tick see up-to-date charge.</li>
+ *   <li><b>Physics:</b> {@link PhysicsTask} moves every cube and publishes the world snapshot.</li>
+ *   <li><b>Match:</b> {@link MatchmakingTask} advances matches and queues. Goal detection therefore
+ *   always sees the cube after this tick's velocity update.</li>
+ *   <li><b>Presentation:</b> refreshes the scoreboards match logic asked for, plays the tick's
+ *   sounds and shows charge on the experience bar.</li>
+ * </ol>
+ *
+ * <p>The stage tasks keep their own statistics and lifecycle, but are not scheduled on their own.
+ * A stage whose task is stopped is skipped, and a stage task with an interval above one tick runs
+ * every that many ticks. Each stage is also timed as a whole, over the same rolling window as task
+ * latencies, and the last tick's stage times are kept for diagnostics.</p>
+ *
+ * <p>After the presentation stage, every tick is handed to the {@link FlightRecorder} with its
+ * stage times and load counters. The recorder is configured from the {@code flight-recorder}
+ * section of {@code config.yml} whenever the task starts.</p>
+ *
+ * <p>Each stage also runs as a {@link StallWatchdog} section named {@code tick/<stage>}, so a stage
+ * that stalls the main thread gets its stack sampled. The watchdog is configured from the
+ * {@code watchdog} section of {@code config.yml} and started along with the task; it keeps running
+ * across task restarts.</p>
+ */
+public class FootCubeTick extends BaseTask {
+
+  private static final TickStage[] STAGES = TickStage.values();
+  private static final String[] SECTIONS = new String[STAGES.length];
+
+  static {
+    for (TickStage stage : STAGES) {
+      SECTIONS[stage.ordinal()] = "tick/" + stage.getDisplayName();
+    }
+  }
+
+  private final PlayerUpdateTask playerUpdateTask;
+  private final PhysicsTask physicsTask;
+  private final MatchmakingTask matchmakingTask;
+  private final PhysicsSystem physicsSystem;
+  private final MatchSystem matchSystem;
+  private final MatchManager matchManager;
+  private final PhysicsData physicsData;
+  private final PlayerSessionRegistry sessions;
+  private final PlayerDataManager dataManager;
+  @Getter
+  private final FlightRecorder flightRecorder;
+  private final StallWatchdog stallWatchdog;
+
+  private final RollingLatencyHistogram[] stageLatency = new RollingLatencyHistogram[STAGES.length];
+  private final long[] lastStageNanos = new long[STAGES.length];
+  private long tick = 0;
+
+  // Running totals of pipeline ticks and the time their stages took, for readers on other threads
+  // such as the particle LOD controller.
+  @Getter
+  private volatile long ticksRun = 0;
+  @Getter
+  private volatile long busyNanos = 0;
+
+  // Running totals as of the previous tick, to record per-tick sounds and packets.
+  private long lastSoundsQueued = 0;
+  private long lastPacketsSent = 0;
+
+  public FootCubeTick(FCManager fcManager, PlayerUpdateTask playerUpdateTask,
+      PhysicsTask physicsTask, MatchmakingTask matchmakingTask) {
+    super(fcManager, "FootCubeTick", 1, false, TaskPriority.CRITICAL);
+    this.playerUpdateTask = playerUpdateTask;
+    this.physicsTask = physicsTask;
+    this.matchmakingTask = matchmakingTask;
+    this.physicsSystem = fcManager.getPhysicsSystem();
+    this.matchSystem = fcManager.getMatchSystem();
+    this.matchManager = fcManager.getMatchManager();
+    this.physicsData = fcManager.getPhysicsData();
+    this.sessions = fcManager.getSessionRegistry();
+    this.dataManager = fcManager.getDataManager();
+    this.stallWatchdog = fcManager.getStallWatchdog();
+
+    String[] stageNames = new String[STAGES.length];
+    for (int i = 0; i < STAGES.length; i++) {
+      stageNames[i] = STAGES[i].getDisplayName();
+    }
+    this.flightRecorder = new FlightRecorder(plugin, logger, stageNames);
+
+    long sliceNanos =
+        TimeUnit.SECONDS.toNanos(TASK_LATENCY_WINDOW_SECONDS) / TASK_LATENCY_WINDOW_SLICES;
+    for (int i = 0; i < STAGES.length; i++) {
+      stageLatency[i] = new RollingLatencyHistogram(TASK_LATENCY_WINDOW_SLICES, sliceNanos);
+    }
+  }
+
+  @Override
+  public void start() {
+    FileConfiguration config = fcManager.getConfigManager().getConfig("config.yml");
+    flightRecorder.configure(
+        config.getBoolean("flight-recorder.enabled", true),
+        config.getInt("flight-recorder.ticks", FLIGHT_RECORDER_TICKS),
+        config.getDouble("flight-recorder.threshold-ms", FLIGHT_RECORDER_THRESHOLD_MS),
+        config.getInt("flight-recorder.post-ticks", FLIGHT_RECORDER_POST_TICKS),
+        config.getLong("flight-recorder.cooldown-seconds", FLIGHT_RECORDER_COOLDOWN_SECONDS));
+    stallWatchdog.configure(
+        config.getBoolean("watchdog.enabled", true),
+        config.getDouble("watchdog.threshold-ms", WATCHDOG_THRESHOLD_MS),
+        config.getLong("watchdog.sample-interval-ms", WATCHDOG_SAMPLE_INTERVAL_MS),
+        config.getInt("watchdog.max-samples", WATCHDOG_MAX_SAMPLES));
+    stallWatchdog.start();
+    super.start();
+  }
+
+  @Override
+  protected void kaboom() {
+    tick++;
+    try {
+      runStages();
+    } finally {
+      stallWatchdog.exit();
+    }
+
+    long total = 0;
+    for (long stageNanos : lastStageNanos) {
+      total += stageNanos;
+    }
+    busyNanos += total;
+    ticksRun++;
+
+    record();
+  }
+
+  @Override
+  public void resetStats() {
+    super.resetStats();
+    for (RollingLatencyHistogram histogram : stageLatency) {
+      histogram.reset();
+    }
+  }
+
+  public RollingLatencyHistogram getStageLatency(TickStage stage) {
+    return stageLatency[stage.ordinal()];
+  }
+
+  /**
+   * Time the given stage took in the last tick, in nanoseconds.
+   */
+  public long getLastStageNanos(TickStage stage) {
+    return lastStageNanos[stage.ordinal()];
+  }
+
+  private void runStages() {
+    long stageStart = System.nanoTime();
+
+    stallWatchdog.enter(SECTIONS[TickStage.INPUT.ordinal()]);
+    if (isDue(playerUpdateTask)) {
+      playerUpdateTask.run();
+    }
+    stageStart = endStage(TickStage.INPUT, stageStart);
+
+    stallWatchdog.enter(SECTIONS[TickStage.PHYSICS.ordinal()]);
+    if (isDue(physicsTask)) {
+      physicsTask.run();
+    }
+    stageStart = endStage(TickStage.PHYSICS, stageStart);
+
+    stallWatchdog.enter(SECTIONS[TickStage.MATCH.ordinal()]);
+    if (isDue(matchmakingTask)) {
+      matchmakingTask.run();
+    }
+    stageStart = endStage(TickStage.MATCH, stageStart);
+
+    stallWatchdog.enter(SECTIONS[TickStage.PRESENTATION.ordinal()]);
+    matchSystem.flushScoreboards();
+    physicsSystem.flushSounds();
+    if (playerUpdateTask.isRunning()) {
+      playerUpdateTask.showCharge();
+    }
+    endStage(TickStage.PRESENTATION, stageStart);
+  }
+
+  private void record() {
+    SoundMixer soundMixer = physicsSystem.getSoundMixer();
+    VirtualCubes virtualCubes = physicsSystem.getVirtualCubes();
+    long soundsQueued = soundMixer.getQueued();
+    long packetsSent = soundMixer.getSent() + physicsTask.getVelocityUpdatesSent()
+        + virtualCubes.getPacketsSent();
+
+    // Totals drop back to zero when task statistics are reset.
+    flightRecorder.record(tick, lastStageNanos,
+        physicsData.getCubeStates().getActiveCount(),
+        sessions.getOnlineCount(),
+        (int) Math.max(0, soundsQueued - lastSoundsQueued),
+        (int) Math.max(0, packetsSent - lastPacketsSent),
+        isDue(matchmakingTask) ? matchManager.getMatchesUpdated() : 0,
+        dataManager.getSavesInFlight());
+
+    lastSoundsQueued = soundsQueued;
+    lastPacketsSent = packetsSent;
+  }
+
+  private boolean isDue(BaseTask task) {
+    return task.isRunning() && tick % task.getInterval() == 0;
+  }
+
+  private long endStage(TickStage stage, long start) {
+    long end = System.nanoTime();
+    lastStageNanos[stage.ordinal()] = end - start;
+    stageLatency[stage.ordinal()].record(end - start, end);
+    return end;
+  }
+}
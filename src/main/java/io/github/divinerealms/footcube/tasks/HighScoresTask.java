@@ -10,7 +10,7 @@ public class HighScoresTask extends BaseTask {
   private final HighScoreManager highScoreManager;
 
   public HighScoresTask(FCManager fcManager) {
-    super(fcManager, "HighScores", 20 * 60 * 10, true);
+    super(fcManager, "HighScores", 20 * 60 * 10, true, TaskPriority.NORMAL);
     this.highScoreManager = fcManager.getHighscoreManager();
   }
 
@@ -14,7 +14,8 @@ public class MatchmakingTask extends BaseTask {
   private final MatchManager matchManager;
 
   public MatchmakingTask(FCManager fcManager) {
-    super(fcManager, "Matchmaking", MATCH_TASK_INTERVAL_TICKS, false);
+    super(fcManager, "Matchmaking", MATCH_TASK_INTERVAL_TICKS, false,
+        TaskPriority.CRITICAL);
     this.matchManager = fcManager.getMatchManager();
   }
 
@@ -1,26 +1,28 @@
 package io.github.divinerealms.footcube.tasks;
 
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DISTANCE_PARTICLE_THRESHOLD_SQUARED;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.DISTANCE_PARTICLE_THRESHOLD;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.GENERIC_PARTICLE_COUNT;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.GENERIC_PARTICLE_OFFSET;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.GENERIC_PARTICLE_SPEED;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.GLOW_TASK_INTERVAL_TICKS;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.MAX_PARTICLE_DISTANCE_SQUARED;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_FAR_BAND_DISTANCE_SQUARED;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.MAX_PARTICLE_DISTANCE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.PARTICLE_VIEWER_CELL_SIZE;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.PARTICLE_Y_OFFSET;
 
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.managers.Utilities;
-import io.github.divinerealms.footcube.physics.PhysicsData;
-import io.github.divinerealms.footcube.utils.PlayerSettings;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import io.github.divinerealms.footcube.physics.snapshot.WorldSnapshot;
+import io.github.divinerealms.footcube.physics.snapshot.WorldSnapshotBus;
+import io.github.divinerealms.footcube.physics.utilities.PlayerSpatialGrid;
+import io.github.divinerealms.footcube.utils.ParticleLodController;
+import java.util.Arrays;
+import java.util.Objects;
+import lombok.Getter;
 import net.minecraft.server.v1_8_R3.EnumParticle;
+import net.minecraft.server.v1_8_R3.PacketPlayOutWorldParticles;
 import org.bukkit.Color;
-import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.entity.Slime;
 
 /**
  * Renders particle trails that visually follow cubes (Slime entities) for players who are far
@@ -34,65 +36,220 @@ import org.bukkit.entity.Slime;
  *
  * <p><b>Performance considerations:</b> Particle effects are sent only to players who are
  * sufficiently far from the
- * cube, reducing unnecessary network and client load. The method is optimized through caching of
- * player locations and settings to minimize per-interval lookups.</p>
+ * cube, reducing unnecessary network and client load. Cube and player state is copied from the
+ * {@link WorldSnapshot} the physics task publishes every tick, so this async task never touches a
+ * Bukkit entity except to send it packets. Viewers are indexed in a
+ * {@link PlayerSpatialGrid} once per run, so each cube only visits the players around it. Each cube's
+ * trail is interpolated once, and its packets are encoded once per particle style (particle plus
+ * redstone colour) and shared by every viewer who picked that style.</p>
+ *
+ * <p><b>Level of detail:</b> A {@link ParticleLodController} trims trail points, particle counts
+ * and update frequency when the {@link FootCubeTick} pipeline eats into the tick's headroom or
+ * viewers receive too many packets, more aggressively for viewers in the far distance band, and
+ * restores full quality once headroom returns.</p>
  *
  * @implNote This task is executed periodically every X ticks (default 10). The interval balances
  * visual responsiveness and server performance.
  */
 public class ParticleTrailTask extends BaseTask {
 
-  private final PhysicsData data;
+  private static final int MAX_TRAIL_POINTS = 5;
+  private static final int MAX_SNAPSHOT_ATTEMPTS = 3;
+  private static final long NO_TRAIL = 0;
+
+  private final WorldSnapshotBus worldSnapshots;
+  private final FootCubeTick footCubeTick;
+  @Getter
+  private final ParticleLodController lodController;
+
+  // Viewers are indexed once per run, so each cube only looks at the players around it. Grid
+  // handles index the viewer arrays.
+  private final PlayerSpatialGrid viewerGrid = new PlayerSpatialGrid(PARTICLE_VIEWER_CELL_SIZE);
+  private Player[] viewers = new Player[64];
+  private EnumParticle[] viewerParticles = new EnumParticle[64];
+  private Color[] viewerColors = new Color[64];
+  private int viewerCount = 0;
+
+  // Moving cubes copied out of the world snapshot at the start of a run.
+  private int cubeCount = 0;
+  private int[] cubeSlots = new int[16];
+  private long[] cubeSpawnIds = new long[16];
+  private int[] cubeWorlds = new int[16];
+  private double[] cubeX = new double[16];
+  private double[] cubeY = new double[16];
+  private double[] cubeZ = new double[16];
+
+  // Position of the last rendered frame per cube slot, owned by this task. The spawn id tells a
+  // recycled slot, or a pooled cube that was spawned again, apart from the cube it was before, so
+  // a new spawn starts a fresh trail instead of streaking from the old position.
+  private long[] trailSpawnIds = new long[16];
+  private double[] trailX = new double[16];
+  private double[] trailY = new double[16];
+  private double[] trailZ = new double[16];
+
+  // Trail geometry of the cube being rendered per distance band, and the packets encoded for it
+  // per (band, particle style). A band's point count is zero until its geometry is computed.
+  private final double[][] pointT = new double[2][MAX_TRAIL_POINTS];
+  private final double[][] pointX = new double[2][MAX_TRAIL_POINTS];
+  private final double[][] pointY = new double[2][MAX_TRAIL_POINTS];
+  private final double[][] pointZ = new double[2][MAX_TRAIL_POINTS];
+  private final int[] bandPoints = new int[2];
+  private int[] styleBands = new int[8];
+  private EnumParticle[] styleParticles = new EnumParticle[8];
+  private Color[] styleColors = new Color[8];
+  private PacketPlayOutWorldParticles[][] stylePackets = new PacketPlayOutWorldParticles[8][];
+  private int styleCount = 0;
+
+  // Packets sent to each grid viewer during the current run, fed back to the LOD controller.
+  private int[] viewerPackets = new int[64];
+  private int peakViewerPackets = 0;
 
-  public ParticleTrailTask(FCManager fcManager) {
-    super(fcManager, "ParticleTrail", GLOW_TASK_INTERVAL_TICKS, true);
-    this.data = fcManager.getPhysicsData();
+  public ParticleTrailTask(FCManager fcManager, FootCubeTick footCubeTick) {
+    super(fcManager, "ParticleTrail", GLOW_TASK_INTERVAL_TICKS, true,
+        TaskPriority.DEFERRABLE);
+    this.worldSnapshots = fcManager.getWorldSnapshots();
+    this.footCubeTick = footCubeTick;
+    this.lodController = new ParticleLodController();
+    Arrays.fill(trailSpawnIds, NO_TRAIL);
+  }
+
+  @Override
+  public void start() {
+    lodController.reset();
+    super.start();
   }
 
   @Override
   protected void kaboom() {
-    Collection<? extends Player> onlinePlayers = fcManager.getCachedPlayers();
-    if (onlinePlayers.isEmpty() || data.getCubes().isEmpty()) {
-      return;
+    lodController.beginRun();
+    peakViewerPackets = 0;
+    if (readSnapshot()) {
+      renderTrails();
     }
+    clearViewers();
+    lodController.endRun(peakViewerPackets, footCubeTick.getTicksRun(),
+        footCubeTick.getBusyNanos());
+  }
 
-    // Cache player data
-    Map<UUID, Location> playerLocations = new HashMap<>();
-    Map<UUID, PlayerSettings> playerSettings = new HashMap<>();
+  /**
+   * Copies viewers and moving cubes out of the latest world snapshot. Retries if the main thread
+   * recycled the snapshot while it was being read.
+   *
+   * @return {@code false} if there is nothing to render or no consistent copy could be made
+   */
+  private boolean readSnapshot() {
+    for (int attempt = 0; attempt < MAX_SNAPSHOT_ATTEMPTS; attempt++) {
+      WorldSnapshot snapshot = worldSnapshots.acquire();
+      long stamp = snapshot.getStamp();
+      if (snapshot.getCubeCount() == 0 || snapshot.getPlayerCount() == 0) {
+        return false;
+      }
 
-    for (Player p : onlinePlayers) {
-      playerLocations.put(p.getUniqueId(), p.getLocation());
-      playerSettings.put(p.getUniqueId(), fcManager.getPlayerSettings(p));
+      collectViewers(snapshot);
+      collectCubes(snapshot);
+      if (snapshot.validate(stamp)) {
+        return viewerCount > 0 && cubeCount > 0;
+      }
     }
+    return false;
+  }
 
-    for (Slime cube : data.getCubes()) {
-      if (cube == null || cube.isDead()) {
+  /**
+   * Players with particles disabled never become viewers.
+   */
+  private void collectViewers(WorldSnapshot snapshot) {
+    clearViewers();
+    for (int i = 0; i < snapshot.getPlayerCount(); i++) {
+      if (!snapshot.isPlayerOnline(i) || !snapshot.isPlayerParticlesEnabled(i)) {
         continue;
       }
 
-      Location currentLoc = cube.getLocation();
-      if (currentLoc == null) {
+      if (viewerCount == viewers.length) {
+        int capacity = viewerCount * 2;
+        viewers = Arrays.copyOf(viewers, capacity);
+        viewerParticles = Arrays.copyOf(viewerParticles, capacity);
+        viewerColors = Arrays.copyOf(viewerColors, capacity);
+      }
+      viewers[viewerCount] = snapshot.getPlayer(i);
+      viewerParticles[viewerCount] = snapshot.getPlayerParticle(i);
+      viewerColors[viewerCount] = snapshot.getPlayerParticleColor(i);
+      viewerGrid.insert(viewerGrid.worldIndex(snapshot.getPlayerWorld(i)),
+          snapshot.getPlayerX(i), snapshot.getPlayerY(i), snapshot.getPlayerZ(i), viewerCount);
+      viewerCount++;
+    }
+  }
+
+  /**
+   * Empties the grid and releases the player references of the last run.
+   */
+  private void clearViewers() {
+    viewerGrid.clear();
+    Arrays.fill(viewers, 0, viewerCount, null);
+    Arrays.fill(viewerColors, 0, viewerCount, null);
+    viewerCount = 0;
+  }
+
+  /**
+   * Sleeping cubes do not move, so there is no trail to draw.
+   */
+  private void collectCubes(WorldSnapshot snapshot) {
+    cubeCount = 0;
+    for (int i = 0; i < snapshot.getCubeCount(); i++) {
+      if (snapshot.isCubeSleeping(i)) {
         continue;
       }
 
-      UUID cubeId = cube.getUniqueId();
+      if (cubeCount == cubeSlots.length) {
+        int capacity = cubeCount * 2;
+        cubeSlots = Arrays.copyOf(cubeSlots, capacity);
+        cubeSpawnIds = Arrays.copyOf(cubeSpawnIds, capacity);
+        cubeWorlds = Arrays.copyOf(cubeWorlds, capacity);
+        cubeX = Arrays.copyOf(cubeX, capacity);
+        cubeY = Arrays.copyOf(cubeY, capacity);
+        cubeZ = Arrays.copyOf(cubeZ, capacity);
+      }
+      cubeSlots[cubeCount] = snapshot.getCubeSlot(i);
+      cubeSpawnIds[cubeCount] = snapshot.getCubeSpawnId(i);
+      cubeWorlds[cubeCount] = viewerGrid.worldIndex(snapshot.getCubeWorld(i));
+      cubeX[cubeCount] = snapshot.getCubeX(i);
+      cubeY[cubeCount] = snapshot.getCubeY(i);
+      cubeZ[cubeCount] = snapshot.getCubeZ(i);
+      cubeCount++;
+    }
+  }
 
-      // Get stored previous location (from last particle update)
-      Location previousLoc = data.getPreviousCubeLocations().get(cubeId);
+  private void renderTrails() {
+    if (viewerPackets.length < viewerCount) {
+      viewerPackets = new int[Math.max(viewerCount, viewerPackets.length * 2)];
+    }
+    Arrays.fill(viewerPackets, 0, viewerCount, 0);
+
+    for (int cube = 0; cube < cubeCount; cube++) {
+      int slot = cubeSlots[cube];
+      double currentX = cubeX[cube];
+      double currentY = cubeY[cube];
+      double currentZ = cubeZ[cube];
 
       // If no previous location, use current (first frame)
-      if (previousLoc == null) {
-        previousLoc = currentLoc.clone();
-        data.getPreviousCubeLocations().put(cubeId, previousLoc);
+      if (!hasTrail(slot, cubeSpawnIds[cube])) {
+        setTrailPosition(slot, cubeSpawnIds[cube], currentX, currentY, currentZ);
         continue; // Skip first frame to avoid rendering at same position
       }
 
+      // Get stored previous location (from last particle update)
+      double prevX = trailX[slot];
+      double prevY = trailY[slot] + PARTICLE_Y_OFFSET;
+      double prevZ = trailZ[slot];
+
       // Calculate distance moved to determine trail density
-      double distanceMoved = currentLoc.distance(previousLoc);
+      double movedX = currentX - prevX;
+      double movedY = currentY - trailY[slot];
+      double movedZ = currentZ - prevZ;
+      double distanceMoved = Math.sqrt(movedX * movedX + movedY * movedY + movedZ * movedZ);
 
       // Skip if ball barely moved (< 0.1 blocks in 0.1s = stationary)
       if (distanceMoved < 0.1) {
-        data.getPreviousCubeLocations().put(cubeId, currentLoc.clone());
+        setTrailPosition(slot, cubeSpawnIds[cube], currentX, currentY, currentZ);
         continue;
       }
 
@@ -100,47 +257,70 @@ public class ParticleTrailTask extends BaseTask {
       // At 2 ticks: fast balls move ~2-4 blocks, slow balls move 0.2-1 blocks
       int trailPoints = calculateTrailPoints(distanceMoved);
 
-      double x = currentLoc.getX();
-      double y = currentLoc.getY() + PARTICLE_Y_OFFSET;
-      double z = currentLoc.getZ();
-
-      double prevX = previousLoc.getX();
-      double prevY = previousLoc.getY() + PARTICLE_Y_OFFSET;
-      double prevZ = previousLoc.getZ();
+      double x = currentX;
+      double y = currentY + PARTICLE_Y_OFFSET;
+      double z = currentZ;
 
-      // Emit particles for eligible players
-      for (Player player : onlinePlayers) {
-        UUID playerId = player.getUniqueId();
-        Location playerLoc = playerLocations.get(playerId);
-        PlayerSettings settings = playerSettings.get(playerId);
-
-        if (playerLoc == null || settings == null || !settings.isParticlesEnabled()) {
+      // Emit particles for players in the view annulus around the cube
+      int found = viewerGrid.queryRange(cubeWorlds[cube], x, y, z,
+          DISTANCE_PARTICLE_THRESHOLD, MAX_PARTICLE_DISTANCE);
+      for (int n = 0; n < found; n++) {
+        int viewer = viewerGrid.result(n);
+        int band = viewerGrid.resultDistanceSquared(n) > LOD_FAR_BAND_DISTANCE_SQUARED
+            ? ParticleLodController.BAND_FAR
+            : ParticleLodController.BAND_NEAR;
+        if (!lodController.isDue(band)) {
           continue;
         }
 
-        double dx = playerLoc.getX() - x;
-        double dy = playerLoc.getY() - y;
-        double dz = playerLoc.getZ() - z;
-        double distanceSquared = dx * dx + dy * dy + dz * dz;
+        // Interpolate the trail once per cube and band, on the first viewer that needs it.
+        if (bandPoints[band] == 0) {
+          bandPoints[band] = lodController.getTrailPoints(band, trailPoints);
+          computeTrail(band, prevX, prevY, prevZ, x, y, z);
+        }
 
-        if (distanceSquared < DISTANCE_PARTICLE_THRESHOLD_SQUARED) {
+        // Every viewer in the band with the same particle and colour gets the same packets.
+        PacketPlayOutWorldParticles[] packets = packetsFor(viewerParticles[viewer],
+            viewerColors[viewer], band);
+        if (packets == null) {
           continue;
         }
-        if (distanceSquared > MAX_PARTICLE_DISTANCE_SQUARED) {
-          continue;
+        Player player = viewers[viewer];
+        for (int point = 0; point < bandPoints[band]; point++) {
+          Utilities.sendParticlePacket(player, packets[point]);
         }
-
-        EnumParticle particle = settings.getParticle();
-
-        // Linear interpolation between previous and current position
-        renderTrail(player, particle, settings, trailPoints, prevX, prevY, prevZ, x, y, z);
+        viewerPackets[viewer] += bandPoints[band];
+        peakViewerPackets = Math.max(peakViewerPackets, viewerPackets[viewer]);
       }
+      bandPoints[ParticleLodController.BAND_NEAR] = 0;
+      bandPoints[ParticleLodController.BAND_FAR] = 0;
+      releaseStyles();
 
       // Update stored previous location for next frame
-      data.getPreviousCubeLocations().put(cubeId, currentLoc.clone());
+      setTrailPosition(slot, cubeSpawnIds[cube], currentX, currentY, currentZ);
     }
   }
 
+  private boolean hasTrail(int slot, long spawnId) {
+    return slot < trailSpawnIds.length && trailSpawnIds[slot] == spawnId;
+  }
+
+  private void setTrailPosition(int slot, long spawnId, double x, double y, double z) {
+    if (slot >= trailSpawnIds.length) {
+      int capacity = Math.max(trailSpawnIds.length * 2, slot + 1);
+      int previous = trailSpawnIds.length;
+      trailSpawnIds = Arrays.copyOf(trailSpawnIds, capacity);
+      Arrays.fill(trailSpawnIds, previous, capacity, NO_TRAIL);
+      trailX = Arrays.copyOf(trailX, capacity);
+      trailY = Arrays.copyOf(trailY, capacity);
+      trailZ = Arrays.copyOf(trailZ, capacity);
+    }
+    trailSpawnIds[slot] = spawnId;
+    trailX[slot] = x;
+    trailY[slot] = y;
+    trailZ[slot] = z;
+  }
+
   private int calculateTrailPoints(double distanceMoved) {
     if (distanceMoved > 3.0) {
       return 5;
@@ -161,37 +341,91 @@ public class ParticleTrailTask extends BaseTask {
     }
   }
 
-  private void renderTrail(Player player, EnumParticle particle, PlayerSettings settings,
-      int trailPoints, double prevX, double prevY, double prevZ,
+  /**
+   * Interpolates the trail between the previous and current position into the band's pooled point
+   * arrays. The first point sits on the previous frame and the last on the current one.
+   */
+  private void computeTrail(int band, double prevX, double prevY, double prevZ,
       double x, double y, double z) {
+    int trailPoints = bandPoints[band];
     for (int i = 0; i < trailPoints; i++) {
       double t = (double) i / Math.max(trailPoints - 1, 1);
+      pointT[band][i] = t;
+      pointX[band][i] = prevX + (x - prevX) * t;
+      pointY[band][i] = prevY + (y - prevY) * t;
+      pointZ[band][i] = prevZ + (z - prevZ) * t;
+    }
+  }
+
+  /**
+   * Returns the packets for the current cube's trail in the viewer's band and particle style,
+   * encoding them on first use. Only redstone trails are coloured, so other particles share one
+   * style regardless of the colour setting.
+   *
+   * @return one packet per trail point, or {@code null} if the particle is not allowed
+   */
+  private PacketPlayOutWorldParticles[] packetsFor(EnumParticle particle, Color color, int band) {
 
-      double trailX = prevX + (x - prevX) * t;
-      double trailY = prevY + (y - prevY) * t;
-      double trailZ = prevZ + (z - prevZ) * t;
+    for (int style = 0; style < styleCount; style++) {
+      if (styleBands[style] == band && styleParticles[style] == particle
+          && Objects.equals(styleColors[style], color)) {
+        return stylePackets[style][0] == null ? null : stylePackets[style];
+      }
+    }
+
+    if (styleCount == stylePackets.length) {
+      int capacity = styleCount * 2;
+      styleBands = Arrays.copyOf(styleBands, capacity);
+      styleParticles = Arrays.copyOf(styleParticles, capacity);
+      styleColors = Arrays.copyOf(styleColors, capacity);
+      stylePackets = Arrays.copyOf(stylePackets, capacity);
+    }
+    if (stylePackets[styleCount] == null) {
+      stylePackets[styleCount] = new PacketPlayOutWorldParticles[MAX_TRAIL_POINTS];
+    }
 
+    int style = styleCount++;
+    PacketPlayOutWorldParticles[] packets = stylePackets[style];
+    styleBands[style] = band;
+    styleParticles[style] = particle;
+    styleColors[style] = color;
+
+    double[] xs = pointX[band];
+    double[] ys = pointY[band];
+    double[] zs = pointZ[band];
+    for (int i = 0; i < bandPoints[band]; i++) {
+      double t = pointT[band][i];
       if (particle == EnumParticle.REDSTONE) {
-        Color color = settings.getRedstoneColor();
         float fadeFactor = 0.6f + (float) (t * 0.4f);
-
-        Utilities.sendParticle(player, EnumParticle.REDSTONE,
-            trailX, trailY, trailZ,
+        packets[i] = Utilities.createParticlePacket(EnumParticle.REDSTONE,
+            xs[i], ys[i], zs[i],
             (color.getRed() / 255F) * fadeFactor,
             (color.getGreen() / 255F) * fadeFactor,
             (color.getBlue() / 255F) * fadeFactor,
             1.0F, 0);
       } else {
         int particleCount = (int) (GENERIC_PARTICLE_COUNT * (0.6 + t * 0.4));
-
-        Utilities.sendParticle(player, particle,
-            trailX, trailY, trailZ,
+        packets[i] = Utilities.createParticlePacket(particle,
+            xs[i], ys[i], zs[i],
             GENERIC_PARTICLE_OFFSET,
             GENERIC_PARTICLE_OFFSET,
             GENERIC_PARTICLE_OFFSET,
             GENERIC_PARTICLE_SPEED,
-            Math.max(1, particleCount));
+            lodController.scaleCount(band, particleCount));
       }
     }
+    return packets[0] == null ? null : packets;
+  }
+
+  /**
+   * Drops the packets encoded for the last cube; the next cube has different geometry.
+   */
+  private void releaseStyles() {
+    for (int style = 0; style < styleCount; style++) {
+      Arrays.fill(stylePackets[style], null);
+      styleParticles[style] = null;
+      styleColors[style] = null;
+    }
+    styleCount = 0;
   }
 }
\ No newline at end of file
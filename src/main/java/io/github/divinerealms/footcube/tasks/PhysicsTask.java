@@ -1,48 +1,43 @@
 package io.github.divinerealms.footcube.tasks;
 
 import static io.github.divinerealms.footcube.configs.Lang.HITDEBUG_VELOCITY_CAP;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.AIR_DRAG_FACTOR;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.ANTI_CLIP_DOT_THRESHOLD;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.BOUNCE_THRESHOLD;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.CUBE_SPEED_TOUCH_DIVISOR;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.DRIBBLE_SPEED_LIMIT;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.HIT_RADIUS;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_BLOCK_CHECK_OFFSET;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_CHECK_INTERVAL;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_FORCE_MULTIPLIER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_IDLE_CHECK_INTERVAL;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_IDLE_FORCE_MULTIPLIER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_MAX_GROUND_DISTANCE;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_MIN_BOUNCE_MULTIPLIER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_MIN_GROUND_DISTANCE;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_PLAYER_RANGE;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.HOP_SETTLED_VELOCITY_THRESHOLD;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOW_VELOCITY_PUSH_MULTIPLIER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOW_VELOCITY_THRESHOLD;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.MAX_KP;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_BOUNCE_VELOCITY_Y;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_RADIUS;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_SOUND_POWER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.MIN_SPEED_FOR_DAMPENING;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.PHYSICS_MIN_BATCH_SIZE;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.PHYSICS_PARALLEL_MIN_CUBES;
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.PHYSICS_TASK_INTERVAL_TICKS;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.PLAYER_FOOT_LEVEL;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.PLAYER_HEAD_LEVEL;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.PLAYER_SPEED_TOUCH_DIVISOR;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.PROXIMITY_THRESHOLD_MULTIPLIER;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.VECTOR_CHANGE_THRESHOLD;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.VERTICAL_BOUNCE_THRESHOLD;
-import static io.github.divinerealms.footcube.physics.PhysicsConstants.WALL_BOUNCE_FACTOR;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.SLEEP_HORIZONTAL_SPEED_SQUARED;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.SLEEP_REST_TICKS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VELOCITY_WRITE_EPSILON;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.WAKE_RANGE;
 import static io.github.divinerealms.footcube.utils.Permissions.PERM_HIT_DEBUG;
 
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.matchmaking.MatchManager;
+import io.github.divinerealms.footcube.physics.CubeStateStore;
 import io.github.divinerealms.footcube.physics.PhysicsData;
-import io.github.divinerealms.footcube.physics.utilities.PhysicsFormulae;
+import io.github.divinerealms.footcube.physics.engine.CubeBody;
+import io.github.divinerealms.footcube.physics.engine.CubePhysicsEngine;
+import io.github.divinerealms.footcube.physics.engine.PlayerBody;
+import io.github.divinerealms.footcube.physics.snapshot.WorldSnapshotBus;
+import io.github.divinerealms.footcube.physics.utilities.CollisionVoxelCache;
 import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import io.github.divinerealms.footcube.physics.utilities.PlayerSpatialGrid;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
+import io.github.divinerealms.footcube.utils.profiler.Profiler;
+import io.github.divinerealms.footcube.utils.profiler.ProfilerSection;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import lombok.Getter;
+import net.minecraft.server.v1_8_R3.EntitySlime;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.craftbukkit.v1_8_R3.entity.CraftSlime;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Slime;
 import org.bukkit.util.Vector;
@@ -50,388 +45,472 @@ import org.bukkit.util.Vector;
 /**
  * Task responsible for processing the physics of cubes (slimes) in the game.
  * <p>
- * This task runs at a fixed interval, updating cube velocities based on player interactions,
- * handling collisions with walls and the ground, applying air drag, and preventing clipping through
- * players. It also manages sound effects for impacts and ensures cubes do not exceed maximum
- * allowed speeds.
+ * This task is the Bukkit adapter around {@link CubePhysicsEngine}. Every tick it copies entity
+ * and player state into plain {@link CubeBody}/{@link PlayerBody} objects, lets the engine compute
+ * the new velocity, and applies the result back to the entity together with its side effects
+ * (touch registration, impact sounds and velocity-cap debug messages).
  * </p>
  *
- * <p><b>Key Features:</b></p>
- * <ul>
- *   <li>Processes all active cubes each tick, adjusting their velocities based on player proximity and actions.</li>
- *   <li>Handles realistic collision responses with walls and the ground, including bounce effects.</li>
- *   <li>Implements anti-clipping logic to prevent cubes from passing through players at high speeds.</li>
- *   <li>Queues sound effects for significant impacts to enhance gameplay feedback.</li>
- *   <li>Caches player physics data per tick to optimize performance during cube processing.</li>
- * </ul>
+ * <p><b>Tick phases:</b></p>
+ * <ol>
+ *   <li><b>Snapshot</b> (main thread): builds the player cache and spatial grid, handles cube
+ *   sleep/wake, and copies every awake cube into a pooled body, including the ground block the hop
+ *   check may need.</li>
+ *   <li><b>Compute</b>: steps the bodies in contiguous batches, each with its own engine. With at
+ *   least {@code PHYSICS_PARALLEL_MIN_CUBES} awake cubes, the batches run on the common fork-join
+ *   pool while the main thread takes the first one; otherwise a single batch runs inline.</li>
+ *   <li><b>Apply</b> (main thread): walks the bodies in slot order, registering touches, queueing
+ *   sounds and setting velocities.</li>
+ *   <li><b>Virtual cubes</b> (main thread): moves cubes that have no entity in the world and sends
+ *   them to viewers, see {@link io.github.divinerealms.footcube.physics.virtual.VirtualCubes}.</li>
+ *   <li><b>Publish</b> (main thread): publishes a
+ *   {@link io.github.divinerealms.footcube.physics.snapshot.WorldSnapshot} of cubes and players for
+ *   async tasks. The sounds queued during apply are played later in the tick, by the presentation
+ *   stage of {@link FootCubeTick}.</li>
+ * </ol>
+ *
+ * <p><b>Determinism:</b> During compute, bodies are only read from the immutable snapshot and
+ * written to their own slot, and side effects are deferred to the apply phase. Every cube therefore
+ * gets the same result and side effects happen in the same order, whether compute ran serially or
+ * in parallel.</p>
+ *
+ * <p><b>Velocity writes:</b> {@code setVelocity} flags the entity for a velocity packet to every
+ * tracking player. The apply phase skips the write when the computed velocity is within
+ * {@code physics.velocity-epsilon} of what the entity already has on every axis. The computed value
+ * is still stored in the cube state store, which stays the authoritative velocity for the next
+ * tick. Sent and suppressed writes are counted for the task report.</p>
+ *
+ * <p><b>Sleeping cubes</b> cost a dead check, a few field reads and one grid lookup per tick. They
+ * are not stepped, so they also skip the idle anti-settle hop that would otherwise keep abandoned
+ * cubes busy forever.</p>
+ *
+ * <p><b>Allocation:</b> The steady-state tick does not allocate. Player and cube bodies and compute
+ * batches are pooled, engines keep their own scratch arrays, velocities are read as primitives from
+ * the NMS entity, and locations and velocity vectors are scratch objects owned by the task.
+ * Allocation only happens on events (sounds, debug messages, new worlds or more players and cubes
+ * than ever seen before).</p>
  */
 public class PhysicsTask extends BaseTask {
 
   private final PhysicsData data;
   private final PhysicsSystem system;
-  private final PhysicsFormulae formulae;
   private final MatchManager matchManager;
+  private final Profiler profiler;
+  private final CollisionVoxelCache collisionCache;
+  private final PlayerSessionRegistry sessions;
+  private final WorldSnapshotBus worldSnapshots;
+
+  // Per-tick broad phase, reused between ticks to avoid reallocating buckets.
+  private final PlayerSpatialGrid playerGrid = new PlayerSpatialGrid(HIT_RADIUS * 3);
+
+  // Pooled player bodies; only the first playerCount entries are valid for the current tick.
+  // The body handle is the index into both arrays.
+  private PlayerBody[] playerBodies = new PlayerBody[16];
+  private Player[] players = new Player[16];
+  private int playerCount = 0;
+
+  // Awake cubes stepped this tick, in slot order; only the first stepCount entries are valid.
+  private CubeBody[] bodies = new CubeBody[16];
+  private Slime[] stepCubes = new Slime[16];
+  private int[] stepSlots = new int[16];
+  private int[] stepWorlds = new int[16];
+  private int stepCount = 0;
+
+  // Compute batches; each owns an engine and covers a contiguous range of stepped cubes.
+  private StepBatch[] batches = new StepBatch[0];
+
+  // Velocity write suppression; the epsilon is re-read from config.yml whenever the task starts.
+  private double velocityEpsilon = VELOCITY_WRITE_EPSILON;
+  @Getter
+  private long velocityUpdatesSent = 0;
+  @Getter
+  private long velocityUpdatesSuppressed = 0;
+
+  // Scratch objects reused for every cube.
+  private final Location cubeLocation = new Location(null, 0, 0, 0);
+  private final Location playerLocation = new Location(null, 0, 0, 0);
+  private final Vector velocityOut = new Vector();
 
   public PhysicsTask(FCManager fcManager) {
-    super(fcManager, "Physics", PHYSICS_TASK_INTERVAL_TICKS, false);
+    super(fcManager, "Physics", PHYSICS_TASK_INTERVAL_TICKS, false,
+        TaskPriority.CRITICAL);
     this.data = fcManager.getPhysicsData();
     this.system = fcManager.getPhysicsSystem();
-    this.formulae = fcManager.getPhysicsFormulae();
     this.matchManager = fcManager.getMatchManager();
+    this.profiler = fcManager.getProfiler();
+    this.collisionCache = fcManager.getCollisionCache();
+    this.sessions = fcManager.getSessionRegistry();
+    this.worldSnapshots = fcManager.getWorldSnapshots();
+  }
+
+  @Override
+  public void start() {
+    FileConfiguration config = fcManager.getConfigManager().getConfig("config.yml");
+    velocityEpsilon = config.getDouble("physics.velocity-epsilon", VELOCITY_WRITE_EPSILON);
+    system.getVirtualCubes().setEnabled(config.getBoolean("physics.virtual-cubes", false));
+    super.start();
+  }
+
+  @Override
+  public void resetStats() {
+    super.resetStats();
+    velocityUpdatesSent = 0;
+    velocityUpdatesSuppressed = 0;
+    system.getSoundMixer().resetStats();
+    system.getCubePool().resetStats();
+    system.getVirtualCubes().resetStats();
   }
 
   @Override
   protected void kaboom() {
     // Skip processing if there are no active players or cubes.
-    if (fcManager.getCachedPlayers().isEmpty() || data.getCubes().isEmpty()) {
+    if (sessions.isEmpty() || data.getCubeStates().getActiveCount() == 0) {
+      worldSnapshots.publish();
       return;
     }
 
-    // Build player cache once per tick for all cubes to reuse.
-    Map<UUID, PlayerPhysicsCache> playerCache = buildPlayerCache();
-    ++data.tickRate;
+    // Build player cache and spatial grid once per tick for all cubes to reuse.
+    long cacheStart = profiler.start(ProfilerSection.PHYSICS_PLAYER_CACHE);
+    buildPlayerCache();
+    profiler.stop(ProfilerSection.PHYSICS_PLAYER_CACHE, cacheStart);
+    long tick = ++data.tickRate;
 
-    // Main cube processing loop.
-    for (Slime cube : data.getCubes()) {
-      // --- Cube validity check ---
-      if (cube.isDead()) {
-        data.getCubesToRemove().add(cube);
+    long snapshotStart = profiler.start(ProfilerSection.PHYSICS_SNAPSHOT);
+    snapshotCubes(tick);
+    profiler.stop(ProfilerSection.PHYSICS_SNAPSHOT, snapshotStart);
+
+    if (stepCount > 0) {
+      long computeStart = profiler.start(ProfilerSection.PHYSICS_COMPUTE);
+      int batchCount = compute(tick);
+      profiler.stop(ProfilerSection.PHYSICS_COMPUTE, computeStart);
+
+      long applyStart = profiler.start(ProfilerSection.PHYSICS_APPLY);
+      apply(batchCount);
+      profiler.stop(ProfilerSection.PHYSICS_APPLY, applyStart);
+    }
+
+    // Move virtual cubes with their new velocities and send them to viewers.
+    long virtualStart = profiler.start(ProfilerSection.PHYSICS_VIRTUAL_CUBES);
+    system.getVirtualCubes().tick();
+    profiler.stop(ProfilerSection.PHYSICS_VIRTUAL_CUBES, virtualStart);
+
+    // Drop references so pooled entries do not pin removed cubes or unloaded worlds.
+    Arrays.fill(stepCubes, 0, stepCount, null);
+    stepCount = 0;
+    cubeLocation.setWorld(null);
+    playerGrid.clear();
+
+    // Finalize scheduled physics actions. Queued sounds are played by the presentation stage.
+    system.scheduleCubeRemoval(); // Safely remove dead or invalid cube entities.
+    worldSnapshots.publish(); // Hand the final state of this tick to async tasks.
+  }
+
+  /**
+   * Snapshot phase. Walks the dense state store slot by slot, queues dead cubes for removal,
+   * handles sleep and wake, and copies every awake cube into the next pooled body.
+   */
+  private void snapshotCubes(long tick) {
+    CubeStateStore states = data.getCubeStates();
+    int slotCount = states.getHighWaterMark();
+    boolean hopTick = tick % HOP_CHECK_INTERVAL == 0;
+
+    for (int slot = 0; slot < slotCount; slot++) {
+      if (!states.isActive(slot)) {
         continue;
       }
 
-      // --- Initialization and state retrieval ---
-      UUID cubeId = cube.getUniqueId();
-      Location cubeLocation = cube.getLocation();
-      if (cubeLocation == null) {
+      // --- Cube validity check ---
+      Slime cube = states.getCube(slot);
+      if (cube.isDead()) {
+        data.getCubesToRemove().add(cube);
         continue;
       }
 
-      // Retrieve or initialize previous velocity for collision calculations.
-      Vector previousVelocity = data.getVelocities().get(cubeId);
-      // Initialize if this is the first tick tracking this cube.
-      if (previousVelocity == null) {
-        previousVelocity = cube.getVelocity().clone();
-        data.getVelocities().put(cubeId, previousVelocity);
+      // --- Sleeping cubes ---
+      // Stay asleep while nothing moves them and nobody is close; the stored position is current.
+      EntitySlime handle = ((CraftSlime) cube).getHandle();
+      if (states.isSleeping(slot)) {
+        if (isResting(handle) && !hasPlayerInRange(playerGrid.worldIndex(cube.getWorld()),
+            states.getX(slot), states.getY(slot), states.getZ(slot))) {
+          continue;
+        }
+        states.wake(slot);
       }
 
-      // --- Player interaction and velocity adjustment ---
-      Vector newVelocity = cube.getVelocity();
-      boolean wasMoved = false;
-      boolean playSound = false;
-
-      // Store player interaction data to avoid recalculation in anti-clipping.
-      Map<UUID, PlayerInteraction> playerInteractions = new HashMap<>();
-      for (Player player : fcManager.getCachedPlayers()) {
-        UUID playerId = player.getUniqueId();
-
-        PlayerPhysicsCache cache = playerCache.get(playerId);
-        if (cache == null || !cache.canInteract()) {
+      // --- Copy entity state ---
+      // Velocity is read straight from the entity to avoid the Vector copy made by getVelocity().
+      cube.getLocation(cubeLocation);
+      double x = cubeLocation.getX();
+      double y = cubeLocation.getY();
+      double z = cubeLocation.getZ();
+      states.setPosition(slot, x, y, z);
+      int world = playerGrid.worldIndex(cubeLocation.getWorld());
+
+      // --- Sleep check ---
+      // Checked before stepping so a cube about to sleep does not get another idle hop.
+      if (isResting(handle) && !hasPlayerInRange(world, x, y, z)) {
+        if (states.incrementRestTicks(slot) >= SLEEP_REST_TICKS) {
+          states.sleep(slot);
           continue;
         }
+      } else {
+        states.resetRestTicks(slot);
+      }
 
-        // --- Player proximity and touch detection ---
-        // Determines if the player is close enough to directly affect the cube.
-        double distance = formulae.getDistance(cubeLocation, cache.location);
+      CubeBody body = nextBody();
+      body.set(x, y, z, handle.motX, handle.motY, handle.motZ, handle.onGround);
 
-        // Skip players beyond 3x hit radius for performance,
-        // as they cannot meaningfully interact with the cube.
-        if (distance > HIT_RADIUS * 3) {
-          continue;
-        }
+      // Initialize the previous velocity if this is the first tick tracking this cube.
+      if (!states.hasFlag(slot, CubeStateStore.FLAG_VELOCITY_TRACKED)) {
+        states.pushVelocity(slot, body.velX, body.velY, body.velZ);
+      }
+      body.setPreviousVelocity(states.getVelX(slot), states.getVelY(slot), states.getVelZ(slot));
 
-        // Cache the interaction data for later use.
-        playerInteractions.put(playerId, new PlayerInteraction(player, cache, distance));
+      // The world cannot be touched during compute, so probe the hop check's block up front.
+      body.groundSolid = hopTick && collisionCache.isSolid(cubeLocation.getWorld(),
+          (int) Math.floor(x), CubePhysicsEngine.groundBlockY(y), (int) Math.floor(z));
 
-        // Skip if player cannot interact or is out of touch range.
-        if (distance < HIT_RADIUS) {
-          double cubeSpeed = newVelocity.length(); // Current speed of the cube.
+      stepCubes[stepCount] = cube;
+      stepSlots[stepCount] = slot;
+      stepWorlds[stepCount] = world;
+      stepCount++;
+    }
+  }
 
-          // Apply speed dampening if cube is very close to player for dribbling effect.
-          if (distance < MIN_RADIUS && cubeSpeed > MIN_SPEED_FOR_DAMPENING) {
-            // Apply speed cap for dribbling effect.
-            newVelocity.multiply(DRIBBLE_SPEED_LIMIT / cubeSpeed);
-          }
+  /**
+   * Compute phase. Splits the stepped cubes into contiguous batches and steps them, in parallel
+   * when there are enough cubes to pay for the hand-off.
+   *
+   * @return the number of batches used
+   */
+  private int compute(long tick) {
+    int batchCount = 1;
+    if (stepCount >= PHYSICS_PARALLEL_MIN_CUBES) {
+      batchCount = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() + 1,
+          stepCount / PHYSICS_MIN_BATCH_SIZE));
+    }
+    ensureBatches(batchCount);
 
-          // Compute the resulting power from player movement and cube velocity.
-          double previousSpeed = Math.max(previousVelocity.length(), VECTOR_CHANGE_THRESHOLD);
-          double impactPower =
-              cache.speed / PLAYER_SPEED_TOUCH_DIVISOR + previousSpeed / CUBE_SPEED_TOUCH_DIVISOR;
+    for (int i = 0; i < batchCount; i++) {
+      StepBatch batch = batches[i];
+      batch.reinitialize();
+      batch.prepare(stepCount * i / batchCount, stepCount * (i + 1) / batchCount, tick);
+    }
 
-          // Directional push vector from player to cube.
-          Vector push = cache.direction.clone().multiply(impactPower);
-          newVelocity.add(
-              cubeSpeed < LOW_VELOCITY_THRESHOLD ? push.multiply(LOW_VELOCITY_PUSH_MULTIPLIER)
-                  : push);
+    if (batchCount == 1) {
+      batches[0].run();
+      return 1;
+    }
 
-          // Register the touch interaction with the organization system.
-          matchManager.kick(player);
-          wasMoved = true;
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    for (int i = 1; i < batchCount; i++) {
+      pool.execute(batches[i]);
+    }
+    batches[0].run();
+    for (int i = 1; i < batchCount; i++) {
+      batches[i].join();
+    }
+    return batchCount;
+  }
 
-          // Trigger sound effect if impact force exceeds threshold.
-          if (impactPower > MIN_SOUND_POWER) {
-            playSound = true;
-          }
-        }
-      }
+  /**
+   * Apply phase. Applies every computed body to its entity in slot order, together with the side
+   * effects the engine reported.
+   */
+  private void apply(int batchCount) {
+    CubeStateStore states = data.getCubeStates();
 
-      // --- Handle wall collisions and air drag effects ---
+    for (int b = 0; b < batchCount; b++) {
+      StepBatch batch = batches[b];
+      int touchIndex = 0;
 
-      // X-axis collision and drag adjustment.
-      // If the cube stops moving horizontally (X=0), bounce it back with reduced energy.
-      if (newVelocity.getX() == 0) {
-        // Reverse and reduce X velocity on collision.
-        newVelocity.setX(-previousVelocity.getX() * WALL_BOUNCE_FACTOR);
-        if (Math.abs(previousVelocity.getX()) > BOUNCE_THRESHOLD) {
-          playSound = true; // Trigger sound if impact force is strong enough.
-        }
-      } else {
-        // If cube wasn’t recently kicked and velocity change is small, apply gradual air drag slowdown.
-        if (!wasMoved && !cube.isOnGround()
-            && Math.abs(previousVelocity.getX() - newVelocity.getX()) < VECTOR_CHANGE_THRESHOLD) {
-          newVelocity.setX(previousVelocity.getX() * AIR_DRAG_FACTOR); // Apply air drag.
-        }
-      }
+      for (int i = batch.from; i < batch.to; i++) {
+        CubeBody body = bodies[i];
+        Slime cube = stepCubes[i];
 
-      // Z-axis collision and drag adjustment (mirrors X-axis logic).
-      if (newVelocity.getZ() == 0) {
-        // Reverse and reduce Z velocity on collision.
-        newVelocity.setZ(-previousVelocity.getZ() * WALL_BOUNCE_FACTOR);
-        if (Math.abs(previousVelocity.getZ()) > BOUNCE_THRESHOLD) {
-          playSound = true; // Trigger sound if impact force is strong enough.
+        // Register touches with the organization system, in touch order.
+        for (int end = batch.touchEnds[i - batch.from]; touchIndex < end; touchIndex++) {
+          matchManager.kick(players[batch.touchedHandles[touchIndex]]);
         }
-      } else {
-        // If cube wasn’t recently kicked and velocity change is small, apply gradual air drag slowdown.
-        if (!wasMoved && !cube.isOnGround()
-            && Math.abs(previousVelocity.getZ() - newVelocity.getZ()) < VECTOR_CHANGE_THRESHOLD) {
-          newVelocity.setZ(previousVelocity.getZ() * AIR_DRAG_FACTOR); // Apply air drag.
-        }
-      }
 
-      // Y-axis bounce (vertical collision against floor or ceiling).
-      // This ensures realistic vertical rebound, preventing velocity loss bugs on impact.
-      if (newVelocity.getY() < 0 && previousVelocity.getY() < 0
-          && previousVelocity.getY() < newVelocity.getY() - VERTICAL_BOUNCE_THRESHOLD) {
-        // Reverse and reduce Y velocity on downward collision.
-        newVelocity.setY(-previousVelocity.getY() * WALL_BOUNCE_FACTOR);
-        if (Math.abs(previousVelocity.getY()) > BOUNCE_THRESHOLD) {
-          playSound = true; // Trigger sound if impact force is strong enough.
+        if (body.playSound) {
+          system.queueSound(cube, body.x, body.y, body.z);
         }
-      }
 
-      // --- Anticipatory Hop Effect ---
-      // Applies upward force when players are nearby to prevent the cube from sticking to the ground.
-      // Only applies when cube is grounded, settled, and wasn't recently kicked.
-      if (data.getTickRate() % HOP_CHECK_INTERVAL == 0) {
-        double cubeY = cubeLocation.getY();
-        int blockBelowY = (int) Math.floor(cubeY - HOP_BLOCK_CHECK_OFFSET);
-
-        Location blockBelowLocation = cubeLocation.clone();
-        blockBelowLocation.setY(blockBelowY);
-        boolean isSolidBlockBelow = blockBelowLocation.getBlock().getType().isSolid();
-        double distanceToGround = cubeY - (blockBelowY + 1);
-
-        boolean isActuallyGrounded = isSolidBlockBelow && distanceToGround < HOP_MAX_GROUND_DISTANCE
-            && distanceToGround > HOP_MIN_GROUND_DISTANCE;
-        boolean isSettledOnGround = Math.abs(newVelocity.getY()) < HOP_SETTLED_VELOCITY_THRESHOLD;
-
-        if (isActuallyGrounded && isSettledOnGround) {
-          boolean hasClosePlayer = false;
-          double closestPlayerDistance = Double.MAX_VALUE;
-
-          // Find the closest player within hop range.
-          for (PlayerInteraction interaction : playerInteractions.values()) {
-            if (interaction.distance < closestPlayerDistance) {
-              closestPlayerDistance = interaction.distance;
-            }
-            if (interaction.distance < HOP_PLAYER_RANGE) {
-              hasClosePlayer = true;
-            }
-          }
-
-          // Apply hop force when players are nearby.
-          if (hasClosePlayer) {
-            double proximityFactor = 1 - (closestPlayerDistance / HOP_PLAYER_RANGE);
-            double bounceForce = MIN_BOUNCE_VELOCITY_Y * HOP_FORCE_MULTIPLIER * proximityFactor;
-            double minBounce = MIN_BOUNCE_VELOCITY_Y * HOP_MIN_BOUNCE_MULTIPLIER;
-
-            // Ensure minimum bounce strength.
-            if (bounceForce < minBounce) {
-              bounceForce = minBounce;
-            }
-
-            // Apply the hop if cube isn't already moving upward.
-            if (newVelocity.getY() < bounceForce) {
-              newVelocity.setY(bounceForce);
-              playSound = true;
-            }
-          } else if (data.getTickRate() % HOP_IDLE_CHECK_INTERVAL == 0) {
-            double idleHopForce = MIN_BOUNCE_VELOCITY_Y * HOP_IDLE_FORCE_MULTIPLIER;
-
-            // Apply gentle idle hop when no players are nearby to prevent settling.
-            if (newVelocity.getY() < idleHopForce) {
-              newVelocity.setY(idleHopForce);
-            }
-          }
+        // Log velocity cap violations to players with debugging permissions.
+        if (body.cappedFrom > 0) {
+          logger.send(PERM_HIT_DEBUG, HITDEBUG_VELOCITY_CAP,
+              String.format("%.2f", body.cappedFrom), String.valueOf(MAX_KP));
         }
-      }
 
-      // Queue impact sound effect if any significant collision occurred.
-      if (playSound) {
-        system.queueSound(cubeLocation);
+        // Apply final computed velocity to the cube unless the entity already has it, and update
+        // its tracked state either way.
+        EntitySlime handle = ((CraftSlime) cube).getHandle();
+        if (Math.abs(handle.motX - body.velX) <= velocityEpsilon
+            && Math.abs(handle.motY - body.velY) <= velocityEpsilon
+            && Math.abs(handle.motZ - body.velZ) <= velocityEpsilon) {
+          velocityUpdatesSuppressed++;
+        } else {
+          cube.setVelocity(velocityOut.setX(body.velX).setY(body.velY).setZ(body.velZ));
+          velocityUpdatesSent++;
+        }
+        states.pushVelocity(stepSlots[i], body.velX, body.velY, body.velZ);
       }
+    }
+  }
 
-      // --- Anti-clipping / Proximity Logic ---
-      // Prevents the cube from passing through players at high speeds.
-      double cubeSpeed = newVelocity.length();
-      if (cubeSpeed > VECTOR_CHANGE_THRESHOLD) {
-        Vector cubePos = cubeLocation.toVector(); // Precompute cube position vector for efficiency.
-        double minScaleFactor = 1; // Track minimum scale factor needed to prevent clipping.
-
-        // Evaluate each player interaction for potential clipping.
-        for (PlayerInteraction interaction : playerInteractions.values()) {
-          if (interaction == null || interaction.cache == null) {
-            continue;
-          }
+  private CubeBody nextBody() {
+    if (stepCount == bodies.length) {
+      int capacity = stepCount * 2;
+      bodies = Arrays.copyOf(bodies, capacity);
+      stepCubes = Arrays.copyOf(stepCubes, capacity);
+      stepSlots = Arrays.copyOf(stepSlots, capacity);
+      stepWorlds = Arrays.copyOf(stepWorlds, capacity);
+    }
 
-          // Retrieve cached player data and distance.
-          PlayerPhysicsCache cache = interaction.cache;
-          double distance = interaction.distance;
+    CubeBody body = bodies[stepCount];
+    if (body == null) {
+      body = new CubeBody();
+      bodies[stepCount] = body;
+    }
+    return body;
+  }
 
-          // Skip if player is too far away for clipping to be possible.
-          if (distance >= cubeSpeed * PROXIMITY_THRESHOLD_MULTIPLIER) {
-            continue;
-          }
+  private void ensureBatches(int count) {
+    if (batches.length >= count) {
+      return;
+    }
 
-          // Check vertical alignment with player height.
-          double playerLocationY = cache.location.getY();
-          Vector projectedNextPos = cubePos.clone().add(newVelocity);
-
-          // Check if the cube's vertical position aligns with player's height.
-          boolean withinY = (cubePos.getY() < playerLocationY + PLAYER_HEAD_LEVEL
-              && cubePos.getY() > playerLocationY - PLAYER_FOOT_LEVEL) || (
-              projectedNextPos.getY() < playerLocationY + PLAYER_HEAD_LEVEL
-                  && projectedNextPos.getY() > playerLocationY - PLAYER_FOOT_LEVEL);
-
-          // If vertically aligned, check if the cube's path intersects player's collision radius.
-          if (withinY && formulae.getPerpendicularDistance(newVelocity, cubePos, interaction.player)
-              < MIN_RADIUS) {
-            // Horizontal vector to player.
-            Vector toPlayer = cache.location.toVector().subtract(cubePos).setY(0).normalize();
-            // Horizontal movement direction.
-            Vector ballDirection = new Vector(newVelocity.getX(), 0,
-                newVelocity.getZ()).normalize();
-            // Cosine of angle between cube movement and direction to player.
-            double dot = toPlayer.dot(ballDirection);
-
-            // Scale back velocity if moving toward player to prevent clipping.
-            if (dot > ANTI_CLIP_DOT_THRESHOLD) {
-              // Scale factor based on distance and speed.
-              double scaleFactor = distance / cubeSpeed;
-              if (scaleFactor < minScaleFactor) {
-                minScaleFactor = scaleFactor; // Track minimum scale factor needed.
-              }
-            }
-          }
-        }
+    int previous = batches.length;
+    batches = Arrays.copyOf(batches, count);
+    for (int i = previous; i < count; i++) {
+      batches[i] = new StepBatch();
+    }
+  }
 
-        // Apply the most restrictive scale factor to the cube's velocity.
-        if (minScaleFactor < 1) {
-          newVelocity.multiply(minScaleFactor);
-        }
+  /**
+   * Builds a cache of player physics data for the current tick and indexes every eligible player
+   * in the spatial grid. This cache is reused for all cube-player interactions during this tick,
+   * reducing redundant calculations and improving performance.
+   *
+   * <p>Players who cannot interact are left out of the grid entirely, so the engine never has to
+   * check eligibility. Player bodies are pooled and refilled in place every tick.</p>
+   */
+  private void buildPlayerCache() {
+    playerGrid.clear();
+    int previousCount = playerCount;
+    playerCount = 0;
+
+    int sessionCount = sessions.getHighWaterMark();
+    for (int id = 0; id < sessionCount; id++) {
+      PlayerSession session = sessions.get(id);
+      Player player = session != null ? session.getPlayer() : null;
+      if (player == null || !player.isOnline()) {
+        continue;
+      }
+      if (system.notAllowedToInteract(player) || system.isAFK(session)) {
+        continue;
       }
 
-      // --- Velocity Capping ---
-      // If the ball exceeds MAX_KP, we scale the vector back to prevent "unreal" speeds.
-      double finalSpeed = newVelocity.length(); // Calculate final speed after all adjustments.
-      if (finalSpeed > MAX_KP) {
-        newVelocity.multiply(MAX_KP / finalSpeed); // Scale back to MAX_KP.
-        // Log violation to players with debugging permissions.
-        logger.send(PERM_HIT_DEBUG, HITDEBUG_VELOCITY_CAP, String.format("%.2f", finalSpeed),
-            String.valueOf(MAX_KP));
+      if (playerCount == playerBodies.length) {
+        playerBodies = Arrays.copyOf(playerBodies, playerCount * 2);
+        players = Arrays.copyOf(players, playerCount * 2);
+      }
+      PlayerBody playerBody = playerBodies[playerCount];
+      if (playerBody == null) {
+        playerBody = new PlayerBody();
+        playerBodies[playerCount] = playerBody;
       }
 
-      // Apply final computed velocity to the cube and update its tracked state.
-      cube.setVelocity(newVelocity);
-      data.getVelocities().put(cubeId, newVelocity.clone());
+      player.getLocation(playerLocation);
+      playerBody.handle = playerCount;
+      playerBody.x = playerLocation.getX();
+      playerBody.y = playerLocation.getY();
+      playerBody.z = playerLocation.getZ();
+      playerBody.setYaw(playerLocation.getYaw());
+      playerBody.speed = session.getSpeedOr(1.0D);
+      players[playerCount] = player;
+
+      playerGrid.insert(playerGrid.worldIndex(playerLocation.getWorld()), playerBody.x,
+          playerBody.z, playerCount);
+      playerCount++;
     }
 
-    // Finalize scheduled physics actions.
-    system.scheduleSound(); // Dispatch queued sound events to players.
-    system.scheduleCubeRemoval(); // Safely remove dead or invalid cube entities.
+    // Release players that are no longer cached so they can be garbage collected.
+    if (playerCount < previousCount) {
+      Arrays.fill(players, playerCount, previousCount, null);
+    }
+    playerLocation.setWorld(null);
   }
 
   /**
-   * Builds a cache of player physics data for the current tick. This cache is reused for all
-   * cube-player interactions during this tick, reducing redundant calculations and improving
-   * performance.
-   *
-   * @return a map of player UUIDs to their corresponding physics cache
+   * Whether the cube's entity is practically still: no horizontal motion and only the small
+   * vertical motion of gravity or an idle hop.
    */
-  private Map<UUID, PlayerPhysicsCache> buildPlayerCache() {
-    Map<UUID, PlayerPhysicsCache> cache = new HashMap<>();
-    for (Player player : fcManager.getCachedPlayers()) {
-      if (player == null || !player.isOnline()) {
-        continue;
+  private boolean isResting(EntitySlime handle) {
+    return handle.motX * handle.motX + handle.motZ * handle.motZ < SLEEP_HORIZONTAL_SPEED_SQUARED
+        && Math.abs(handle.motY) < HOP_SETTLED_VELOCITY_THRESHOLD;
+  }
+
+  /**
+   * Checks the spatial grid for an interacting player within {@code WAKE_RANGE} of a cube. The
+   * range is not larger than the grid cell, so the 3×3 cell query always covers it.
+   */
+  private boolean hasPlayerInRange(int world, double x, double y, double z) {
+    int candidates = playerGrid.query(world, x, z);
+    for (int i = 0; i < candidates; i++) {
+      PlayerBody player = playerBodies[playerGrid.result(i)];
+      if (CubePhysicsEngine.distance(x, y, z, player.x, player.y, player.z) < WAKE_RANGE) {
+        return true;
       }
-      cache.put(player.getUniqueId(), new PlayerPhysicsCache(player, system, data));
     }
-    return cache;
+    return false;
   }
 
   /**
-   * Temporary structure to store player interaction data during a single cube's processing.
-   * Prevents recalculating distances and player lookups in the anti-clipping phase.
-   *
-   * <p><b>Lifecycle:</b> Created during touch detection, reused in anti-clipping,
-   * then discarded at the end of each cube's processing.</p>
+   * A contiguous range of stepped cubes computed by one engine. Touched players are recorded per
+   * cube so the apply phase can replay them in order on the main thread.
    */
-  private static class PlayerInteraction {
+  private final class StepBatch extends RecursiveAction {
+
+    private final CubePhysicsEngine engine = new CubePhysicsEngine();
+
+    private int from;
+    private int to;
+    private long tick;
 
-    final Player player;
-    final PlayerPhysicsCache cache;
-    final double distance;
+    // Grid handles of touched players, and for each cube the end offset of its touches.
+    private int[] touchedHandles = new int[16];
+    private int[] touchEnds = new int[16];
 
-    PlayerInteraction(Player player, PlayerPhysicsCache cache, double distance) {
-      this.player = player;
-      this.cache = cache;
-      this.distance = distance;
+    private void prepare(int from, int to, long tick) {
+      this.from = from;
+      this.to = to;
+      this.tick = tick;
+      if (touchEnds.length < to - from) {
+        touchEnds = new int[Integer.highestOneBit(to - from) << 1];
+      }
     }
-  }
 
-  /**
-   * Immutable cache containing pre-calculated physics data for a player during a single tick.
-   * <p>
-   * This cache reduces redundant calculations when processing multiple cubes against the same
-   * player, improving performance by storing commonly accessed values like location, direction, and
-   * eligibility.
-   * </p>
-   *
-   * <p><b>Lifecycle:</b> Created once per player per tick in {@code buildPlayerCache()},
-   * then reused for all cube-player interactions during that tick.</p>
-   */
-  private static class PlayerPhysicsCache {
-
-    final Location location;
-    final Vector direction;
-    final double speed;
-    final boolean isIneligible;
-    final UUID playerId;
-
-    PlayerPhysicsCache(Player player, PhysicsSystem system, PhysicsData data) {
-      this.playerId = player.getUniqueId();
-      this.location = player.getLocation();
-      this.direction = location.getDirection().setY(0).normalize();
-      this.speed = data.getSpeed().getOrDefault(playerId, 1.0D);
-      this.isIneligible = system.notAllowedToInteract(player) || system.isAFK(player);
+    @Override
+    protected void compute() {
+      run();
     }
 
-    /**
-     * Checks if this player can interact with cubes during this physics tick.
-     *
-     * @return true if the player is eligible for cube interactions
-     */
-    public boolean canInteract() {
-      return !isIneligible;
+    private void run() {
+      int touchCount = 0;
+      for (int i = from; i < to; i++) {
+        engine.step(bodies[i], playerGrid, stepWorlds[i], playerBodies, tick, null);
+
+        for (int t = 0; t < engine.getTouchedCount(); t++) {
+          if (touchCount == touchedHandles.length) {
+            touchedHandles = Arrays.copyOf(touchedHandles, touchCount * 2);
+          }
+          touchedHandles[touchCount++] = engine.getTouched(t).handle;
+        }
+        touchEnds[i - from] = touchCount;
+      }
+      engine.clearScratch();
     }
   }
-}
\ No newline at end of file
+}
@@ -5,65 +5,56 @@ import static io.github.divinerealms.footcube.physics.PhysicsConstants.CHARGE_RE
 import static io.github.divinerealms.footcube.physics.PhysicsConstants.EXP_UPDATE_INTERVAL_TICKS;
 
 import io.github.divinerealms.footcube.core.FCManager;
-import io.github.divinerealms.footcube.physics.PhysicsData;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
 import org.bukkit.entity.Player;
 
 /**
  * Handles player-specific updates like charge recovery. Can be run at a lower frequency (e.g., 2-5
- * ticks) to save CPU.
+ * ticks) to save CPU. Runs as the input stage of {@link FootCubeTick}, which also calls
+ * {@link #showCharge()} in its presentation stage.
  */
 public class PlayerUpdateTask extends BaseTask {
 
-  private final PhysicsData data;
-  private final Set<UUID> playersToRemove = new HashSet<>();
+  private final PlayerSessionRegistry sessions;
 
   public PlayerUpdateTask(FCManager fcManager) {
-    super(fcManager, "PlayerUpdate", EXP_UPDATE_INTERVAL_TICKS, false);
-    this.data = fcManager.getPhysicsData();
+    super(fcManager, "PlayerUpdate", EXP_UPDATE_INTERVAL_TICKS, false,
+        TaskPriority.CRITICAL);
+    this.sessions = fcManager.getSessionRegistry();
   }
 
   @Override
   protected void kaboom() {
-    Map<UUID, Double> charges = data.getCharges();
-    if (charges.isEmpty()) {
-      return;
-    }
-
-    playersToRemove.clear();
-    Set<Player> onlinePlayers = fcManager.getCachedPlayers();
-
-    Map<UUID, Player> onlinePlayerMap = new HashMap<>(onlinePlayers.size());
-    for (Player player : onlinePlayers) {
-      if (player != null) {
-        onlinePlayerMap.put(player.getUniqueId(), player);
-      }
-    }
-
-    for (Map.Entry<UUID, Double> entry : charges.entrySet()) {
-      UUID uuid = entry.getKey();
-      Player player = onlinePlayerMap.get(uuid);
-      if (player == null) {
-        playersToRemove.add(uuid);
+    int sessionCount = sessions.getHighWaterMark();
+    for (int id = 0; id < sessionCount; id++) {
+      PlayerSession session = sessions.get(id);
+      if (session == null || !session.isCharging()) {
         continue;
       }
 
-      double currentCharge = entry.getValue();
+      double currentCharge = session.getCharge();
       double recoveredCharge = CHARGE_BASE_VALUE -
           (CHARGE_BASE_VALUE - currentCharge) * CHARGE_RECOVERY_RATE;
-      entry.setValue(recoveredCharge);
-
-      player.setExp((float) recoveredCharge);
+      session.setCharge(recoveredCharge);
     }
+  }
+
+  /**
+   * Shows the current charge of every charging player on their experience bar.
+   */
+  public void showCharge() {
+    int sessionCount = sessions.getHighWaterMark();
+    for (int id = 0; id < sessionCount; id++) {
+      PlayerSession session = sessions.get(id);
+      if (session == null || !session.isCharging()) {
+        continue;
+      }
 
-    if (!playersToRemove.isEmpty()) {
-      for (UUID uuid : playersToRemove) {
-        charges.remove(uuid);
+      Player player = session.getPlayer();
+      if (player != null) {
+        player.setExp((float) session.getCharge());
       }
     }
   }
-}
\ No newline at end of file
+}
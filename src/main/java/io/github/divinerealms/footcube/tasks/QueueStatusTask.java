@@ -16,7 +16,7 @@ public class QueueStatusTask extends BaseTask {
   private final Logger logger;
 
   public QueueStatusTask(FCManager fcManager) {
-    super(fcManager, "QueueStatus", 40, false);
+    super(fcManager, "QueueStatus", 40, false, TaskPriority.DEFERRABLE);
     this.logger = fcManager.getLogger();
   }
 
@@ -0,0 +1,14 @@
+package io.github.divinerealms.footcube.tasks;
+
+/**
+ * Order in which the {@link TaskScheduler} runs due tasks within a tick, and whether a task may be
+ * postponed when the tick is over budget.
+ */
+public enum TaskPriority {
+  /** Gameplay that must advance every time it is due: physics, matches, timers. */
+  CRITICAL,
+  /** Runs after critical tasks, but is never postponed. */
+  NORMAL,
+  /** Cosmetic or housekeeping work that may wait for a tick with budget left. */
+  DEFERRABLE
+}
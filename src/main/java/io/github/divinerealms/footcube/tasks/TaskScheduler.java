@@ -0,0 +1,153 @@
+package io.github.divinerealms.footcube.tasks;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_MAX_DEFERRAL_TICKS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_TICK_BUDGET_MS;
+
+import io.github.divinerealms.footcube.core.FCManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Cooperative scheduler that runs every {@link BaseTask} from a single timer within a per-tick time
+ * budget.
+ * <p>
+ * Each tick, the tasks that are due run in {@link TaskPriority} order, and in registration order
+ * within a priority. Before a {@link TaskPriority#DEFERRABLE} task runs, the scheduler checks the
+ * time the earlier tasks took this tick. If that already exceeds the budget, the task stays due and
+ * is tried again next tick. A task postponed {@code TASK_MAX_DEFERRAL_TICKS} ticks in a row runs
+ * anyway, so sustained load slows it down but never stops it.
+ * </p>
+ *
+ * <p>Async tasks are handed to the server's async pool when due and do not count against the
+ * budget. If their previous run has not finished yet, they are tried again next tick instead of
+ * running twice at once.</p>
+ *
+ * <p>The budget is read from {@code tasks.tick-budget-ms} in {@code config.yml} on start. Ticks over
+ * budget, postponed runs and forced runs are counted for the task report.</p>
+ *
+ * <p><b>Threading:</b> All methods must be called from the main server thread.</p>
+ */
+public class TaskScheduler implements Runnable {
+
+  private final FCManager fcManager;
+  private final BaseTask[] tasks;
+  private final LongSupplier clock;
+  private BukkitTask timer;
+  private long tick = 0;
+
+  @Getter
+  private long budgetNanos = (long) (TASK_TICK_BUDGET_MS * 1_000_000);
+  @Getter
+  private long ticks = 0;
+  @Getter
+  private long overruns = 0;
+  @Getter
+  private long deferrals = 0;
+  @Getter
+  private long forcedRuns = 0;
+  @Getter
+  private long worstOverrunNanos = 0;
+
+  public TaskScheduler(FCManager fcManager, List<BaseTask> tasks) {
+    this(fcManager, tasks, System::nanoTime);
+  }
+
+  /**
+   * @param clock Source of the time the budget is measured against, in {@link System#nanoTime()}
+   *              units.
+   */
+  TaskScheduler(FCManager fcManager, List<BaseTask> tasks, LongSupplier clock) {
+    this.fcManager = fcManager;
+    this.clock = clock;
+
+    // List.sort is stable, so registration order is kept within a priority.
+    List<BaseTask> sorted = new ArrayList<>(tasks);
+    sorted.sort(Comparator.comparing(BaseTask::getPriority));
+    this.tasks = sorted.toArray(new BaseTask[0]);
+  }
+
+  public void start() {
+    if (timer != null) {
+      return;
+    }
+
+    FileConfiguration config = fcManager.getConfigManager().getConfig("config.yml");
+    budgetNanos = (long) (config.getDouble("tasks.tick-budget-ms", TASK_TICK_BUDGET_MS)
+        * 1_000_000);
+    Plugin plugin = fcManager.getPlugin();
+    timer = plugin.getServer().getScheduler().runTaskTimer(plugin, this, 1, 1);
+  }
+
+  public void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  public boolean isRunning() {
+    return timer != null;
+  }
+
+  @Override
+  public void run() {
+    runTick(++tick);
+  }
+
+  /**
+   * Runs the tasks due on the given scheduler tick.
+   */
+  void runTick(long tick) {
+    long start = clock.getAsLong();
+
+    for (BaseTask task : tasks) {
+      if (!task.isRunning()) {
+        continue;
+      }
+      if (task.nextRunTick < 0) {
+        // Just started; first run after one interval, as a plain Bukkit timer would.
+        task.nextRunTick = tick + task.getInterval();
+      }
+      if (tick < task.nextRunTick) {
+        continue;
+      }
+
+      if (task.getPriority() == TaskPriority.DEFERRABLE
+          && clock.getAsLong() - start >= budgetNanos) {
+        if (task.deferredTicks < TASK_MAX_DEFERRAL_TICKS) {
+          task.deferredTicks++;
+          task.deferrals++;
+          deferrals++;
+          continue;
+        }
+        forcedRuns++;
+      }
+
+      if (task.dispatch()) {
+        task.deferredTicks = 0;
+        task.nextRunTick = tick + task.getInterval();
+      }
+    }
+
+    ticks++;
+    long used = clock.getAsLong() - start;
+    if (used > budgetNanos) {
+      overruns++;
+      worstOverrunNanos = Math.max(worstOverrunNanos, used - budgetNanos);
+    }
+  }
+
+  public void resetStats() {
+    ticks = 0;
+    overruns = 0;
+    deferrals = 0;
+    forcedRuns = 0;
+    worstOverrunNanos = 0;
+  }
+}
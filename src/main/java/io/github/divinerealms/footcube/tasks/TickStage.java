@@ -0,0 +1,20 @@
+package io.github.divinerealms.footcube.tasks;
+
+import lombok.Getter;
+
+/**
+ * Stages of the {@link FootCubeTick} pipeline, in the order they run within a tick.
+ */
+@Getter
+public enum TickStage {
+  INPUT("input"),
+  PHYSICS("physics"),
+  MATCH("match"),
+  PRESENTATION("presentation");
+
+  private final String displayName;
+
+  TickStage(String displayName) {
+    this.displayName = displayName;
+  }
+}
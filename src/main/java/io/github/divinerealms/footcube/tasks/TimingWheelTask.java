@@ -0,0 +1,23 @@
+package io.github.divinerealms.footcube.tasks;
+
+import io.github.divinerealms.footcube.core.FCManager;
+import io.github.divinerealms.footcube.utils.TimingWheel;
+
+/**
+ * Advances the plugin's {@link TimingWheel} once per server tick, firing every cooldown, ban and
+ * AFK expiry that is due.
+ */
+public class TimingWheelTask extends BaseTask {
+
+  private final TimingWheel timingWheel;
+
+  public TimingWheelTask(FCManager fcManager) {
+    super(fcManager, "TimingWheel", 1, false, TaskPriority.CRITICAL);
+    this.timingWheel = fcManager.getTimingWheel();
+  }
+
+  @Override
+  protected void kaboom() {
+    timingWheel.advance();
+  }
+}
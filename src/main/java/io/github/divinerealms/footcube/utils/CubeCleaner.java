@@ -4,7 +4,9 @@ import static io.github.divinerealms.footcube.configs.Lang.PRACTICE_AREAS_EMPTY;
 
 import io.github.divinerealms.footcube.core.FCManager;
 import io.github.divinerealms.footcube.managers.ConfigManager;
+import io.github.divinerealms.footcube.physics.CubeStateStore;
 import io.github.divinerealms.footcube.physics.PhysicsData;
+import io.github.divinerealms.footcube.physics.utilities.PhysicsSystem;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Getter;
@@ -16,8 +18,10 @@ public class CubeCleaner {
 
   private final FileConfiguration practice;
   private final PhysicsData physicsData;
+  private final PhysicsSystem physicsSystem;
 
   private final List<PracticeArea> practiceAreas;
+  private final Location cubeLocation = new Location(null, 0, 0, 0);
 
   @Getter
   public boolean empty;
@@ -30,6 +34,7 @@ public class CubeCleaner {
     ConfigManager configManager = fcManager.getConfigManager();
     this.practice = configManager.getConfig("practice.yml");
     this.physicsData = fcManager.getPhysicsData();
+    this.physicsSystem = fcManager.getPhysicsSystem();
     this.practiceAreas = new ArrayList<>();
     Logger logger = fcManager.getLogger();
 
@@ -80,6 +85,7 @@ public class CubeCleaner {
       return;
     }
 
+    CubeStateStore states = physicsData.getCubeStates();
     for (Slime cube : physicsData.getCubes()) {
       if (cube == null) {
         continue;
@@ -88,20 +94,28 @@ public class CubeCleaner {
         continue;
       }
 
-      Location cubeLocation = cube.getLocation();
-      if (cubeLocation == null) {
-        continue;
+      // Sleeping cubes have not moved since the physics task last stored their position, so
+      // skip the entity lookup and use the stored coordinates instead.
+      int slot = states.slotOf(cube);
+      if (slot != -1 && states.isSleeping(slot)) {
+        cubeLocation.setWorld(cube.getWorld());
+        cubeLocation.setX(states.getX(slot));
+        cubeLocation.setY(states.getY(slot));
+        cubeLocation.setZ(states.getZ(slot));
+      } else {
+        cube.getLocation(cubeLocation);
       }
 
       for (PracticeArea area : practiceAreas) {
         if (area.contains(cubeLocation)) {
           this.amount++;
           this.empty = false;
-          cube.setHealth(0);
+          physicsSystem.removeCube(cube);
           break;
         }
       }
     }
+    cubeLocation.setWorld(null);
   }
 
   public boolean noPracticeAreasSet() {
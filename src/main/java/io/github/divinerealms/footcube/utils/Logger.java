@@ -5,6 +5,8 @@ import static io.github.divinerealms.footcube.configs.Lang.PREFIX_ADMIN;
 
 import io.github.divinerealms.footcube.configs.Lang;
 import io.github.divinerealms.footcube.core.FCManager;
+import io.github.divinerealms.footcube.session.PlayerSession;
+import io.github.divinerealms.footcube.session.PlayerSessionRegistry;
 import lombok.Getter;
 import net.minecraft.server.v1_8_R3.IChatBaseComponent;
 import net.minecraft.server.v1_8_R3.IChatBaseComponent.ChatSerializer;
@@ -108,8 +110,11 @@ public class Logger {
     String formatted = formatMessage(messageObj, args);
     double radiusSquared = radius * radius;
 
-    for (Player player : fcManager.getCachedPlayers()) {
-      if (player.getWorld() != center.getWorld()) {
+    PlayerSessionRegistry sessions = fcManager.getSessionRegistry();
+    for (int id = 0; id < sessions.getHighWaterMark(); id++) {
+      PlayerSession session = sessions.get(id);
+      Player player = session != null ? session.getPlayer() : null;
+      if (player == null || player.getWorld() != center.getWorld()) {
         continue;
       }
 
@@ -182,8 +187,13 @@ public class Logger {
     IChatBaseComponent iChatBaseComponent = ChatSerializer.a("{\"text\":\"" + message + "\"}");
     PacketPlayOutChat packet = new PacketPlayOutChat(iChatBaseComponent, (byte) 2);
 
-    for (Player player : fcManager.getCachedPlayers()) {
-      ((CraftPlayer) player).getHandle().playerConnection.sendPacket(packet);
+    PlayerSessionRegistry sessions = fcManager.getSessionRegistry();
+    for (int id = 0; id < sessions.getHighWaterMark(); id++) {
+      PlayerSession session = sessions.get(id);
+      Player player = session != null ? session.getPlayer() : null;
+      if (player != null) {
+        ((CraftPlayer) player).getHandle().playerConnection.sendPacket(packet);
+      }
     }
   }
 
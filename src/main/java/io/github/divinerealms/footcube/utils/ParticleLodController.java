@@ -0,0 +1,183 @@
+package io.github.divinerealms.footcube.utils;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_PACKET_BUDGET;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_RECOVERY_WINDOWS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_SAMPLE_TICKS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_TICK_BUDGET_MS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_TICK_RECOVERY_MS;
+
+import lombok.Getter;
+
+/**
+ * Level-of-detail controller for cube particle trails.
+ * <p>
+ * Trails are the first thing to give up when the server is under load. The controller watches two
+ * signals over windows of {@code LOD_SAMPLE_TICKS} server ticks:
+ * </p>
+ * <ul>
+ *   <li>The average time the main thread spent in the FootCube tick pipeline per tick, as reported
+ *   by the caller. Its budget, {@code LOD_TICK_BUDGET_MS}, is a small share of the 50ms tick, so
+ *   trails give way while the server still has headroom instead of after it started to lag.</li>
+ *   <li>The peak number of trail packets a single viewer received in one run.</li>
+ * </ul>
+ *
+ * <p>A window over either budget drops one {@link Tier}. Quality comes back one tier at a time,
+ * and only after {@code LOD_RECOVERY_WINDOWS} windows in a row with clear headroom on both
+ * signals, so the controller does not flap around a threshold.</p>
+ *
+ * <p>Each tier caps trail points, scales particle counts and thins out update frequency, and is
+ * harsher on the {@link #BAND_FAR far band}, where players notice the trail least.</p>
+ *
+ * <p><b>Threading:</b> Owned by the particle task. The tier and the last measurements are
+ * published through volatile fields so the task report can read them from any thread.</p>
+ */
+public class ParticleLodController {
+
+  /** Viewers between the inner particle distance and {@code LOD_FAR_BAND_DISTANCE}. */
+  public static final int BAND_NEAR = 0;
+  /** Viewers beyond {@code LOD_FAR_BAND_DISTANCE}. */
+  public static final int BAND_FAR = 1;
+
+  private static final Tier[] TIERS = Tier.values();
+
+  @Getter
+  private volatile Tier tier = Tier.FULL;
+  @Getter
+  private volatile double tickMillis = 0;
+  @Getter
+  private volatile int peakPacketsPerViewer = 0;
+
+  private long run = 0;
+  private long windowStartBusyNanos = 0;
+  private long windowStartTick = -1;
+  private int windowPeakPackets = 0;
+  private int headroomWindows = 0;
+
+  /**
+   * Starts a particle run. Call once at the beginning of every run, before {@link #isDue}.
+   */
+  public void beginRun() {
+    run++;
+  }
+
+  /**
+   * Whether viewers in the given band get a trail update on this run.
+   */
+  public boolean isDue(int band) {
+    return run % tier.getStride(band) == 0;
+  }
+
+  /**
+   * Caps the number of trail points for the given band.
+   */
+  public int getTrailPoints(int band, int wanted) {
+    return Math.min(wanted, tier.getTrailPoints(band));
+  }
+
+  /**
+   * Scales a particle count for the given band, never below one.
+   */
+  public int scaleCount(int band, int count) {
+    return Math.max(1, Math.round(count * tier.getCountScale(band)));
+  }
+
+  /**
+   * Ends a particle run and moves to another tier if a sample window has completed.
+   *
+   * @param peakPackets the most packets any single viewer received during the run
+   * @param tick        running count of pipeline ticks
+   * @param busyNanos   running total of time spent in those ticks, in nanoseconds
+   */
+  public void endRun(int peakPackets, long tick, long busyNanos) {
+    windowPeakPackets = Math.max(windowPeakPackets, peakPackets);
+
+    // The totals start over when the pipeline task restarts.
+    if (windowStartTick < 0 || tick < windowStartTick || busyNanos < windowStartBusyNanos) {
+      startWindow(busyNanos, tick);
+      return;
+    }
+
+    long ticks = tick - windowStartTick;
+    if (ticks < LOD_SAMPLE_TICKS) {
+      return;
+    }
+
+    double averageTick = (busyNanos - windowStartBusyNanos) / 1_000_000.0 / ticks;
+    tickMillis = averageTick;
+    peakPacketsPerViewer = windowPeakPackets;
+
+    boolean overBudget = averageTick > LOD_TICK_BUDGET_MS || windowPeakPackets > LOD_PACKET_BUDGET;
+    boolean headroom = averageTick < LOD_TICK_RECOVERY_MS
+        && windowPeakPackets < LOD_PACKET_BUDGET / 2;
+
+    if (overBudget) {
+      headroomWindows = 0;
+      if (tier.ordinal() < TIERS.length - 1) {
+        tier = TIERS[tier.ordinal() + 1];
+      }
+    } else if (headroom && tier != Tier.FULL) {
+      if (++headroomWindows >= LOD_RECOVERY_WINDOWS) {
+        headroomWindows = 0;
+        tier = TIERS[tier.ordinal() - 1];
+      }
+    } else {
+      headroomWindows = 0;
+    }
+
+    startWindow(busyNanos, tick);
+  }
+
+  /**
+   * Returns to full quality and forgets every measurement.
+   */
+  public void reset() {
+    tier = Tier.FULL;
+    tickMillis = 0;
+    peakPacketsPerViewer = 0;
+    windowStartTick = -1;
+    windowPeakPackets = 0;
+    headroomWindows = 0;
+  }
+
+  private void startWindow(long busyNanos, long tick) {
+    windowStartBusyNanos = busyNanos;
+    windowStartTick = tick;
+    windowPeakPackets = 0;
+  }
+
+  /**
+   * Quality tiers, from full detail down. Values are given as {near band, far band}.
+   */
+  public enum Tier {
+    FULL(5, 5, 1.0F, 1.0F, 1, 1),
+    REDUCED(4, 3, 0.75F, 0.5F, 1, 2),
+    LOW(3, 2, 0.5F, 0.35F, 1, 3),
+    MINIMAL(2, 2, 0.35F, 0.25F, 2, 4);
+
+    private final int[] trailPoints;
+    private final float[] countScales;
+    private final int[] strides;
+
+    Tier(int nearPoints, int farPoints, float nearScale, float farScale,
+        int nearStride, int farStride) {
+      this.trailPoints = new int[]{nearPoints, farPoints};
+      this.countScales = new float[]{nearScale, farScale};
+      this.strides = new int[]{nearStride, farStride};
+    }
+
+    /** Most trail points drawn per cube. */
+    public int getTrailPoints(int band) {
+      return trailPoints[band];
+    }
+
+    /** Multiplier applied to particle counts. */
+    public float getCountScale(int band) {
+      return countScales[band];
+    }
+
+    /** Viewers are updated on every {@code stride}-th run. */
+    public int getStride(int band) {
+      return strides[band];
+    }
+  }
+}
@@ -1,25 +1,70 @@
 package io.github.divinerealms.footcube.utils;
 
+import io.github.divinerealms.footcube.utils.profiler.LatencySnapshot;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 /**
- * Data class to hold average execution times for various tasks.
+ * Data class to hold the execution times of every task: p50, p90, p99, p99.9 and max over the
+ * rolling window and over the task's lifetime, plus totals across tasks.
  */
 @Getter
 @AllArgsConstructor
 public class TaskStats {
 
-  private final double physicsAvgMs, touchCleanupAvgMs, playerUpdateAvgMs, particleTrailAvgMs,
-      cubeCleanerAvgMs, matchmakingAvgMs, cacheCleanupAvgMs, queueStatusAvgMs, highScoresAvgMs;
+  private final List<Entry> tasks;
 
+  /**
+   * Sum of the rolling mean execution times of the tasks counted in the totals, in milliseconds.
+   */
   public double getTotalAverageMs() {
-    return physicsAvgMs + touchCleanupAvgMs + playerUpdateAvgMs
-        + particleTrailAvgMs + cubeCleanerAvgMs + matchmakingAvgMs
-        + cacheCleanupAvgMs + queueStatusAvgMs + highScoresAvgMs;
+    double total = 0;
+    for (Entry task : tasks) {
+      if (task.isCounted()) {
+        total += task.getRecent().getMeanNanos();
+      }
+    }
+    return total / 1_000_000.0;
   }
 
   public double getAveragePerTask() {
-    return getTotalAverageMs() / 9;
+    int counted = 0;
+    for (Entry task : tasks) {
+      if (task.isCounted()) {
+        counted++;
+      }
+    }
+    return counted == 0 ? 0 : getTotalAverageMs() / counted;
+  }
+
+  /**
+   * Highest rolling p99 of any task counted in the totals, in milliseconds.
+   */
+  public double getWorstP99Ms() {
+    long worst = 0;
+    for (Entry task : tasks) {
+      if (task.isCounted()) {
+        worst = Math.max(worst, task.getRecent().getP99Nanos());
+      }
+    }
+    return worst / 1_000_000.0;
+  }
+
+  /**
+   * Execution times of a single task. Tasks whose time already contains that of other tasks, such
+   * as the tick pipeline around its stages, are not counted in the totals.
+   */
+  @Getter
+  @AllArgsConstructor
+  public static class Entry {
+
+    private final String name;
+    private final boolean running;
+    private final long executions;
+    private final long deferrals;
+    private final boolean counted;
+    private final LatencySnapshot recent;
+    private final LatencySnapshot lifetime;
   }
 }
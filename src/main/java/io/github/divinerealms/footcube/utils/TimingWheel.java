@@ -0,0 +1,220 @@
+package io.github.divinerealms.footcube.utils;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel driven by the server tick, used for every time-based expiry in the plugin.
+ * <p>
+ * Timers are hashed into a fixed ring of buckets by their deadline tick. Each {@link #advance()}
+ * moves the cursor one bucket and fires the timers whose deadline has come; timers further out
+ * than one revolution carry a round counter and stay in their bucket until it reaches zero.
+ * Scheduling, rescheduling and cancelling are O(1), and a tick costs O(timers in one bucket).
+ * </p>
+ *
+ * <p><b>Usage:</b></p>
+ * <ul>
+ *   <li>{@link #schedule(long, Runnable)} for fire-and-forget expiries.</li>
+ *   <li>{@link #newTimer(Runnable)} plus {@link #schedule(Timer, long)} for timers that are pushed
+ *   back over and over (e.g. AFK detection); rescheduling reuses the same node and does not
+ *   allocate.</li>
+ * </ul>
+ *
+ * <p>Timers fire late rather than early: when the server lags, ticks and therefore deadlines
+ * stretch with it. Callers that need wall-clock precision should keep their timestamp and use the
+ * wheel only to evict it.</p>
+ *
+ * <p><b>Threading:</b> All methods must be called from the main server thread.</p>
+ */
+public class TimingWheel {
+
+  public static final long MILLIS_PER_TICK = 50;
+
+  private final Timer[] buckets;
+  private final int mask;
+
+  // Timers due in the current tick, with the generation they were due at. Grown, never shrunk.
+  private Timer[] expired = new Timer[16];
+  private long[] expiredGenerations = new long[16];
+  private int expiredCount = 0;
+
+  // Volatile so async tasks can use the wheel as a tick clock.
+  private volatile long currentTick = 0;
+  private int pendingCount = 0;
+
+  public TimingWheel() {
+    this(512);
+  }
+
+  /**
+   * @param bucketCount Number of buckets in the ring; rounded up to a power of two.
+   */
+  public TimingWheel(int bucketCount) {
+    int size = 1;
+    while (size < bucketCount) {
+      size <<= 1;
+    }
+    this.buckets = new Timer[size];
+    this.mask = size - 1;
+  }
+
+  /**
+   * Converts a duration in milliseconds to whole server ticks, rounding up.
+   */
+  public static long ticksFor(long millis) {
+    return Math.max(1, (millis + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK);
+  }
+
+  /**
+   * Creates an unscheduled timer that runs the given action when it fires.
+   */
+  public Timer newTimer(Runnable action) {
+    return new Timer(action);
+  }
+
+  /**
+   * Schedules a one-off action.
+   *
+   * @param delayTicks Ticks from now until the action runs; at least one.
+   * @param action     The action to run.
+   * @return The scheduled timer, which may be cancelled.
+   */
+  public Timer schedule(long delayTicks, Runnable action) {
+    Timer timer = new Timer(action);
+    schedule(timer, delayTicks);
+    return timer;
+  }
+
+  /**
+   * Schedules a timer, moving it if it is already pending.
+   *
+   * @param timer      The timer to schedule.
+   * @param delayTicks Ticks from now until the timer fires; at least one.
+   */
+  public void schedule(Timer timer, long delayTicks) {
+    if (timer.bucket != -1) {
+      unlink(timer);
+    }
+
+    long delay = Math.max(1, delayTicks);
+    int bucket = (int) ((currentTick + delay) & mask);
+    timer.rounds = (delay - 1) / buckets.length;
+    timer.generation++;
+    timer.bucket = bucket;
+    timer.prev = null;
+    timer.next = buckets[bucket];
+    if (timer.next != null) {
+      timer.next.prev = timer;
+    }
+    buckets[bucket] = timer;
+    pendingCount++;
+  }
+
+  /**
+   * Cancels a timer. A timer that is already due in the current tick, but has not run yet, does
+   * not run either.
+   */
+  public void cancel(Timer timer) {
+    timer.generation++;
+    if (timer.bucket != -1) {
+      unlink(timer);
+    }
+  }
+
+  /**
+   * Advances the wheel by one tick and fires every timer that is due. Timers rescheduled or
+   * cancelled by an earlier callback in the same tick are skipped.
+   */
+  public void advance() {
+    currentTick++;
+    int bucket = (int) (currentTick & mask);
+
+    for (Timer timer = buckets[bucket]; timer != null; ) {
+      Timer next = timer.next;
+      if (timer.rounds > 0) {
+        timer.rounds--;
+      } else {
+        unlink(timer);
+        if (expiredCount == expired.length) {
+          expired = Arrays.copyOf(expired, expiredCount * 2);
+          expiredGenerations = Arrays.copyOf(expiredGenerations, expiredCount * 2);
+        }
+        expired[expiredCount] = timer;
+        expiredGenerations[expiredCount] = timer.generation;
+        expiredCount++;
+      }
+      timer = next;
+    }
+
+    int count = expiredCount;
+    expiredCount = 0;
+    for (int i = 0; i < count; i++) {
+      Timer timer = expired[i];
+      expired[i] = null;
+      if (timer.bucket == -1 && timer.generation == expiredGenerations[i]) {
+        timer.action.run();
+      }
+    }
+  }
+
+  /**
+   * Drops every pending timer without firing it.
+   */
+  public void clear() {
+    for (Timer head : buckets) {
+      for (Timer timer = head; timer != null; ) {
+        Timer next = timer.next;
+        timer.bucket = -1;
+        timer.prev = null;
+        timer.next = null;
+        timer.generation++;
+        timer = next;
+      }
+    }
+    Arrays.fill(buckets, null);
+    pendingCount = 0;
+  }
+
+  public int getPendingCount() {
+    return pendingCount;
+  }
+
+  public long getCurrentTick() {
+    return currentTick;
+  }
+
+  private void unlink(Timer timer) {
+    if (timer.prev != null) {
+      timer.prev.next = timer.next;
+    } else {
+      buckets[timer.bucket] = timer.next;
+    }
+    if (timer.next != null) {
+      timer.next.prev = timer.prev;
+    }
+    timer.prev = null;
+    timer.next = null;
+    timer.bucket = -1;
+    pendingCount--;
+  }
+
+  /**
+   * A node in the wheel. A timer can be scheduled, fired and scheduled again any number of times.
+   */
+  public static final class Timer {
+
+    private final Runnable action;
+    private Timer prev;
+    private Timer next;
+    private int bucket = -1;
+    private long rounds;
+    private long generation;
+
+    private Timer(Runnable action) {
+      this.action = action;
+    }
+
+    public boolean isPending() {
+      return bucket != -1;
+    }
+  }
+}
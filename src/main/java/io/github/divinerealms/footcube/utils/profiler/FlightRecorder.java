@@ -0,0 +1,347 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import static io.github.divinerealms.footcube.configs.Lang.RECORDER_SPIKE;
+import static io.github.divinerealms.footcube.utils.Permissions.PERM_ADMIN;
+
+import io.github.divinerealms.footcube.utils.Logger;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import lombok.Getter;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Always-on ring buffer of the last ticks, dumped to a file around lag spikes.
+ * <p>
+ * Every tick adds one entry: the time of each tick stage, and the number of cubes, players, sounds
+ * queued, packets sent, matches updated and player data saves in flight. Entries are kept in
+ * parallel primitive arrays that are overwritten in place, so recording costs a few array writes
+ * and allocates nothing.
+ * </p>
+ *
+ * <p>When the stages of a tick add up to more than the threshold, the recorder waits
+ * {@code postTicks} more ticks and then dumps the whole buffer, so the file shows the ticks leading
+ * up to the spike as well as the ones after it. Automatic dumps are at least {@code cooldown} apart.
+ * {@link #dump(String)} writes the buffer on demand. Dumps are CSV files under
+ * {@code flight-recorder/} in the plugin data folder, named after the time of the dump.</p>
+ *
+ * <p>The recorder itself only decides when to dump and copies the buffer into a {@link Dump}. The
+ * dump is handed to a sink, which on the server announces spikes to admins and writes the file on
+ * the async pool.</p>
+ *
+ * <p><b>Threading:</b> All methods must be called from the main server thread. The buffer is
+ * copied there; only formatting and writing the file happen asynchronously.</p>
+ */
+public class FlightRecorder {
+
+  private static final int COLUMNS = 6;
+  private static final int CUBES = 0;
+  private static final int PLAYERS = 1;
+  private static final int SOUNDS = 2;
+  private static final int PACKETS = 3;
+  private static final int MATCHES = 4;
+  private static final int SAVES = 5;
+
+  private final File folder;
+  private final String[] stageNames;
+  private final int stageCount;
+  private final LongSupplier clock;
+  private final Consumer<Dump> sink;
+
+  @Getter
+  private boolean enabled = true;
+  @Getter
+  private int capacity = 0;
+  private long thresholdNanos;
+  private int postTicks;
+  private long cooldownMillis;
+
+  private long[] times = new long[0];
+  private long[] ticks = new long[0];
+  private long[] stageNanos = new long[0];
+  private int[] counters = new int[0];
+  private int next = 0;
+  private int size = 0;
+  @Getter
+  private long recorded = 0;
+
+  private int dumpCountdown = 0;
+  private long spikeTick;
+  private long spikeNanos;
+  private long lastSpikeMillis = 0;
+  @Getter
+  private long spikes = 0;
+
+  public FlightRecorder(Plugin plugin, Logger logger, String[] stageNames) {
+    this(new File(plugin.getDataFolder(), "flight-recorder"), stageNames,
+        System::currentTimeMillis, dump -> writeAsync(plugin, logger, dump));
+  }
+
+  /**
+   * @param folder     Folder dumps are named into.
+   * @param stageNames Name of each tick stage, in stage order.
+   * @param clock      Wall clock in milliseconds, for entry times, the cooldown and file names.
+   * @param sink       Receives every dump on the main thread.
+   */
+  FlightRecorder(File folder, String[] stageNames, LongSupplier clock, Consumer<Dump> sink) {
+    this.folder = folder;
+    this.stageNames = stageNames;
+    this.stageCount = stageNames.length;
+    this.clock = clock;
+    this.sink = sink;
+  }
+
+  /**
+   * Applies new settings. Changing the capacity clears the buffer.
+   *
+   * @param enabled         Whether ticks are recorded at all.
+   * @param capacity        Number of ticks kept.
+   * @param thresholdMs     Tick time that counts as a spike, in milliseconds.
+   * @param postTicks       Ticks recorded after a spike before the buffer is dumped.
+   * @param cooldownSeconds Least time between two automatic dumps.
+   */
+  public void configure(boolean enabled, int capacity, double thresholdMs, int postTicks,
+      long cooldownSeconds) {
+    this.enabled = enabled;
+    this.thresholdNanos = (long) (thresholdMs * 1_000_000);
+    this.cooldownMillis = cooldownSeconds * 1000;
+    capacity = Math.max(1, capacity);
+    this.postTicks = Math.max(0, Math.min(postTicks, capacity - 1));
+    dumpCountdown = 0;
+
+    if (capacity != this.capacity) {
+      this.capacity = capacity;
+      times = new long[capacity];
+      ticks = new long[capacity];
+      stageNanos = new long[capacity * stageCount];
+      counters = new int[capacity * COLUMNS];
+      next = 0;
+      size = 0;
+    }
+  }
+
+  /**
+   * Adds one tick to the buffer, and dumps it if a spike recorded earlier has been followed by
+   * enough ticks.
+   *
+   * @param tick    Tick number.
+   * @param stages  Time of each stage in nanoseconds, in stage order.
+   * @param cubes   Cubes in play.
+   * @param players Online players with a session.
+   * @param sounds  Sounds queued this tick.
+   * @param packets Packets sent this tick.
+   * @param matches Matches updated this tick.
+   * @param saves   Player data saves in flight.
+   */
+  public void record(long tick, long[] stages, int cubes, int players, int sounds, int packets,
+      int matches, int saves) {
+    if (!enabled || capacity == 0) {
+      return;
+    }
+
+    long now = clock.getAsLong();
+    int slot = next;
+    times[slot] = now;
+    ticks[slot] = tick;
+    long total = 0;
+    for (int i = 0; i < stageCount; i++) {
+      stageNanos[slot * stageCount + i] = stages[i];
+      total += stages[i];
+    }
+    int base = slot * COLUMNS;
+    counters[base + CUBES] = cubes;
+    counters[base + PLAYERS] = players;
+    counters[base + SOUNDS] = sounds;
+    counters[base + PACKETS] = packets;
+    counters[base + MATCHES] = matches;
+    counters[base + SAVES] = saves;
+
+    next = (slot + 1) % capacity;
+    size = Math.min(size + 1, capacity);
+    recorded++;
+
+    if (dumpCountdown > 0) {
+      if (--dumpCountdown == 0) {
+        dumpSpike();
+      }
+      return;
+    }
+
+    if (total >= thresholdNanos && now - lastSpikeMillis >= cooldownMillis) {
+      lastSpikeMillis = now;
+      spikeTick = tick;
+      spikeNanos = total;
+      spikes++;
+      if (postTicks == 0) {
+        dumpSpike();
+      } else {
+        dumpCountdown = postTicks;
+      }
+    }
+  }
+
+  /**
+   * Writes the current buffer to a new file.
+   *
+   * @param reason Written to the file header.
+   * @return The file being written, or {@code null} if nothing was recorded yet.
+   */
+  public File dump(String reason) {
+    return dump(reason, false);
+  }
+
+  private File dump(String reason, boolean spike) {
+    if (size == 0) {
+      return null;
+    }
+
+    // Copy oldest first; the copy is handed to the writer, which runs off the main thread.
+    int count = size;
+    int oldest = (next - count + capacity) % capacity;
+    long[] timesCopy = new long[count];
+    long[] ticksCopy = new long[count];
+    long[] stagesCopy = new long[count * stageCount];
+    int[] countersCopy = new int[count * COLUMNS];
+    for (int i = 0; i < count; i++) {
+      int slot = (oldest + i) % capacity;
+      timesCopy[i] = times[slot];
+      ticksCopy[i] = ticks[slot];
+      System.arraycopy(stageNanos, slot * stageCount, stagesCopy, i * stageCount, stageCount);
+      System.arraycopy(counters, slot * COLUMNS, countersCopy, i * COLUMNS, COLUMNS);
+    }
+
+    File file = new File(folder, "ticks-"
+        + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date(clock.getAsLong()))
+        + ".csv");
+    sink.accept(new Dump(file, reason, spike ? spikeNanos : -1, thresholdNanos, stageNames,
+        count, timesCopy, ticksCopy, stagesCopy, countersCopy));
+    return file;
+  }
+
+  private void dumpSpike() {
+    dump("tick " + spikeTick + " took " + formatMillis(spikeNanos) + "ms", true);
+  }
+
+  /**
+   * Announces spike dumps to admins, then writes the file on the async pool.
+   */
+  private static void writeAsync(Plugin plugin, Logger logger, Dump dump) {
+    if (dump.isSpike()) {
+      logger.send(PERM_ADMIN, RECORDER_SPIKE, formatMillis(dump.spikeNanos), dump.file.getName());
+    }
+
+    plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+      try {
+        dump.write();
+      } catch (IOException exception) {
+        plugin.getLogger().log(Level.SEVERE, "Error writing flight recorder dump:", exception);
+      }
+    });
+  }
+
+  private static String formatMillis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+  }
+
+  /**
+   * Copy of the buffer taken for one dump, oldest tick first, with per-tick stage times and
+   * counters flattened the same way as in the recorder.
+   */
+  static final class Dump {
+
+    final File file;
+    final String reason;
+    /** Total time of the tick that triggered the dump, or {@code -1} for a dump on demand. */
+    final long spikeNanos;
+    final long thresholdNanos;
+    final String[] stageNames;
+    final int count;
+    final long[] times;
+    final long[] ticks;
+    final long[] stageNanos;
+    final int[] counters;
+
+    private Dump(File file, String reason, long spikeNanos, long thresholdNanos,
+        String[] stageNames, int count, long[] times, long[] ticks, long[] stageNanos,
+        int[] counters) {
+      this.file = file;
+      this.reason = reason;
+      this.spikeNanos = spikeNanos;
+      this.thresholdNanos = thresholdNanos;
+      this.stageNames = stageNames;
+      this.count = count;
+      this.times = times;
+      this.ticks = ticks;
+      this.stageNanos = stageNanos;
+      this.counters = counters;
+    }
+
+    boolean isSpike() {
+      return spikeNanos >= 0;
+    }
+
+    /**
+     * Writes the dump to its file, creating the folder if needed.
+     */
+    void write() throws IOException {
+      File folder = file.getParentFile();
+      if (!folder.isDirectory() && !folder.mkdirs()) {
+        throw new IOException("Could not create " + folder);
+      }
+
+      try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(),
+          StandardCharsets.UTF_8)) {
+        writeCsv(writer);
+      }
+    }
+
+    /**
+     * Writes the header comments, the column names and one row per tick.
+     */
+    void writeCsv(BufferedWriter writer) throws IOException {
+      int stageCount = stageNames.length;
+      SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+      writer.write("# FootCube flight recorder");
+      writer.newLine();
+      writer.write("# reason: " + reason);
+      writer.newLine();
+      writer.write("# threshold: " + formatMillis(thresholdNanos) + "ms, ticks: " + count);
+      writer.newLine();
+
+      StringBuilder line = new StringBuilder("time,tick,total_ms");
+      for (String stage : stageNames) {
+        line.append(',').append(stage).append("_ms");
+      }
+      line.append(",cubes,players,sounds_queued,packets_sent,matches_updated,saves_in_flight");
+      writer.write(line.toString());
+      writer.newLine();
+
+      for (int i = 0; i < count; i++) {
+        line.setLength(0);
+        long total = 0;
+        for (int stage = 0; stage < stageCount; stage++) {
+          total += stageNanos[i * stageCount + stage];
+        }
+        line.append(timeFormat.format(new Date(times[i]))).append(',')
+            .append(ticks[i]).append(',')
+            .append(formatMillis(total));
+        for (int stage = 0; stage < stageCount; stage++) {
+          line.append(',').append(formatMillis(stageNanos[i * stageCount + stage]));
+        }
+        for (int column = 0; column < COLUMNS; column++) {
+          line.append(',').append(counters[i * COLUMNS + column]);
+        }
+        writer.write(line.toString());
+        writer.newLine();
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size, allocation-free log-linear histogram of durations in nanoseconds.
+ * <p>
+ * Values are grouped by power of two, and every power of two is split into {@code 8} linear
+ * sub-buckets, so the relative error of a reported percentile is at most 12.5% over the whole
+ * range (1ns up to ~292 years). Recording is a couple of shifts and an array increment.
+ * </p>
+ *
+ * <p><b>Threading:</b> Not thread-safe. Each histogram is expected to be written by a single
+ * thread; readers on other threads may observe slightly inconsistent counts.</p>
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final long[] counts = new long[BUCKET_COUNT];
+  private long totalCount;
+  private long totalNanos;
+  private long maxNanos;
+
+  /**
+   * Records a single duration.
+   *
+   * @param nanos Duration in nanoseconds; negative values are clamped to zero.
+   */
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    counts[bucketOf(nanos)]++;
+    totalCount++;
+    totalNanos += nanos;
+    if (nanos > maxNanos) {
+      maxNanos = nanos;
+    }
+  }
+
+  /**
+   * Returns an upper bound of the value below which the given fraction of recorded durations fall.
+   *
+   * @param quantile Quantile between {@code 0} and {@code 1} (e.g. {@code 0.99}).
+   * @return The duration in nanoseconds, or {@code 0} if nothing was recorded.
+   */
+  public long percentile(double quantile) {
+    if (totalCount == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(quantile * totalCount);
+    if (rank < 1) {
+      rank = 1;
+    }
+
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(bucket), maxNanos);
+      }
+    }
+    return maxNanos;
+  }
+
+  /**
+   * Summarizes everything recorded so far.
+   */
+  public LatencySnapshot snapshot() {
+    if (totalCount == 0) {
+      return LatencySnapshot.EMPTY;
+    }
+    return new LatencySnapshot(totalCount, getMeanNanos(), percentile(0.50), percentile(0.90),
+        percentile(0.99), percentile(0.999), maxNanos);
+  }
+
+  public long getCount() {
+    return totalCount;
+  }
+
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  public double getMeanNanos() {
+    return totalCount == 0 ? 0 : totalNanos / (double) totalCount;
+  }
+
+  long getTotalNanos() {
+    return totalNanos;
+  }
+
+  long countAt(int bucket) {
+    return counts[bucket];
+  }
+
+  public void reset() {
+    Arrays.fill(counts, 0);
+    totalCount = 0;
+    totalNanos = 0;
+    maxNanos = 0;
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    int shift = magnitude - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long subBucket = bucket % SUB_BUCKETS;
+    long lowerBound = (SUB_BUCKETS + subBucket) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
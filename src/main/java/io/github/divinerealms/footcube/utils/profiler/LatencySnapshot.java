@@ -0,0 +1,19 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Point-in-time summary of a {@link LatencyHistogram} or {@link RollingLatencyHistogram}: sample
+ * count, mean, the p50, p90, p99 and p99.9 upper bounds, and the maximum, all in nanoseconds.
+ */
+@Getter
+@AllArgsConstructor
+public class LatencySnapshot {
+
+  public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0, 0);
+
+  private final long count;
+  private final double meanNanos;
+  private final long p50Nanos, p90Nanos, p99Nanos, p999Nanos, maxNanos;
+}
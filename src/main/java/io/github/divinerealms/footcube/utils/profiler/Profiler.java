@@ -0,0 +1,102 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import lombok.Getter;
+
+/**
+ * Central, low-overhead section profiler.
+ * <p>
+ * Code brackets a section with {@link #start(ProfilerSection)} and
+ * {@link #stop(ProfilerSection, long)}. While the profiler is disabled (the default) both calls
+ * reduce to a single field read. When enabled, every call is counted, but only one call out of
+ * every {@code sampleInterval} is actually timed, so even sections that run thousands of times per
+ * tick stay cheap to observe.
+ * </p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>{@code
+ * long start = profiler.start(ProfilerSection.SYSTEM_SPAWN_CUBE);
+ * try {
+ *   ...
+ * } finally {
+ *   profiler.stop(ProfilerSection.SYSTEM_SPAWN_CUBE, start);
+ * }
+ * }</pre>
+ *
+ * <p><b>Threading:</b> All sections are recorded from the server main thread. Counters and
+ * histograms are not synchronized, and reports read from commands may be off by a sample.</p>
+ */
+public class Profiler {
+
+  public static final int DEFAULT_SAMPLE_INTERVAL = 8;
+
+  private final long[] calls = new long[ProfilerSection.values().length];
+  private final LatencyHistogram[] histograms = new LatencyHistogram[calls.length];
+
+  @Getter
+  private volatile boolean enabled = false;
+  @Getter
+  private volatile int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+
+  public Profiler() {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Marks the beginning of a section.
+   *
+   * @param section The section being entered.
+   * @return A start timestamp to pass to {@link #stop}, or {@code 0} if this call is not sampled.
+   */
+  public long start(ProfilerSection section) {
+    if (!enabled) {
+      return 0L;
+    }
+    if (++calls[section.ordinal()] % sampleInterval != 0) {
+      return 0L;
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * Marks the end of a section and records its duration if the call was sampled.
+   *
+   * @param section The section being left.
+   * @param start   The value returned by the matching {@link #start} call.
+   */
+  public void stop(ProfilerSection section, long start) {
+    if (start == 0L) {
+      return;
+    }
+    histograms[section.ordinal()].record(System.nanoTime() - start);
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Sets how many calls pass between two timed samples. {@code 1} times every call.
+   *
+   * @param sampleInterval Interval, clamped to at least {@code 1}.
+   */
+  public void setSampleInterval(int sampleInterval) {
+    this.sampleInterval = Math.max(1, sampleInterval);
+  }
+
+  public long getCalls(ProfilerSection section) {
+    return calls[section.ordinal()];
+  }
+
+  public LatencyHistogram getHistogram(ProfilerSection section) {
+    return histograms[section.ordinal()];
+  }
+
+  public void reset() {
+    for (int i = 0; i < calls.length; i++) {
+      calls[i] = 0;
+      histograms[i].reset();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import lombok.Getter;
+
+/**
+ * Named code sections tracked by the {@link Profiler}. Each section gets its own call counter
+ * and latency histogram.
+ */
+@Getter
+public enum ProfilerSection {
+  PHYSICS_PLAYER_CACHE("physics.player-cache"),
+  PHYSICS_SNAPSHOT("physics.snapshot"),
+  PHYSICS_COMPUTE("physics.compute"),
+  PHYSICS_APPLY("physics.apply"),
+  PHYSICS_VIRTUAL_CUBES("physics.virtual-cubes"),
+
+  SYSTEM_SPAWN_CUBE("system.spawn-cube"),
+  SYSTEM_REMOVE_CUBES("system.remove-cubes"),
+  SYSTEM_KICK_POWER("system.kick-power"),
+  SYSTEM_SHOW_HITS("system.show-hits"),
+  SYSTEM_SPAWN_COOLDOWN("system.spawn-cooldown"),
+
+  LISTENER_CUBE_KICK("listener.cube-kick"),
+  LISTENER_CUBE_TAP("listener.cube-tap"),
+  LISTENER_CUBE_DAMAGE("listener.cube-damage"),
+  LISTENER_PLAYER_CHARGE("listener.player-charge"),
+  LISTENER_PLAYER_MOVE("listener.player-move");
+
+  private final String displayName;
+
+  ProfilerSection(String displayName) {
+    this.displayName = displayName;
+  }
+}
@@ -0,0 +1,219 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LatencyHistogram} over a sliding time window.
+ * <p>
+ * The window is split into a fixed number of slices, each a {@link LatencyHistogram} covering
+ * {@code sliceNanos}. Samples go to the newest slice; once it has covered its time, the oldest
+ * slice is cleared and reused as the newest. Reports merge the slices that are still inside the
+ * window bucket by bucket, so the window holds between {@code slices - 1} and {@code slices}
+ * slice lengths of history, a task that stops running ages out on its own, and nothing is ever
+ * allocated.
+ * </p>
+ *
+ * <p><b>Threading:</b> Same as {@link LatencyHistogram}: written by a single thread, readers on
+ * other threads may observe slightly inconsistent counts.</p>
+ */
+public class RollingLatencyHistogram {
+
+  private final LatencyHistogram[] slices;
+  private final long[] sliceStarts;
+  private final long sliceNanos;
+  private final long windowNanos;
+  private final LongSupplier clock;
+  private int newest = 0;
+  private boolean started = false;
+
+  /**
+   * @param slices     Number of slices the window is split into, between 1 and 64.
+   * @param sliceNanos Time covered by each slice, in nanoseconds.
+   */
+  public RollingLatencyHistogram(int slices, long sliceNanos) {
+    this(slices, sliceNanos, System::nanoTime);
+  }
+
+  /**
+   * @param slices     Number of slices the window is split into, between 1 and 64.
+   * @param sliceNanos Time covered by each slice, in nanoseconds.
+   * @param clock      Source of the current time for reports, in {@link System#nanoTime()} units.
+   */
+  RollingLatencyHistogram(int slices, long sliceNanos, LongSupplier clock) {
+    if (slices < 1 || slices > 64) {
+      throw new IllegalArgumentException("slices must be between 1 and 64");
+    }
+
+    this.slices = new LatencyHistogram[slices];
+    this.sliceStarts = new long[slices];
+    this.sliceNanos = sliceNanos;
+    this.windowNanos = slices * sliceNanos;
+    this.clock = clock;
+    for (int i = 0; i < slices; i++) {
+      this.slices[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Records a single duration.
+   *
+   * @param nanos Duration in nanoseconds.
+   * @param now   Current {@link System#nanoTime()}, used to advance the window.
+   */
+  public void record(long nanos, long now) {
+    advance(now);
+    slices[newest].record(nanos);
+  }
+
+  /**
+   * Returns an upper bound of the value below which the given fraction of the durations recorded
+   * within the window fall.
+   *
+   * @param quantile Quantile between {@code 0} and {@code 1} (e.g. {@code 0.999}).
+   * @return The duration in nanoseconds, or {@code 0} if nothing was recorded within the window.
+   */
+  public long percentile(double quantile) {
+    long live = liveSlices(clock.getAsLong());
+    long count = 0;
+    long max = 0;
+    for (int i = 0; i < slices.length; i++) {
+      if ((live & (1L << i)) != 0) {
+        count += slices[i].getCount();
+        max = Math.max(max, slices[i].getMaxNanos());
+      }
+    }
+    return count == 0 ? 0 : percentile(live, count, max, quantile);
+  }
+
+  /**
+   * Summarizes the durations recorded within the window. All figures are taken from the same set
+   * of slices, so they agree with each other even if the window moves on meanwhile.
+   */
+  public LatencySnapshot snapshot() {
+    long live = liveSlices(clock.getAsLong());
+    long count = 0;
+    long total = 0;
+    long max = 0;
+    for (int i = 0; i < slices.length; i++) {
+      if ((live & (1L << i)) != 0) {
+        count += slices[i].getCount();
+        total += slices[i].getTotalNanos();
+        max = Math.max(max, slices[i].getMaxNanos());
+      }
+    }
+    if (count == 0) {
+      return LatencySnapshot.EMPTY;
+    }
+
+    return new LatencySnapshot(count, total / (double) count,
+        percentile(live, count, max, 0.50), percentile(live, count, max, 0.90),
+        percentile(live, count, max, 0.99), percentile(live, count, max, 0.999), max);
+  }
+
+  /**
+   * Merged percentile over the given live slices, which hold {@code count} samples up to
+   * {@code max}.
+   */
+  private long percentile(long live, long count, long max, double quantile) {
+    long rank = (long) Math.ceil(quantile * count);
+    if (rank < 1) {
+      rank = 1;
+    }
+
+    long seen = 0;
+    for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+      for (int i = 0; i < slices.length; i++) {
+        if ((live & (1L << i)) != 0) {
+          seen += slices[i].countAt(bucket);
+        }
+      }
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.upperBoundOf(bucket), max);
+      }
+    }
+    return max;
+  }
+
+  public long getCount() {
+    long live = liveSlices(clock.getAsLong());
+    long count = 0;
+    for (int i = 0; i < slices.length; i++) {
+      if ((live & (1L << i)) != 0) {
+        count += slices[i].getCount();
+      }
+    }
+    return count;
+  }
+
+  public long getMaxNanos() {
+    long live = liveSlices(clock.getAsLong());
+    long max = 0;
+    for (int i = 0; i < slices.length; i++) {
+      if ((live & (1L << i)) != 0) {
+        max = Math.max(max, slices[i].getMaxNanos());
+      }
+    }
+    return max;
+  }
+
+  public double getMeanNanos() {
+    long live = liveSlices(clock.getAsLong());
+    long count = 0;
+    long total = 0;
+    for (int i = 0; i < slices.length; i++) {
+      if ((live & (1L << i)) != 0) {
+        count += slices[i].getCount();
+        total += slices[i].getTotalNanos();
+      }
+    }
+    return count == 0 ? 0 : total / (double) count;
+  }
+
+  public void reset() {
+    for (LatencyHistogram slice : slices) {
+      slice.reset();
+    }
+    newest = 0;
+    started = false;
+  }
+
+  private void advance(long now) {
+    if (!started) {
+      sliceStarts[newest] = now;
+      started = true;
+      return;
+    }
+
+    long elapsed = now - sliceStarts[newest];
+    if (elapsed < sliceNanos) {
+      return;
+    }
+
+    // Skip slices that would have stayed empty, e.g. after a long pause.
+    long steps = elapsed / sliceNanos;
+    long start = sliceStarts[newest] + steps * sliceNanos;
+    int cleared = (int) Math.min(steps, slices.length);
+    for (int i = 0; i < cleared; i++) {
+      newest = (newest + 1) % slices.length;
+      slices[newest].reset();
+      sliceStarts[newest] = start;
+    }
+  }
+
+  /**
+   * Bit mask of the slices that started within the window and hold at least one sample.
+   */
+  private long liveSlices(long now) {
+    if (!started) {
+      return 0;
+    }
+
+    long live = 0;
+    for (int i = 0; i < slices.length; i++) {
+      if (slices[i].getCount() > 0 && now - sliceStarts[i] < windowNanos) {
+        live |= 1L << i;
+      }
+    }
+    return live;
+  }
+}
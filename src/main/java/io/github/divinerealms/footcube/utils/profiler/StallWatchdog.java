@@ -0,0 +1,228 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import static io.github.divinerealms.footcube.configs.Lang.WATCHDOG_STALL;
+import static io.github.divinerealms.footcube.utils.Permissions.PERM_ADMIN;
+
+import io.github.divinerealms.footcube.utils.Logger;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import lombok.Getter;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Watchdog thread that samples the main thread's stack while a FootCube section stalls.
+ * <p>
+ * The main thread marks what it is doing with {@link #enter(String)} and {@link #exit()}, e.g. one
+ * section per tick pipeline stage and one around a reload. Sections do not nest. The watchdog wakes
+ * up every sample interval, and once the current section has run longer than the threshold it
+ * takes a stack trace of the main thread on every wake-up until the section ends. This shows where
+ * the time goes inside slow calls such as {@code endMatch()}, YAML saves or other plugins' hooks.
+ * </p>
+ *
+ * <p>Identical stacks are counted together and written as a collapsed-stack file, one
+ * {@code frame;frame;frame count} line per stack with the section as the root frame, that
+ * {@code flamegraph.pl}, speedscope and similar tools open directly. Files go to {@code stalls/} in
+ * the plugin data folder, and admins are told about every stall that was captured.</p>
+ *
+ * <p><b>Threading:</b> {@link #enter(String)}, {@link #exit()}, {@link #start()} and
+ * {@link #configure} are called from the main server thread; sampling and writing happen on the
+ * watchdog thread.</p>
+ */
+public class StallWatchdog implements Runnable {
+
+  private final Plugin plugin;
+  private final Logger logger;
+
+  private volatile boolean enabled = true;
+  private volatile long thresholdNanos;
+  private volatile long sampleIntervalMillis;
+  private volatile int maxSamples;
+
+  private volatile Thread mainThread;
+  private volatile Thread thread;
+
+  // Written by the main thread only; section is written last so the other two are visible with it.
+  private volatile long sectionStart;
+  private volatile long sectionId = 0;
+  private volatile String section;
+
+  @Getter
+  private volatile long stalls = 0;
+
+  public StallWatchdog(Plugin plugin, Logger logger) {
+    this.plugin = plugin;
+    this.logger = logger;
+  }
+
+  /**
+   * Applies new settings; a running watchdog picks them up on its next wake-up.
+   *
+   * @param enabled          Whether stalls are sampled at all.
+   * @param thresholdMs      How long a section may run before it is sampled, in milliseconds.
+   * @param sampleIntervalMs Time between two samples, in milliseconds.
+   * @param maxSamples       Most samples taken for a single stall.
+   */
+  public void configure(boolean enabled, double thresholdMs, long sampleIntervalMs,
+      int maxSamples) {
+    this.enabled = enabled;
+    this.thresholdNanos = (long) (thresholdMs * 1_000_000);
+    this.sampleIntervalMillis = Math.max(1, sampleIntervalMs);
+    this.maxSamples = Math.max(1, maxSamples);
+  }
+
+  /**
+   * Starts the watchdog thread unless it is already running. Must be called from the main thread,
+   * which becomes the thread being watched.
+   */
+  public void start() {
+    if (thread != null) {
+      return;
+    }
+
+    mainThread = Thread.currentThread();
+    Thread watchdog = new Thread(this, "FootCube Watchdog");
+    watchdog.setDaemon(true);
+    thread = watchdog;
+    watchdog.start();
+  }
+
+  public void stop() {
+    Thread watchdog = thread;
+    thread = null;
+    if (watchdog != null) {
+      watchdog.interrupt();
+    }
+  }
+
+  /**
+   * Marks the start of a section on the main thread.
+   *
+   * @param name Section name, used as the root frame of captured stacks.
+   */
+  public void enter(String name) {
+    sectionStart = System.nanoTime();
+    sectionId++;
+    section = name;
+  }
+
+  /**
+   * Marks the end of the current section.
+   */
+  public void exit() {
+    section = null;
+  }
+
+  @Override
+  public void run() {
+    Map<String, Integer> stacks = null;
+    String capturedSection = null;
+    long capturedId = -1;
+    long capturedStart = 0;
+    int samples = 0;
+
+    while (thread == Thread.currentThread()) {
+      try {
+        Thread.sleep(sampleIntervalMillis);
+      } catch (InterruptedException exception) {
+        break;
+      }
+
+      String current = section;
+      long id = sectionId;
+      long start = sectionStart;
+
+      if (stacks != null && (current == null || id != capturedId)) {
+        finish(capturedSection, System.nanoTime() - capturedStart, samples, stacks);
+        stacks = null;
+      }
+      if (!enabled || current == null || System.nanoTime() - start < thresholdNanos) {
+        continue;
+      }
+
+      if (stacks == null) {
+        stacks = new HashMap<>();
+        capturedSection = current;
+        capturedId = id;
+        capturedStart = start;
+        samples = 0;
+      }
+      if (samples >= maxSamples) {
+        continue;
+      }
+
+      StackTraceElement[] trace = mainThread.getStackTrace();
+      // Drop the sample if the section ended while the stack was being taken.
+      if (section == null || sectionId != capturedId) {
+        continue;
+      }
+      stacks.merge(collapse(capturedSection, trace), 1, Integer::sum);
+      samples++;
+    }
+
+    if (stacks != null) {
+      finish(capturedSection, System.nanoTime() - capturedStart, samples, stacks);
+    }
+  }
+
+  /**
+   * Turns a stack trace into a single collapsed-stack line, root frame first.
+   */
+  private static String collapse(String root, StackTraceElement[] trace) {
+    StringBuilder line = new StringBuilder(root);
+    for (int i = trace.length - 1; i >= 0; i--) {
+      StackTraceElement frame = trace[i];
+      line.append(';').append(frame.getClassName()).append('.').append(frame.getMethodName());
+    }
+    return line.toString();
+  }
+
+  private void finish(String name, long durationNanos, int samples, Map<String, Integer> stacks) {
+    if (samples == 0) {
+      return;
+    }
+    stalls++;
+
+    File file = new File(new File(plugin.getDataFolder(), "stalls"),
+        "stall-" + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date()) + "-"
+            + name.replaceAll("[^A-Za-z0-9_-]", "_") + ".folded");
+    try {
+      write(file, stacks);
+    } catch (IOException exception) {
+      plugin.getLogger().log(Level.SEVERE, "Error writing stall samples:", exception);
+      return;
+    }
+
+    String duration = String.valueOf(durationNanos / 1_000_000);
+    plugin.getLogger().warning("Main thread stalled in " + name + " for about " + duration
+        + "ms; " + samples + " stack samples written to " + file.getName());
+    if (plugin.isEnabled()) {
+      plugin.getServer().getScheduler().runTask(plugin, () ->
+          logger.send(PERM_ADMIN, WATCHDOG_STALL, name, duration, String.valueOf(samples),
+              file.getName()));
+    }
+  }
+
+  private static void write(File file, Map<String, Integer> stacks) throws IOException {
+    File folder = file.getParentFile();
+    if (!folder.isDirectory() && !folder.mkdirs()) {
+      throw new IOException("Could not create " + folder);
+    }
+
+    try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+      for (Map.Entry<String, Integer> stack : stacks.entrySet()) {
+        writer.write(stack.getKey());
+        writer.write(' ');
+        writer.write(String.valueOf(stack.getValue()));
+        writer.newLine();
+      }
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package io.github.divinerealms.footcube.physics.engine;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.HIT_RADIUS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.VELOCITY_WRITE_EPSILON;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.WAKE_RANGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.github.divinerealms.footcube.physics.utilities.PlayerSpatialGrid;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Guards the steady-state physics tick against allocation: after warm-up, a tick must not allocate
+ * a single byte on the calling thread.
+ * <p>
+ * The tick mirrors {@code PhysicsTask}: the player cache refills pooled bodies and rebuilds the
+ * {@link PlayerSpatialGrid}, the snapshot phase copies every cube into a pooled body and runs the
+ * wake check, the compute phase steps the cubes and records touches, and the apply phase writes
+ * velocities back and tracks them. Entities are stood in for by plain arrays, since the server
+ * classes are not on the test classpath; reading and writing the real entities is not covered.
+ * </p>
+ */
+class CubePhysicsEngineAllocationTest {
+
+  private static final double PITCH_LENGTH = 64;
+  private static final double PITCH_WIDTH = 40;
+  private static final double FLOOR_Y = 64;
+  private static final GroundProbe FLAT_FLOOR = (x, y, z) -> y < FLOOR_Y;
+
+  private static final int PLAYERS = 100;
+  private static final int CUBES = 10;
+  private static final int WARMUP_TICKS = 20_000;
+  private static final int MEASURED_TICKS = 1_000;
+
+  private final CubePhysicsEngine engine = new CubePhysicsEngine();
+  private final PlayerSpatialGrid grid = new PlayerSpatialGrid(HIT_RADIUS * 3);
+  private final Object world = new Object();
+
+  // Player "entities" and the pooled bodies refilled from them.
+  private final double[] playerState = new double[PLAYERS * 5];
+  private final PlayerBody[] players = new PlayerBody[PLAYERS];
+
+  // Cube "entities", the velocities tracked for them, and the pooled bodies.
+  private final double[] initialState = new double[CUBES * 6];
+  private final double[] cubeState = new double[CUBES * 6];
+  private final double[] trackedVelocity = new double[CUBES * 3];
+  private final CubeBody[] cubes = new CubeBody[CUBES];
+  private final int[] cubeWorlds = new int[CUBES];
+
+  private final int[] touchedHandles = new int[PLAYERS * CUBES];
+  private final int[] touchEnds = new int[CUBES];
+  private long tick = 0;
+
+  @Test
+  void physicsTickDoesNotAllocateAfterWarmUp() {
+    com.sun.management.ThreadMXBean threads = threadBean();
+    assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported(),
+        "Thread allocation counters are not available on this JVM");
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    populate();
+    for (int i = 0; i < WARMUP_TICKS; i++) {
+      tick();
+    }
+
+    long threadId = Thread.currentThread().getId();
+    // Some JVMs allocate inside the counter itself; measure that and subtract it.
+    long first = threads.getThreadAllocatedBytes(threadId);
+    long second = threads.getThreadAllocatedBytes(threadId);
+    long overhead = second - first;
+
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_TICKS; i++) {
+      tick();
+    }
+    long after = threads.getThreadAllocatedBytes(threadId);
+
+    assertEquals(0, after - before - overhead,
+        "Bytes allocated over " + MEASURED_TICKS + " ticks");
+  }
+
+  private void populate() {
+    SplittableRandom random = new SplittableRandom(42);
+
+    for (int i = 0; i < PLAYERS; i++) {
+      int base = i * 5;
+      playerState[base] = random.nextDouble(PITCH_LENGTH);
+      playerState[base + 1] = FLOOR_Y;
+      playerState[base + 2] = random.nextDouble(PITCH_WIDTH);
+      playerState[base + 3] = random.nextDouble(360);
+      playerState[base + 4] = 0.1 + random.nextDouble(0.4);
+    }
+
+    for (int i = 0; i < CUBES; i++) {
+      int base = i * 6;
+      initialState[base] = random.nextDouble(PITCH_LENGTH);
+      initialState[base + 1] = FLOOR_Y + 0.05;
+      initialState[base + 2] = random.nextDouble(PITCH_WIDTH);
+      initialState[base + 3] = random.nextDouble(-0.5, 0.5);
+      initialState[base + 4] = random.nextDouble(-0.1, 0.1);
+      initialState[base + 5] = random.nextDouble(-0.5, 0.5);
+    }
+  }
+
+  /**
+   * One physics tick as {@code PhysicsTask} runs it. Cubes are put back to their start state
+   * first, so every tick sees the same players nearby.
+   */
+  private void tick() {
+    buildPlayerCache();
+    tick++;
+    System.arraycopy(initialState, 0, cubeState, 0, cubeState.length);
+
+    int stepCount = snapshot();
+    compute(stepCount);
+    apply(stepCount);
+  }
+
+  private void buildPlayerCache() {
+    grid.clear();
+    for (int i = 0; i < PLAYERS; i++) {
+      PlayerBody player = players[i];
+      if (player == null) {
+        player = new PlayerBody();
+        players[i] = player;
+      }
+
+      int base = i * 5;
+      player.handle = i;
+      player.x = playerState[base];
+      player.y = playerState[base + 1];
+      player.z = playerState[base + 2];
+      player.setYaw((float) playerState[base + 3]);
+      player.speed = playerState[base + 4];
+      grid.insert(grid.worldIndex(world), player.x, player.z, i);
+    }
+  }
+
+  private int snapshot() {
+    int stepCount = 0;
+    for (int i = 0; i < CUBES; i++) {
+      int base = i * 6;
+      double x = cubeState[base];
+      double y = cubeState[base + 1];
+      double z = cubeState[base + 2];
+      int cubeWorld = grid.worldIndex(world);
+      hasPlayerInRange(cubeWorld, x, y, z);
+
+      CubeBody body = cubes[stepCount];
+      if (body == null) {
+        body = new CubeBody();
+        cubes[stepCount] = body;
+      }
+      body.set(x, y, z, cubeState[base + 3], cubeState[base + 4], cubeState[base + 5], true);
+      if (tick == 1) {
+        System.arraycopy(cubeState, base + 3, trackedVelocity, i * 3, 3);
+      }
+      body.setPreviousVelocity(trackedVelocity[i * 3], trackedVelocity[i * 3 + 1],
+          trackedVelocity[i * 3 + 2]);
+      cubeWorlds[stepCount] = cubeWorld;
+      stepCount++;
+    }
+    return stepCount;
+  }
+
+  private void compute(int stepCount) {
+    int touchCount = 0;
+    for (int i = 0; i < stepCount; i++) {
+      engine.step(cubes[i], grid, cubeWorlds[i], players, tick, FLAT_FLOOR);
+      for (int t = 0; t < engine.getTouchedCount(); t++) {
+        touchedHandles[touchCount++] = engine.getTouched(t).handle;
+      }
+      touchEnds[i] = touchCount;
+    }
+    engine.clearScratch();
+  }
+
+  private void apply(int stepCount) {
+    for (int i = 0; i < stepCount; i++) {
+      CubeBody body = cubes[i];
+      int base = i * 6;
+      if (Math.abs(cubeState[base + 3] - body.velX) > VELOCITY_WRITE_EPSILON
+          || Math.abs(cubeState[base + 4] - body.velY) > VELOCITY_WRITE_EPSILON
+          || Math.abs(cubeState[base + 5] - body.velZ) > VELOCITY_WRITE_EPSILON) {
+        cubeState[base + 3] = body.velX;
+        cubeState[base + 4] = body.velY;
+        cubeState[base + 5] = body.velZ;
+      }
+      trackedVelocity[i * 3] = body.velX;
+      trackedVelocity[i * 3 + 1] = body.velY;
+      trackedVelocity[i * 3 + 2] = body.velZ;
+    }
+  }
+
+  private boolean hasPlayerInRange(int cubeWorld, double x, double y, double z) {
+    int candidates = grid.query(cubeWorld, x, z);
+    for (int i = 0; i < candidates; i++) {
+      PlayerBody player = players[grid.result(i)];
+      if (CubePhysicsEngine.distance(x, y, z, player.x, player.y, player.z) < WAKE_RANGE) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static com.sun.management.ThreadMXBean threadBean() {
+    java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    return threads instanceof com.sun.management.ThreadMXBean
+        ? (com.sun.management.ThreadMXBean) threads
+        : null;
+  }
+}
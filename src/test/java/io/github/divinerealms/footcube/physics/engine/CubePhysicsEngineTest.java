@@ -0,0 +1,48 @@
+package io.github.divinerealms.footcube.physics.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class CubePhysicsEngineTest {
+
+  private static final double PLAYER_X = 10.5;
+  private static final double PLAYER_Y = 64;
+  private static final double PLAYER_Z = -3.5;
+
+  @Test
+  void cubeFromFeetToTwoAndAHalfBlocksUpTouches() {
+    assertEquals(0, cubeAbove(0), 1e-9);
+    assertEquals(0, cubeAbove(1), 1e-9);
+    assertEquals(0, cubeAbove(2.5), 1e-9);
+  }
+
+  @Test
+  void cubeHigherThanTheContactWindowMeasuresTheGap() {
+    assertEquals(0.5, cubeAbove(3), 1e-9);
+    assertEquals(1.5, cubeAbove(4), 1e-9);
+  }
+
+  @Test
+  void cubeBelowTheFeetMeasuresTheGap() {
+    assertEquals(0.25, cubeAbove(-0.25), 1e-9);
+    assertEquals(1, cubeAbove(-1), 1e-9);
+    assertEquals(2.5, cubeAbove(-2.5), 1e-9);
+  }
+
+  @Test
+  void horizontalOffsetAddsUp() {
+    assertEquals(5, CubePhysicsEngine.distance(PLAYER_X + 3, PLAYER_Y + 1, PLAYER_Z - 4,
+        PLAYER_X, PLAYER_Y, PLAYER_Z), 1e-9);
+    assertEquals(Math.sqrt(9 + 1 + 16), CubePhysicsEngine.distance(PLAYER_X - 3, PLAYER_Y - 1,
+        PLAYER_Z + 4, PLAYER_X, PLAYER_Y, PLAYER_Z), 1e-9);
+  }
+
+  /**
+   * Distance to a cube straight above the player ({@code height} below zero puts it below).
+   */
+  private static double cubeAbove(double height) {
+    return CubePhysicsEngine.distance(PLAYER_X, PLAYER_Y + height, PLAYER_Z, PLAYER_X, PLAYER_Y,
+        PLAYER_Z);
+  }
+}
@@ -0,0 +1,44 @@
+package io.github.divinerealms.footcube.physics.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pins {@link PhysicsFormulae#getDistance(double, double, double, double, double, double)} to the
+ * values the original {@code Location} version gave for the kick check, which passed the cube
+ * first and the player second.
+ */
+class PhysicsFormulaeTest {
+
+  private static final double PLAYER_X = -20.5;
+  private static final double PLAYER_Y = 70;
+  private static final double PLAYER_Z = 8.25;
+
+  private final PhysicsFormulae formulae = new PhysicsFormulae();
+
+  @Test
+  void cubeAboveThePlayerTouchesUpToTwoAndAHalfBlocks() {
+    assertEquals(0, cubeAbove(0.5), 1e-9);
+    assertEquals(0, cubeAbove(1), 1e-9);
+    assertEquals(0, cubeAbove(2.5), 1e-9);
+    assertEquals(0.75, cubeAbove(3.25), 1e-9);
+  }
+
+  @Test
+  void cubeBelowThePlayerIsAway() {
+    assertEquals(1, cubeAbove(-1), 1e-9);
+    assertEquals(2, cubeAbove(-2), 1e-9);
+  }
+
+  @Test
+  void raisedCubeBesideThePlayerMeasuresOnlyTheHorizontalGap() {
+    assertEquals(1.5, formulae.getDistance(PLAYER_X + 1.5, PLAYER_Y + 1, PLAYER_Z, PLAYER_X,
+        PLAYER_Y, PLAYER_Z), 1e-9);
+  }
+
+  private double cubeAbove(double height) {
+    return formulae.getDistance(PLAYER_X, PLAYER_Y + height, PLAYER_Z, PLAYER_X, PLAYER_Y,
+        PLAYER_Z);
+  }
+}
@@ -0,0 +1,100 @@
+package io.github.divinerealms.footcube.physics.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class PlayerSpatialGridTest {
+
+  private final PlayerSpatialGrid grid = new PlayerSpatialGrid(8);
+
+  @Test
+  void queryReturnsNeighbouringCellsOnly() {
+    grid.insert(0, 1, 1, 1);
+    grid.insert(0, -7, 9, 2);
+    grid.insert(0, 20, 1, 3);
+    grid.insert(1, 1, 1, 4);
+
+    assertEquals(List.of(1, 2), handles(grid.query(0, 2, 2)));
+  }
+
+  @Test
+  void queryRangeFindsEntriesBeyondOneCell() {
+    grid.insert(0, 0, 64, 0, 1);
+    grid.insert(0, 30, 64, 0, 2);
+    grid.insert(0, 0, 64, -39, 3);
+    grid.insert(0, 41, 64, 0, 4);
+
+    assertEquals(List.of(1, 2, 3), handles(grid.queryRange(0, 0, 64, 0, 0, 40)));
+  }
+
+  @Test
+  void queryRangeExcludesInnerRadiusAndReportsDistance() {
+    grid.insert(0, 5, 0, 0, 1);
+    grid.insert(0, 0, 0, 20, 2);
+
+    int found = grid.queryRange(0, 0, 0, 0, 10, 40);
+    assertEquals(1, found);
+    assertEquals(2, grid.result(0));
+    assertEquals(400, grid.resultDistanceSquared(0), 1e-9);
+  }
+
+  @Test
+  void queryRangeMeasuresHeight() {
+    grid.insert(0, 0, 100, 0, 1);
+    grid.insert(0, 0, 10, 0, 2);
+
+    assertEquals(List.of(2), handles(grid.queryRange(0, 0, 0, 0, 0, 16)));
+  }
+
+  @Test
+  void queryRangeStaysInItsWorld() {
+    Object overworld = new Object();
+    Object nether = new Object();
+    int first = grid.worldIndex(overworld);
+    int second = grid.worldIndex(nether);
+    assertNotEquals(first, second);
+    assertEquals(first, grid.worldIndex(overworld));
+
+    grid.insert(first, 0, 0, 0, 1);
+    grid.insert(second, 0, 0, 0, 2);
+
+    assertEquals(List.of(2), handles(grid.queryRange(second, 0, 0, 0, 0, 1)));
+  }
+
+  @Test
+  void clearReleasesWorlds() {
+    Object unloaded = new Object();
+    int index = grid.worldIndex(unloaded);
+    grid.insert(index, 0, 0, 1);
+    grid.clear();
+
+    assertEquals(0, grid.size());
+    Object loaded = new Object();
+    assertEquals(index, grid.worldIndex(loaded));
+    assertEquals(0, grid.queryRange(index, 0, 0, 0, 0, 100));
+    assertNotEquals(index, grid.worldIndex(unloaded));
+  }
+
+  @Test
+  void growsPastInitialCapacity() {
+    for (int i = 0; i < 500; i++) {
+      grid.insert(0, i % 50, 0, i / 50, i);
+    }
+
+    assertEquals(500, grid.queryRange(0, 25, 0, 5, 0, 100));
+  }
+
+  private List<Integer> handles(int count) {
+    int[] found = new int[count];
+    for (int i = 0; i < count; i++) {
+      found[i] = grid.result(i);
+    }
+    Arrays.sort(found);
+    return Arrays.stream(found).boxed().collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,186 @@
+package io.github.divinerealms.footcube.tasks;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_MAX_DEFERRAL_TICKS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.TASK_TICK_BUDGET_MS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives the scheduler tick by tick on a hand-driven clock. Each task moves the clock on by its
+ * cost when it runs, so the budget is spent exactly as the tasks say.
+ */
+class TaskSchedulerTest {
+
+  private static final long BUDGET_NANOS = (long) (TASK_TICK_BUDGET_MS * 1_000_000);
+
+  private long now = 0;
+  private long tick = 0;
+  private final List<String> ran = new ArrayList<>();
+
+  @Test
+  void tasksFirstRunAfterOneInterval() {
+    FakeTask task = new FakeTask("task", TaskPriority.NORMAL, 3, 0);
+    TaskScheduler scheduler = scheduler(task);
+
+    advance(scheduler, 3);
+    assertEquals(0, task.runs);
+
+    advance(scheduler, 1);
+    assertEquals(1, task.runs);
+
+    advance(scheduler, 3);
+    assertEquals(2, task.runs);
+  }
+
+  @Test
+  void runsDueTasksByPriorityThenRegistrationOrder() {
+    TaskScheduler scheduler = scheduler(
+        new FakeTask("deferrable", TaskPriority.DEFERRABLE, 1, 0),
+        new FakeTask("normal", TaskPriority.NORMAL, 1, 0),
+        new FakeTask("critical-a", TaskPriority.CRITICAL, 1, 0),
+        new FakeTask("critical-b", TaskPriority.CRITICAL, 1, 0));
+
+    advance(scheduler, 2);
+    assertEquals(Arrays.asList("critical-a", "critical-b", "normal", "deferrable"), ran);
+  }
+
+  @Test
+  void deferrableTaskWaitsOnceBudgetIsSpent() {
+    FakeTask physics = new FakeTask("physics", TaskPriority.CRITICAL, 1, BUDGET_NANOS);
+    FakeTask cleanup = new FakeTask("cleanup", TaskPriority.DEFERRABLE, 1, 1_000);
+    TaskScheduler scheduler = scheduler(physics, cleanup);
+
+    advance(scheduler, 2);
+    assertEquals(1, physics.runs);
+    assertEquals(0, cleanup.runs);
+    assertEquals(1, cleanup.getDeferrals());
+    assertEquals(1, scheduler.getDeferrals());
+    assertEquals(0, scheduler.getForcedRuns());
+  }
+
+  @Test
+  void deferrableTaskRunsWhileBudgetRemains() {
+    FakeTask physics = new FakeTask("physics", TaskPriority.CRITICAL, 1, BUDGET_NANOS - 1);
+    FakeTask cleanup = new FakeTask("cleanup", TaskPriority.DEFERRABLE, 1, 1_000);
+    TaskScheduler scheduler = scheduler(physics, cleanup);
+
+    advance(scheduler, 2);
+    assertEquals(1, cleanup.runs);
+    assertEquals(0, scheduler.getDeferrals());
+  }
+
+  @Test
+  void deferredTaskRunsOnTheNextTickWithBudget() {
+    FakeTask physics = new FakeTask("physics", TaskPriority.CRITICAL, 1, BUDGET_NANOS);
+    FakeTask cleanup = new FakeTask("cleanup", TaskPriority.DEFERRABLE, 20, 1_000);
+    TaskScheduler scheduler = scheduler(physics, cleanup);
+
+    advance(scheduler, 21);
+    assertEquals(0, cleanup.runs);
+
+    physics.costNanos = 0;
+    advance(scheduler, 1);
+    assertEquals(1, cleanup.runs);
+    assertEquals(1, cleanup.getDeferrals());
+
+    // Its next run is one interval after the run, not after the original due tick.
+    advance(scheduler, 19);
+    assertEquals(1, cleanup.runs);
+    advance(scheduler, 1);
+    assertEquals(2, cleanup.runs);
+  }
+
+  @Test
+  void deferrableTaskIsForcedAfterMaxDeferrals() {
+    FakeTask physics = new FakeTask("physics", TaskPriority.CRITICAL, 1, BUDGET_NANOS * 2);
+    FakeTask cleanup = new FakeTask("cleanup", TaskPriority.DEFERRABLE, 1, 1_000);
+    TaskScheduler scheduler = scheduler(physics, cleanup);
+
+    // Due from tick 2, then postponed TASK_MAX_DEFERRAL_TICKS times in a row.
+    advance(scheduler, 1 + TASK_MAX_DEFERRAL_TICKS);
+    assertEquals(0, cleanup.runs);
+    assertEquals(TASK_MAX_DEFERRAL_TICKS, cleanup.getDeferrals());
+
+    advance(scheduler, 1);
+    assertEquals(1, cleanup.runs);
+    assertEquals(1, scheduler.getForcedRuns());
+
+    // The forced run starts a new streak.
+    advance(scheduler, TASK_MAX_DEFERRAL_TICKS);
+    assertEquals(1, cleanup.runs);
+    advance(scheduler, 1);
+    assertEquals(2, cleanup.runs);
+    assertEquals(2, scheduler.getForcedRuns());
+    assertEquals(TASK_MAX_DEFERRAL_TICKS * 2, scheduler.getDeferrals());
+  }
+
+  @Test
+  void criticalAndNormalTasksAreNeverDeferred() {
+    FakeTask first = new FakeTask("first", TaskPriority.CRITICAL, 1, BUDGET_NANOS * 2);
+    FakeTask second = new FakeTask("second", TaskPriority.CRITICAL, 1, BUDGET_NANOS);
+    FakeTask third = new FakeTask("third", TaskPriority.NORMAL, 1, BUDGET_NANOS);
+    TaskScheduler scheduler = scheduler(first, second, third);
+
+    advance(scheduler, 5);
+    assertEquals(4, first.runs);
+    assertEquals(4, second.runs);
+    assertEquals(4, third.runs);
+    assertEquals(0, scheduler.getDeferrals());
+  }
+
+  @Test
+  void countsTicksOverBudget() {
+    FakeTask physics = new FakeTask("physics", TaskPriority.CRITICAL, 2, BUDGET_NANOS + 500);
+    TaskScheduler scheduler = scheduler(physics);
+
+    advance(scheduler, 5);
+    assertEquals(5, scheduler.getTicks());
+    assertEquals(2, scheduler.getOverruns());
+    assertEquals(500, scheduler.getWorstOverrunNanos());
+
+    scheduler.resetStats();
+    assertEquals(0, scheduler.getTicks());
+    assertEquals(0, scheduler.getOverruns());
+    assertEquals(0, scheduler.getWorstOverrunNanos());
+  }
+
+  private TaskScheduler scheduler(FakeTask... tasks) {
+    return new TaskScheduler(null, Arrays.asList(tasks), () -> now);
+  }
+
+  private void advance(TaskScheduler scheduler, int ticks) {
+    for (int i = 0; i < ticks; i++) {
+      scheduler.runTick(++tick);
+    }
+  }
+
+  /**
+   * Sync task that is always started and spends {@code costNanos} of the clock per run.
+   */
+  private final class FakeTask extends BaseTask {
+
+    private long costNanos;
+    private int runs = 0;
+
+    private FakeTask(String name, TaskPriority priority, long interval, long costNanos) {
+      super(null, null, null, name, interval, false, priority, Long.MAX_VALUE);
+      this.costNanos = costNanos;
+    }
+
+    @Override
+    public boolean isRunning() {
+      return true;
+    }
+
+    @Override
+    protected void kaboom() {
+      now += costNanos;
+      runs++;
+      ran.add(getTaskName());
+    }
+  }
+}
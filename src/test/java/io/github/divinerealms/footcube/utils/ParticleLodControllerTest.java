@@ -0,0 +1,103 @@
+package io.github.divinerealms.footcube.utils;
+
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_RECOVERY_WINDOWS;
+import static io.github.divinerealms.footcube.physics.PhysicsConstants.LOD_SAMPLE_TICKS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.divinerealms.footcube.utils.ParticleLodController.Tier;
+import org.junit.jupiter.api.Test;
+
+class ParticleLodControllerTest {
+
+  private final ParticleLodController controller = new ParticleLodController();
+  private long tick = 0;
+  private long busyNanos = 0;
+
+  @Test
+  void dropsTierWhenPipelineExceedsBudget() {
+    window(2.0);
+    assertEquals(Tier.FULL, controller.getTier());
+
+    window(9.0);
+    assertEquals(Tier.REDUCED, controller.getTier());
+    assertEquals(9.0, controller.getTickMillis(), 1e-6);
+
+    window(9.0);
+    assertEquals(Tier.LOW, controller.getTier());
+  }
+
+  @Test
+  void dropsTierLongBeforeTheServerLags() {
+    // Well inside a 50ms tick, but most of the pipeline's share of it.
+    window(2.0);
+    window(20.0);
+    assertEquals(Tier.REDUCED, controller.getTier());
+  }
+
+  @Test
+  void recoversOneTierAfterSustainedHeadroom() {
+    window(2.0);
+    window(9.0);
+    window(9.0);
+    assertEquals(Tier.LOW, controller.getTier());
+
+    for (int i = 0; i < LOD_RECOVERY_WINDOWS - 1; i++) {
+      window(2.0);
+    }
+    assertEquals(Tier.LOW, controller.getTier());
+
+    window(2.0);
+    assertEquals(Tier.REDUCED, controller.getTier());
+  }
+
+  @Test
+  void inBetweenLoadHoldsTier() {
+    window(2.0);
+    window(9.0);
+    for (int i = 0; i < LOD_RECOVERY_WINDOWS * 2; i++) {
+      window(6.0);
+    }
+    assertEquals(Tier.REDUCED, controller.getTier());
+  }
+
+  @Test
+  void packetBudgetAloneDropsTier() {
+    window(1.0);
+    tick += LOD_SAMPLE_TICKS;
+    busyNanos += LOD_SAMPLE_TICKS * 1_000_000L;
+    controller.endRun(1_000, tick, busyNanos);
+    assertEquals(Tier.REDUCED, controller.getTier());
+  }
+
+  @Test
+  void restartedTotalsStartANewWindow() {
+    window(2.0);
+    tick = 0;
+    busyNanos = 0;
+    controller.endRun(0, tick, busyNanos);
+    assertEquals(Tier.FULL, controller.getTier());
+
+    window(9.0);
+    assertEquals(Tier.REDUCED, controller.getTier());
+    assertEquals(9.0, controller.getTickMillis(), 1e-6);
+  }
+
+  @Test
+  void resetRestoresFullQuality() {
+    window(2.0);
+    window(9.0);
+    controller.reset();
+
+    assertEquals(Tier.FULL, controller.getTier());
+    assertEquals(0, controller.getTickMillis(), 0);
+  }
+
+  /**
+   * Runs the pipeline for one sample window at the given cost per tick, then ends a particle run.
+   */
+  private void window(double millisPerTick) {
+    tick += LOD_SAMPLE_TICKS;
+    busyNanos += (long) (LOD_SAMPLE_TICKS * millisPerTick * 1_000_000);
+    controller.endRun(0, tick, busyNanos);
+  }
+}
@@ -0,0 +1,39 @@
+package io.github.divinerealms.footcube.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.divinerealms.footcube.utils.profiler.LatencySnapshot;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class TaskStatsTest {
+
+  @Test
+  void totalsCoverCountedTasksOnly() {
+    TaskStats stats = new TaskStats(Arrays.asList(
+        entry("pipeline", false, 9_000_000, 20_000_000),
+        entry("physics", true, 3_000_000, 8_000_000),
+        entry("particles", true, 1_000_000, 2_000_000)));
+
+    assertEquals(4, stats.getTotalAverageMs(), 1e-9);
+    assertEquals(2, stats.getAveragePerTask(), 1e-9);
+    assertEquals(8, stats.getWorstP99Ms(), 1e-9);
+  }
+
+  @Test
+  void noTasksReportsZero() {
+    TaskStats stats = new TaskStats(Collections.emptyList());
+
+    assertEquals(0, stats.getTotalAverageMs(), 0);
+    assertEquals(0, stats.getAveragePerTask(), 0);
+    assertEquals(0, stats.getWorstP99Ms(), 0);
+  }
+
+  private static TaskStats.Entry entry(String name, boolean counted, double meanNanos,
+      long p99Nanos) {
+    LatencySnapshot recent = new LatencySnapshot(10, meanNanos, p99Nanos / 2, p99Nanos / 2,
+        p99Nanos, p99Nanos, p99Nanos);
+    return new TaskStats.Entry(name, true, 10, 0, counted, recent, LatencySnapshot.EMPTY);
+  }
+}
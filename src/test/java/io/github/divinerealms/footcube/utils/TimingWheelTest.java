@@ -0,0 +1,149 @@
+package io.github.divinerealms.footcube.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+  private final TimingWheel wheel = new TimingWheel(8);
+  private final List<Long> fired = new ArrayList<>();
+
+  @Test
+  void firesOnDeadlineTick() {
+    wheel.schedule(3, this::fire);
+
+    advance(2);
+    assertTrue(fired.isEmpty());
+    assertEquals(1, wheel.getPendingCount());
+
+    advance(1);
+    assertEquals(List.of(3L), fired);
+    assertEquals(0, wheel.getPendingCount());
+  }
+
+  @Test
+  void delayBelowOneFiresNextTick() {
+    wheel.schedule(0, this::fire);
+
+    advance(1);
+    assertEquals(List.of(1L), fired);
+  }
+
+  @Test
+  void rescheduleMovesDeadline() {
+    TimingWheel.Timer timer = wheel.newTimer(this::fire);
+    wheel.schedule(timer, 2);
+    advance(1);
+    wheel.schedule(timer, 5);
+
+    advance(5);
+    assertEquals(List.of(6L), fired);
+    assertEquals(0, wheel.getPendingCount());
+  }
+
+  @Test
+  void firedTimerCanBeScheduledAgain() {
+    TimingWheel.Timer timer = wheel.newTimer(this::fire);
+    wheel.schedule(timer, 1);
+    advance(1);
+    wheel.schedule(timer, 2);
+    advance(2);
+
+    assertEquals(List.of(1L, 3L), fired);
+  }
+
+  @Test
+  void cancelledTimerDoesNotFire() {
+    TimingWheel.Timer timer = wheel.schedule(2, this::fire);
+    wheel.cancel(timer);
+
+    assertFalse(timer.isPending());
+    assertEquals(0, wheel.getPendingCount());
+    advance(20);
+    assertTrue(fired.isEmpty());
+  }
+
+  @Test
+  void delaysLongerThanOneRevolutionWaitOutTheirRounds() {
+    // 8 buckets: 19 ticks is two full rounds plus three buckets.
+    wheel.schedule(19, this::fire);
+    wheel.schedule(8, this::fire);
+    wheel.schedule(16, this::fire);
+
+    advance(18);
+    assertEquals(List.of(8L, 16L), fired);
+
+    advance(1);
+    assertEquals(List.of(8L, 16L, 19L), fired);
+  }
+
+  @Test
+  void timerCancelledByEarlierCallbackInSameTickDoesNotFire() {
+    TimingWheel.Timer[] victim = new TimingWheel.Timer[1];
+    // Timers in one bucket fire newest first, so the canceller is scheduled last.
+    victim[0] = wheel.schedule(1, this::fire);
+    wheel.schedule(1, () -> wheel.cancel(victim[0]));
+
+    advance(1);
+    assertTrue(fired.isEmpty());
+    assertFalse(victim[0].isPending());
+  }
+
+  @Test
+  void timerRescheduledByEarlierCallbackInSameTickFiresAtNewDeadline() {
+    TimingWheel.Timer victim = wheel.newTimer(this::fire);
+    wheel.schedule(victim, 1);
+    wheel.schedule(1, () -> wheel.schedule(victim, 2));
+
+    advance(1);
+    assertTrue(fired.isEmpty());
+    assertTrue(victim.isPending());
+
+    advance(2);
+    assertEquals(List.of(3L), fired);
+  }
+
+  @Test
+  void manyTimersInOneTickAllFire() {
+    for (int i = 0; i < 100; i++) {
+      wheel.schedule(1, this::fire);
+    }
+
+    advance(1);
+    assertEquals(100, fired.size());
+  }
+
+  @Test
+  void clearDropsPendingTimers() {
+    wheel.schedule(1, this::fire);
+    wheel.schedule(12, this::fire);
+    wheel.clear();
+
+    assertEquals(0, wheel.getPendingCount());
+    advance(20);
+    assertTrue(fired.isEmpty());
+  }
+
+  @Test
+  void ticksForRoundsUp() {
+    assertEquals(1, TimingWheel.ticksFor(0));
+    assertEquals(1, TimingWheel.ticksFor(50));
+    assertEquals(2, TimingWheel.ticksFor(51));
+    assertEquals(20, TimingWheel.ticksFor(1000));
+  }
+
+  private void fire() {
+    fired.add(wheel.getCurrentTick());
+  }
+
+  private void advance(int ticks) {
+    for (int i = 0; i < ticks; i++) {
+      wheel.advance();
+    }
+  }
+}
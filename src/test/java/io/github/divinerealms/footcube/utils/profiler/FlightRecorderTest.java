@@ -0,0 +1,181 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.divinerealms.footcube.utils.profiler.FlightRecorder.Dump;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Records ticks on a hand-driven clock and collects dumps instead of writing them.
+ */
+class FlightRecorderTest {
+
+  private static final String[] STAGES = {"physics", "presentation"};
+  private static final long MS = 1_000_000;
+  private static final long COOLDOWN_SECONDS = 60;
+
+  private long now = 1_700_000_000_000L;
+  private long tick = 0;
+  private final List<Dump> dumps = new ArrayList<>();
+  private final FlightRecorder recorder =
+      new FlightRecorder(new File("flight-recorder"), STAGES, () -> now, dumps::add);
+
+  @Test
+  void ringKeepsTheNewestTicksOldestFirst() {
+    recorder.configure(true, 4, 50, 0, COOLDOWN_SECONDS);
+    for (int i = 0; i < 6; i++) {
+      quietTick();
+    }
+
+    File file = recorder.dump("requested");
+    assertEquals(1, dumps.size());
+    Dump dump = dumps.get(0);
+    assertEquals(file, dump.file);
+    assertFalse(dump.isSpike());
+    assertEquals(4, dump.count);
+    assertArrayEquals(new long[]{3, 4, 5, 6}, dump.ticks);
+    assertArrayEquals(new long[]{3 * MS, 30, 4 * MS, 40, 5 * MS, 50, 6 * MS, 60}, dump.stageNanos);
+    assertEquals(3, dump.counters[0]);
+    assertEquals(6, dump.counters[3 * 6]);
+    assertEquals(6, recorder.getRecorded());
+  }
+
+  @Test
+  void dumpOfAnEmptyBufferWritesNothing() {
+    recorder.configure(true, 4, 50, 0, COOLDOWN_SECONDS);
+
+    assertNull(recorder.dump("requested"));
+    assertTrue(dumps.isEmpty());
+  }
+
+  @Test
+  void stagesAddUpToTheThreshold() {
+    recorder.configure(true, 8, 10, 0, COOLDOWN_SECONDS);
+    record(4 * MS, 5 * MS);
+    assertEquals(0, recorder.getSpikes());
+
+    record(6 * MS, 4 * MS);
+    assertEquals(1, recorder.getSpikes());
+    assertEquals(1, dumps.size());
+    assertTrue(dumps.get(0).isSpike());
+    assertEquals(10 * MS, dumps.get(0).spikeNanos);
+    assertEquals("tick 2 took 10.000ms", dumps.get(0).reason);
+  }
+
+  @Test
+  void spikeIsDumpedAfterPostTicks() {
+    recorder.configure(true, 8, 10, 2, COOLDOWN_SECONDS);
+    quietTick();
+    record(20 * MS, 0);
+    assertEquals(1, recorder.getSpikes());
+    assertTrue(dumps.isEmpty());
+
+    quietTick();
+    assertTrue(dumps.isEmpty());
+
+    quietTick();
+    assertEquals(1, dumps.size());
+    assertArrayEquals(new long[]{1, 2, 3, 4}, dumps.get(0).ticks);
+    assertEquals("tick 2 took 20.000ms", dumps.get(0).reason);
+  }
+
+  @Test
+  void spikesWaitingForTheirDumpAreNotCounted() {
+    recorder.configure(true, 8, 10, 2, 0);
+    record(20 * MS, 0);
+    record(30 * MS, 0);
+    record(40 * MS, 0);
+
+    assertEquals(1, recorder.getSpikes());
+    assertEquals(1, dumps.size());
+    assertEquals("tick 1 took 20.000ms", dumps.get(0).reason);
+  }
+
+  @Test
+  void automaticDumpsRespectTheCooldown() {
+    recorder.configure(true, 8, 10, 0, COOLDOWN_SECONDS);
+    record(20 * MS, 0);
+    assertEquals(1, dumps.size());
+
+    now += COOLDOWN_SECONDS * 1000 - 1;
+    record(20 * MS, 0);
+    assertEquals(1, recorder.getSpikes());
+    assertEquals(1, dumps.size());
+
+    now += 1;
+    record(20 * MS, 0);
+    assertEquals(2, recorder.getSpikes());
+    assertEquals(2, dumps.size());
+
+    // Dumps on demand do not wait for the cooldown.
+    recorder.dump("requested");
+    assertEquals(3, dumps.size());
+  }
+
+  @Test
+  void disabledRecorderKeepsNothing() {
+    recorder.configure(false, 8, 10, 0, COOLDOWN_SECONDS);
+    record(20 * MS, 0);
+
+    assertEquals(0, recorder.getRecorded());
+    assertNull(recorder.dump("requested"));
+    assertTrue(dumps.isEmpty());
+  }
+
+  @Test
+  void resizingClearsTheBuffer() {
+    recorder.configure(true, 8, 50, 0, COOLDOWN_SECONDS);
+    quietTick();
+    quietTick();
+
+    recorder.configure(true, 4, 50, 0, COOLDOWN_SECONDS);
+    quietTick();
+    recorder.dump("requested");
+    assertArrayEquals(new long[]{3}, dumps.get(0).ticks);
+  }
+
+  @Test
+  void writesOneCsvRowPerTick() throws IOException {
+    recorder.configure(true, 4, 50, 0, COOLDOWN_SECONDS);
+    quietTick();
+    quietTick();
+    recorder.dump("requested");
+
+    StringWriter out = new StringWriter();
+    try (BufferedWriter writer = new BufferedWriter(out)) {
+      dumps.get(0).writeCsv(writer);
+    }
+    String[] lines = out.toString().split("\\R");
+
+    assertEquals(6, lines.length);
+    assertEquals("# reason: requested", lines[1]);
+    assertEquals("# threshold: 50.000ms, ticks: 2", lines[2]);
+    assertEquals("time,tick,total_ms,physics_ms,presentation_ms,cubes,players,sounds_queued,"
+        + "packets_sent,matches_updated,saves_in_flight", lines[3]);
+    assertTrue(lines[5].endsWith(",2,2.000,2.000,0.000,2,3,4,5,6,7"), lines[5]);
+  }
+
+  /**
+   * Records a tick well under any threshold, whose stage times and counters follow its number.
+   */
+  private void quietTick() {
+    tick++;
+    recorder.record(tick, new long[]{tick * MS, tick * 10}, (int) tick, (int) tick + 1,
+        (int) tick + 2, (int) tick + 3, (int) tick + 4, (int) tick + 5);
+  }
+
+  private void record(long physicsNanos, long presentationNanos) {
+    tick++;
+    recorder.record(tick, new long[]{physicsNanos, presentationNanos}, 0, 0, 0, 0, 0, 0);
+  }
+}
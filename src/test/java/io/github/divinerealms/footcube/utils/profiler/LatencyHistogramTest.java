@@ -0,0 +1,127 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  /**
+   * Every power of two is split into eight sub-buckets, so a bucket is at most an eighth of its
+   * lower bound wide.
+   */
+  private static final double BUCKET_ERROR = 1.0 / 8;
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  void everyBucketRoundTripsThroughItsUpperBound() {
+    for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+      assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.upperBoundOf(bucket)));
+    }
+    assertEquals(Long.MAX_VALUE,
+        LatencyHistogram.upperBoundOf(LatencyHistogram.BUCKET_COUNT - 1));
+  }
+
+  @Test
+  void bucketsAreContiguous() {
+    for (int bucket = 1; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+      long lowerBound = LatencyHistogram.upperBoundOf(bucket - 1) + 1;
+      assertEquals(bucket, LatencyHistogram.bucketOf(lowerBound));
+    }
+  }
+
+  @Test
+  void upperBoundStaysWithinBucketError() {
+    for (long value = 0; value < 100_000; value++) {
+      assertWithinBucketError(value, LatencyHistogram.upperBoundOf(
+          LatencyHistogram.bucketOf(value)));
+    }
+    for (long value = 100_000; value > 0 && value < Long.MAX_VALUE / 2; value = value * 3 + 7) {
+      assertWithinBucketError(value, LatencyHistogram.upperBoundOf(
+          LatencyHistogram.bucketOf(value)));
+    }
+  }
+
+  @Test
+  void smallValuesAreExact() {
+    for (long value = 0; value < 8; value++) {
+      assertEquals(value, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value)));
+    }
+  }
+
+  @Test
+  void percentilesStayWithinBucketError() {
+    for (long nanos = 1; nanos <= 100_000; nanos++) {
+      histogram.record(nanos);
+    }
+
+    assertWithinBucketError(50_000, histogram.percentile(0.5));
+    assertWithinBucketError(90_000, histogram.percentile(0.9));
+    assertWithinBucketError(99_000, histogram.percentile(0.99));
+    assertWithinBucketError(99_900, histogram.percentile(0.999));
+    assertEquals(100_000, histogram.percentile(1.0));
+    assertEquals(1, histogram.percentile(0));
+  }
+
+  @Test
+  void percentileNeverExceedsMax() {
+    histogram.record(1_000_001);
+
+    assertEquals(1_000_001, histogram.percentile(0.5));
+    assertEquals(1_000_001, histogram.percentile(0.999));
+  }
+
+  @Test
+  void tracksCountMeanAndMax() {
+    histogram.record(100);
+    histogram.record(300);
+    histogram.record(-5);
+
+    assertEquals(3, histogram.getCount());
+    assertEquals(300, histogram.getMaxNanos());
+    assertEquals(400 / 3.0, histogram.getMeanNanos(), 1e-9);
+    assertEquals(0, histogram.percentile(0.1));
+  }
+
+  @Test
+  void resetForgetsEverything() {
+    histogram.record(5_000);
+    histogram.record(70_000);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMaxNanos());
+    assertEquals(0, histogram.getMeanNanos(), 0);
+    assertEquals(0, histogram.percentile(0.99));
+
+    histogram.record(200);
+    assertEquals(200, histogram.percentile(0.99));
+  }
+
+  @Test
+  void snapshotMatchesTheLiveFigures() {
+    for (long nanos = 1; nanos <= 10_000; nanos++) {
+      histogram.record(nanos);
+    }
+
+    LatencySnapshot snapshot = histogram.snapshot();
+    assertEquals(10_000, snapshot.getCount());
+    assertEquals(histogram.getMeanNanos(), snapshot.getMeanNanos(), 0);
+    assertEquals(histogram.percentile(0.50), snapshot.getP50Nanos());
+    assertEquals(histogram.percentile(0.90), snapshot.getP90Nanos());
+    assertEquals(histogram.percentile(0.99), snapshot.getP99Nanos());
+    assertEquals(histogram.percentile(0.999), snapshot.getP999Nanos());
+    assertEquals(10_000, snapshot.getMaxNanos());
+
+    histogram.reset();
+    assertEquals(LatencySnapshot.EMPTY, histogram.snapshot());
+  }
+
+  private static void assertWithinBucketError(long expected, long reported) {
+    assertTrue(reported >= expected, reported + " is below " + expected);
+    assertTrue(reported - expected <= expected * BUCKET_ERROR,
+        reported + " is more than one bucket above " + expected);
+  }
+}
@@ -0,0 +1,139 @@
+package io.github.divinerealms.footcube.utils.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the window on a hand-driven clock. Samples sit on bucket upper bounds where a test reads
+ * them back through a percentile, so it reports them exactly.
+ */
+class RollingLatencyHistogramTest {
+
+  private static final int SLICES = 4;
+  private static final long SLICE_NANOS = 100;
+
+  private long now = 0;
+  private final RollingLatencyHistogram histogram =
+      new RollingLatencyHistogram(SLICES, SLICE_NANOS, () -> now);
+
+  @Test
+  void mergesSlicesWithinTheWindow() {
+    record(10, 0);
+    record(17, 150);
+    record(39, 250);
+    now = 399;
+
+    assertEquals(3, histogram.getCount());
+    assertEquals(39, histogram.getMaxNanos());
+    assertEquals(66 / 3.0, histogram.getMeanNanos(), 1e-9);
+    assertEquals(17, histogram.percentile(0.5));
+    assertEquals(39, histogram.percentile(1.0));
+  }
+
+  @Test
+  void slicesAgeOutOneByOne() {
+    record(10, 0);
+    record(17, 150);
+    record(39, 250);
+
+    now = 400;
+    assertEquals(2, histogram.getCount());
+    assertEquals(39, histogram.getMaxNanos());
+    assertEquals(17, histogram.percentile(0.01));
+
+    now = 500;
+    assertEquals(1, histogram.getCount());
+    assertEquals(39, histogram.percentile(0.01));
+
+    now = 600;
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMaxNanos());
+    assertEquals(0, histogram.getMeanNanos(), 0);
+    assertEquals(0, histogram.percentile(0.99));
+  }
+
+  @Test
+  void snapshotCoversOnlyTheLiveSlices() {
+    record(1_000, 0);
+    record(17, 150);
+    record(39, 250);
+    now = 400;
+
+    LatencySnapshot snapshot = histogram.snapshot();
+    assertEquals(2, snapshot.getCount());
+    assertEquals(28, snapshot.getMeanNanos(), 1e-9);
+    assertEquals(17, snapshot.getP50Nanos());
+    assertEquals(39, snapshot.getP90Nanos());
+    assertEquals(39, snapshot.getP99Nanos());
+    assertEquals(39, snapshot.getP999Nanos());
+    assertEquals(39, snapshot.getMaxNanos());
+
+    now = 600;
+    assertEquals(LatencySnapshot.EMPTY, histogram.snapshot());
+  }
+
+  @Test
+  void recordingReusesTheOldestSlice() {
+    record(1_000, 0);
+    for (long time = SLICE_NANOS; time < SLICE_NANOS * SLICES; time += SLICE_NANOS) {
+      record(10, time);
+    }
+    assertEquals(1_000, histogram.getMaxNanos());
+
+    record(10, SLICE_NANOS * SLICES);
+    assertEquals(SLICES, histogram.getCount());
+    assertEquals(10, histogram.getMaxNanos());
+  }
+
+  @Test
+  void longPauseClearsEverySlice() {
+    record(10, 0);
+    record(20, 150);
+    record(30, 10_000);
+
+    assertEquals(1, histogram.getCount());
+    assertEquals(30, histogram.percentile(0.01));
+  }
+
+  @Test
+  void percentilesStayWithinBucketError() {
+    for (long nanos = 1; nanos <= 10_000; nanos++) {
+      record(nanos, nanos % (SLICE_NANOS * SLICES));
+    }
+
+    long median = histogram.percentile(0.5);
+    assertTrue(median >= 5_000 && median - 5_000 <= 5_000 / 8, "median " + median);
+    long tail = histogram.percentile(0.99);
+    assertTrue(tail >= 9_900 && tail - 9_900 <= 9_900 / 8, "p99 " + tail);
+  }
+
+  @Test
+  void resetStartsAFreshWindow() {
+    record(10, 0);
+    record(20, 150);
+    histogram.reset();
+    now = 150;
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.percentile(0.5));
+
+    record(30, 1_000);
+    now = 1_350;
+    assertEquals(1, histogram.getCount());
+    assertEquals(30, histogram.getMaxNanos());
+  }
+
+  @Test
+  void rejectsSliceCountsOutsideTheMask() {
+    assertThrows(IllegalArgumentException.class, () -> new RollingLatencyHistogram(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new RollingLatencyHistogram(65, 1));
+  }
+
+  private void record(long nanos, long time) {
+    now = time;
+    histogram.record(nanos, time);
+  }
+}